@@ -4,6 +4,10 @@ import java.util.HashMap;
 import java.util.Map;
 
 import com.sendev.databasemanager.contracts.Database;
+import com.sendev.databasemanager.contracts.HostnameDatabase;
+import com.sendev.databasemanager.exceptions.DatabaseException;
+import com.sendev.databasemanager.pool.ConnectionPool;
+import com.sendev.databasemanager.replication.ReplicaGroup;
 
 public class ConnectionContainer
 {
@@ -40,6 +44,33 @@ public class ConnectionContainer
      *         <code>False</code> if the connection name already exists.
      */
     public boolean addConnection(String name, ConnectionLevel level, Database connection)
+    {
+        return addConnection(name, level, connection, dbm.options().isConnectionPoolEnabled());
+    }
+
+    /**
+     * Adds a database connection to the connections container, allowing
+     * queries to be run against the connection.
+     * <p>
+     * The <code>connection level</code> will be used to determine the priority of the connection,
+     * the top level will always be <code>DEFAULT</code>, after that the it's
+     * <code>HIGEST</code>, <code>HIGE</code>, <code>MEDIUM</code>, etc...
+     * <p>
+     * If pooling is enabled and the database is a hostname database, like MySQL, a connection
+     * pool will be created for the database using the pool settings from the database
+     * options, file based databases, like SQLite, are never pooled.
+     *
+     * @see com.sendev.databasemanager.pool.ConnectionPool
+     *
+     * @param name       The name of the connection.
+     * @param level      The level/priority of the connection.
+     * @param connection The database instance, this can be MySQL, SQLite, etc...
+     * @param pooled     Determines if the connection should use a connection pool.
+     *
+     * @return <code>True</code> if the connection was added successfully, or
+     *         <code>False</code> if the connection name already exists.
+     */
+    public boolean addConnection(String name, ConnectionLevel level, Database connection, boolean pooled)
     {
         name = name.toLowerCase();
 
@@ -53,6 +84,76 @@ public class ConnectionContainer
 
         connections.put(name, new Connection(dbm, level, connection));
 
+        if (pooled && connection instanceof HostnameDatabase) {
+            connection.setConnectionPool(new ConnectionPool(dbm, ((HostnameDatabase) connection)::createConnection));
+        }
+
+        return true;
+    }
+
+    /**
+     * Adds a read replica to the database connection with the given name, once a connection
+     * has replicas, <code>SELECT</code> queries run against the connection are routed to the
+     * replicas, while every other query, and every query run inside of a transaction,
+     * is still run against the connection itself, which acts as the primary.
+     *
+     * @see com.sendev.databasemanager.replication.ReplicaGroup
+     *
+     * @param connection The name of the primary connection.
+     * @param name       The name of the replica.
+     * @param replica    The replica database instance, this can be MySQL, SQLite, etc...
+     *
+     * @return <code>True</code> if the replica was added successfully, or
+     *         <code>False</code> if the primary already has a replica with the name.
+     *
+     * @throws DatabaseException if there are no connection with the given name
+     */
+    public boolean addReplica(String connection, String name, Database replica)
+    {
+        return addReplica(connection, name, replica, dbm.options().isConnectionPoolEnabled());
+    }
+
+    /**
+     * Adds a read replica to the database connection with the given name, if pooling is
+     * enabled and the replica is a hostname database, a connection pool will be
+     * created for the replica, the same way it's done for connections.
+     *
+     * @see #addReplica(java.lang.String, java.lang.String, com.sendev.databasemanager.contracts.Database)
+     *
+     * @param connection The name of the primary connection.
+     * @param name       The name of the replica.
+     * @param replica    The replica database instance, this can be MySQL, SQLite, etc...
+     * @param pooled     Determines if the replica should use a connection pool.
+     *
+     * @return <code>True</code> if the replica was added successfully, or
+     *         <code>False</code> if the primary already has a replica with the name.
+     *
+     * @throws DatabaseException if there are no connection with the given name
+     */
+    public boolean addReplica(String connection, String name, Database replica, boolean pooled)
+    {
+        Database primary = getConnection(connection);
+
+        if (primary == null) {
+            throw new DatabaseException("Invalid connection, there are no connection with the name \"" + connection + "\"");
+        }
+
+        ReplicaGroup replicas = primary.getReplicaGroup();
+        if (replicas == null) {
+            replicas = new ReplicaGroup(dbm, primary);
+        }
+
+        if (replicas.getReplica(name) != null) {
+            return false;
+        }
+
+        if (pooled && replica instanceof HostnameDatabase) {
+            replica.setConnectionPool(new ConnectionPool(dbm, ((HostnameDatabase) replica)::createConnection));
+        }
+
+        replicas.addReplica(name, replica);
+        primary.setReplicaGroup(replicas);
+
         return true;
     }
 
@@ -1,17 +1,12 @@
 package com.sendev.databasemanager;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.security.InvalidParameterException;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import com.sendev.databasemanager.exceptions.InvalidPluginException;
-import com.sendev.databasemanager.exceptions.OriginException;
 import com.sendev.databasemanager.factory.PluginContainer;
 import com.sendev.databasemanager.plugin.contracts.DatabasePlugin;
 import com.sendev.databasemanager.plugin.contracts.PlatformType;
@@ -20,7 +15,17 @@ public class DatabaseFactory
 {
 
     private static final String ORIGIN_INTERFACE = "com.sendev.databasemanager.contracts.DatabaseOriginLookup";
-    private static final Map<String, PluginContainer> containers = new HashMap<>();
+    private static final Map<String, PluginContainer> containers = new ConcurrentHashMap<>();
+
+    /**
+     * The cached origin lookups, mapping the name of the calling class to the name of the plugin
+     * it was matched to, only names are stored so the cache never keeps a plugin or its class
+     * loader alive, entries pointing to plugins that are no longer registered are dropped
+     * the next time they're looked up.
+     */
+    private static final Map<String, String> origins = new ConcurrentHashMap<>();
+
+    private static final CallerContext CALLER_CONTEXT = new CallerContext();
     private static PlatformType platform;
 
     /**
@@ -63,7 +68,7 @@ public class DatabaseFactory
      *                                class, if BungeeCord is being used the object have to extend
      *                                the BungeeCord Plugin class.
      */
-    public static DatabaseManager createNewInstance(Object plugin)
+    public static synchronized DatabaseManager createNewInstance(Object plugin)
     {
         if (plugin == null) {
             throw new InvalidParameterException("The plugin parameter must be an instance of the Bukkit Plugin instance!");
@@ -91,11 +96,15 @@ public class DatabaseFactory
     }
 
     /**
-     * Makes a dynamic lookup on the class using java reflection, checking to see if the class follows the
-     * origin contract, if the class is found to follow the contract, reflection will be used to guess
-     * what plugin the class was instantiated from, and the DBM instance linked to that plugin will
-     * then be returned, if no DBM instance was found, or a reflection exception is thrown while
-     * doing the origin lookup, <code>NULL</code> will be returned instead.
+     * Makes a dynamic lookup on the class, checking to see if the class follows the origin contract, if
+     * the class is found to follow the contract, the current call stack will be used to guess what
+     * plugin the class was called from, and the DBM instance linked to that plugin will then be
+     * returned, if no DBM instance was found <code>NULL</code> will be returned instead.
+     * <p>
+     * If the plugin was matched on the calling class itself, the plugin name is cached against the
+     * class name, so any following lookups made from the same class will skip walking the call
+     * stack, plugins matched further down the call stack are never cached, since the calling
+     * class could be a shared library class that is called by more than one plugin.
      *
      * @param object The getClass() object to run the origin lookup on.
      *
@@ -108,64 +117,70 @@ public class DatabaseFactory
             return null;
         }
 
-        List<String> origins = getOriginPackages(object);
+        Class<?>[] frames = CALLER_CONTEXT.getCallerClasses();
+        String caller = null;
 
-        if (origins == null || origins.isEmpty()) {
-            return null;
-        }
+        for (Class<?> frame : frames) {
+            String name = frame.getName();
 
-        for (PluginContainer plugin : containers.values()) {
-            if (plugin.hasBinding(origins)) {
-                return plugin.getInstance();
+            if (isIgnoredOrigin(name)) {
+                continue;
             }
-        }
 
-        return null;
-    }
+            if (caller == null) {
+                caller = name;
 
-    private static List<String> getOriginPackages(Class<?> object)
-    {
-        try {
-            Method method = object.getMethod("throwsOriginException");
-
-            method.setAccessible(true);
-
-            method.invoke(object.newInstance());
-        } catch (NoSuchMethodException | SecurityException | IllegalAccessException | IllegalArgumentException | InstantiationException ex) {
-            return null;
-        } catch (InvocationTargetException ex) {
-            if (ex.getCause() instanceof OriginException) {
-                StackTraceElement[] traces = ex.getStackTrace();
-
-                List<String> origins = new ArrayList<>();
-                for (StackTraceElement element : traces) {
-                    String name = element.getClassName();
+                String cached = origins.get(caller);
+                if (cached != null) {
+                    PluginContainer plugin = containers.get(cached);
 
-                    // Skip reflection classes and java objects
-                    if (name.startsWith("sun.reflect") || name.startsWith("java.")) {
-                        continue;
+                    if (plugin != null) {
+                        return plugin.getInstance();
                     }
 
-                    // Skip all minecraft code
-                    if (name.startsWith("org.bukkit") || name.startsWith("net.minecraft.server")) {
-                        continue;
-                    }
+                    origins.remove(caller);
+                }
+            }
 
-                    // Skip all the DBM classes
-                    if (name.startsWith("com.sendev.databasemanager.")) {
-                        continue;
+            for (Map.Entry<String, PluginContainer> plugin : containers.entrySet()) {
+                if (plugin.getValue().hasBinding(name)) {
+                    if (name.equals(caller)) {
+                        origins.put(caller, plugin.getKey());
                     }
 
-                    origins.add(name);
+                    return plugin.getValue().getInstance();
                 }
-
-                return origins;
             }
         }
 
         return null;
     }
 
+    /**
+     * Clears the cached origin lookups, forcing the next origin
+     * lookups to walk the call stack again.
+     */
+    public static void clearOriginCache()
+    {
+        origins.clear();
+    }
+
+    private static boolean isIgnoredOrigin(String name)
+    {
+        // Skip reflection classes and java objects
+        if (name.startsWith("sun.reflect") || name.startsWith("java.") || name.startsWith("jdk.internal.")) {
+            return true;
+        }
+
+        // Skip all minecraft code
+        if (name.startsWith("org.bukkit") || name.startsWith("net.minecraft.server")) {
+            return true;
+        }
+
+        // Skip all the DBM classes
+        return name.startsWith("com.sendev.databasemanager.");
+    }
+
     private static boolean hasOriginInterface(Class<?> interfaces)
     {
         for (Class<?> face : interfaces.getInterfaces()) {
@@ -176,4 +191,16 @@ public class DatabaseFactory
 
         return false;
     }
+
+    /**
+     * Exposes the classes on the current call stack, this is a lot cheaper than
+     * creating a throwable and resolving the stack trace elements from it.
+     */
+    private static final class CallerContext extends SecurityManager
+    {
+        public Class<?>[] getCallerClasses()
+        {
+            return getClassContext();
+        }
+    }
 }
@@ -1,22 +1,31 @@
 package com.sendev.databasemanager;
 
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.SQLTimeoutException;
-import java.sql.Statement;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
+import com.sendev.databasemanager.async.QueryExecutor;
+import com.sendev.databasemanager.cache.CompiledQueryCache;
+import com.sendev.databasemanager.cache.QueryResultCache;
 import com.sendev.databasemanager.contracts.Database;
 import com.sendev.databasemanager.contracts.DatabaseOutput;
+import com.sendev.databasemanager.contracts.ResultSetHandler;
+import com.sendev.databasemanager.eloquent.ModelCache;
 import com.sendev.databasemanager.exceptions.DatabaseException;
 import com.sendev.databasemanager.migrate.Migrations;
 import com.sendev.databasemanager.output.OutputMode;
 import com.sendev.databasemanager.plugin.contracts.DatabasePlugin;
+import com.sendev.databasemanager.query.CompiledQuery;
 import com.sendev.databasemanager.query.QueryBuilder;
+import com.sendev.databasemanager.query.QueryType;
 import com.sendev.databasemanager.schema.Schema;
+import com.sendev.databasemanager.transaction.TransactionIsolation;
+import com.sendev.databasemanager.transaction.contracts.TransactionCallback;
 import com.sendev.databasemanager.utils.Collection;
+import com.sendev.databasemanager.utils.Cursor;
 
 public final class DatabaseManager
 {
@@ -25,6 +34,10 @@ public final class DatabaseManager
     private final Migrations migrations = new Migrations(this);
     private final DatabaseOptions options = new DatabaseOptions();
     private final ConnectionContainer connections = new ConnectionContainer(this);
+    private final CompiledQueryCache compiledQueries = new CompiledQueryCache(this);
+    private final QueryResultCache queryResults = new QueryResultCache(this);
+    private final ModelCache models = new ModelCache(this);
+    private final QueryExecutor async = new QueryExecutor(this);
 
     /**
      * The output represents our database logger output, depending on the
@@ -91,6 +104,62 @@ public final class DatabaseManager
         return migrations;
     }
 
+    /**
+     * Gets the compiled query cache, this is where the SQL templates generated by
+     * query builders are cached, allowing query builders with the same shape
+     * to skip the query grammar and reuse the generated SQL template.
+     *
+     * @see com.sendev.databasemanager.query.QueryBuilder#compile(DatabaseManager, String)
+     *
+     * @return The compiled query cache instance.
+     */
+    public CompiledQueryCache compiledQueries()
+    {
+        return compiledQueries;
+    }
+
+    /**
+     * Gets the query result cache, this is where the results of <code>SELECT</code> queries
+     * generated by query builders are cached, the cache is disabled by default, and
+     * can be enabled by setting a result cache size in the database options.
+     *
+     * @see com.sendev.databasemanager.DatabaseOptions#setQueryResultCacheSize(int)
+     *
+     * @return The query result cache instance.
+     */
+    public QueryResultCache queryResults()
+    {
+        return queryResults;
+    }
+
+    /**
+     * Gets the model cache, this is where Eloquent models that has opted into caching are
+     * cached when they're found by their primary key, the cached models of a table are
+     * removed whenever the query builder writes to the table.
+     *
+     * @see com.sendev.databasemanager.eloquent.EloquentDefaultFields#cacheSize()
+     *
+     * @return The model cache instance.
+     */
+    public ModelCache models()
+    {
+        return models;
+    }
+
+    /**
+     * Gets the asynchronous query executor, this is where all the asynchronous queries for the
+     * plugin are queued and run, allowing you to check how many queries are pending and
+     * how many queries has been rejected because the queue was full.
+     *
+     * @see com.sendev.databasemanager.DatabaseOptions#setAsyncQueueLimit(int)
+     *
+     * @return The asynchronous query executor instance.
+     */
+    public QueryExecutor async()
+    {
+        return async;
+    }
+
     /**
      * Returns the DatabasePlugin instance, this is used by some
      * of the internal operations in the Database Manager.
@@ -164,6 +233,54 @@ public final class DatabaseManager
         return connections.addConnection(name, level, database);
     }
 
+    /**
+     * Adds a database connection to the connections container, allowing
+     * queries to be run against the connection.
+     * <p>
+     * The <code>connection level</code> will be used to determine the priority of the connection,
+     * the top level will always be <code>DEFAULT</code>, after that the it's
+     * <code>HIGEST</code>, <code>HIGE</code>, <code>MEDIUM</code>, etc...
+     *
+     * @see com.sendev.databasemanager.pool.ConnectionPool
+     *
+     * @param name     The name of the connection.
+     * @param level    The level/priority of the connection.
+     * @param database The database instance, this can be MySQL, SQLite, etc...
+     * @param pooled   Determines if the connection should use a connection pool.
+     *
+     * @return <code>True</code> if the connection was added successfully, or
+     *         <code>False</code> if the connection name already exists.
+     */
+    public boolean addConnection(String name, ConnectionLevel level, Database database, boolean pooled)
+    {
+        output.debug("A new database connection is being added! Name: \"%s\", level: %s, pooled: %s", name, level, pooled);
+
+        return connections.addConnection(name, level, database, pooled);
+    }
+
+    /**
+     * Adds a read replica to the database connection with the given name,
+     * <code>SELECT</code> queries run against the connection will be
+     * routed to its replicas, while writes stays on the connection.
+     *
+     * @see com.sendev.databasemanager.ConnectionContainer#addReplica(java.lang.String, java.lang.String, com.sendev.databasemanager.contracts.Database)
+     *
+     * @param connection The name of the primary connection.
+     * @param name       The name of the replica.
+     * @param replica    The replica database instance, this can be MySQL, SQLite, etc...
+     *
+     * @return <code>True</code> if the replica was added successfully, or
+     *         <code>False</code> if the primary already has a replica with the name.
+     *
+     * @throws DatabaseException if there are no connection with the given name
+     */
+    public boolean addReplica(String connection, String name, Database replica)
+    {
+        output.debug("A new read replica is being added! Connection: \"%s\", name: \"%s\"", connection, name);
+
+        return connections.addReplica(connection, name, replica);
+    }
+
     /**
      * Returns the Database Manager connections container, this is where all your database
      * connections are stored and managed, you can use this instance to add database
@@ -199,9 +316,35 @@ public final class DatabaseManager
      */
     public Collection query(String query) throws SQLException, SQLTimeoutException
     {
-        output.debug("DatabaseManager::query was called with the following SQL statement: %s", query);
+        return query(query, Collections.emptyList());
+    }
 
-        return new Collection(connections.getDefaultConnection().query(query));
+    /**
+     * Executes the given SQL statement with the given values bound to the <code>?</code>
+     * placeholders in the statement, which returns a single <code>Collection</code> object.
+     *
+     * @param query    an SQL statement to be sent to the database, typically a
+     *                 static SQL <code>SELECT</code> statement
+     * @param bindings the values to bind to the placeholders, in order
+     *
+     * @return a <code>Collection</code> object that contains the data produced
+     *         by the given query; never <code>null</code>
+     *
+     * @exception SQLException        if a database access error occurs,
+     *                                this method is called on a closed <code>Statement</code>, the given
+     *                                SQL statement produces anything other than a single
+     *                                <code>ResultSet</code> object, the method is called on a
+     *                                <code>PreparedStatement</code> or <code>CallableStatement</code>
+     * @throws SQLTimeoutException when the driver has determined that the
+     *                             timeout value that was specified by the {@code setQueryTimeout}
+     *                             method has been exceeded and has at least attempted to cancel
+     *                             the currently running {@code Statement}
+     */
+    public Collection query(String query, List<Object> bindings) throws SQLException, SQLTimeoutException
+    {
+        output.debug("DatabaseManager::query was called with the following SQL statement: %s with the bindings: %s", query, bindings);
+
+        return connections.getDefaultConnection().query(query, bindings, Collection::new);
     }
 
     /**
@@ -226,20 +369,41 @@ public final class DatabaseManager
      *                             the currently running {@code Statement}
      */
     public Collection query(String connection, String query) throws SQLException, DatabaseException
+    {
+        return query(connection, query, Collections.emptyList());
+    }
+
+    /**
+     * Executes the given SQL statement with the given values bound to the <code>?</code>
+     * placeholders in the statement, which returns a single <code>Collection</code> object.
+     *
+     * @param connection a specific database connection name that the query should be run against.
+     * @param query      an SQL statement to be sent to the database, typically a
+     *                   static SQL <code>SELECT</code> statement
+     * @param bindings   the values to bind to the placeholders, in order
+     *
+     * @return a <code>Collection</code> object that contains the data produced
+     *         by the given query; never <code>null</code>
+     *
+     * @exception SQLException        if a database access error occurs,
+     *                                this method is called on a closed <code>Statement</code>, the given
+     *                                SQL statement produces anything other than a single
+     *                                <code>ResultSet</code> object, the method is called on a
+     *                                <code>PreparedStatement</code> or <code>CallableStatement</code>
+     * @throws SQLTimeoutException when the driver has determined that the
+     *                             timeout value that was specified by the {@code setQueryTimeout}
+     *                             method has been exceeded and has at least attempted to cancel
+     *                             the currently running {@code Statement}
+     */
+    public Collection query(String connection, String query, List<Object> bindings) throws SQLException, DatabaseException
     {
         if (connection == null) {
-            return query(query);
+            return query(query, bindings);
         }
 
-        output.debug("DatabaseManager::query was called on the connection \"%s\" with the following SQL statement: %s", connection, query);
-
-        Database db = connections.getConnection(connection);
+        output.debug("DatabaseManager::query was called on the connection \"%s\" with the following SQL statement: %s with the bindings: %s", connection, query, bindings);
 
-        if (db == null) {
-            throw new DatabaseException("Invalid connection, there are no connection with the name \"" + connection + "\"");
-        }
-
-        return new Collection(db.query(query));
+        return getConnection(connection).query(query, bindings, Collection::new);
     }
 
     /**
@@ -264,7 +428,7 @@ public final class DatabaseManager
      */
     public Collection query(QueryBuilder query) throws SQLException
     {
-        return query(query.toSQL(this));
+        return query(null, query);
     }
 
     /**
@@ -290,7 +454,185 @@ public final class DatabaseManager
      */
     public Collection query(String connection, QueryBuilder query) throws SQLException
     {
-        return query(connection, query.toSQL(this));
+        CompiledQuery compiled = query.compile(this, connection);
+
+        if (query.getType() != QueryType.SELECT) {
+            return query(connection, compiled.getSQL(), compiled.getBindings());
+        }
+
+        return queryResults.get(resolveConnection(connection), query, compiled, () -> {
+            return query(connection, compiled.getSQL(), compiled.getBindings());
+        });
+    }
+
+    /**
+     * Executes the SQL statement generated by the query builder, passing the result set to the
+     * given handler, this skips the query result cache, and can be used to read the result
+     * without building a <code>Collection</code> object, like aggregate queries.
+     *
+     * @param <T>        The type of the handler result.
+     * @param connection a specific database connection name that the query should be run against,
+     *                   or <code>NULL</code> to use the default connection.
+     * @param query      a QueryBuilder instance that should be sent to the database, typically a
+     *                   static SQL <code>SELECT</code> statement
+     * @param handler    the handler used to read the result set
+     *
+     * @return the result of the handler
+     *
+     * @exception SQLException if a database access error occurs
+     * @throws DatabaseException if there are no connection with the given name
+     */
+    public <T> T query(String connection, QueryBuilder query, ResultSetHandler<T> handler) throws SQLException, DatabaseException
+    {
+        CompiledQuery compiled = query.compile(this, connection);
+
+        output.debug("DatabaseManager::query was called on the connection \"%s\" with the following SQL statement: %s with the bindings: %s", connection, compiled.getSQL(), compiled.getBindings());
+
+        return resolveConnection(connection).query(compiled.getSQL(), compiled.getBindings(), handler);
+    }
+
+    /**
+     * Executes the given SQL statement with the given values bound to the <code>?</code>
+     * placeholders in the statement, and returns a <code>Cursor</code> that reads the
+     * rows one at a time instead of loading the entire result into memory.
+     * <p>
+     * The cursor must either be read to the end, or be closed by the caller, to
+     * release the connection used by the cursor.
+     *
+     * @param connection a specific database connection name that the query should be run against,
+     *                   or <code>NULL</code> to use the default connection.
+     * @param query      an SQL statement to be sent to the database, typically a
+     *                   static SQL <code>SELECT</code> statement
+     * @param bindings   the values to bind to the placeholders, in order
+     *
+     * @return a <code>Cursor</code> object over the data produced by the given query; never <code>null</code>
+     *
+     * @exception SQLException if a database access error occurs, or no connection could be leased
+     * @throws DatabaseException if there are no connection with the given name
+     */
+    public Cursor cursor(String connection, String query, List<Object> bindings) throws SQLException, DatabaseException
+    {
+        output.debug("DatabaseManager::cursor was called on the connection \"%s\" with the following SQL statement: %s with the bindings: %s", connection, query, bindings);
+
+        if (connection == null) {
+            return connections.getDefaultConnection().cursor(query, bindings);
+        }
+
+        return getConnection(connection).cursor(query, bindings);
+    }
+
+    /**
+     * Executes the SQL statement generated by the query builder on the default connection,
+     * and returns a <code>Cursor</code> that reads the rows one at a time.
+     *
+     * @see #cursor(java.lang.String, java.lang.String, java.util.List)
+     *
+     * @param query a QueryBuilder instance that should be sent to the database, typically a
+     *              static SQL <code>SELECT</code> statement
+     *
+     * @return a <code>Cursor</code> object over the data produced by the given query; never <code>null</code>
+     *
+     * @exception SQLException if a database access error occurs, or no connection could be leased
+     */
+    public Cursor cursor(QueryBuilder query) throws SQLException
+    {
+        return cursor(null, query);
+    }
+
+    /**
+     * Executes the SQL statement generated by the query builder, and returns
+     * a <code>Cursor</code> that reads the rows one at a time.
+     *
+     * @see #cursor(java.lang.String, java.lang.String, java.util.List)
+     *
+     * @param connection a specific database connection name that the query should be run against,
+     *                   or <code>NULL</code> to use the default connection.
+     * @param query      a QueryBuilder instance that should be sent to the database, typically a
+     *                   static SQL <code>SELECT</code> statement
+     *
+     * @return a <code>Cursor</code> object over the data produced by the given query; never <code>null</code>
+     *
+     * @exception SQLException if a database access error occurs, or no connection could be leased
+     * @throws DatabaseException if there are no connection with the given name
+     */
+    public Cursor cursor(String connection, QueryBuilder query) throws SQLException
+    {
+        CompiledQuery compiled = query.compile(this, connection);
+
+        return cursor(connection, compiled.getSQL(), compiled.getBindings());
+    }
+
+    /**
+     * Runs the callback inside of a transaction on the default connection.
+     *
+     * @see #transaction(java.lang.String, com.sendev.databasemanager.transaction.TransactionIsolation, com.sendev.databasemanager.transaction.contracts.TransactionCallback)
+     *
+     * @param <T>      The type of the callback result.
+     * @param callback the callback to run inside the transaction
+     *
+     * @return the result of the callback
+     *
+     * @exception SQLException if a database access error occurs, or no connection could be leased
+     */
+    public <T> T transaction(TransactionCallback<T> callback) throws SQLException
+    {
+        return transaction(null, null, callback);
+    }
+
+    /**
+     * Runs the callback inside of a transaction on the given connection.
+     *
+     * @see #transaction(java.lang.String, com.sendev.databasemanager.transaction.TransactionIsolation, com.sendev.databasemanager.transaction.contracts.TransactionCallback)
+     *
+     * @param <T>        The type of the callback result.
+     * @param connection a specific database connection name that the transaction should be run against,
+     *                   or <code>NULL</code> to use the default connection.
+     * @param callback   the callback to run inside the transaction
+     *
+     * @return the result of the callback
+     *
+     * @exception SQLException if a database access error occurs, or no connection could be leased
+     * @throws DatabaseException if there are no connection with the given name
+     */
+    public <T> T transaction(String connection, TransactionCallback<T> callback) throws SQLException
+    {
+        return transaction(connection, null, callback);
+    }
+
+    /**
+     * Runs the callback inside of a transaction on the given connection, every query the current
+     * thread runs against the connection while the callback is running, including queries
+     * run through the query builder, is part of the transaction, the transaction is
+     * committed once the callback returns, or rolled back if it throws.
+     * <p>
+     * Calling this method while the current thread is already running a transaction on the
+     * connection will create a savepoint in the current transaction instead, so only
+     * the work done by the callback is rolled back if the callback throws.
+     * <p>
+     * <strong>Note:</strong> Asynchronous queries are run on the async executor threads,
+     * so they're never part of the transaction of the thread that submitted them.
+     *
+     * @param <T>        The type of the callback result.
+     * @param connection a specific database connection name that the transaction should be run against,
+     *                   or <code>NULL</code> to use the default connection.
+     * @param isolation  the transaction isolation level, or <code>NULL</code> to use the
+     *                   {@link DatabaseOptions#getTransactionIsolation() default isolation level}
+     * @param callback   the callback to run inside the transaction
+     *
+     * @return the result of the callback
+     *
+     * @exception SQLException if a database access error occurs, or no connection could be leased
+     * @throws DatabaseException if there are no connection with the given name
+     */
+    public <T> T transaction(String connection, TransactionIsolation isolation, TransactionCallback<T> callback) throws SQLException
+    {
+        output.debug("DatabaseManager::transaction was called on the connection \"%s\" with the isolation level: %s", connection, isolation);
+
+        if (connection == null) {
+            return connections.getDefaultConnection().transaction(isolation, callback);
+        }
+
+        return getConnection(connection).transaction(isolation, callback);
     }
 
     /**
@@ -313,15 +655,34 @@ public final class DatabaseManager
      */
     public int queryUpdate(String query) throws SQLException
     {
-        output.debug("DatabaseManager::queryUpdate was called with the following SQL statement: %s", query);
-
-        Statement stmt = connections.getDefaultConnection().prepare(query);
+        return queryUpdate(query, Collections.emptyList());
+    }
 
-        if (stmt instanceof PreparedStatement) {
-            return ((PreparedStatement) stmt).executeUpdate();
-        }
+    /**
+     * Generates a prepared statement object with the given values bound to the <code>?</code> placeholders
+     * and executes the SQL statement, which must be an SQL Data Manipulation Language (DML) statement,
+     * such as <code>INSERT</code>, <code>UPDATE</code> or <code>DELETE</code>; or an SQL statement
+     * that returns nothing, such as a DDL statement.
+     *
+     * @param query    an SQL statement to be sent to the database, typically a static SQL DML statement
+     * @param bindings the values to bind to the placeholders, in order
+     *
+     * @return either (1) the row count for SQL Data Manipulation Language (DML) statements
+     *         or (2) 0 for SQL statements that return nothing
+     *
+     * @exception SQLException        if a database access error occurs;
+     *                                this method is called on a closed  <code>PreparedStatement</code>
+     *                                or the SQL statement returns a <code>ResultSet</code> object
+     * @throws SQLTimeoutException when the driver has determined that the
+     *                             timeout value that was specified by the {@code setQueryTimeout}
+     *                             method has been exceeded and has at least attempted to cancel
+     *                             the currently running {@code Statement}
+     */
+    public int queryUpdate(String query, List<Object> bindings) throws SQLException
+    {
+        output.debug("DatabaseManager::queryUpdate was called with the following SQL statement: %s with the bindings: %s", query, bindings);
 
-        return stmt.executeUpdate(query);
+        return connections.getDefaultConnection().queryUpdate(query, bindings);
     }
 
     /**
@@ -345,7 +706,7 @@ public final class DatabaseManager
      */
     public int queryUpdate(QueryBuilder query) throws SQLException
     {
-        return queryUpdate(query.toSQL(this));
+        return queryUpdate(null, query);
     }
 
     /**
@@ -369,25 +730,39 @@ public final class DatabaseManager
      */
     public int queryUpdate(String connection, String query) throws SQLException
     {
-        if (connection == null) {
-            return queryUpdate(query);
-        }
-
-        output.debug("DatabaseManager::queryUpdate was called on the connection \"%s\" with the following SQL statement: %s", connection, query);
-
-        Database db = connections.getConnection(connection);
+        return queryUpdate(connection, query, Collections.emptyList());
+    }
 
-        if (db == null) {
-            throw new DatabaseException("Invalid connection, there are no connection with the name \"" + connection + "\"");
+    /**
+     * Generates a prepared statement object with the given values bound to the <code>?</code> placeholders
+     * and executes the SQL statement, which must be an SQL Data Manipulation Language (DML) statement,
+     * such as <code>INSERT</code>, <code>UPDATE</code> or <code>DELETE</code>; or an SQL statement
+     * that returns nothing, such as a DDL statement.
+     *
+     * @param connection a specific database connection name that the query should be run against.
+     * @param query      an SQL statement to be sent to the database, typically a static SQL DML statement
+     * @param bindings   the values to bind to the placeholders, in order
+     *
+     * @return either (1) the row count for SQL Data Manipulation Language (DML) statements
+     *         or (2) 0 for SQL statements that return nothing
+     *
+     * @exception SQLException        if a database access error occurs;
+     *                                this method is called on a closed  <code>PreparedStatement</code>
+     *                                or the SQL statement returns a <code>ResultSet</code> object
+     * @throws SQLTimeoutException when the driver has determined that the
+     *                             timeout value that was specified by the {@code setQueryTimeout}
+     *                             method has been exceeded and has at least attempted to cancel
+     *                             the currently running {@code Statement}
+     */
+    public int queryUpdate(String connection, String query, List<Object> bindings) throws SQLException
+    {
+        if (connection == null) {
+            return queryUpdate(query, bindings);
         }
 
-        Statement stmt = db.prepare(query);
+        output.debug("DatabaseManager::queryUpdate was called on the connection \"%s\" with the following SQL statement: %s with the bindings: %s", connection, query, bindings);
 
-        if (stmt instanceof PreparedStatement) {
-            return ((PreparedStatement) stmt).executeUpdate();
-        }
-
-        return stmt.executeUpdate(query);
+        return getConnection(connection).queryUpdate(query, bindings);
     }
 
     /**
@@ -412,7 +787,13 @@ public final class DatabaseManager
      */
     public int queryUpdate(String connection, QueryBuilder query) throws SQLException
     {
-        return queryUpdate(connection, query.toSQL(this));
+        CompiledQuery compiled = query.compile(this, connection);
+
+        try {
+            return queryUpdate(connection, compiled.getSQL(), compiled.getBindings());
+        } finally {
+            queryResults.invalidate(resolveConnection(connection), query);
+        }
     }
 
     /**
@@ -434,24 +815,37 @@ public final class DatabaseManager
      */
     public Set<Integer> queryInsert(String query) throws SQLException
     {
-        output.debug("DatabaseManager::queryInsert was called with the following SQL statement: %s", query);
+        return queryInsert(query, Collections.emptyList());
+    }
+
+    /**
+     * Generates a prepared statement object with the given values bound to the <code>?</code> placeholders
+     * and executes the SQL statement, which must be an SQL INSERT statement, such as <code>INSERT</code>;
+     * After the query has been executed the prepared statement will be used to generate
+     * a set of keys, referring to the IDs of the inserted rows.
+     *
+     * @param query    an SQL statement to be sent to the database, typically a static SQL INSERT statement
+     * @param bindings the values to bind to the placeholders, in order
+     *
+     * @return a set of IDs referring to the insert rows
+     *
+     * @exception SQLException        if a database access error occurs;
+     *                                this method is called on a closed  <code>PreparedStatement</code>
+     *                                or the SQL statement returns a <code>ResultSet</code> object
+     * @throws SQLTimeoutException when the driver has determined that the
+     *                             timeout value that was specified by the {@code setQueryTimeout}
+     *                             method has been exceeded and has at least attempted to cancel
+     *                             the currently running {@code Statement}
+     */
+    public Set<Integer> queryInsert(String query, List<Object> bindings) throws SQLException
+    {
+        output.debug("DatabaseManager::queryInsert was called with the following SQL statement: %s with the bindings: %s", query, bindings);
 
         if (!query.startsWith("INSERT INTO")) {
             throw new DatabaseException("queryInsert was called with a query without an INSERT statement!");
         }
 
-        PreparedStatement stmt = connections.getDefaultConnection().getConnection().prepareStatement(query, Statement.RETURN_GENERATED_KEYS);
-
-        stmt.executeUpdate();
-
-        Set<Integer> ids = new HashSet<>();
-
-        ResultSet keys = stmt.getGeneratedKeys();
-        while (keys.next()) {
-            ids.add(keys.getInt(1));
-        }
-
-        return ids;
+        return connections.getDefaultConnection().queryInsert(query, bindings);
     }
 
     /**
@@ -474,7 +868,7 @@ public final class DatabaseManager
      */
     public Set<Integer> queryInsert(QueryBuilder query) throws SQLException
     {
-        return queryInsert(query.toSQL(this));
+        return queryInsert(null, query);
     }
 
     /**
@@ -496,35 +890,43 @@ public final class DatabaseManager
      *                             the currently running {@code Statement}
      */
     public Set<Integer> queryInsert(String connection, String query) throws SQLException
+    {
+        return queryInsert(connection, query, Collections.emptyList());
+    }
+
+    /**
+     * Generates a prepared statement object with the given values bound to the <code>?</code> placeholders
+     * and executes the SQL statement, which must be an SQL INSERT statement, such as <code>INSERT</code>;
+     * After the query has been executed the prepared statement will be used to generate
+     * a set of keys, referring to the IDs of the inserted rows.
+     *
+     * @param connection a specific database connection name that the query should be run against.
+     * @param query      an SQL statement to be sent to the database, typically a static SQL INSERT statement
+     * @param bindings   the values to bind to the placeholders, in order
+     *
+     * @return a set of IDs referring to the insert rows
+     *
+     * @exception SQLException        if a database access error occurs;
+     *                                this method is called on a closed  <code>PreparedStatement</code>
+     *                                or the SQL statement returns a <code>ResultSet</code> object
+     * @throws SQLTimeoutException when the driver has determined that the
+     *                             timeout value that was specified by the {@code setQueryTimeout}
+     *                             method has been exceeded and has at least attempted to cancel
+     *                             the currently running {@code Statement}
+     */
+    public Set<Integer> queryInsert(String connection, String query, List<Object> bindings) throws SQLException
     {
         if (connection == null) {
-            return queryInsert(query);
+            return queryInsert(query, bindings);
         }
 
-        output.debug("DatabaseManager::queryInsert was called on the connection \"%s\" with the following SQL statement: %s", connection, query);
+        output.debug("DatabaseManager::queryInsert was called on the connection \"%s\" with the following SQL statement: %s with the bindings: %s", connection, query, bindings);
 
         if (!query.startsWith("INSERT INTO")) {
             throw new DatabaseException("queryInsert was called with a query without an INSERT statement!");
         }
 
-        Database db = connections.getConnection(connection);
-
-        if (db == null) {
-            throw new DatabaseException("Invalid connection, there are no connection with the name \"" + connection + "\"");
-        }
-
-        PreparedStatement stmt = db.getConnection().prepareStatement(query, Statement.RETURN_GENERATED_KEYS);
-
-        stmt.executeUpdate();
-
-        Set<Integer> ids = new HashSet<>();
-
-        ResultSet keys = stmt.getGeneratedKeys();
-        while (keys.next()) {
-            ids.add(keys.getInt(1));
-        }
-
-        return ids;
+        return getConnection(connection).queryInsert(query, bindings);
     }
 
     /**
@@ -548,6 +950,238 @@ public final class DatabaseManager
      */
     public Set<Integer> queryInsert(String connection, QueryBuilder query) throws SQLException
     {
-        return queryInsert(connection, query.toSQL(this));
+        CompiledQuery compiled = query.compile(this, connection);
+
+        try {
+            return queryInsert(connection, compiled.getSQL(), compiled.getBindings());
+        } finally {
+            queryResults.invalidate(resolveConnection(connection), query);
+        }
+    }
+
+    /**
+     * Executes the given SQL statement asynchronously on the default connection.
+     *
+     * @see #query(java.lang.String)
+     *
+     * @param query an SQL statement to be sent to the database, typically a
+     *              static SQL <code>SELECT</code> statement
+     *
+     * @return a future that is completed with the <code>Collection</code> produced by the query
+     */
+    public CompletableFuture<Collection> queryAsync(String query)
+    {
+        return queryAsync(null, query, Collections.emptyList());
+    }
+
+    /**
+     * Executes the given SQL statement asynchronously with the given values
+     * bound to the <code>?</code> placeholders in the statement.
+     *
+     * @see #query(java.lang.String, java.lang.String, java.util.List)
+     *
+     * @param connection a specific database connection name that the query should be run against,
+     *                   or <code>NULL</code> to use the default connection.
+     * @param query      an SQL statement to be sent to the database, typically a
+     *                   static SQL <code>SELECT</code> statement
+     * @param bindings   the values to bind to the placeholders, in order
+     *
+     * @return a future that is completed with the <code>Collection</code> produced by the query
+     *
+     * @throws DatabaseException if there are no connection with the given name
+     */
+    public CompletableFuture<Collection> queryAsync(String connection, String query, List<Object> bindings)
+    {
+        return async.submit(connection, () -> query(connection, query, bindings));
+    }
+
+    /**
+     * Executes the SQL statement generated by the query builder asynchronously on the default connection.
+     *
+     * @see #query(com.sendev.databasemanager.query.QueryBuilder)
+     *
+     * @param query a QueryBuilder instance that should be sent to the database, typically a
+     *              static SQL <code>SELECT</code> statement
+     *
+     * @return a future that is completed with the <code>Collection</code> produced by the query
+     */
+    public CompletableFuture<Collection> queryAsync(QueryBuilder query)
+    {
+        return queryAsync(null, query);
+    }
+
+    /**
+     * Executes the SQL statement generated by the query builder asynchronously.
+     *
+     * @see #query(java.lang.String, com.sendev.databasemanager.query.QueryBuilder)
+     *
+     * @param connection a specific database connection name that the query should be run against,
+     *                   or <code>NULL</code> to use the default connection.
+     * @param query      a QueryBuilder instance that should be sent to the database, typically a
+     *                   static SQL <code>SELECT</code> statement
+     *
+     * @return a future that is completed with the <code>Collection</code> produced by the query
+     *
+     * @throws DatabaseException if there are no connection with the given name
+     */
+    public CompletableFuture<Collection> queryAsync(String connection, QueryBuilder query)
+    {
+        return async.submit(connection, () -> query(connection, query));
+    }
+
+    /**
+     * Executes the given SQL Data Manipulation Language (DML) statement asynchronously on the default connection.
+     *
+     * @see #queryUpdate(java.lang.String)
+     *
+     * @param query an SQL statement to be sent to the database, typically a static SQL DML statement
+     *
+     * @return a future that is completed with either (1) the row count for SQL Data Manipulation
+     *         Language (DML) statements or (2) 0 for SQL statements that return nothing
+     */
+    public CompletableFuture<Integer> queryUpdateAsync(String query)
+    {
+        return queryUpdateAsync(null, query, Collections.emptyList());
+    }
+
+    /**
+     * Executes the given SQL Data Manipulation Language (DML) statement asynchronously with
+     * the given values bound to the <code>?</code> placeholders in the statement.
+     *
+     * @see #queryUpdate(java.lang.String, java.lang.String, java.util.List)
+     *
+     * @param connection a specific database connection name that the query should be run against,
+     *                   or <code>NULL</code> to use the default connection.
+     * @param query      an SQL statement to be sent to the database, typically a static SQL DML statement
+     * @param bindings   the values to bind to the placeholders, in order
+     *
+     * @return a future that is completed with either (1) the row count for SQL Data Manipulation
+     *         Language (DML) statements or (2) 0 for SQL statements that return nothing
+     *
+     * @throws DatabaseException if there are no connection with the given name
+     */
+    public CompletableFuture<Integer> queryUpdateAsync(String connection, String query, List<Object> bindings)
+    {
+        return async.submit(connection, () -> queryUpdate(connection, query, bindings));
+    }
+
+    /**
+     * Executes the SQL statement generated by the query builder asynchronously on the default connection.
+     *
+     * @see #queryUpdate(com.sendev.databasemanager.query.QueryBuilder)
+     *
+     * @param query a QueryBuilder instance that should be sent to the database, typically a
+     *              static SQL DML statement
+     *
+     * @return a future that is completed with either (1) the row count for SQL Data Manipulation
+     *         Language (DML) statements or (2) 0 for SQL statements that return nothing
+     */
+    public CompletableFuture<Integer> queryUpdateAsync(QueryBuilder query)
+    {
+        return queryUpdateAsync(null, query);
+    }
+
+    /**
+     * Executes the SQL statement generated by the query builder asynchronously.
+     *
+     * @see #queryUpdate(java.lang.String, com.sendev.databasemanager.query.QueryBuilder)
+     *
+     * @param connection a specific database connection name that the query should be run against,
+     *                   or <code>NULL</code> to use the default connection.
+     * @param query      a QueryBuilder instance that should be sent to the database, typically a
+     *                   static SQL DML statement
+     *
+     * @return a future that is completed with either (1) the row count for SQL Data Manipulation
+     *         Language (DML) statements or (2) 0 for SQL statements that return nothing
+     *
+     * @throws DatabaseException if there are no connection with the given name
+     */
+    public CompletableFuture<Integer> queryUpdateAsync(String connection, QueryBuilder query)
+    {
+        return async.submit(connection, () -> queryUpdate(connection, query));
+    }
+
+    /**
+     * Executes the given SQL INSERT statement asynchronously on the default connection.
+     *
+     * @see #queryInsert(java.lang.String)
+     *
+     * @param query an SQL statement to be sent to the database, typically a static SQL INSERT statement
+     *
+     * @return a future that is completed with a set of IDs referring to the insert rows
+     */
+    public CompletableFuture<Set<Integer>> queryInsertAsync(String query)
+    {
+        return queryInsertAsync(null, query, Collections.emptyList());
+    }
+
+    /**
+     * Executes the given SQL INSERT statement asynchronously with the given
+     * values bound to the <code>?</code> placeholders in the statement.
+     *
+     * @see #queryInsert(java.lang.String, java.lang.String, java.util.List)
+     *
+     * @param connection a specific database connection name that the query should be run against,
+     *                   or <code>NULL</code> to use the default connection.
+     * @param query      an SQL statement to be sent to the database, typically a static SQL INSERT statement
+     * @param bindings   the values to bind to the placeholders, in order
+     *
+     * @return a future that is completed with a set of IDs referring to the insert rows
+     *
+     * @throws DatabaseException if there are no connection with the given name
+     */
+    public CompletableFuture<Set<Integer>> queryInsertAsync(String connection, String query, List<Object> bindings)
+    {
+        return async.submit(connection, () -> queryInsert(connection, query, bindings));
+    }
+
+    /**
+     * Executes the SQL statement generated by the query builder asynchronously on the default connection.
+     *
+     * @see #queryInsert(com.sendev.databasemanager.query.QueryBuilder)
+     *
+     * @param query a QueryBuilder instance that should be sent to the database, typically a
+     *              static SQL INSERT statement
+     *
+     * @return a future that is completed with a set of IDs referring to the insert rows
+     */
+    public CompletableFuture<Set<Integer>> queryInsertAsync(QueryBuilder query)
+    {
+        return queryInsertAsync(null, query);
+    }
+
+    /**
+     * Executes the SQL statement generated by the query builder asynchronously.
+     *
+     * @see #queryInsert(java.lang.String, com.sendev.databasemanager.query.QueryBuilder)
+     *
+     * @param connection a specific database connection name that the query should be run against,
+     *                   or <code>NULL</code> to use the default connection.
+     * @param query      a QueryBuilder instance that should be sent to the database, typically a
+     *                   static SQL INSERT statement
+     *
+     * @return a future that is completed with a set of IDs referring to the insert rows
+     *
+     * @throws DatabaseException if there are no connection with the given name
+     */
+    public CompletableFuture<Set<Integer>> queryInsertAsync(String connection, QueryBuilder query)
+    {
+        return async.submit(connection, () -> queryInsert(connection, query));
+    }
+
+    private Database resolveConnection(String connection)
+    {
+        return connection == null ? connections.getDefaultConnection() : getConnection(connection);
+    }
+
+    private Database getConnection(String connection)
+    {
+        Database db = connections.getConnection(connection);
+
+        if (db == null) {
+            throw new DatabaseException("Invalid connection, there are no connection with the name \"" + connection + "\"");
+        }
+
+        return db;
     }
 }
@@ -1,6 +1,8 @@
 package com.sendev.databasemanager;
 
+import com.sendev.databasemanager.replication.ReplicaBalancing;
 import com.sendev.databasemanager.schema.DatabaseEngine;
+import com.sendev.databasemanager.transaction.TransactionIsolation;
 
 public final class DatabaseOptions
 {
@@ -9,6 +11,42 @@ public final class DatabaseOptions
     private int queryReturnLimit = -1;
     private boolean debug;
     private String prefix = "";
+    private int compiledQueryCacheSize = 256;
+    private int queryResultCacheSize = 0;
+    private long queryResultCacheMemoryLimit = 8 * 1024 * 1024;
+    private long queryResultCacheTimeToLive = 60000;
+    private int statementCacheSize = 250;
+    private int batchSize = 1000;
+    private boolean batchRewriting = false;
+    private int cursorFetchSize = 1000;
+    private int eagerLoadChunkSize = 500;
+    private int whereInInlineLimit = 1000;
+    private int whereInChunkSize = 1000;
+    private int whereInTemporaryTableThreshold = 20000;
+    private TransactionIsolation transactionIsolation = null;
+
+    private boolean pool = false;
+    private int poolMinimumSize = 2;
+    private int poolMaximumSize = 10;
+    private long poolIdleTimeout = 600000;
+    private long poolValidationInterval = 5000;
+    private long poolLeakDetectionThreshold = 0;
+    private long poolBorrowTimeout = 30000;
+
+    private ReplicaBalancing replicaBalancing = ReplicaBalancing.ROUND_ROBIN;
+    private long replicaHealthCheckInterval = 30000;
+    private long replicaHealthCheckTimeout = 5000;
+
+    private String sqliteJournalMode = "WAL";
+    private String sqliteSynchronous = "NORMAL";
+    private int sqliteCacheSize = -8000;
+    private long sqliteMmapSize = 0;
+    private int sqliteBusyTimeout = 5000;
+    private int sqliteReadPoolSize = 0;
+
+    private int asyncThreadLimit = 4;
+    private int asyncQueueLimit = 1000;
+    private boolean asyncServerThreadCompletion = false;
 
     /**
      * Sets the default database engine that should be used when inserting and creating data.
@@ -117,6 +155,337 @@ public final class DatabaseOptions
         return prefix;
     }
 
+    /**
+     * Sets the maximum amount of compiled query templates the DBM should cache, query builders with the
+     * same shape, the same table, columns, clauses, joins and ordering, will reuse the cached SQL
+     * instead of running it through the query grammar again, setting the size to 0 will
+     * disable the compiled query cache.
+     *
+     * @see com.sendev.databasemanager.cache.CompiledQueryCache
+     *
+     * @param compiledQueryCacheSize The maximum amount of cached compiled queries.
+     */
+    public void setCompiledQueryCacheSize(int compiledQueryCacheSize)
+    {
+        this.compiledQueryCacheSize = Math.max(0, compiledQueryCacheSize);
+    }
+
+    /**
+     * Gets the maximum amount of compiled query templates the DBM should cache.
+     *
+     * @return The compiled query cache size.
+     */
+    public int getCompiledQueryCacheSize()
+    {
+        return compiledQueryCacheSize;
+    }
+
+    /**
+     * Sets the maximum amount of query results the DBM should cache, query results are only
+     * cached for <code>SELECT</code> queries generated by the query builder, and are removed
+     * from the cache whenever the query builder writes to one of the tables they were
+     * read from, setting the size to 0 will disable the result cache.
+     *
+     * @see com.sendev.databasemanager.cache.QueryResultCache
+     *
+     * @param queryResultCacheSize the maximum amount of cached query results.
+     */
+    public void setQueryResultCacheSize(int queryResultCacheSize)
+    {
+        this.queryResultCacheSize = Math.max(0, queryResultCacheSize);
+    }
+
+    /**
+     * Gets the maximum amount of query results the DBM should cache.
+     *
+     * @return The maximum amount of cached query results.
+     */
+    public int getQueryResultCacheSize()
+    {
+        return queryResultCacheSize;
+    }
+
+    /**
+     * Sets the maximum amount of memory in bytes the cached query results can use, the size of
+     * each result is estimated from the values it holds, results larger than the limit
+     * are never cached.
+     *
+     * @param queryResultCacheMemoryLimit the memory limit in bytes.
+     */
+    public void setQueryResultCacheMemoryLimit(long queryResultCacheMemoryLimit)
+    {
+        this.queryResultCacheMemoryLimit = Math.max(0, queryResultCacheMemoryLimit);
+    }
+
+    /**
+     * Gets the maximum amount of memory in bytes the cached query results can use.
+     *
+     * @return The memory limit in bytes.
+     */
+    public long getQueryResultCacheMemoryLimit()
+    {
+        return queryResultCacheMemoryLimit;
+    }
+
+    /**
+     * Sets the amount of time in milliseconds a query result is cached for, once a result
+     * expires the query is run against the database again the next time it's used.
+     *
+     * @param queryResultCacheTimeToLive the time to live in milliseconds.
+     */
+    public void setQueryResultCacheTimeToLive(long queryResultCacheTimeToLive)
+    {
+        this.queryResultCacheTimeToLive = Math.max(0, queryResultCacheTimeToLive);
+    }
+
+    /**
+     * Gets the amount of time in milliseconds a query result is cached for.
+     *
+     * @return The time to live in milliseconds.
+     */
+    public long getQueryResultCacheTimeToLive()
+    {
+        return queryResultCacheTimeToLive;
+    }
+
+    /**
+     * Sets the amount of prepared statements the database driver should cache per connection, this
+     * is used by hostname databases, like MySQL, that supports caching prepared statements on
+     * the connection, setting the size to 0 will disable the prepared statement cache.
+     * <p>
+     * <strong>Note:</strong> The statement cache size is only used by connections that are opened after it's set.
+     *
+     * @param statementCacheSize The amount of prepared statements to cache per connection.
+     */
+    public void setStatementCacheSize(int statementCacheSize)
+    {
+        this.statementCacheSize = Math.max(0, statementCacheSize);
+    }
+
+    /**
+     * Gets the amount of prepared statements the database driver should cache per connection.
+     *
+     * @return The prepared statement cache size.
+     */
+    public int getStatementCacheSize()
+    {
+        return statementCacheSize;
+    }
+
+    /**
+     * Sets the default amount of rows that are sent to the database at a time when using
+     * batch writes, each chunk of rows is executed as a single JDBC batch, so
+     * the chunk size should be kept below the max packet size of the server.
+     *
+     * @see com.sendev.databasemanager.query.BatchWriter
+     *
+     * @param batchSize The amount of rows per batch chunk.
+     */
+    public void setBatchSize(int batchSize)
+    {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The batch size must be at least 1.");
+        }
+
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Gets the default amount of rows that are sent to the database at a time when using batch writes.
+     *
+     * @return The batch chunk size.
+     */
+    public int getBatchSize()
+    {
+        return batchSize;
+    }
+
+    /**
+     * This will make MySQL connections rewrite batched statements into multi-row statements,
+     * which greatly reduces the amount of round trips needed for batch writes.
+     * <p>
+     * <strong>Note:</strong> Batch rewriting is only used by connections that are opened after it's enabled.
+     */
+    public void enableBatchRewriting()
+    {
+        this.batchRewriting = true;
+    }
+
+    /**
+     * This will disable batch rewriting for MySQL connections that are opened after it's disabled.
+     */
+    public void disableBatchRewriting()
+    {
+        this.batchRewriting = false;
+    }
+
+    /**
+     * Checks to see if batch rewriting is enabled within the DBM.
+     *
+     * @return true if batch rewriting is enabled, otherwise it will return false.
+     */
+    public boolean isBatchRewritingEnabled()
+    {
+        return batchRewriting;
+    }
+
+    /**
+     * Sets the amount of rows cursors should fetch from the database at a time, MySQL
+     * connections ignores this and always stream the rows one at a time.
+     *
+     * @param cursorFetchSize The amount of rows fetched at a time, or <code>0</code> to use the driver default.
+     */
+    public void setCursorFetchSize(int cursorFetchSize)
+    {
+        if (cursorFetchSize < 0) {
+            throw new IllegalArgumentException("The cursor fetch size can't be negative.");
+        }
+
+        this.cursorFetchSize = cursorFetchSize;
+    }
+
+    /**
+     * Gets the amount of rows cursors should fetch from the database at a time.
+     *
+     * @return The cursor fetch size.
+     */
+    public int getCursorFetchSize()
+    {
+        return cursorFetchSize;
+    }
+
+    /**
+     * Sets the maximum amount of keys used in a single eager load query, relations loaded
+     * for more parents than this are loaded using multiple <code>WHERE IN</code> queries,
+     * keeping the amount of bound parameters below the limits of the database.
+     *
+     * @see com.sendev.databasemanager.eloquent.Eloquent#with(java.lang.String...)
+     *
+     * @param eagerLoadChunkSize The amount of keys per eager load query.
+     */
+    public void setEagerLoadChunkSize(int eagerLoadChunkSize)
+    {
+        if (eagerLoadChunkSize < 1) {
+            throw new IllegalArgumentException("The eager load chunk size must be at least 1.");
+        }
+
+        this.eagerLoadChunkSize = eagerLoadChunkSize;
+    }
+
+    /**
+     * Gets the maximum amount of keys used in a single eager load query.
+     *
+     * @return The eager load chunk size.
+     */
+    public int getEagerLoadChunkSize()
+    {
+        return eagerLoadChunkSize;
+    }
+
+    /**
+     * Sets the maximum amount of values a <code>WHERE IN</code> clause can have before the query
+     * builder stops binding the values directly in the query, larger lists are either
+     * split into chunks that are queried in parallel, or loaded into a temporary
+     * table, depending on the {@link #setWhereInTemporaryTableThreshold(int) temporary table threshold}.
+     *
+     * @see com.sendev.databasemanager.query.QueryBuilder#whereIn(java.lang.String, java.util.List)
+     *
+     * @param whereInInlineLimit The maximum amount of values bound directly in the query.
+     */
+    public void setWhereInInlineLimit(int whereInInlineLimit)
+    {
+        if (whereInInlineLimit < 1) {
+            throw new IllegalArgumentException("The where in inline limit must be at least 1.");
+        }
+
+        this.whereInInlineLimit = whereInInlineLimit;
+    }
+
+    /**
+     * Gets the maximum amount of values a <code>WHERE IN</code> clause can have before the query
+     * builder stops binding the values directly in the query.
+     *
+     * @return The where in inline limit.
+     */
+    public int getWhereInInlineLimit()
+    {
+        return whereInInlineLimit;
+    }
+
+    /**
+     * Sets the amount of values used per query, when a large <code>WHERE IN</code>
+     * clause is split into chunks that are queried in parallel.
+     *
+     * @param whereInChunkSize The amount of values per chunk.
+     */
+    public void setWhereInChunkSize(int whereInChunkSize)
+    {
+        if (whereInChunkSize < 1) {
+            throw new IllegalArgumentException("The where in chunk size must be at least 1.");
+        }
+
+        this.whereInChunkSize = whereInChunkSize;
+    }
+
+    /**
+     * Gets the amount of values used per query, when a large <code>WHERE IN</code> clause is split into chunks.
+     *
+     * @return The where in chunk size.
+     */
+    public int getWhereInChunkSize()
+    {
+        return whereInChunkSize;
+    }
+
+    /**
+     * Sets the amount of values a <code>WHERE IN</code> clause must have before the values are
+     * loaded into a temporary table, and matched using a sub query on the table, instead
+     * of being split into chunks, lists that can't be split into chunks without
+     * changing the result of the query always uses a temporary table.
+     *
+     * @param whereInTemporaryTableThreshold The amount of values needed to use a temporary table.
+     */
+    public void setWhereInTemporaryTableThreshold(int whereInTemporaryTableThreshold)
+    {
+        if (whereInTemporaryTableThreshold < 1) {
+            throw new IllegalArgumentException("The where in temporary table threshold must be at least 1.");
+        }
+
+        this.whereInTemporaryTableThreshold = whereInTemporaryTableThreshold;
+    }
+
+    /**
+     * Gets the amount of values a <code>WHERE IN</code> clause must have before the values are loaded into a temporary table.
+     *
+     * @return The where in temporary table threshold.
+     */
+    public int getWhereInTemporaryTableThreshold()
+    {
+        return whereInTemporaryTableThreshold;
+    }
+
+    /**
+     * Sets the default isolation level used by transactions that doesn't specify their own isolation level.
+     *
+     * @param transactionIsolation The transaction isolation level, or <code>NULL</code> to
+     *                             use the isolation level of the connection.
+     */
+    public void setTransactionIsolation(TransactionIsolation transactionIsolation)
+    {
+        this.transactionIsolation = transactionIsolation;
+    }
+
+    /**
+     * Gets the default isolation level used by transactions.
+     *
+     * @return either (1) the default transaction isolation level
+     *         or (2) <code>NULL</code> if the isolation level of the connection is used
+     */
+    public TransactionIsolation getTransactionIsolation()
+    {
+        return transactionIsolation;
+    }
+
     /**
      * This will enable the debug mode in the Database Manager, allowing the Database
      * Output to give more detailed information about what is going on within the
@@ -146,4 +515,465 @@ public final class DatabaseOptions
     {
         return debug;
     }
+
+    /**
+     * This will enable connection pooling for hostname database connections, like MySQL, that
+     * are added to the DBM after pooling has been enabled, allowing queries from different
+     * threads to run in parallel on their own connection instead of sharing one.
+     *
+     * @see com.sendev.databasemanager.pool.ConnectionPool
+     */
+    public void enableConnectionPool()
+    {
+        this.pool = true;
+    }
+
+    /**
+     * This will disable connection pooling for hostname database connections that
+     * are added to the DBM after pooling has been disabled.
+     */
+    public void disableConnectionPool()
+    {
+        this.pool = false;
+    }
+
+    /**
+     * Checks to see if connection pooling is enabled within the DBM.
+     *
+     * @return true if connection pooling is enabled, otherwise it will return false.
+     */
+    public boolean isConnectionPoolEnabled()
+    {
+        return pool;
+    }
+
+    /**
+     * Sets the minimum and maximum amount of connections the connection pool should hold, the
+     * pool will always keep the minimum amount of connections open, and will never open
+     * more connections than the maximum amount of connections.
+     *
+     * @param minimum The minimum amount of connections the pool should keep open.
+     * @param maximum The maximum amount of connections the pool can open.
+     */
+    public void setPoolSize(int minimum, int maximum)
+    {
+        if (maximum < 1) {
+            throw new IllegalArgumentException("The maximum pool size must be at least 1.");
+        }
+
+        this.poolMinimumSize = Math.max(0, Math.min(minimum, maximum));
+        this.poolMaximumSize = maximum;
+    }
+
+    /**
+     * Gets the minimum amount of connections the connection pool should keep open.
+     *
+     * @return The minimum pool size.
+     */
+    public int getPoolMinimumSize()
+    {
+        return poolMinimumSize;
+    }
+
+    /**
+     * Gets the maximum amount of connections the connection pool can open.
+     *
+     * @return The maximum pool size.
+     */
+    public int getPoolMaximumSize()
+    {
+        return poolMaximumSize;
+    }
+
+    /**
+     * Sets the amount of time in milliseconds a connection can sit idle in the pool before
+     * it is closed, connections will never be closed if it would bring the pool below the
+     * minimum pool size, setting the idle timeout to 0 will disable idle eviction.
+     *
+     * @param poolIdleTimeout the idle timeout in milliseconds.
+     */
+    public void setPoolIdleTimeout(long poolIdleTimeout)
+    {
+        this.poolIdleTimeout = Math.max(0, poolIdleTimeout);
+    }
+
+    /**
+     * Gets the amount of time in milliseconds a connection can sit idle in the pool.
+     *
+     * @return The idle timeout in milliseconds.
+     */
+    public long getPoolIdleTimeout()
+    {
+        return poolIdleTimeout;
+    }
+
+    /**
+     * Sets the amount of time in milliseconds a connection can go unused before it is validated
+     * again when it's borrowed from the pool, connections that have been used within
+     * the interval are handed out without asking the database if they're valid.
+     *
+     * @param poolValidationInterval the validation interval in milliseconds.
+     */
+    public void setPoolValidationInterval(long poolValidationInterval)
+    {
+        this.poolValidationInterval = Math.max(0, poolValidationInterval);
+    }
+
+    /**
+     * Gets the amount of time in milliseconds a connection can go unused before it is validated.
+     *
+     * @return The validation interval in milliseconds.
+     */
+    public long getPoolValidationInterval()
+    {
+        return poolValidationInterval;
+    }
+
+    /**
+     * Sets the amount of time in milliseconds a connection can be borrowed from the pool before
+     * a warning is logged with the stack trace of the code that borrowed the connection,
+     * setting the threshold to 0 will disable leak detection.
+     *
+     * @param poolLeakDetectionThreshold the leak detection threshold in milliseconds.
+     */
+    public void setPoolLeakDetectionThreshold(long poolLeakDetectionThreshold)
+    {
+        this.poolLeakDetectionThreshold = Math.max(0, poolLeakDetectionThreshold);
+    }
+
+    /**
+     * Gets the amount of time in milliseconds a connection can be borrowed before it is reported as leaked.
+     *
+     * @return The leak detection threshold in milliseconds.
+     */
+    public long getPoolLeakDetectionThreshold()
+    {
+        return poolLeakDetectionThreshold;
+    }
+
+    /**
+     * Sets the amount of time in milliseconds a thread will wait for a connection to be available
+     * in the pool before an SQLTimeoutException is thrown, waiting threads are handed
+     * connections in the same order they started waiting for them.
+     *
+     * @see java.sql.SQLTimeoutException
+     *
+     * @param poolBorrowTimeout the borrow timeout in milliseconds.
+     */
+    public void setPoolBorrowTimeout(long poolBorrowTimeout)
+    {
+        this.poolBorrowTimeout = Math.max(0, poolBorrowTimeout);
+    }
+
+    /**
+     * Gets the amount of time in milliseconds a thread will wait for a connection from the pool.
+     *
+     * @return The borrow timeout in milliseconds.
+     */
+    public long getPoolBorrowTimeout()
+    {
+        return poolBorrowTimeout;
+    }
+
+    /**
+     * Sets the strategy used to select which read replica a <code>SELECT</code>
+     * query should be sent to, for connections that has read replicas.
+     *
+     * @param replicaBalancing the replica balancing strategy.
+     */
+    public void setReplicaBalancing(ReplicaBalancing replicaBalancing)
+    {
+        if (replicaBalancing == null) {
+            throw new IllegalArgumentException("The replica balancing strategy can't be null.");
+        }
+
+        this.replicaBalancing = replicaBalancing;
+    }
+
+    /**
+     * Gets the strategy used to select which read replica a query should be sent to.
+     *
+     * @return The replica balancing strategy.
+     */
+    public ReplicaBalancing getReplicaBalancing()
+    {
+        return replicaBalancing;
+    }
+
+    /**
+     * Sets the amount of time in milliseconds an unhealthy read replica is left alone before
+     * it's health checked again, while a replica is unhealthy its reads are sent to the
+     * other replicas, or to the primary database if every replica is unhealthy.
+     *
+     * @param replicaHealthCheckInterval the health check interval in milliseconds.
+     */
+    public void setReplicaHealthCheckInterval(long replicaHealthCheckInterval)
+    {
+        this.replicaHealthCheckInterval = Math.max(0, replicaHealthCheckInterval);
+    }
+
+    /**
+     * Gets the amount of time in milliseconds an unhealthy read replica is left alone before it's health checked again.
+     *
+     * @return The health check interval in milliseconds.
+     */
+    public long getReplicaHealthCheckInterval()
+    {
+        return replicaHealthCheckInterval;
+    }
+
+    /**
+     * Sets the amount of time in milliseconds a read replica has to respond to a health
+     * check before it's marked as unhealthy, the timeout is rounded down to whole
+     * seconds, with a minimum of one second.
+     *
+     * @param replicaHealthCheckTimeout the health check timeout in milliseconds.
+     */
+    public void setReplicaHealthCheckTimeout(long replicaHealthCheckTimeout)
+    {
+        this.replicaHealthCheckTimeout = Math.max(1000, replicaHealthCheckTimeout);
+    }
+
+    /**
+     * Gets the amount of time in milliseconds a read replica has to respond to a health check.
+     *
+     * @return The health check timeout in milliseconds.
+     */
+    public long getReplicaHealthCheckTimeout()
+    {
+        return replicaHealthCheckTimeout;
+    }
+
+    /**
+     * Sets the journal mode used by SQLite file databases, the default journal mode is <code>WAL</code>,
+     * which allows readers to continue reading while a writer is writing to the database.
+     * <p>
+     * <strong>Note:</strong> The journal mode is ignored by in-memory SQLite databases.
+     *
+     * @param journalMode The journal mode, either <code>DELETE</code>, <code>TRUNCATE</code>,
+     *                    <code>PERSIST</code>, <code>MEMORY</code>, <code>WAL</code> or <code>OFF</code>.
+     */
+    public void setSQLiteJournalMode(String journalMode)
+    {
+        this.sqliteJournalMode = requireOneOf("journal mode", journalMode, "DELETE", "TRUNCATE", "PERSIST", "MEMORY", "WAL", "OFF");
+    }
+
+    /**
+     * Gets the journal mode used by SQLite file databases.
+     *
+     * @return The SQLite journal mode.
+     */
+    public String getSQLiteJournalMode()
+    {
+        return sqliteJournalMode;
+    }
+
+    /**
+     * Sets the synchronous flag used by SQLite databases, the default is <code>NORMAL</code>,
+     * which is safe from corruption when used together with the <code>WAL</code> journal mode.
+     *
+     * @param synchronous The synchronous flag, either <code>OFF</code>, <code>NORMAL</code>,
+     *                    <code>FULL</code> or <code>EXTRA</code>.
+     */
+    public void setSQLiteSynchronous(String synchronous)
+    {
+        this.sqliteSynchronous = requireOneOf("synchronous flag", synchronous, "OFF", "NORMAL", "FULL", "EXTRA");
+    }
+
+    /**
+     * Gets the synchronous flag used by SQLite databases.
+     *
+     * @return The SQLite synchronous flag.
+     */
+    public String getSQLiteSynchronous()
+    {
+        return sqliteSynchronous;
+    }
+
+    /**
+     * Sets the page cache size used by SQLite databases, positive values are the amount of
+     * pages to cache, negative values are the amount of kibibytes to use for the cache.
+     *
+     * @param cacheSize The SQLite cache size.
+     */
+    public void setSQLiteCacheSize(int cacheSize)
+    {
+        this.sqliteCacheSize = cacheSize;
+    }
+
+    /**
+     * Gets the page cache size used by SQLite databases.
+     *
+     * @return The SQLite cache size.
+     */
+    public int getSQLiteCacheSize()
+    {
+        return sqliteCacheSize;
+    }
+
+    /**
+     * Sets the maximum amount of bytes SQLite databases are allowed to
+     * memory map, setting the size to 0 will disable memory mapping.
+     *
+     * @param mmapSize The memory map size in bytes.
+     */
+    public void setSQLiteMmapSize(long mmapSize)
+    {
+        this.sqliteMmapSize = Math.max(0, mmapSize);
+    }
+
+    /**
+     * Gets the maximum amount of bytes SQLite databases are allowed to memory map.
+     *
+     * @return The SQLite memory map size in bytes.
+     */
+    public long getSQLiteMmapSize()
+    {
+        return sqliteMmapSize;
+    }
+
+    /**
+     * Sets the amount of time in milliseconds an SQLite connection will wait
+     * for a locked database to become available before failing.
+     *
+     * @param busyTimeout The busy timeout in milliseconds.
+     */
+    public void setSQLiteBusyTimeout(int busyTimeout)
+    {
+        this.sqliteBusyTimeout = Math.max(0, busyTimeout);
+    }
+
+    /**
+     * Gets the amount of time in milliseconds an SQLite connection
+     * will wait for a locked database to become available.
+     *
+     * @return The SQLite busy timeout in milliseconds.
+     */
+    public int getSQLiteBusyTimeout()
+    {
+        return sqliteBusyTimeout;
+    }
+
+    /**
+     * Sets the amount of read-only connections SQLite file databases should use for
+     * <code>SELECT</code> queries, allowing reads to run concurrently with the single
+     * writer connection, setting the size to 0 will disable the read connections.
+     * <p>
+     * <strong>Note:</strong> Read connections are only used by SQLite file
+     * databases that are using the <code>WAL</code> journal mode.
+     *
+     * @see com.sendev.databasemanager.pool.ConnectionPool
+     *
+     * @param readPoolSize The amount of read-only connections.
+     */
+    public void setSQLiteReadPoolSize(int readPoolSize)
+    {
+        this.sqliteReadPoolSize = Math.max(0, readPoolSize);
+    }
+
+    /**
+     * Gets the amount of read-only connections SQLite file databases should use.
+     *
+     * @return The SQLite read pool size.
+     */
+    public int getSQLiteReadPoolSize()
+    {
+        return sqliteReadPoolSize;
+    }
+
+    /**
+     * Sets the maximum amount of threads each connection can use to run asynchronous queries, the
+     * amount of threads used by a connection will never exceed the amount of queries the
+     * connection can run at the same time, so connections that aren't pooled will
+     * always run their asynchronous queries on a single thread.
+     *
+     * @see com.sendev.databasemanager.async.QueryExecutor
+     *
+     * @param threadLimit The maximum amount of asynchronous query threads per connection.
+     */
+    public void setAsyncThreadLimit(int threadLimit)
+    {
+        if (threadLimit < 1) {
+            throw new IllegalArgumentException("The async thread limit must be at least 1.");
+        }
+
+        this.asyncThreadLimit = threadLimit;
+    }
+
+    /**
+     * Gets the maximum amount of threads each connection can use to run asynchronous queries.
+     *
+     * @return The async thread limit.
+     */
+    public int getAsyncThreadLimit()
+    {
+        return asyncThreadLimit;
+    }
+
+    /**
+     * Sets the maximum amount of asynchronous queries that can be waiting to be run for
+     * the plugin at the same time, any queries submitted while the queue is full will
+     * be rejected, completing their future exceptionally.
+     *
+     * @param queueLimit The maximum amount of pending asynchronous queries.
+     */
+    public void setAsyncQueueLimit(int queueLimit)
+    {
+        if (queueLimit < 1) {
+            throw new IllegalArgumentException("The async queue limit must be at least 1.");
+        }
+
+        this.asyncQueueLimit = queueLimit;
+    }
+
+    /**
+     * Gets the maximum amount of asynchronous queries that can be waiting to be run for the plugin.
+     *
+     * @return The async queue limit.
+     */
+    public int getAsyncQueueLimit()
+    {
+        return asyncQueueLimit;
+    }
+
+    /**
+     * This will make asynchronous queries complete their futures on the server thread, so
+     * callbacks chained onto the futures can safely use the server API, if the platform
+     * doesn't have a server thread the futures are completed on the query thread.
+     */
+    public void enableAsyncServerThreadCompletion()
+    {
+        this.asyncServerThreadCompletion = true;
+    }
+
+    /**
+     * This will make asynchronous queries complete their futures on the thread the query was run on.
+     */
+    public void disableAsyncServerThreadCompletion()
+    {
+        this.asyncServerThreadCompletion = false;
+    }
+
+    /**
+     * Checks to see if asynchronous queries should complete their futures on the server thread.
+     *
+     * @return true if server thread completion is enabled, otherwise it will return false.
+     */
+    public boolean isAsyncServerThreadCompletionEnabled()
+    {
+        return asyncServerThreadCompletion;
+    }
+
+    private String requireOneOf(String name, String value, String... options)
+    {
+        if (value != null) {
+            for (String option : options) {
+                if (option.equalsIgnoreCase(value.trim())) {
+                    return option;
+                }
+            }
+        }
+
+        throw new IllegalArgumentException(String.format("Invalid SQLite %s given: %s", name, value));
+    }
 }
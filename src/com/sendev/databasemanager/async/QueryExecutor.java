@@ -0,0 +1,351 @@
+package com.sendev.databasemanager.async;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.sendev.databasemanager.DatabaseManager;
+import com.sendev.databasemanager.DatabaseOptions;
+import com.sendev.databasemanager.async.contracts.QueryTask;
+import com.sendev.databasemanager.contracts.Database;
+import com.sendev.databasemanager.exceptions.DatabaseException;
+
+public final class QueryExecutor
+{
+
+    /**
+     * The amount of time in milliseconds an idle asynchronous query thread is kept alive.
+     */
+    private static final long THREAD_KEEP_ALIVE = 60000;
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final DatabaseManager dbm;
+
+    /**
+     * The executors used to run the asynchronous queries, each database connection has its own
+     * executor that is never given more threads than the connection can run queries at the
+     * same time, so a slow connection can't starve the queries of other connections.
+     */
+    private final Map<Database, ThreadPoolExecutor> executors = new ConcurrentHashMap<>();
+
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    private volatile boolean shutdown = false;
+
+    /**
+     * Creates a new asynchronous query executor for the given DBM instance, the thread
+     * and queue limits are loaded from the DBM {@link DatabaseOptions options}.
+     *
+     * @param dbm The DBM instance the executor belongs to.
+     */
+    public QueryExecutor(DatabaseManager dbm)
+    {
+        this.dbm = dbm;
+    }
+
+    /**
+     * Submits the given query task to be run on the executor belonging to the given connection.
+     * <p>
+     * If the plugin already has the maximum amount of asynchronous queries waiting to be run,
+     * or the executor has been shut down, the task will be rejected and the returned future
+     * will be completed exceptionally with a {@link RejectedExecutionException}.
+     * <p>
+     * If server thread completion is enabled in the {@link DatabaseOptions database options}, the
+     * returned future is completed on the server thread, so any callbacks chained onto the future
+     * that isn't explicitly async will also be run on the server thread.
+     *
+     * @param <T>        The type of the query result.
+     * @param connection The name of the connection the task is going to be run against,
+     *                   or <code>NULL</code> to use the default connection.
+     * @param task       The query task to run.
+     *
+     * @return a future that is completed with the result of the query task
+     *
+     * @throws DatabaseException if there are no connection with the given name
+     */
+    public <T> CompletableFuture<T> submit(String connection, QueryTask<T> task)
+    {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Database database = getConnection(connection);
+
+        if (shutdown) {
+            return reject(future, "the asynchronous query executor has been shut down");
+        }
+
+        int limit = dbm.options().getAsyncQueueLimit();
+        if (pending.incrementAndGet() > limit) {
+            pending.decrementAndGet();
+
+            return reject(future, String.format("%s asynchronous queries are already waiting to be run", limit));
+        }
+
+        Executor completion = getCompletionExecutor();
+
+        try {
+            getExecutor(database).execute(() -> {
+                T result;
+
+                // The query is no longer pending once it has been run, so the slot in the queue is
+                // released before the future is completed, allowing callbacks to queue new queries.
+                try {
+                    result = task.run();
+                } catch (Throwable ex) {
+                    pending.decrementAndGet();
+                    failed.incrementAndGet();
+                    complete(completion, () -> future.completeExceptionally(ex));
+
+                    return;
+                }
+
+                pending.decrementAndGet();
+                completed.incrementAndGet();
+                complete(completion, () -> future.complete(result));
+            });
+
+            submitted.incrementAndGet();
+        } catch (RejectedExecutionException ex) {
+            pending.decrementAndGet();
+
+            return reject(future, "the asynchronous query executor has been shut down");
+        }
+
+        return future;
+    }
+
+    /**
+     * Runs all the given query tasks in parallel on the executor belonging to the given connection, and
+     * waits for all of them to finish, the calling thread runs any task that hasn't been started by
+     * the executor yet itself, so the tasks are always completed, even if they're run from
+     * one of the executor threads, or the executor has been shut down.
+     * <p>
+     * The tasks doesn't count towards the queue limit, and are never completed on the server thread.
+     *
+     * @param <T>        The type of the query results.
+     * @param connection The name of the connection the tasks are going to be run against,
+     *                   or <code>NULL</code> to use the default connection.
+     * @param tasks      The query tasks to run.
+     *
+     * @return the results of the query tasks, in the same order as the tasks
+     *
+     * @throws SQLException      if any of the tasks fails with a database access error
+     * @throws DatabaseException if there are no connection with the given name, or the calling thread is interrupted
+     */
+    public <T> List<T> invokeAll(String connection, List<QueryTask<T>> tasks) throws SQLException
+    {
+        List<FutureTask<T>> futures = new ArrayList<>(tasks.size());
+        for (QueryTask<T> task : tasks) {
+            futures.add(new FutureTask<>(task::run));
+        }
+
+        if (!shutdown && futures.size() > 1) {
+            ThreadPoolExecutor executor = getExecutor(getConnection(connection));
+
+            try {
+                for (int i = 1; i < futures.size(); i++) {
+                    executor.execute(futures.get(i));
+                }
+            } catch (RejectedExecutionException ex) {
+                // The tasks that couldn't be handed to the executor are run by the calling thread below.
+            }
+        }
+
+        List<T> results = new ArrayList<>(futures.size());
+        for (FutureTask<T> future : futures) {
+            // Running a future that has already been started by the executor does nothing.
+            future.run();
+
+            try {
+                results.add(future.get());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+
+                throw new DatabaseException("Interrupted while waiting for the queries to finish.", ex);
+            } catch (ExecutionException ex) {
+                Throwable cause = ex.getCause();
+
+                if (cause instanceof SQLException) {
+                    throw (SQLException) cause;
+                }
+
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+
+                throw new DatabaseException("Failed to run the query: " + cause.getMessage(), ex);
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * Shuts down the executor, queries that have already been submitted will still
+     * be run, but any queries submitted after the executor has been shut
+     * down will be rejected.
+     */
+    public void shutdown()
+    {
+        shutdown = true;
+
+        for (ThreadPoolExecutor executor : executors.values()) {
+            executor.shutdown();
+        }
+
+        executors.clear();
+    }
+
+    /**
+     * Checks to see if the executor has been shut down.
+     *
+     * @return true if the executor has been shut down, otherwise it will return false.
+     */
+    public boolean isShutdown()
+    {
+        return shutdown;
+    }
+
+    /**
+     * Gets the amount of asynchronous queries that are currently waiting to be run, or are running.
+     *
+     * @return the amount of pending queries
+     */
+    public int getPendingQueries()
+    {
+        return pending.get();
+    }
+
+    /**
+     * Gets the total amount of asynchronous queries that has been accepted by the executor.
+     *
+     * @return the amount of submitted queries
+     */
+    public long getSubmittedQueries()
+    {
+        return submitted.get();
+    }
+
+    /**
+     * Gets the total amount of asynchronous queries that has completed successfully.
+     *
+     * @return the amount of completed queries
+     */
+    public long getCompletedQueries()
+    {
+        return completed.get();
+    }
+
+    /**
+     * Gets the total amount of asynchronous queries that has failed with an exception.
+     *
+     * @return the amount of failed queries
+     */
+    public long getFailedQueries()
+    {
+        return failed.get();
+    }
+
+    /**
+     * Gets the total amount of asynchronous queries that has been rejected, either
+     * because the queue was full, or because the executor was shut down.
+     *
+     * @return the amount of rejected queries
+     */
+    public long getRejectedQueries()
+    {
+        return rejected.get();
+    }
+
+    private <T> CompletableFuture<T> reject(CompletableFuture<T> future, String reason)
+    {
+        rejected.incrementAndGet();
+
+        dbm.output().debug("An asynchronous query was rejected for %s, %s.", dbm.plugin().getName(), reason);
+
+        future.completeExceptionally(new RejectedExecutionException(String.format(
+            "The asynchronous query was rejected for %s, %s.", dbm.plugin().getName(), reason
+        )));
+
+        return future;
+    }
+
+    private void complete(Executor executor, Runnable completion)
+    {
+        if (executor == null) {
+            completion.run();
+
+            return;
+        }
+
+        try {
+            executor.execute(completion);
+        } catch (RuntimeException ex) {
+            completion.run();
+        }
+    }
+
+    private Executor getCompletionExecutor()
+    {
+        if (!dbm.options().isAsyncServerThreadCompletionEnabled()) {
+            return null;
+        }
+
+        return dbm.plugin().getServerExecutor();
+    }
+
+    private Database getConnection(String connection)
+    {
+        Database database = connection == null
+                            ? dbm.getConnections().getDefaultConnection()
+                            : dbm.getConnections().getConnection(connection);
+
+        if (database == null) {
+            throw new DatabaseException("Invalid connection, there are no connection with the name \"" + connection + "\"");
+        }
+
+        return database;
+    }
+
+    private ThreadPoolExecutor getExecutor(Database database)
+    {
+        return executors.computeIfAbsent(database, this::createExecutor);
+    }
+
+    private ThreadPoolExecutor createExecutor(Database database)
+    {
+        int threads = Math.max(1, Math.min(dbm.options().getAsyncThreadLimit(), database.getConcurrencyLimit()));
+        String name = "DBM-Async-" + dbm.plugin().getName() + "-";
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads,
+            THREAD_KEEP_ALIVE, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, name + THREAD_COUNTER.incrementAndGet());
+                thread.setDaemon(true);
+
+                return thread;
+            });
+
+        executor.allowCoreThreadTimeOut(true);
+
+        return executor;
+    }
+}
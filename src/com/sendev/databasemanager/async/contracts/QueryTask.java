@@ -0,0 +1,16 @@
+package com.sendev.databasemanager.async.contracts;
+
+import java.sql.SQLException;
+
+public interface QueryTask<T>
+{
+    /**
+     * Runs the query task, this is called on one of the asynchronous
+     * query threads belonging to the connection the task was submitted to.
+     *
+     * @return the result of the query
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    public T run() throws SQLException;
+}
@@ -0,0 +1,171 @@
+package com.sendev.databasemanager.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.sendev.databasemanager.DatabaseManager;
+
+public class CompiledQueryCache
+{
+    /**
+     * The maximum combined length of a shape key and its SQL template that will be cached,
+     * larger queries, like where in clauses with thousands of values, are compiled every
+     * time they're run, so the size of each entry in the cache is always bounded.
+     */
+    public static final int MAXIMUM_TEMPLATE_LENGTH = 8192;
+
+    private final DatabaseManager dbm;
+
+    /**
+     * The compiled SQL templates, keyed by the shape of the query builder that
+     * generated them, the map is kept in access order so the least recently
+     * used template is always the first to be evicted.
+     */
+    private final Map<String, String> templates;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Creates a new compiled query cache for the given DBM instance, the maximum size
+     * of the cache is loaded from the DBM {@link com.sendev.databasemanager.DatabaseOptions options}.
+     *
+     * @param dbm The DBM instance the cache belongs to.
+     */
+    public CompiledQueryCache(DatabaseManager dbm)
+    {
+        this.dbm = dbm;
+        this.templates = new LinkedHashMap<String, String>(16, 0.75F, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest)
+            {
+                if (size() > getMaximumSize()) {
+                    evictions.incrementAndGet();
+
+                    return true;
+                }
+
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Gets the compiled SQL template for the given query shape.
+     *
+     * @param shape The shape key of the query builder.
+     *
+     * @return either (1) the cached SQL template
+     *         or (2) <code>NULL</code> if the shape isn't cached, or the cache is disabled
+     */
+    public String get(String shape)
+    {
+        if (getMaximumSize() <= 0) {
+            return null;
+        }
+
+        String sql;
+        synchronized (templates) {
+            sql = templates.get(shape);
+        }
+
+        if (sql == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+
+        return sql;
+    }
+
+    /**
+     * Stores the compiled SQL template for the given query shape, if the cache is full
+     * the least recently used template will be evicted from the cache, templates longer
+     * than the {@link #MAXIMUM_TEMPLATE_LENGTH maximum template length} are ignored.
+     *
+     * @param shape The shape key of the query builder.
+     * @param sql   The compiled SQL template.
+     */
+    public void put(String shape, String sql)
+    {
+        if (getMaximumSize() <= 0 || sql == null || shape.length() + sql.length() > MAXIMUM_TEMPLATE_LENGTH) {
+            return;
+        }
+
+        synchronized (templates) {
+            templates.put(shape, sql);
+        }
+    }
+
+    /**
+     * Removes all the compiled SQL templates from the cache, the counters are left as they are.
+     */
+    public void clear()
+    {
+        synchronized (templates) {
+            templates.clear();
+        }
+    }
+
+    /**
+     * Gets the amount of compiled SQL templates currently in the cache.
+     *
+     * @return the amount of cached templates
+     */
+    public int size()
+    {
+        synchronized (templates) {
+            return templates.size();
+        }
+    }
+
+    /**
+     * Gets the amount of lookups that found a cached template.
+     *
+     * @return the amount of cache hits
+     */
+    public long getHits()
+    {
+        return hits.get();
+    }
+
+    /**
+     * Gets the amount of lookups that didn't find a cached template.
+     *
+     * @return the amount of cache misses
+     */
+    public long getMisses()
+    {
+        return misses.get();
+    }
+
+    /**
+     * Gets the amount of templates that has been evicted to keep the cache within its maximum size.
+     *
+     * @return the amount of cache evictions
+     */
+    public long getEvictions()
+    {
+        return evictions.get();
+    }
+
+    /**
+     * Gets the ratio of lookups that found a cached template, between 0 and 1.
+     *
+     * @return the cache hit rate
+     */
+    public double getHitRate()
+    {
+        long total = hits.get() + misses.get();
+
+        return total == 0 ? 0 : (double) hits.get() / total;
+    }
+
+    private int getMaximumSize()
+    {
+        return dbm.options().getCompiledQueryCacheSize();
+    }
+}
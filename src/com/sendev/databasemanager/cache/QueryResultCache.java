@@ -0,0 +1,480 @@
+package com.sendev.databasemanager.cache;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import com.sendev.databasemanager.DatabaseManager;
+import com.sendev.databasemanager.cache.contracts.QueryLoader;
+import com.sendev.databasemanager.contracts.Database;
+import com.sendev.databasemanager.query.CompiledQuery;
+import com.sendev.databasemanager.query.JoinClause;
+import com.sendev.databasemanager.query.QueryBuilder;
+import com.sendev.databasemanager.transaction.Transaction;
+import com.sendev.databasemanager.utils.Collection;
+import com.sendev.databasemanager.utils.DataRow;
+
+public class QueryResultCache
+{
+    private final DatabaseManager dbm;
+
+    /**
+     * The cached query results, keyed by the database, SQL and bindings of the query
+     * that produced them, the map is kept in access order so the least recently
+     * used result is always the first to be evicted.
+     */
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75F, true);
+
+    /**
+     * The keys of the cached results, grouped by the tables the results were read from,
+     * used to find the results that must be removed when one of the tables is written to.
+     */
+    private final Map<String, Set<Key>> tables = new HashMap<>();
+
+    /**
+     * The amount of times each table has been invalidated, a result is only cached if none of the
+     * tables it was read from has been invalidated while the query was running, otherwise a
+     * write that finished during the query could be hidden by the stale result.
+     */
+    private final Map<String, Long> versions = new HashMap<>();
+
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+
+    private long bytes = 0;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * Creates a new query result cache for the given DBM instance, the limits of the cache
+     * are loaded from the DBM {@link com.sendev.databasemanager.DatabaseOptions options}.
+     *
+     * @param dbm The DBM instance the cache belongs to.
+     */
+    public QueryResultCache(DatabaseManager dbm)
+    {
+        this.dbm = dbm;
+    }
+
+    /**
+     * Gets the result of the given query from the cache, if the result isn't cached, or has
+     * expired, the loader is used to run the query, and the result is stored in the cache.
+     * <p>
+     * Queries run while the current thread is running a transaction against the database
+     * skips the cache, since they could see writes that hasn't been committed yet.
+     *
+     * @param database The database the query is run against.
+     * @param query    The query builder that generated the query.
+     * @param compiled The compiled query.
+     * @param loader   The loader used to run the query if the result isn't cached.
+     *
+     * @return the result of the query, the collection can be changed freely by the caller
+     *
+     * @throws SQLException if the loader fails to run the query
+     */
+    public Collection get(Database database, QueryBuilder query, CompiledQuery compiled, QueryLoader loader) throws SQLException
+    {
+        if (!isEnabled() || database.getTransaction() != null) {
+            return loader.load();
+        }
+
+        Key key = new Key(database, compiled.getSQL(), compiled.getBindings());
+        Set<String> sources = getTables(query);
+        Map<String, Long> snapshot;
+
+        synchronized (this) {
+            Entry entry = entries.get(key);
+
+            if (entry != null && entry.expiresAt > System.currentTimeMillis()) {
+                hits.incrementAndGet();
+
+                return new Collection(entry.result);
+            }
+
+            if (entry != null) {
+                remove(key);
+            }
+
+            misses.incrementAndGet();
+
+            snapshot = new HashMap<>();
+            for (String table : sources) {
+                snapshot.put(table, versions.getOrDefault(table, 0L));
+            }
+        }
+
+        Collection result = loader.load();
+        Entry entry = new Entry(new Collection(result), sources, estimate(compiled, result),
+            System.currentTimeMillis() + dbm.options().getQueryResultCacheTimeToLive()
+        );
+
+        synchronized (this) {
+            for (Map.Entry<String, Long> version : snapshot.entrySet()) {
+                if (!version.getValue().equals(versions.getOrDefault(version.getKey(), 0L))) {
+                    return result;
+                }
+            }
+
+            put(key, entry);
+        }
+
+        return result;
+    }
+
+    /**
+     * Removes all the cached results that were read from the tables used by the given query
+     * builder, if the current thread is running a transaction against the database,
+     * the results are removed again once the transaction has completed.
+     *
+     * @param database The database the query was run against.
+     * @param query    The query builder that wrote to the tables.
+     */
+    public void invalidate(Database database, QueryBuilder query)
+    {
+        Set<String> written = getTables(query);
+
+        invalidate(written);
+
+        Transaction transaction = database == null ? null : database.getTransaction();
+        if (transaction != null) {
+            transaction.afterCompletion(() -> invalidate(written));
+        }
+    }
+
+    /**
+     * Removes all the cached results that were read from the given table, the table prefix from
+     * the DBM options is added to the table name, the same way the query builder does it.
+     * <p>
+     * Writes run through the query builder invalidates the cache automatically, this only
+     * needs to be called after writing to a table using raw SQL queries.
+     *
+     * @param table The name of the table, without the table prefix.
+     */
+    public void invalidate(String table)
+    {
+        Set<String> written = new HashSet<>();
+        written.add(normalizeTable(dbm.options().getPrefix() + table));
+
+        invalidate(written);
+    }
+
+    /**
+     * Adds a listener that is called with the name of every table that is invalidated, listeners
+     * are called even if the result cache is disabled, allowing other caches to use the
+     * same invalidation as the result cache, the table name is normalized and
+     * includes the table prefix, as returned by {@link #normalizeTable(String)}.
+     *
+     * @param listener The listener to call when a table is invalidated.
+     */
+    public void addInvalidationListener(Consumer<String> listener)
+    {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes all the cached results from the cache, the counters are left as they are.
+     */
+    public synchronized void clear()
+    {
+        entries.clear();
+        tables.clear();
+        bytes = 0;
+    }
+
+    /**
+     * Gets the amount of results currently in the cache.
+     *
+     * @return the amount of cached results
+     */
+    public synchronized int size()
+    {
+        return entries.size();
+    }
+
+    /**
+     * Gets the estimated amount of memory in bytes used by the cached results.
+     *
+     * @return the estimated size of the cached results in bytes
+     */
+    public synchronized long getBytes()
+    {
+        return bytes;
+    }
+
+    /**
+     * Gets the amount of lookups that found a cached result.
+     *
+     * @return the amount of cache hits
+     */
+    public long getHits()
+    {
+        return hits.get();
+    }
+
+    /**
+     * Gets the amount of lookups that didn't find a cached result, or found an expired result.
+     *
+     * @return the amount of cache misses
+     */
+    public long getMisses()
+    {
+        return misses.get();
+    }
+
+    /**
+     * Gets the amount of results that has been evicted to keep the cache within its limits.
+     *
+     * @return the amount of cache evictions
+     */
+    public long getEvictions()
+    {
+        return evictions.get();
+    }
+
+    /**
+     * Gets the amount of results that has been removed because one of their tables was written to.
+     *
+     * @return the amount of invalidated results
+     */
+    public long getInvalidations()
+    {
+        return invalidations.get();
+    }
+
+    /**
+     * Gets the ratio of lookups that found a cached result, between 0 and 1.
+     *
+     * @return the cache hit rate
+     */
+    public double getHitRate()
+    {
+        long total = hits.get() + misses.get();
+
+        return total == 0 ? 0 : (double) hits.get() / total;
+    }
+
+    private void invalidate(Set<String> written)
+    {
+        synchronized (this) {
+            for (String table : written) {
+                versions.merge(table, 1L, Long::sum);
+
+                Set<Key> keys = tables.get(table);
+                if (keys == null) {
+                    continue;
+                }
+
+                for (Key key : new ArrayList<>(keys)) {
+                    remove(key);
+                    invalidations.incrementAndGet();
+                }
+            }
+        }
+
+        for (Consumer<String> listener : listeners) {
+            for (String table : written) {
+                listener.accept(table);
+            }
+        }
+    }
+
+    private void put(Key key, Entry entry)
+    {
+        if (entry.bytes > getMemoryLimit()) {
+            return;
+        }
+
+        remove(key);
+
+        entries.put(key, entry);
+        bytes += entry.bytes;
+
+        for (String table : entry.tables) {
+            tables.computeIfAbsent(table, name -> new HashSet<>()).add(key);
+        }
+
+        while (entries.size() > getMaximumSize() || bytes > getMemoryLimit()) {
+            remove(entries.keySet().iterator().next());
+            evictions.incrementAndGet();
+        }
+    }
+
+    private void remove(Key key)
+    {
+        Entry entry = entries.remove(key);
+
+        if (entry != null) {
+            forget(key, entry);
+        }
+    }
+
+    private void forget(Key key, Entry entry)
+    {
+        bytes -= entry.bytes;
+
+        for (String table : entry.tables) {
+            Set<Key> keys = tables.get(table);
+
+            if (keys != null && keys.remove(key) && keys.isEmpty()) {
+                tables.remove(table);
+            }
+        }
+    }
+
+    private Set<String> getTables(QueryBuilder query)
+    {
+        String prefix = query.isIgnoringDatabasePrefix() ? "" : dbm.options().getPrefix();
+        Set<String> names = new LinkedHashSet<>();
+
+        if (query.getTable() != null) {
+            names.add(normalizeTable(prefix + query.getTable()));
+        }
+
+        for (JoinClause join : query.getJoins()) {
+            names.add(normalizeTable(prefix + join.table));
+        }
+
+        return names;
+    }
+
+    private boolean isEnabled()
+    {
+        return getMaximumSize() > 0 && getMemoryLimit() > 0;
+    }
+
+    private int getMaximumSize()
+    {
+        return dbm.options().getQueryResultCacheSize();
+    }
+
+    private long getMemoryLimit()
+    {
+        return dbm.options().getQueryResultCacheMemoryLimit();
+    }
+
+    /**
+     * Normalizes the given table name, removing any alias and quotes from the name,
+     * so the same table always produces the same name, no matter how it's written.
+     *
+     * @param table The table name to normalize, including the table prefix.
+     *
+     * @return the normalized table name
+     */
+    public static String normalizeTable(String table)
+    {
+        return table.trim().split("\\s+", 2)[0].replace("`", "").toLowerCase();
+    }
+
+    /**
+     * Estimates the amount of memory in bytes used by the given query result,
+     * the estimate is based on the sizes of the values stored in the rows.
+     *
+     * @param compiled The compiled query that produced the result.
+     * @param result   The query result.
+     *
+     * @return the estimated size of the result in bytes
+     */
+    private static long estimate(CompiledQuery compiled, Collection result)
+    {
+        long size = 64 + compiled.getSQL().length() * 2L + compiled.getBindings().size() * 24L;
+
+        for (DataRow row : result.all()) {
+            size += 32;
+
+            for (String key : row.keySet()) {
+                size += 8 + estimate(row.get(key));
+            }
+        }
+
+        return size;
+    }
+
+    private static long estimate(Object value)
+    {
+        if (value == null || value instanceof Boolean) {
+            return 0;
+        }
+
+        if (value instanceof String) {
+            return 40 + ((String) value).length() * 2L;
+        }
+
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return 16;
+        }
+
+        if (value instanceof Number && !(value instanceof BigDecimal)) {
+            return 24;
+        }
+
+        if (value instanceof Date) {
+            return 32;
+        }
+
+        return 64;
+    }
+
+    private static final class Key
+    {
+        private final Database database;
+        private final String sql;
+        private final List<Object> bindings;
+        private final int hash;
+
+        Key(Database database, String sql, List<Object> bindings)
+        {
+            this.database = database;
+            this.sql = sql;
+            this.bindings = new ArrayList<>(bindings);
+            this.hash = Objects.hash(System.identityHashCode(database), sql, this.bindings);
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+
+            Key other = (Key) obj;
+
+            return database == other.database && sql.equals(other.sql) && bindings.equals(other.bindings);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
+    }
+
+    private static final class Entry
+    {
+        private final Collection result;
+        private final Set<String> tables;
+        private final long bytes;
+        private final long expiresAt;
+
+        Entry(Collection result, Set<String> tables, long bytes, long expiresAt)
+        {
+            this.result = result;
+            this.tables = tables;
+            this.bytes = bytes;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.sendev.databasemanager.cache.contracts;
+
+import java.sql.SQLException;
+
+import com.sendev.databasemanager.utils.Collection;
+
+public interface QueryLoader
+{
+    /**
+     * Runs the query against the database, the loader is only
+     * called if the result of the query isn't cached.
+     *
+     * @return the result of the query
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    public Collection load() throws SQLException;
+}
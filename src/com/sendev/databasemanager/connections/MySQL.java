@@ -1,13 +1,17 @@
 package com.sendev.databasemanager.connections;
 
+import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.DriverManager;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.List;
+import java.util.Properties;
 
 import com.sendev.databasemanager.contracts.HostnameDatabase;
 import com.sendev.databasemanager.contracts.StatementContract;
+import com.sendev.databasemanager.utils.Cursor;
 
 public class MySQL extends HostnameDatabase
 {
@@ -56,10 +60,8 @@ public class MySQL extends HostnameDatabase
     public boolean open() throws SQLException
     {
         try {
-            String url = String.format("jdbc:mysql://%s:%d/%s", getHostname(), getPort(), getDatabase());
-
             if (initialize()) {
-                connection = DriverManager.getConnection(url, getUsername(), getPassword());
+                connection = createConnection();
 
                 return true;
             }
@@ -73,6 +75,71 @@ public class MySQL extends HostnameDatabase
         return false;
     }
 
+    @Override
+    public Connection createConnection() throws SQLException
+    {
+        String url = String.format("jdbc:mysql://%s:%d/%s", getHostname(), getPort(), getDatabase());
+
+        Properties properties = new Properties();
+        if (getUsername() != null) {
+            properties.setProperty("user", getUsername());
+        }
+
+        if (getPassword() != null) {
+            properties.setProperty("password", getPassword());
+        }
+
+        if (dbm != null && dbm.options().getStatementCacheSize() > 0) {
+            properties.setProperty("cachePrepStmts", "true");
+            properties.setProperty("useServerPrepStmts", "true");
+            properties.setProperty("prepStmtCacheSize", String.valueOf(dbm.options().getStatementCacheSize()));
+            properties.setProperty("prepStmtCacheSqlLimit", "2048");
+        }
+
+        if (dbm != null && dbm.options().isBatchRewritingEnabled()) {
+            properties.setProperty("rewriteBatchedStatements", "true");
+        }
+
+        return DriverManager.getConnection(url, properties);
+    }
+
+    /**
+     * Opens a cursor for the given query that streams the rows one at a time, while a MySQL
+     * connection is streaming rows it can't be used to run other queries, so if the
+     * database isn't pooled the cursor will open its own connection, which is
+     * closed again once the cursor is closed.
+     *
+     * @param query    The query to run, the query should be a <code>SELECT</code> query.
+     * @param bindings The values to bind to the placeholders, in order.
+     *
+     * @return the cursor for the query result
+     *
+     * @throws SQLException if a database access error occurs or no connection could be leased
+     */
+    @Override
+    protected Cursor openCursor(String query, List<Object> bindings) throws SQLException
+    {
+        if (isPooled() || getTransaction() != null) {
+            return super.openCursor(query, bindings);
+        }
+
+        Connection dedicated = createConnection();
+
+        return createCursor(dedicated, query, bindings, () -> {
+            try {
+                dedicated.close();
+            } catch (SQLException e) {
+                dbm.output().exception("Failed to close the cursor connection: %s", e, e.getMessage());
+            }
+        });
+    }
+
+    @Override
+    protected void applyCursorOptions(Statement statement) throws SQLException
+    {
+        statement.setFetchSize(Integer.MIN_VALUE);
+    }
+
     @Override
     protected void queryValidation(StatementContract statement) throws SQLException
     {
@@ -97,6 +164,12 @@ public class MySQL extends HostnameDatabase
         }
     }
 
+    @Override
+    protected boolean isReadStatement(StatementContract statement)
+    {
+        return statement == MySQLStatement.SELECT;
+    }
+
     @Override
     public StatementContract getStatement(String query) throws SQLException
     {
@@ -6,17 +6,35 @@ import java.sql.DriverManager;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.List;
+import java.util.Properties;
 import java.util.logging.Level;
 
 import static org.bukkit.Bukkit.*;
 
+import com.sendev.databasemanager.DatabaseOptions;
+import com.sendev.databasemanager.contracts.ConnectionCallback;
 import com.sendev.databasemanager.contracts.FilenameDatabase;
 import com.sendev.databasemanager.contracts.StatementContract;
 import com.sendev.databasemanager.exceptions.DatabaseException;
+import com.sendev.databasemanager.pool.ConnectionPool;
+import com.sendev.databasemanager.utils.Cursor;
 
 public class SQLite extends FilenameDatabase
 {
 
+    /**
+     * The SQLite open mode flag used to open read-only connections.
+     */
+    private static final String READ_ONLY_OPEN_MODE = "1";
+
+    /**
+     * Represents the pool of read-only connections used to run <code>SELECT</code>
+     * queries, allowing reads to run while the single writer connection
+     * is in use, if read connections are disabled this will be <code>NULL</code>.
+     */
+    private ConnectionPool readPool = null;
+
     /**
      * Creates a new SQLite database connection,
      * this will create an in-memory database.
@@ -59,7 +77,11 @@ public class SQLite extends FilenameDatabase
     {
         if (initialize()) {
             try {
-                connection = DriverManager.getConnection("jdbc:sqlite:" + (getFile() == null ? ":memory:" : getFile().getAbsolutePath()));
+                connection = createConnection(false);
+
+                if (readPool == null) {
+                    readPool = createReadPool();
+                }
 
                 return true;
             } catch (SQLException e) {
@@ -79,14 +101,110 @@ public class SQLite extends FilenameDatabase
         // This does nothing for SQLite
     }
 
+    @Override
+    public boolean close() throws SQLException
+    {
+        if (readPool != null) {
+            readPool.close();
+            readPool = null;
+        }
+
+        return super.close();
+    }
+
+    /**
+     * Returns the current database connection, the connection is kept open for as long as the
+     * database is in use, if the connection hasn't been opened yet or has been closed, a
+     * new connection will be opened and configured using the SQLite database options.
+     *
+     * @return the database connection
+     *
+     * @throws SQLException if a database access error occurs
+     */
     @Override
     public Connection getConnection() throws SQLException
     {
-        open();
+        if (connection == null || connection.isClosed()) {
+            open();
+        }
 
         return connection;
     }
 
+    /**
+     * Gets the pool of read-only connections used to run <code>SELECT</code> queries.
+     *
+     * @return either (1) the read-only connection pool
+     *         or (2) <code>NULL</code> if read connections are disabled, or the database hasn't been opened yet
+     */
+    public ConnectionPool getReadPool()
+    {
+        return readPool;
+    }
+
+    @Override
+    public int getConcurrencyLimit()
+    {
+        if (readPool == null) {
+            return super.getConcurrencyLimit();
+        }
+
+        return super.getConcurrencyLimit() + readPool.getMaximumSize();
+    }
+
+    @Override
+    protected <T> T withQueryConnection(StatementContract statement, ConnectionCallback<T> callback) throws SQLException
+    {
+        if (readPool == null || statement != SQLiteStatement.SELECT || getTransaction() != null) {
+            return super.withQueryConnection(statement, callback);
+        }
+
+        Connection leased = readPool.borrow();
+
+        try {
+            return callback.run(leased);
+        } finally {
+            readPool.release(leased);
+        }
+    }
+
+    @Override
+    protected Cursor openCursor(String query, List<Object> bindings) throws SQLException
+    {
+        if (getTransaction() != null || getStatement(query) != SQLiteStatement.SELECT) {
+            return super.openCursor(query, bindings);
+        }
+
+        if (readPool != null) {
+            Connection leased = readPool.borrow();
+            ConnectionPool owner = readPool;
+
+            return createCursor(leased, query, bindings, () -> owner.release(leased));
+        }
+
+        // File databases using WAL can be read on a dedicated connection while the cursor is open, so
+        // the cursor doesn't have to hold the writer connection, everything else uses the writer.
+        if (getFile() == null || !getOptions().getSQLiteJournalMode().equals("WAL")) {
+            return super.openCursor(query, bindings);
+        }
+
+        Connection dedicated = createConnection(true);
+
+        return createCursor(dedicated, query, bindings, () -> {
+            try {
+                dedicated.close();
+            } catch (SQLException e) {
+                dbm.output().exception("Failed to close the cursor connection: %s", e, e.getMessage());
+            }
+        });
+    }
+
+    @Override
+    protected boolean isReadStatement(StatementContract statement)
+    {
+        return statement == SQLiteStatement.SELECT;
+    }
+
     @Override
     public StatementContract getStatement(String query) throws SQLException
     {
@@ -130,7 +248,7 @@ public class SQLite extends FilenameDatabase
                 return false;
             }
 
-            try (Statement statement = connection.createStatement()) {
+            try (Statement statement = getConnection().createStatement()) {
                 statement.executeQuery(String.format("DELETE FROM `%s`;", table));
             }
 
@@ -145,20 +263,58 @@ public class SQLite extends FilenameDatabase
     }
 
     @Override
-    protected Statement createPreparedStatement(String query) throws SQLException
+    protected Statement createPreparedStatement(Connection connection, String query) throws SQLException
     {
-        Statement statement = getConnection().createStatement();
+        return applyStatementOptions(connection.createStatement());
+    }
 
-        if (dbm != null) {
-            if (dbm.options().getQueryTimeout() > 0) {
-                statement.setQueryTimeout(dbm.options().getQueryTimeout());
-            }
+    private Connection createConnection(boolean readOnly) throws SQLException
+    {
+        Properties properties = new Properties();
+
+        if (readOnly) {
+            properties.setProperty("open_mode", READ_ONLY_OPEN_MODE);
+        }
+
+        Connection created = DriverManager.getConnection("jdbc:sqlite:" + (getFile() == null ? ":memory:" : getFile().getAbsolutePath()), properties);
 
-            if (dbm.options().getQueryReturnLimit() > 0) {
-                statement.setMaxRows(dbm.options().getQueryReturnLimit());
+        try (Statement statement = created.createStatement()) {
+            DatabaseOptions options = getOptions();
+
+            if (getFile() != null && !readOnly) {
+                statement.execute("PRAGMA journal_mode = " + options.getSQLiteJournalMode());
             }
+
+            statement.execute("PRAGMA synchronous = " + options.getSQLiteSynchronous());
+            statement.execute("PRAGMA cache_size = " + options.getSQLiteCacheSize());
+            statement.execute("PRAGMA mmap_size = " + options.getSQLiteMmapSize());
+            statement.execute("PRAGMA busy_timeout = " + options.getSQLiteBusyTimeout());
+        } catch (SQLException ex) {
+            created.close();
+
+            throw ex;
         }
 
-        return statement;
+        return created;
+    }
+
+    private ConnectionPool createReadPool()
+    {
+        DatabaseOptions options = getOptions();
+
+        if (dbm == null || getFile() == null || options.getSQLiteReadPoolSize() < 1) {
+            return null;
+        }
+
+        if (!options.getSQLiteJournalMode().equals("WAL")) {
+            return null;
+        }
+
+        return new ConnectionPool(dbm, () -> createConnection(true), options, 0, options.getSQLiteReadPoolSize());
+    }
+
+    private DatabaseOptions getOptions()
+    {
+        return dbm == null ? new DatabaseOptions() : dbm.options();
     }
 }
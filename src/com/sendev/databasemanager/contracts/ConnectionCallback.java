@@ -0,0 +1,20 @@
+package com.sendev.databasemanager.contracts;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+public interface ConnectionCallback<T>
+{
+    /**
+     * Runs the callback with a database connection that has been leased to the caller, the
+     * connection is only valid for the duration of the callback and must not be closed
+     * or stored by the callback, the database will release it once it returns.
+     *
+     * @param connection The leased database connection.
+     *
+     * @return the result of the callback
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    public T run(Connection connection) throws SQLException;
+}
@@ -5,15 +5,29 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.logging.Level;
 
 import static org.bukkit.Bukkit.getLogger;
 
 import com.sendev.databasemanager.DatabaseManager;
+import com.sendev.databasemanager.pool.ConnectionPool;
+import com.sendev.databasemanager.query.BatchResult;
+import com.sendev.databasemanager.query.CompiledQuery;
 import com.sendev.databasemanager.query.QueryBuilder;
+import com.sendev.databasemanager.replication.ReplicaGroup;
+import com.sendev.databasemanager.transaction.Transaction;
+import com.sendev.databasemanager.transaction.TransactionIsolation;
+import com.sendev.databasemanager.transaction.contracts.TransactionCallback;
+import com.sendev.databasemanager.utils.Cursor;
 
 public abstract class Database implements DatabaseContract
 {
@@ -40,6 +54,35 @@ public abstract class Database implements DatabaseContract
      */
     protected int lastUpdate;
 
+    /**
+     * Represents the connection pool queries are run through, if the database
+     * isn't pooled this will be <code>NULL</code>, and all queries will
+     * be run on the single database connection instead.
+     */
+    protected ConnectionPool pool = null;
+
+    /**
+     * Represents the transaction the current thread is running against the database, while a
+     * thread is running a transaction, every query the thread runs against the database
+     * will be run on the transaction connection instead of leasing a new connection.
+     */
+    private final ThreadLocal<Transaction> transactions = new ThreadLocal<>();
+
+    /**
+     * Represents the read replicas of the database, if the database has replicas,
+     * <code>SELECT</code> queries are routed to the replicas, while every
+     * other query is run against the database itself.
+     */
+    private ReplicaGroup replicas = null;
+
+    /**
+     * Represents the thread that has cursors open on the single database connection, while a cursor
+     * is reading from the connection, other threads waits for the cursors to be closed before
+     * they run anything on the connection, this is only used by databases that aren't pooled.
+     */
+    private Thread cursorOwner = null;
+    private int openCursors = 0;
+
     public void setDatabaseManager(DatabaseManager dbm)
     {
         this.dbm = dbm;
@@ -80,8 +123,12 @@ public abstract class Database implements DatabaseContract
      *                      <code>ResultSet</code> object, the method is called on a
      *                      <code>PreparedStatement</code> or <code>CallableStatement</code>
      */
-    public final boolean close() throws SQLException
+    public boolean close() throws SQLException
     {
+        if (pool != null) {
+            pool.close();
+        }
+
         if (connection == null) {
             getLogger().warning("DBM:Database - Could not close connection, it is null.");
             return false;
@@ -97,9 +144,194 @@ public abstract class Database implements DatabaseContract
         return false;
     }
 
+    /**
+     * Sets the connection pool queries should be run through, setting the pool to
+     * <code>NULL</code> will make queries run on the single database connection.
+     *
+     * @param pool The connection pool to use.
+     */
+    public void setConnectionPool(ConnectionPool pool)
+    {
+        this.pool = pool;
+    }
+
+    /**
+     * Gets the connection pool queries are being run through.
+     *
+     * @return either (1) the connection pool used by the database
+     *         or (2) <code>NULL</code> if the database isn't pooled
+     */
+    public ConnectionPool getConnectionPool()
+    {
+        return pool;
+    }
+
+    /**
+     * Checks to see if queries are being run through a connection pool.
+     *
+     * @return true if the database is pooled, otherwise it will return false.
+     */
+    public final boolean isPooled()
+    {
+        return pool != null;
+    }
+
+    /**
+     * Sets the replica group <code>SELECT</code> queries should be routed to, setting the
+     * group to <code>NULL</code> will make every query run against the database itself.
+     *
+     * @param replicas The replica group to route reads to.
+     */
+    public void setReplicaGroup(ReplicaGroup replicas)
+    {
+        this.replicas = replicas;
+    }
+
+    /**
+     * Gets the replica group <code>SELECT</code> queries are being routed to.
+     *
+     * @return either (1) the replica group used by the database
+     *         or (2) <code>NULL</code> if the database doesn't have any replicas
+     */
+    public ReplicaGroup getReplicaGroup()
+    {
+        return replicas;
+    }
+
+    /**
+     * Gets the maximum amount of queries the database can run at the same time, for pooled
+     * databases this is the maximum size of the connection pool, otherwise queries are
+     * run on the single database connection one at a time.
+     *
+     * @return the maximum amount of concurrent queries
+     */
+    public int getConcurrencyLimit()
+    {
+        return pool == null ? 1 : pool.getMaximumSize();
+    }
+
+    /**
+     * Leases a database connection for the duration of the callback, if the database is
+     * pooled a connection is borrowed from the pool and released again once the
+     * callback returns, allowing callbacks from different threads to run in
+     * parallel, otherwise the callback will be run on the single database
+     * connection, one thread at a time.
+     *
+     * @param <T>      The type of the callback result.
+     * @param callback The callback to run with the leased connection.
+     *
+     * @return the result of the callback
+     *
+     * @throws SQLException if a database access error occurs, or no
+     *                      connection could be borrowed from the pool
+     */
+    public final <T> T withConnection(ConnectionCallback<T> callback) throws SQLException
+    {
+        Transaction transaction = transactions.get();
+        if (transaction != null) {
+            return callback.run(transaction.getConnection());
+        }
+
+        if (pool == null) {
+            synchronized (this) {
+                awaitOpenCursors();
+
+                return callback.run(getConnection());
+            }
+        }
+
+        Connection leased = pool.borrow();
+
+        try {
+            return callback.run(leased);
+        } finally {
+            pool.release(leased);
+        }
+    }
+
+    /**
+     * Runs the callback inside of a transaction, the connection used by the transaction is pinned
+     * to the current thread, so every query the thread runs against the database while the
+     * callback is running, including queries run through the query builder, will be part
+     * of the transaction, the transaction is committed once the callback returns, or
+     * rolled back if the callback throws an exception.
+     * <p>
+     * If the current thread is already running a transaction against the database, the
+     * callback will be run inside a {@link Transaction#savepoint(TransactionCallback) savepoint}
+     * of the current transaction instead, and the isolation level is ignored.
+     *
+     * @param <T>       The type of the callback result.
+     * @param isolation The transaction isolation level, or <code>NULL</code> to use
+     *                  the isolation level of the connection.
+     * @param callback  The callback to run inside the transaction.
+     *
+     * @return the result of the callback
+     *
+     * @throws SQLException if a database access error occurs, or no
+     *                      connection could be borrowed from the pool
+     */
+    public final <T> T transaction(TransactionIsolation isolation, TransactionCallback<T> callback) throws SQLException
+    {
+        Transaction current = transactions.get();
+        if (current != null) {
+            return current.savepoint(callback);
+        }
+
+        if (pool == null) {
+            synchronized (this) {
+                awaitOpenCursors();
+
+                return runTransaction(getConnection(), isolation, callback);
+            }
+        }
+
+        Connection leased = pool.borrow();
+
+        try {
+            return runTransaction(leased, isolation, callback);
+        } finally {
+            pool.release(leased);
+        }
+    }
+
+    /**
+     * Gets the transaction the current thread is running against the database.
+     *
+     * @return either (1) the transaction the current thread is running
+     *         or (2) <code>NULL</code> if the current thread isn't running a transaction
+     */
+    public final Transaction getTransaction()
+    {
+        return transactions.get();
+    }
+
+    /**
+     * Leases a database connection that can be used to run a query of the given statement
+     * type, by default this is the same connection that would be leased by the
+     * {@link #withConnection(ConnectionCallback) withConnection} method,
+     * databases can override this to route reads elsewhere.
+     *
+     * @param <T>       The type of the callback result.
+     * @param statement The statement type of the query that is going to be run.
+     * @param callback  The callback to run with the leased connection.
+     *
+     * @return the result of the callback
+     *
+     * @throws SQLException if a database access error occurs, or no
+     *                      connection could be borrowed from the pool
+     */
+    protected <T> T withQueryConnection(StatementContract statement, ConnectionCallback<T> callback) throws SQLException
+    {
+        return withConnection(callback);
+    }
+
     /**
      * Returns the current database connection, if the connection is not open/active, it
      * will attempt to open the connection for you.
+     * <p>
+     * <strong>Note:</strong> The connection returned is never a pooled connection, use the
+     * {@link #withConnection(ConnectionCallback) withConnection} method to run
+     * code on a pooled connection.
      *
      * @return the database connection
      *
@@ -187,6 +419,399 @@ public abstract class Database implements DatabaseContract
         return getConnection().createStatement().executeQuery("SELECT " + (lastUpdate = statement.getUpdateCount()));
     }
 
+    /**
+     * Queries the database with the given query on a leased connection, the result set
+     * is passed to the handler and closed together with its statement once the
+     * handler returns, the query should be a <code>SELECT</code> query.
+     *
+     * @param <T>     The type of the handler result.
+     * @param query   The query to run.
+     * @param handler The handler used to read the result set.
+     *
+     * @return the result of the handler
+     *
+     * @throws SQLException if a database access error occurs or this method is called on a
+     *                      closed <code>Statement</code>
+     */
+    public final <T> T query(String query, ResultSetHandler<T> handler) throws SQLException
+    {
+        return query(query, Collections.emptyList(), handler);
+    }
+
+    /**
+     * Queries the database with the given query on a leased connection, binding the given
+     * values to the <code>?</code> placeholders in the query, the result set is passed
+     * to the handler and closed together with its statement once the handler
+     * returns, the query should be a <code>SELECT</code> query.
+     * <p>
+     * If the database has {@link #getReplicaGroup() read replicas}, <code>SELECT</code> queries that
+     * aren't run inside of a transaction are routed to one of the replicas instead.
+     *
+     * @param <T>      The type of the handler result.
+     * @param query    The query to run.
+     * @param bindings The values to bind to the placeholders, in order.
+     * @param handler  The handler used to read the result set.
+     *
+     * @return the result of the handler
+     *
+     * @throws SQLException if a database access error occurs or this method is called on a
+     *                      closed <code>Statement</code>
+     */
+    public final <T> T query(String query, List<Object> bindings, ResultSetHandler<T> handler) throws SQLException
+    {
+        StatementContract contract = getStatement(query);
+
+        queryValidation(contract);
+
+        if (shouldReadFromReplica(contract)) {
+            return replicas.read(database -> {
+                return database == this ? runQuery(contract, query, bindings, handler) : database.query(query, bindings, handler);
+            });
+        }
+
+        return runQuery(contract, query, bindings, handler);
+    }
+
+    /**
+     * Queries the database with the given query, binding the given values to the <code>?</code>
+     * placeholders in the query, and returns a cursor that reads the rows one at a time
+     * as they're iterated, instead of loading the entire result into memory.
+     * <p>
+     * The cursor keeps its connection leased until it has been closed, cursors close
+     * themselves once the last row has been read, but a cursor that isn't
+     * read to the end must be closed by the caller, if the database isn't
+     * pooled, other threads waits for the cursor to be closed before
+     * they can run any queries on the database connection.
+     *
+     * @param query    The query to run, the query should be a <code>SELECT</code> query.
+     * @param bindings The values to bind to the placeholders, in order.
+     *
+     * @return the cursor for the query result
+     *
+     * @throws SQLException if a database access error occurs or no connection could be leased
+     */
+    public final Cursor cursor(String query, List<Object> bindings) throws SQLException
+    {
+        StatementContract contract = getStatement(query);
+
+        queryValidation(contract);
+
+        if (shouldReadFromReplica(contract)) {
+            return replicas.read(database -> {
+                return database == this ? openCursor(query, bindings) : database.cursor(query, bindings);
+            });
+        }
+
+        return openCursor(query, bindings);
+    }
+
+    /**
+     * Opens a cursor for the given query on one of the database connections, the query has
+     * already been validated, databases can override this to stream rows differently.
+     *
+     * @param query    The query to run, the query should be a <code>SELECT</code> query.
+     * @param bindings The values to bind to the placeholders, in order.
+     *
+     * @return the cursor for the query result
+     *
+     * @throws SQLException if a database access error occurs or no connection could be leased
+     */
+    protected Cursor openCursor(String query, List<Object> bindings) throws SQLException
+    {
+        Transaction transaction = transactions.get();
+        if (transaction != null) {
+            return createCursor(transaction.getConnection(), query, bindings, null);
+        }
+
+        if (pool == null) {
+            synchronized (this) {
+                awaitOpenCursors();
+
+                cursorOwner = Thread.currentThread();
+                openCursors++;
+
+                return createCursor(getConnection(), query, bindings, this::releaseCursor);
+            }
+        }
+
+        Connection leased = pool.borrow();
+
+        return createCursor(leased, query, bindings, () -> pool.release(leased));
+    }
+
+    /**
+     * Waits for the cursors other threads have open on the single database connection to be closed,
+     * the thread that opened the cursors can keep using the connection while they're open.
+     * <p>
+     * <strong>Note:</strong> This must be called while holding the lock of the database.
+     *
+     * @throws SQLException if the thread is interrupted while waiting
+     */
+    private void awaitOpenCursors() throws SQLException
+    {
+        while (cursorOwner != null && cursorOwner != Thread.currentThread()) {
+            try {
+                wait();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+
+                throw new SQLException("Interrupted while waiting for a cursor to release the database connection.", ex);
+            }
+        }
+    }
+
+    private synchronized void releaseCursor()
+    {
+        if (--openCursors == 0) {
+            cursorOwner = null;
+            notifyAll();
+        }
+    }
+
+    /**
+     * Creates a forward-only, read-only cursor for the given query on the provided connection,
+     * if the cursor can't be created the statement is closed and the release task is run.
+     *
+     * @param connection The connection the query should be run on.
+     * @param query      The query to run.
+     * @param bindings   The values to bind to the placeholders, in order.
+     * @param release    The task releasing the connection once the cursor is closed, or <code>NULL</code>.
+     *
+     * @return the cursor for the query result
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    protected final Cursor createCursor(Connection connection, String query, List<Object> bindings, Runnable release) throws SQLException
+    {
+        PreparedStatement statement = null;
+
+        try {
+            statement = applyStatementOptions(connection.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY));
+
+            applyCursorOptions(statement);
+            bindValues(statement, bindings);
+
+            return new Cursor(statement, statement.executeQuery(), release);
+        } catch (SQLException | RuntimeException ex) {
+            try {
+                if (statement != null) {
+                    statement.close();
+                }
+            } finally {
+                if (release != null) {
+                    release.run();
+                }
+            }
+
+            throw ex;
+        }
+    }
+
+    /**
+     * Applies the cursor options to a statement used by a cursor, by default this sets the
+     * fetch size to the {@link com.sendev.databasemanager.DatabaseOptions#getCursorFetchSize() cursor fetch size}
+     * from the database options, databases can override this to enable their own way of streaming rows.
+     *
+     * @param statement The statement used by the cursor.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    protected void applyCursorOptions(Statement statement) throws SQLException
+    {
+        if (dbm != null && dbm.options().getCursorFetchSize() > 0) {
+            statement.setFetchSize(dbm.options().getCursorFetchSize());
+        }
+    }
+
+    /**
+     * Executes the given SQL Data Manipulation Language (DML) statement, such as <code>INSERT</code>,
+     * <code>UPDATE</code> or <code>DELETE</code>; or an SQL statement that returns nothing,
+     * such as a DDL statement, on a leased connection.
+     *
+     * @param query The query to run.
+     *
+     * @return either (1) the row count for SQL Data Manipulation Language (DML) statements
+     *         or (2) 0 for SQL statements that return nothing
+     *
+     * @throws SQLException if a database access error occurs or this method is called on a
+     *                      closed <code>Statement</code>
+     */
+    public final int queryUpdate(String query) throws SQLException
+    {
+        return queryUpdate(query, Collections.emptyList());
+    }
+
+    /**
+     * Executes the given SQL Data Manipulation Language (DML) statement, such as <code>INSERT</code>,
+     * <code>UPDATE</code> or <code>DELETE</code>; or an SQL statement that returns nothing, such
+     * as a DDL statement, on a leased connection, binding the given values to the
+     * <code>?</code> placeholders in the query.
+     *
+     * @param query    The query to run.
+     * @param bindings The values to bind to the placeholders, in order.
+     *
+     * @return either (1) the row count for SQL Data Manipulation Language (DML) statements
+     *         or (2) 0 for SQL statements that return nothing
+     *
+     * @throws SQLException if a database access error occurs or this method is called on a
+     *                      closed <code>Statement</code>
+     */
+    public final int queryUpdate(String query, List<Object> bindings) throws SQLException
+    {
+        return withConnection(leased -> {
+            try (Statement statement = createStatement(leased, query, bindings)) {
+                if (statement instanceof PreparedStatement) {
+                    return lastUpdate = ((PreparedStatement) statement).executeUpdate();
+                }
+
+                return lastUpdate = statement.executeUpdate(query);
+            }
+        });
+    }
+
+    /**
+     * Executes the given SQL <code>INSERT</code> statement on a leased connection, after the query
+     * has been executed all the auto-generated keys created by the query will be retrieved.
+     *
+     * @param query The query to run.
+     *
+     * @return a set of IDs referring to the inserted rows
+     *
+     * @throws SQLException if a database access error occurs or this method is called on a
+     *                      closed <code>Statement</code>
+     */
+    public final Set<Integer> queryInsert(String query) throws SQLException
+    {
+        return queryInsert(query, Collections.emptyList());
+    }
+
+    /**
+     * Executes the given SQL <code>INSERT</code> statement on a leased connection, binding the given
+     * values to the <code>?</code> placeholders in the query, after the query has been executed
+     * all the auto-generated keys created by the query will be retrieved.
+     *
+     * @param query    The query to run.
+     * @param bindings The values to bind to the placeholders, in order.
+     *
+     * @return a set of IDs referring to the inserted rows
+     *
+     * @throws SQLException if a database access error occurs or this method is called on a
+     *                      closed <code>Statement</code>
+     */
+    public final Set<Integer> queryInsert(String query, List<Object> bindings) throws SQLException
+    {
+        return withConnection(leased -> {
+            try (PreparedStatement statement = createPreparedStatement(leased, query, Statement.RETURN_GENERATED_KEYS)) {
+                bindValues(statement, bindings);
+
+                lastUpdate = statement.executeUpdate();
+
+                Set<Integer> ids = new HashSet<>();
+
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        ids.add(keys.getInt(1));
+                    }
+                }
+
+                return ids;
+            }
+        });
+    }
+
+    /**
+     * Executes the given compiled queries as JDBC batches on a single leased connection, the queries
+     * are split into chunks of the given size, and each chunk is sent to the database as one
+     * batch, queries following each other with the same SQL will share the same statement.
+     * <p>
+     * If the chunks are transactional each chunk is committed once it has been executed, if a
+     * chunk fails it will be rolled back, but the chunks before it will stay committed, chunks
+     * are only made transactional if the leased connection is in auto commit mode.
+     *
+     * @param queries       The compiled queries to execute, they're read lazily one chunk at a time.
+     * @param chunkSize     The maximum amount of queries per chunk.
+     * @param transactional Determines if each chunk should be wrapped in a transaction.
+     * @param generatedKeys Determines if the auto-generated keys should be retrieved.
+     *
+     * @return the result of the batch
+     *
+     * @throws SQLException if a database access error occurs or one of the queries fails
+     */
+    public final BatchResult queryBatch(Iterator<CompiledQuery> queries, int chunkSize, boolean transactional, boolean generatedKeys) throws SQLException
+    {
+        return withConnection(leased -> {
+            boolean transaction = transactional && leased.getAutoCommit();
+
+            List<Integer> rows = new ArrayList<>();
+            List<Integer> affected = new ArrayList<>();
+            List<List<Integer>> keys = new ArrayList<>();
+
+            PreparedStatement statement = null;
+            String sql = null;
+
+            if (transaction) {
+                leased.setAutoCommit(false);
+            }
+
+            try {
+                while (queries.hasNext()) {
+                    List<Integer> chunkKeys = new ArrayList<>();
+                    int chunkRows = 0;
+                    int chunkAffected = 0;
+
+                    while (chunkRows < chunkSize && queries.hasNext()) {
+                        CompiledQuery query = queries.next();
+
+                        if (!query.getSQL().equals(sql)) {
+                            if (statement != null) {
+                                chunkAffected += executeBatch(statement, generatedKeys ? chunkKeys : null);
+                                statement.close();
+                            }
+
+                            sql = query.getSQL();
+                            statement = applyStatementOptions(generatedKeys
+                                                              ? leased.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)
+                                                              : leased.prepareStatement(sql));
+                        }
+
+                        bindValues(statement, query.getBindings());
+                        statement.addBatch();
+                        chunkRows++;
+                    }
+
+                    chunkAffected += executeBatch(statement, generatedKeys ? chunkKeys : null);
+
+                    if (transaction) {
+                        leased.commit();
+                    }
+
+                    rows.add(chunkRows);
+                    affected.add(chunkAffected);
+                    keys.add(chunkKeys);
+                }
+            } catch (SQLException | RuntimeException ex) {
+                if (transaction) {
+                    leased.rollback();
+                }
+
+                throw ex;
+            } finally {
+                if (statement != null) {
+                    statement.close();
+                }
+
+                if (transaction) {
+                    leased.setAutoCommit(true);
+                }
+            }
+
+            BatchResult result = new BatchResult(rows, affected, keys);
+            lastUpdate = result.getAffectedRows();
+
+            return result;
+        });
+    }
+
     /**
      * Queries the database with the query built from the query builder object.
      *
@@ -342,10 +967,123 @@ public abstract class Database implements DatabaseContract
         return keys;
     }
 
+    private int executeBatch(PreparedStatement statement, List<Integer> keys) throws SQLException
+    {
+        int affected = 0;
+
+        for (int count : statement.executeBatch()) {
+            // Drivers that rewrite the batch, like MySQL, can't tell how many rows each
+            // statement affected, so each of those statements are counted as one row.
+            affected += count == Statement.SUCCESS_NO_INFO ? 1 : Math.max(0, count);
+        }
+
+        if (keys != null) {
+            try (ResultSet generated = statement.getGeneratedKeys()) {
+                while (generated.next()) {
+                    keys.add(generated.getInt(1));
+                }
+            }
+        }
+
+        return affected;
+    }
+
     protected Statement createPreparedStatement(String query) throws SQLException
     {
-        PreparedStatement statement = getConnection().prepareStatement(query);
+        return createPreparedStatement(getConnection(), query);
+    }
+
+    /**
+     * Creates the statement used to run the given query on the provided connection.
+     *
+     * @param connection The connection the statement should be created on.
+     * @param query      The query the statement should run.
+     *
+     * @return the statement for the query
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    protected Statement createPreparedStatement(Connection connection, String query) throws SQLException
+    {
+        return applyStatementOptions(connection.prepareStatement(query));
+    }
+
+    /**
+     * Creates the statement used to run the given query on the provided connection, if there
+     * are any values to bind the statement will always be a <code>PreparedStatement</code>
+     * with the values bound to it, otherwise this is the same statement that would be
+     * created by the {@link #createPreparedStatement(Connection, String)} method.
+     *
+     * @param connection The connection the statement should be created on.
+     * @param query      The query the statement should run.
+     * @param bindings   The values to bind to the placeholders, in order.
+     *
+     * @return the statement for the query
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    protected final Statement createStatement(Connection connection, String query, List<Object> bindings) throws SQLException
+    {
+        if (bindings.isEmpty()) {
+            return createPreparedStatement(connection, query);
+        }
+
+        PreparedStatement statement = applyStatementOptions(connection.prepareStatement(query));
+
+        try {
+            bindValues(statement, bindings);
+        } catch (SQLException ex) {
+            statement.close();
+
+            throw ex;
+        }
+
+        return statement;
+    }
+
+    /**
+     * Binds the given values to the placeholders of the prepared statement, in order.
+     *
+     * @param statement The statement to bind the values to.
+     * @param bindings  The values to bind to the placeholders.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    protected final void bindValues(PreparedStatement statement, List<Object> bindings) throws SQLException
+    {
+        for (int i = 0; i < bindings.size(); i++) {
+            Object value = bindings.get(i);
+
+            if (value == null) {
+                statement.setNull(i + 1, Types.NULL);
+            } else {
+                statement.setObject(i + 1, value);
+            }
+        }
+    }
+
+    /**
+     * Executes the statement created by the {@link #createPreparedStatement(Connection, String)} method.
+     *
+     * @param statement The statement to execute.
+     * @param query     The query the statement was created for.
+     *
+     * @return true if the first result is a <code>ResultSet</code> object,
+     *         false if it is an update count or there are no results
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    protected boolean execute(Statement statement, String query) throws SQLException
+    {
+        if (statement instanceof PreparedStatement) {
+            return ((PreparedStatement) statement).execute();
+        }
+
+        return statement.execute(query);
+    }
 
+    protected final <S extends Statement> S applyStatementOptions(S statement) throws SQLException
+    {
         if (dbm != null) {
             if (dbm.options().getQueryTimeout() > 0) {
                 statement.setQueryTimeout(dbm.options().getQueryTimeout());
@@ -359,20 +1097,100 @@ public abstract class Database implements DatabaseContract
         return statement;
     }
 
-    private PreparedStatement createPreparedStatement(String query, int autoGeneratedKeys) throws SQLException
+    /**
+     * Checks to see if the given statement type only reads from the database, read
+     * statements can be routed to the read replicas of the database.
+     *
+     * @param statement The statement type to check.
+     *
+     * @return true if the statement only reads data, otherwise it will return false.
+     */
+    protected boolean isReadStatement(StatementContract statement)
     {
-        PreparedStatement statement = getConnection().prepareStatement(query, autoGeneratedKeys);
+        return false;
+    }
 
-        if (dbm != null) {
-            if (dbm.options().getQueryTimeout() > 0) {
-                statement.setQueryTimeout(dbm.options().getQueryTimeout());
+    private boolean shouldReadFromReplica(StatementContract statement)
+    {
+        return replicas != null && transactions.get() == null && isReadStatement(statement);
+    }
+
+    private <T> T runQuery(StatementContract contract, String query, List<Object> bindings, ResultSetHandler<T> handler) throws SQLException
+    {
+        return withQueryConnection(contract, leased -> {
+            try (Statement statement = createStatement(leased, query, bindings)) {
+                if (execute(statement, query)) {
+                    try (ResultSet result = statement.getResultSet()) {
+                        return handler.handle(result);
+                    }
+                }
+
+                lastUpdate = statement.getUpdateCount();
+
+                try (Statement count = leased.createStatement(); ResultSet result = count.executeQuery("SELECT " + lastUpdate)) {
+                    return handler.handle(result);
+                }
             }
+        });
+    }
 
-            if (dbm.options().getQueryReturnLimit() > 0) {
-                statement.setMaxRows(dbm.options().getQueryReturnLimit());
+    private <T> T runTransaction(Connection connection, TransactionIsolation isolation, TransactionCallback<T> callback) throws SQLException
+    {
+        boolean autoCommit = connection.getAutoCommit();
+        int previousIsolation = connection.getTransactionIsolation();
+
+        if (isolation == null && dbm != null) {
+            isolation = dbm.options().getTransactionIsolation();
+        }
+
+        if (isolation != null && isolation.getLevel() != previousIsolation) {
+            connection.setTransactionIsolation(isolation.getLevel());
+        }
+
+        Transaction transaction = new Transaction(this, connection);
+
+        try {
+            connection.setAutoCommit(false);
+            transactions.set(transaction);
+
+            T result = callback.run(transaction);
+
+            if (transaction.isRollbackOnly()) {
+                connection.rollback();
+            } else {
+                connection.commit();
+            }
+
+            return result;
+        } catch (SQLException | RuntimeException | Error ex) {
+            try {
+                connection.rollback();
+            } catch (SQLException rollback) {
+                ex.addSuppressed(rollback);
+            }
+
+            throw ex;
+        } finally {
+            transactions.remove();
+
+            try {
+                connection.setAutoCommit(autoCommit);
+                if (connection.getTransactionIsolation() != previousIsolation) {
+                    connection.setTransactionIsolation(previousIsolation);
+                }
+            } finally {
+                transaction.finish();
             }
         }
+    }
 
-        return statement;
+    private PreparedStatement createPreparedStatement(String query, int autoGeneratedKeys) throws SQLException
+    {
+        return createPreparedStatement(getConnection(), query, autoGeneratedKeys);
+    }
+
+    private PreparedStatement createPreparedStatement(Connection connection, String query, int autoGeneratedKeys) throws SQLException
+    {
+        return applyStatementOptions(connection.prepareStatement(query, autoGeneratedKeys));
     }
 }
@@ -1,11 +1,13 @@
 package com.sendev.databasemanager.contracts;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
 import com.sendev.databasemanager.DatabaseFactory;
 import com.sendev.databasemanager.DatabaseManager;
+import com.sendev.databasemanager.query.CompiledQuery;
 import com.sendev.databasemanager.query.QueryBuilder;
 import com.sendev.databasemanager.schema.Blueprint;
 
@@ -28,10 +30,17 @@ public abstract class Grammar
     }
 
     /**
-     * The query SQL string, this string will be appended to
-     * and formated by the addPart and removeLast methods.
+     * The query SQL string builder, this will be appended to and formated
+     * by the addPart and removeLast methods, the builder is pre-sized
+     * so most queries are built without having to grow it.
      */
-    protected String query;
+    protected final StringBuilder query = new StringBuilder(256);
+
+    /**
+     * The values that has been bound to <code>?</code> placeholders in the query, in the
+     * order they appear in the query, this is only used by parameterized grammars.
+     */
+    protected final List<Object> bindings = new ArrayList<>();
 
     /**
      * A list a SQL operators, this is used to compare and
@@ -52,6 +61,44 @@ public abstract class Grammar
      */
     protected final List<String> orderOperators = Arrays.asList("ASC", "DESC");
 
+    /**
+     * Gets the values that has been bound to <code>?</code> placeholders
+     * in the query, in the order they appear in the query.
+     *
+     * @return the ordered list of bindings
+     */
+    public List<Object> getBindings()
+    {
+        return bindings;
+    }
+
+    /**
+     * Checks to see if the grammar should write <code>?</code> placeholders and bind
+     * the values instead of writing the values directly into the query.
+     *
+     * @return either (1) <code>TRUE</code> if the grammar is parameterized
+     *         or (2) <code>FALSE</code> if values are written into the query
+     */
+    protected boolean isParameterized()
+    {
+        return options != null && options.getOrDefault("parameterize", Boolean.FALSE);
+    }
+
+    /**
+     * Binds the given value to the query, the value is normalized using the
+     * {@link CompiledQuery#normalizeBinding(Object)} method before it's bound.
+     *
+     * @param value The value to bind.
+     *
+     * @return the placeholder for the bound value
+     */
+    protected String bind(Object value)
+    {
+        bindings.add(CompiledQuery.normalizeBinding(value));
+
+        return "?";
+    }
+
     /**
      * Checks to see if a string is numeric, this will help
      * determine how to format values into the query.
@@ -63,11 +110,35 @@ public abstract class Grammar
      */
     protected boolean isNumeric(String string)
     {
-        return string.matches("[-+]?\\d*\\.?\\d+");
+        int length = string.length();
+        int index = 0;
+
+        if (length > 0 && (string.charAt(0) == '-' || string.charAt(0) == '+')) {
+            index++;
+        }
+
+        boolean decimal = false;
+        boolean endsWithDigit = false;
+
+        for (; index < length; index++) {
+            char character = string.charAt(index);
+
+            if (character >= '0' && character <= '9') {
+                endsWithDigit = true;
+            } else if (character == '.' && !decimal) {
+                decimal = true;
+                endsWithDigit = false;
+            } else {
+                return false;
+            }
+        }
+
+        return endsWithDigit;
     }
 
     /**
-     * Adds the given part to the query.
+     * Adds the given part to the query, any trailing whitespace
+     * in the query will be removed before the part is added.
      *
      * @param part The string to add.
      *
@@ -75,28 +146,27 @@ public abstract class Grammar
      */
     public Grammar addPart(String part)
     {
-        query = query.trim() + part;
+        trimTrailingWhitespace();
+        query.append(part);
 
         return this;
     }
 
     public Grammar addPart(String part, Object... params)
     {
-        query = query.trim() + String.format(part, params);
-
-        return this;
+        return addPart(String.format(part, params));
     }
 
     public Grammar addRawPart(String part)
     {
-        query += part;
+        query.append(part);
 
         return this;
     }
 
     public Grammar addRawPart(String part, Object... params)
     {
-        query += String.format(part, params);
+        query.append(String.format(part, params));
 
         return this;
     }
@@ -111,7 +181,47 @@ public abstract class Grammar
      */
     protected Grammar removeLast(int characters)
     {
-        query = query.substring(0, query.length() - characters);
+        query.setLength(query.length() - characters);
+
+        return this;
+    }
+
+    /**
+     * Removes any whitespace characters from the end of the query string.
+     *
+     * @return Grammar
+     */
+    protected Grammar trimTrailingWhitespace()
+    {
+        int length = query.length();
+
+        while (length > 0 && query.charAt(length - 1) <= ' ') {
+            length--;
+        }
+
+        query.setLength(length);
+
+        return this;
+    }
+
+    /**
+     * Appends the given field to the query, formatted the same way as the
+     * {@link #formatField(String)} method would format it, without
+     * creating an intermediate string for simple field names.
+     *
+     * @param field The field to append.
+     *
+     * @return Grammar
+     */
+    protected Grammar appendField(String field)
+    {
+        if (field.indexOf(' ') >= 0 || field.indexOf('.') >= 0 || !field.equals(field.trim())) {
+            query.append(formatField(field));
+
+            return this;
+        }
+
+        query.append('`').append(field).append('`');
 
         return this;
     }
@@ -172,11 +282,27 @@ public abstract class Grammar
     {
         isIgnoreingDatabasePrefix = query.isIgnoringDatabasePrefix();
 
+        if (query.getDatabaseManager() != null) {
+            return query.getDatabaseManager();
+        }
+
+        if (dbm != null) {
+            return dbm;
+        }
+
         return DatabaseFactory.getDynamicOrigin(query.getClass());
     }
 
     protected DatabaseManager getAndBuildDBMFrom(Blueprint blueprint)
     {
+        if (blueprint.getDatabaseManager() != null) {
+            return blueprint.getDatabaseManager();
+        }
+
+        if (dbm != null) {
+            return dbm;
+        }
+
         return DatabaseFactory.getDynamicOrigin(blueprint.getClass());
     }
 }
@@ -1,5 +1,8 @@
 package com.sendev.databasemanager.contracts;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+
 import com.sendev.databasemanager.exceptions.DatabaseException;
 
 public abstract class HostnameDatabase extends Database
@@ -153,4 +156,17 @@ public abstract class HostnameDatabase extends Database
     {
         this.password = password;
     }
+
+    /**
+     * Creates a brand new connection to the database, this is used by the connection
+     * pool to open its connections, the database itself will still use its
+     * single connection for anything that isn't run through the pool.
+     *
+     * @see com.sendev.databasemanager.pool.ConnectionPool
+     *
+     * @return a new database connection
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    public abstract Connection createConnection() throws SQLException;
 }
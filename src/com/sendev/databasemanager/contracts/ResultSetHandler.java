@@ -0,0 +1,20 @@
+package com.sendev.databasemanager.contracts;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+public interface ResultSetHandler<T>
+{
+    /**
+     * Handles the result set produced by a query, the result set and the statement
+     * that produced it are closed as soon as the handler returns, so any data
+     * needed afterwards has to be read out of the result set here.
+     *
+     * @param result The result set produced by the query.
+     *
+     * @return the result of the handler
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    public T handle(ResultSet result) throws SQLException;
+}
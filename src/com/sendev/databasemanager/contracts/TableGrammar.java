@@ -1,9 +1,15 @@
 package com.sendev.databasemanager.contracts;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import com.sendev.databasemanager.query.Clause;
 import com.sendev.databasemanager.query.NestedClause;
 import com.sendev.databasemanager.query.OperatorType;
 import com.sendev.databasemanager.query.QueryBuilder;
+import com.sendev.databasemanager.query.RawClause;
+import com.sendev.databasemanager.query.SeekClause;
+import com.sendev.databasemanager.query.TemporaryTable;
 
 public abstract class TableGrammar extends Grammar
 {
@@ -33,14 +39,69 @@ public abstract class TableGrammar extends Grammar
      */
     protected void buildWhereClause(QueryBuilder builder)
     {
-        if (builder.getWhereClauses().isEmpty()) {
+        buildClauses(" WHERE ", builder.getWhereClauses());
+    }
+
+    /**
+     * builds the having clauses for the provided query builder.
+     *
+     * @param builder the query builder to build the having clauses from
+     */
+    protected void buildHavingClause(QueryBuilder builder)
+    {
+        buildClauses(" HAVING ", builder.getHavingClauses());
+    }
+
+    /**
+     * builds the given list of clauses, prefixed by the given keyword.
+     *
+     * @param keyword the keyword to add in front of the clauses
+     * @param clauses the clauses to build
+     */
+    private void buildClauses(String keyword, List<QueryClause> clauses)
+    {
+        if (clauses.isEmpty()) {
             return;
         }
 
-        addPart(" WHERE ");
+        addPart(keyword);
+
+        SeekClause seek = getSeekClause(clauses);
+        if (seek == null) {
+            addClauses(clauses);
+
+            return;
+        }
+
+        // The seek clause is always added last, and the other clauses are grouped together
+        // in front of it, so an OR clause can't match rows from outside of the seek range.
+        List<QueryClause> others = new ArrayList<>(clauses);
+        others.remove(seek);
+
+        int length = query.length();
+        query.append('(');
+
+        if (addClauses(others)) {
+            addPart(") ");
+            addSeekClause(seek, false);
+        } else {
+            query.setLength(length);
+            addSeekClause(seek, true);
+        }
+    }
+
+    /**
+     * Adds the given list of clauses to the query, separated by their operators.
+     *
+     * @param clauses the clauses to add
+     *
+     * @return true if any clauses were added, otherwise it will return false.
+     */
+    private boolean addClauses(List<QueryClause> clauses)
+    {
         boolean first = true;
 
-        for (QueryClause obj : builder.getWhereClauses()) {
+        for (QueryClause obj : clauses) {
             // This will build a normal clause
             if (obj instanceof Clause) {
                 Clause clause = (Clause) obj;
@@ -51,6 +112,14 @@ public abstract class TableGrammar extends Grammar
                 continue;
             }
 
+            // This will build a raw SQL clause
+            if (obj instanceof RawClause) {
+                addRawClause((RawClause) obj, first);
+                first = false;
+
+                continue;
+            }
+
             // This will build a nested clause
             if (obj instanceof NestedClause) {
                 NestedClause nestedClause = (NestedClause) obj;
@@ -59,9 +128,13 @@ public abstract class TableGrammar extends Grammar
                     continue;
                 }
 
-                first = true;
-                addPart(" %s (", nestedClause.getOperator());
+                addPart(" ");
+                if (!first) {
+                    query.append(nestedClause.getOperator()).append(' ');
+                }
+                query.append('(');
 
+                first = true;
                 for (QueryClause temp : nestedClause.getWhereClauses()) {
                     if (!(temp instanceof Clause)) {
                         continue;
@@ -78,6 +151,45 @@ public abstract class TableGrammar extends Grammar
 
             first = false;
         }
+
+        return !first;
+    }
+
+    private SeekClause getSeekClause(List<QueryClause> clauses)
+    {
+        for (QueryClause clause : clauses) {
+            if (clause instanceof SeekClause) {
+                return (SeekClause) clause;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Appends the given row value to the query, if the grammar is parameterized the value
+     * will be bound to a placeholder, otherwise booleans are written as 1 or 0, numeric
+     * values are written as they are and everything else is wrapped in quotes.
+     *
+     * @param value The value to append.
+     */
+    protected void appendValue(Object value)
+    {
+        if (isParameterized()) {
+            query.append(bind(value));
+
+            return;
+        }
+
+        String string = value.toString();
+
+        if (string.equalsIgnoreCase("true") || string.equalsIgnoreCase("false")) {
+            query.append(string.equalsIgnoreCase("true") ? '1' : '0');
+        } else if (isNumeric(string)) {
+            query.append(string);
+        } else {
+            query.append('\'').append(string).append('\'');
+        }
     }
 
     private void addClause(Clause clause, boolean exemptOperator)
@@ -86,18 +198,132 @@ public abstract class TableGrammar extends Grammar
             clause.setOrder(OperatorType.AND);
         }
 
-        String field = clause.getTwo().toString();
-        if (!isNumeric(field)) {
-            field = String.format("'%s'", field);
+        if (!exemptOperator) {
+            query.append(clause.getOrder().getOperator()).append(' ');
         }
 
-        String stringClause = String.format("%s %s %s", formatField(clause.getOne()), clause.getIdentifier(), field);
+        // Databases doesn't allow empty value lists, so a clause without any values is replaced
+        // with a check that never matches for IN clauses, and always matches for NOT IN clauses.
+        if (clause.getTwo() instanceof List && ((List<?>) clause.getTwo()).isEmpty()) {
+            query.append(clause.getIdentifier().equalsIgnoreCase("NOT IN") ? "1 = 1 " : "1 = 0 ");
+
+            return;
+        }
+
+        appendField(clause.getOne());
+        query.append(' ').append(clause.getIdentifier()).append(' ');
+
+        if (clause.getTwo() instanceof List) {
+            appendValueList((List<?>) clause.getTwo());
+        } else if (clause.getTwo() instanceof TemporaryTable) {
+            TemporaryTable table = (TemporaryTable) clause.getTwo();
+
+            query.append("(SELECT ");
+            appendField(table.getColumn());
+            query.append(" FROM ");
+            appendField(table.getName());
+            query.append(')');
+        } else if (isParameterized()) {
+            query.append(bind(clause.getTwo()));
+        } else {
+            String field = clause.getTwo().toString();
+
+            if (isNumeric(field)) {
+                query.append(field);
+            } else {
+                query.append('\'').append(field).append('\'');
+            }
+        }
+
+        query.append(' ');
+    }
+
+    /**
+     * Adds the keyset pagination clause, for a single column the clause is a simple range
+     * comparison, for composite keys the first column is always compared with a range
+     * first, so the database can use an index on the columns to find the first row,
+     * without having to scan and discard all the rows before it.
+     *
+     * @param seek           The seek clause to add.
+     * @param exemptOperator Determines if the AND operator should be left out.
+     */
+    private void addSeekClause(SeekClause seek, boolean exemptOperator)
+    {
+        List<String> columns = seek.getColumns();
+        List<Object> values = seek.getValues();
+        String operator = seek.isDescending() ? "<" : ">";
+        int last = columns.size() - 1;
 
-        String operator = "";
         if (!exemptOperator) {
-            operator = clause.getOrder().getOperator() + " ";
+            query.append(OperatorType.AND.getOperator()).append(' ');
+        }
+
+        query.append('(');
+
+        if (last > 0) {
+            appendField(columns.get(0));
+            query.append(' ').append(operator).append("= ");
+            appendValue(values.get(0));
+            query.append(" AND ");
+        }
+
+        for (int i = 0; i < last; i++) {
+            query.append('(');
+            appendField(columns.get(i));
+            query.append(' ').append(operator).append(' ');
+            appendValue(values.get(i));
+            query.append(" OR (");
+            appendField(columns.get(i));
+            query.append(" = ");
+            appendValue(values.get(i));
+            query.append(" AND ");
+        }
+
+        appendField(columns.get(last));
+        query.append(' ').append(operator).append(' ');
+        appendValue(values.get(last));
+
+        for (int i = 0; i < last; i++) {
+            query.append("))");
+        }
+
+        query.append(") ");
+    }
+
+    private void addRawClause(RawClause clause, boolean exemptOperator)
+    {
+        if (!exemptOperator) {
+            query.append(clause.getOrder().getOperator()).append(' ');
+        }
+
+        String sql = clause.getSQL();
+        int binding = 0;
+
+        for (int i = 0; i < sql.length(); i++) {
+            char character = sql.charAt(i);
+
+            if (character == '?' && binding < clause.getBindings().size()) {
+                appendValue(clause.getBindings().get(binding++));
+            } else {
+                query.append(character);
+            }
+        }
+
+        query.append(' ');
+    }
+
+    private void appendValueList(List<?> values)
+    {
+        query.append('(');
+
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                query.append(", ");
+            }
+
+            appendValue(values.get(i));
         }
 
-        addRawPart(String.format("%s%s ", operator, stringClause));
+        query.append(')');
     }
 }
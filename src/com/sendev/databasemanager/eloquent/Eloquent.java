@@ -1,15 +1,18 @@
 package com.sendev.databasemanager.eloquent;
 
-import java.lang.annotation.Annotation;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.logging.Level;
-import java.util.logging.Logger;
-
+import java.util.Map;
+
+import com.sendev.databasemanager.DatabaseFactory;
+import com.sendev.databasemanager.DatabaseManager;
+import com.sendev.databasemanager.cache.QueryResultCache;
+import com.sendev.databasemanager.contracts.Database;
+import com.sendev.databasemanager.exceptions.DatabaseException;
+import com.sendev.databasemanager.query.KeysetPaginator;
 import com.sendev.databasemanager.query.QueryBuilder;
 import com.sendev.databasemanager.utils.Collection;
 
@@ -18,6 +21,8 @@ public abstract class Eloquent extends EloquentDefaultFields
 
     protected final QueryBuilder builder;
 
+    private final Map<String, Relation> eagerLoads = new LinkedHashMap<>();
+
     public Eloquent()
     {
         builder = new QueryBuilder(table());
@@ -31,9 +36,45 @@ public abstract class Eloquent extends EloquentDefaultFields
 
     public Collection find(int id) throws SQLException
     {
+        boolean lookup = isPrimaryKeyLookup();
+
         builder.table(table()).where(primaryKey(), id);
 
-        return get();
+        IdentityMap identities = IdentityMap.current();
+        if (!lookup || (identities == null && cacheSize() <= 0)) {
+            return get();
+        }
+
+        DatabaseManager dbm = resolveDatabaseManager();
+        String prefix = builder.isIgnoringDatabasePrefix() ? "" : dbm.options().getPrefix();
+        String table = QueryResultCache.normalizeTable(prefix + table());
+        String key = primaryKey() + "=" + id;
+
+        Collection model = identities == null ? null : identities.get(table, key);
+        if (model != null) {
+            return model;
+        }
+
+        // Rows loaded inside of a transaction can be uncommitted, so they're never shared through the model cache.
+        Database database = dbm.getConnections().getDefaultConnection();
+        if (cacheSize() > 0 && (database == null || database.getTransaction() == null)) {
+            model = dbm.models().get(table, key);
+
+            if (model == null) {
+                long version = dbm.models().getVersion(table);
+
+                model = get();
+                dbm.models().put(table, key, model, version, cacheSize(), cacheTimeToLive());
+            }
+        } else {
+            model = get();
+        }
+
+        if (identities != null) {
+            identities.put(table, key, model);
+        }
+
+        return model;
     }
 
     public Collection all() throws SQLException
@@ -86,6 +127,20 @@ public abstract class Eloquent extends EloquentDefaultFields
         return this;
     }
 
+    public Eloquent whereIn(String column, List<?> values)
+    {
+        builder.whereIn(column, values);
+
+        return this;
+    }
+
+    public Eloquent whereNotIn(String column, List<?> values)
+    {
+        builder.whereNotIn(column, values);
+
+        return this;
+    }
+
     public Eloquent leftJoin(String table, String one, String two)
     {
         builder.leftJoin(table, one, two);
@@ -142,46 +197,141 @@ public abstract class Eloquent extends EloquentDefaultFields
         return this;
     }
 
+    public long count() throws SQLException
+    {
+        return builder.count();
+    }
+
+    public Number sum(String column) throws SQLException
+    {
+        return builder.sum(column);
+    }
+
+    public Number min(String column) throws SQLException
+    {
+        return builder.min(column);
+    }
+
+    public Number max(String column) throws SQLException
+    {
+        return builder.max(column);
+    }
+
+    public Double avg(String column) throws SQLException
+    {
+        return builder.avg(column);
+    }
+
+    public boolean exists() throws SQLException
+    {
+        return builder.exists();
+    }
+
+    public KeysetPaginator pages(int size)
+    {
+        return builder.pages(size, primaryKey());
+    }
+
     public Eloquent with(String... fields)
     {
-        List<String> methods = new ArrayList<>();
-        methods.addAll(Arrays.asList(fields));
+        ModelMetadata metadata = ModelMetadata.of(instance().getClass());
 
-        Class<? extends Eloquent> iClass = instance().getClass();
+        for (String name : new LinkedHashSet<>(Arrays.asList(fields))) {
+            if (!metadata.hasRelation(name)) {
+                metadata.applyScope(instance(), name, builder);
 
-        for (Method method : iClass.getMethods()) {
-            if (!methods.contains(method.getName())) {
                 continue;
             }
 
-            if (method.getAnnotations().length == 0) {
-                continue;
+            Relation relation = metadata.getRelation(instance(), name);
+            if (relation != null) {
+                eagerLoads.put(name, relation);
             }
+        }
 
-            boolean isQueryHandler = false;
-            for (Annotation an : method.getAnnotations()) {
-                if (an.annotationType().getName().equals(QueryScope.class.getName())) {
-                    isQueryHandler = true;
-                    break;
-                }
-            }
+        return this;
+    }
 
-            if (isQueryHandler) {
-                try {
-                    method.setAccessible(true);
-                    method.invoke(instance(), builder);
-                } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException ex) {
-                    Logger.getLogger(Eloquent.class.getName()).log(Level.SEVERE, null, ex);
-                }
-            }
+    public Collection get() throws SQLException
+    {
+        Collection result = builder.get();
+
+        if (eagerLoads.isEmpty() || result.isEmpty()) {
+            return result;
         }
 
+        DatabaseManager dbm = resolveDatabaseManager();
+        for (Map.Entry<String, Relation> relation : eagerLoads.entrySet()) {
+            relation.getValue().load(dbm, relation.getKey(), result);
+        }
+
+        return result;
+    }
+
+    protected Relation hasOne(Class<? extends Eloquent> related, String foreignKey)
+    {
+        return hasOne(related, foreignKey, primaryKey());
+    }
+
+    protected Relation hasOne(Class<? extends Eloquent> related, String foreignKey, String localKey)
+    {
+        return new Relation(RelationType.HAS_ONE, related, foreignKey, localKey);
+    }
+
+    protected Relation hasMany(Class<? extends Eloquent> related, String foreignKey)
+    {
+        return hasMany(related, foreignKey, primaryKey());
+    }
+
+    protected Relation hasMany(Class<? extends Eloquent> related, String foreignKey, String localKey)
+    {
+        return new Relation(RelationType.HAS_MANY, related, foreignKey, localKey);
+    }
+
+    protected Relation belongsTo(Class<? extends Eloquent> related, String foreignKey)
+    {
+        return belongsTo(related, foreignKey, null);
+    }
+
+    protected Relation belongsTo(Class<? extends Eloquent> related, String foreignKey, String ownerKey)
+    {
+        return new Relation(RelationType.BELONGS_TO, related, foreignKey, ownerKey);
+    }
+
+    public Eloquent setDatabaseManager(DatabaseManager dbm)
+    {
+        builder.setDatabaseManager(dbm);
+
         return this;
     }
 
-    public Collection get() throws SQLException
+    private boolean isPrimaryKeyLookup()
+    {
+        List<String> columns = builder.getColumns();
+
+        return eagerLoads.isEmpty()
+               && builder.getWhereClauses().isEmpty()
+               && builder.getJoins().isEmpty()
+               && builder.getTake() < 0
+               && builder.getSkip() < 0
+               && (columns.isEmpty() || (columns.size() == 1 && columns.get(0).equals("*")));
+    }
+
+    private DatabaseManager resolveDatabaseManager()
     {
-        return builder.get();
+        if (builder.getDatabaseManager() != null) {
+            return builder.getDatabaseManager();
+        }
+
+        DatabaseManager dbm = DatabaseFactory.getDynamicOrigin(builder.getClass());
+
+        if (dbm == null) {
+            throw new DatabaseException("Failed to find any data binding connected to the instantiated class.");
+        }
+
+        builder.setDatabaseManager(dbm);
+
+        return dbm;
     }
 
     @Override
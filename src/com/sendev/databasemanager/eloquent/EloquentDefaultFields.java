@@ -24,4 +24,14 @@ public abstract class EloquentDefaultFields
     {
         return true;
     }
+
+    protected int cacheSize()
+    {
+        return 0;
+    }
+
+    protected long cacheTimeToLive()
+    {
+        return 60000;
+    }
 }
@@ -0,0 +1,124 @@
+package com.sendev.databasemanager.eloquent;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.sendev.databasemanager.utils.Collection;
+
+public final class IdentityMap implements AutoCloseable
+{
+    private static final ThreadLocal<IdentityMap> CURRENT = new ThreadLocal<>();
+
+    /**
+     * The identity map that was active on the thread before this identity map was
+     * opened, the previous identity map is restored once this one is closed.
+     */
+    private final IdentityMap previous;
+
+    /**
+     * The models loaded during the unit of work, grouped by the normalized table
+     * name of the model, and then by the primary key column and value.
+     */
+    private final Map<String, Map<Object, Collection>> models = new HashMap<>();
+
+    private boolean closed = false;
+
+    private IdentityMap(IdentityMap previous)
+    {
+        this.previous = previous;
+    }
+
+    /**
+     * Opens a new identity map for the current thread, while the identity map is open, finding
+     * the same model more than once on the thread will return the same collection instance,
+     * without running the query again, the identity map should be used in a
+     * try-with-resources statement, so it's always closed again.
+     * <p>
+     * Writes run through the query builder on the thread removes the models of the table from
+     * the identity map, but writes run by other threads are not seen by the identity map.
+     *
+     * @return the new identity map
+     */
+    public static IdentityMap open()
+    {
+        IdentityMap identities = new IdentityMap(CURRENT.get());
+        CURRENT.set(identities);
+
+        return identities;
+    }
+
+    /**
+     * Gets the identity map that is currently open on the current thread.
+     *
+     * @return either (1) the identity map open on the current thread
+     *         or (2) <code>NULL</code> if no identity map is open
+     */
+    public static IdentityMap current()
+    {
+        return CURRENT.get();
+    }
+
+    /**
+     * Gets the model with the given primary key.
+     *
+     * @param table The normalized table name of the model.
+     * @param key   The primary key column and value of the model.
+     *
+     * @return either (1) the model loaded earlier in the unit of work
+     *         or (2) <code>NULL</code> if the model hasn't been loaded
+     */
+    public Collection get(String table, Object key)
+    {
+        Map<Object, Collection> group = models.get(table);
+
+        return group == null ? null : group.get(key);
+    }
+
+    /**
+     * Stores the given model in the identity map.
+     *
+     * @param table The normalized table name of the model.
+     * @param key   The primary key column and value of the model.
+     * @param model The model to store.
+     */
+    public void put(String table, Object key, Collection model)
+    {
+        models.computeIfAbsent(table, name -> new HashMap<>()).put(key, model);
+    }
+
+    /**
+     * Removes all the models of the given table from the identity map, and
+     * from the identity maps that was open before this one was opened.
+     *
+     * @param table The normalized table name.
+     */
+    public void invalidate(String table)
+    {
+        models.remove(table);
+
+        if (previous != null) {
+            previous.invalidate(table);
+        }
+    }
+
+    /**
+     * Closes the identity map, restoring the identity map that
+     * was open on the thread before this one was opened.
+     */
+    @Override
+    public void close()
+    {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        models.clear();
+
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
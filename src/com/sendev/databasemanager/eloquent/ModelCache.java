@@ -0,0 +1,212 @@
+package com.sendev.databasemanager.eloquent;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.sendev.databasemanager.DatabaseManager;
+import com.sendev.databasemanager.utils.Collection;
+
+public final class ModelCache
+{
+
+    /**
+     * The cached models, grouped by the normalized table name of the model, and then by the primary
+     * key column and value of the model, each group is kept in access order so the least
+     * recently used model is always the first to be evicted from the group.
+     */
+    private final Map<String, Map<Object, Entry>> models = new HashMap<>();
+
+    /**
+     * The amount of times each table has been invalidated, a model is only cached if its table
+     * hasn't been invalidated while the model was being loaded, otherwise a write that
+     * finished during the query could be hidden by the stale model.
+     */
+    private final Map<String, Long> versions = new HashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Creates a new model cache for the given DBM instance, the cache uses the same table
+     * invalidation as the {@link com.sendev.databasemanager.cache.QueryResultCache query result cache},
+     * so any write run through the query builder removes the cached models of the table.
+     *
+     * @param dbm The DBM instance the cache belongs to.
+     */
+    public ModelCache(DatabaseManager dbm)
+    {
+        dbm.queryResults().addInvalidationListener(table -> {
+            invalidate(table);
+
+            IdentityMap identities = IdentityMap.current();
+            if (identities != null) {
+                identities.invalidate(table);
+            }
+        });
+    }
+
+    /**
+     * Gets a copy of the cached model with the given primary key.
+     *
+     * @param table The normalized table name of the model.
+     * @param key   The primary key column and value of the model.
+     *
+     * @return either (1) a copy of the cached model
+     *         or (2) <code>NULL</code> if the model isn't cached, or has expired
+     */
+    public synchronized Collection get(String table, Object key)
+    {
+        Map<Object, Entry> group = models.get(table);
+        Entry entry = group == null ? null : group.get(key);
+
+        if (entry == null || entry.expiresAt <= System.currentTimeMillis()) {
+            if (entry != null) {
+                group.remove(key);
+            }
+
+            misses.incrementAndGet();
+
+            return null;
+        }
+
+        hits.incrementAndGet();
+
+        return new Collection(entry.model);
+    }
+
+    /**
+     * Gets the current version of the given table, the version should be read before the model
+     * is loaded, and passed to the {@link #put(String, Object, Collection, long, int, long) put}
+     * method, so models loaded while the table was written to aren't cached.
+     *
+     * @param table The normalized table name of the model.
+     *
+     * @return the current version of the table
+     */
+    public synchronized long getVersion(String table)
+    {
+        return versions.getOrDefault(table, 0L);
+    }
+
+    /**
+     * Stores a copy of the given model in the cache, if the table has been invalidated since the
+     * version was read the model is ignored, and if the cache for the table is full the
+     * least recently used model of the table will be evicted from the cache.
+     *
+     * @param table      The normalized table name of the model.
+     * @param key        The primary key column and value of the model.
+     * @param model      The model to cache.
+     * @param version    The version of the table from before the model was loaded.
+     * @param size       The maximum amount of models that can be cached for the table.
+     * @param timeToLive The amount of time in milliseconds the model should be cached for.
+     */
+    public synchronized void put(String table, Object key, Collection model, long version, int size, long timeToLive)
+    {
+        if (size <= 0 || version != getVersion(table)) {
+            return;
+        }
+
+        Map<Object, Entry> group = models.computeIfAbsent(table, name -> new LinkedHashMap<>(16, 0.75F, true));
+        group.put(key, new Entry(new Collection(model), System.currentTimeMillis() + timeToLive));
+
+        Iterator<Object> eldest = group.keySet().iterator();
+        while (group.size() > size) {
+            eldest.next();
+            eldest.remove();
+
+            evictions.incrementAndGet();
+        }
+    }
+
+    /**
+     * Removes all the cached models of the given table.
+     *
+     * @param table The normalized table name.
+     */
+    public synchronized void invalidate(String table)
+    {
+        versions.merge(table, 1L, Long::sum);
+        models.remove(table);
+    }
+
+    /**
+     * Removes all the cached models from the cache, the counters are left as they are.
+     */
+    public synchronized void clear()
+    {
+        models.clear();
+    }
+
+    /**
+     * Gets the amount of models currently in the cache.
+     *
+     * @return the amount of cached models
+     */
+    public synchronized int size()
+    {
+        int size = 0;
+        for (Map<Object, Entry> group : models.values()) {
+            size += group.size();
+        }
+
+        return size;
+    }
+
+    /**
+     * Gets the amount of lookups that found a cached model.
+     *
+     * @return the amount of cache hits
+     */
+    public long getHits()
+    {
+        return hits.get();
+    }
+
+    /**
+     * Gets the amount of lookups that didn't find a cached model, or found an expired model.
+     *
+     * @return the amount of cache misses
+     */
+    public long getMisses()
+    {
+        return misses.get();
+    }
+
+    /**
+     * Gets the amount of models that has been evicted to keep the cache within its maximum size.
+     *
+     * @return the amount of cache evictions
+     */
+    public long getEvictions()
+    {
+        return evictions.get();
+    }
+
+    /**
+     * Gets the ratio of lookups that found a cached model, between 0 and 1.
+     *
+     * @return the cache hit rate
+     */
+    public double getHitRate()
+    {
+        long total = hits.get() + misses.get();
+
+        return total == 0 ? 0 : (double) hits.get() / total;
+    }
+
+    private static final class Entry
+    {
+        private final Collection model;
+        private final long expiresAt;
+
+        Entry(Collection model, long expiresAt)
+        {
+            this.model = model;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
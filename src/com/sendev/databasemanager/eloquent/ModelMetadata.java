@@ -0,0 +1,169 @@
+package com.sendev.databasemanager.eloquent;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.sendev.databasemanager.query.QueryBuilder;
+
+/**
+ * Holds the query scopes and relations declared by an Eloquent model class, the methods
+ * are resolved once per model class and stored as method handles, so applying a scope
+ * or loading a relation is a map lookup followed by a direct call.
+ */
+final class ModelMetadata
+{
+    /**
+     * The resolved metadata, stored against the model class itself through a class value,
+     * so the metadata is released together with the class loader of the model.
+     */
+    private static final ClassValue<ModelMetadata> CACHE = new ClassValue<ModelMetadata>()
+    {
+        @Override
+        protected ModelMetadata computeValue(Class<?> model)
+        {
+            return new ModelMetadata(model);
+        }
+    };
+
+    private static final MethodType SCOPE_TYPE = MethodType.methodType(void.class, Eloquent.class, QueryBuilder.class);
+    private static final MethodType RELATION_TYPE = MethodType.methodType(Relation.class, Eloquent.class);
+
+    /**
+     * The public methods annotated with {@link QueryScope} that accepts the query builder,
+     * keyed by their method name, overloaded scopes are all applied in declaration order.
+     */
+    private final Map<String, List<MethodHandle>> scopes = new HashMap<>();
+
+    /**
+     * The public methods with no parameters that returns a {@link Relation}, keyed by their method name.
+     */
+    private final Map<String, MethodHandle> relations = new HashMap<>();
+
+    private ModelMetadata(Class<?> model)
+    {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+        for (Method method : model.getMethods()) {
+            try {
+                if (method.getParameterCount() == 0 && method.getReturnType() == Relation.class) {
+                    relations.put(method.getName(), unreflect(lookup, method, RELATION_TYPE));
+
+                    continue;
+                }
+
+                if (!method.isAnnotationPresent(QueryScope.class)) {
+                    continue;
+                }
+
+                if (method.getParameterCount() != 1 || !method.getParameterTypes()[0].isAssignableFrom(QueryBuilder.class)) {
+                    Logger.getLogger(Eloquent.class.getName()).log(Level.WARNING,
+                        "The {0} query scope on {1} is ignored, query scopes must accept a single query builder parameter.",
+                        new Object[]{method.getName(), model.getName()}
+                    );
+
+                    continue;
+                }
+
+                scopes.computeIfAbsent(method.getName(), name -> new ArrayList<>(1))
+                    .add(unreflect(lookup, method, SCOPE_TYPE));
+            } catch (IllegalAccessException | RuntimeException ex) {
+                Logger.getLogger(Eloquent.class.getName()).log(Level.SEVERE, null, ex);
+            }
+        }
+    }
+
+    /**
+     * Gets the metadata for the given model class, the metadata is
+     * resolved the first time it's requested for the class.
+     *
+     * @param model The model class.
+     *
+     * @return the model metadata
+     */
+    static ModelMetadata of(Class<? extends Eloquent> model)
+    {
+        return CACHE.get(model);
+    }
+
+    /**
+     * Checks to see if the model declares a relation with the given name.
+     *
+     * @param name The name of the relation method.
+     *
+     * @return true if the relation exists, otherwise it will return false.
+     */
+    boolean hasRelation(String name)
+    {
+        return relations.containsKey(name);
+    }
+
+    /**
+     * Calls the relation method with the given name on the model.
+     *
+     * @param model The model to call the relation method on.
+     * @param name  The name of the relation method.
+     *
+     * @return either (1) the relation returned by the method
+     *         or (2) <code>NULL</code> if the relation doesn't exist, or the method failed
+     */
+    Relation getRelation(Eloquent model, String name)
+    {
+        MethodHandle handle = relations.get(name);
+
+        if (handle == null) {
+            return null;
+        }
+
+        try {
+            return (Relation) handle.invokeExact(model);
+        } catch (Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            Logger.getLogger(Eloquent.class.getName()).log(Level.SEVERE, null, ex);
+        }
+
+        return null;
+    }
+
+    /**
+     * Applies all the query scopes with the given name to the query builder.
+     *
+     * @param model   The model to call the query scopes on.
+     * @param name    The name of the query scope methods.
+     * @param builder The query builder the scopes should be applied to.
+     */
+    void applyScope(Eloquent model, String name, QueryBuilder builder)
+    {
+        for (MethodHandle handle : scopes.getOrDefault(name, Collections.emptyList())) {
+            try {
+                handle.invokeExact(model, builder);
+            } catch (Error ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                Logger.getLogger(Eloquent.class.getName()).log(Level.SEVERE, null, ex);
+            }
+        }
+    }
+
+    private static MethodHandle unreflect(MethodHandles.Lookup lookup, Method method, MethodType type) throws IllegalAccessException
+    {
+        method.setAccessible(true);
+        MethodHandle handle = lookup.unreflect(method);
+
+        if (Modifier.isStatic(method.getModifiers())) {
+            handle = MethodHandles.dropArguments(handle, 0, Eloquent.class);
+        }
+
+        return handle.asType(type);
+    }
+}
@@ -0,0 +1,157 @@
+package com.sendev.databasemanager.eloquent;
+
+import java.lang.reflect.InvocationTargetException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.sendev.databasemanager.DatabaseManager;
+import com.sendev.databasemanager.exceptions.DatabaseException;
+import com.sendev.databasemanager.utils.Collection;
+import com.sendev.databasemanager.utils.DataRow;
+
+public final class Relation
+{
+    private final RelationType type;
+    private final Class<? extends Eloquent> related;
+    private final String foreignKey;
+
+    /**
+     * The key the foreign key points to, for {@link RelationType#BELONGS_TO belongs to}
+     * relations this is the key of the related model, and may be <code>NULL</code>
+     * to use the primary key of the related model, for all other relations
+     * this is the key of the model declaring the relation.
+     */
+    private final String localKey;
+
+    /**
+     * Creates a new relation, relations are created by the relation methods on the
+     * {@link Eloquent} model, and are returned by the methods declaring the relations.
+     *
+     * @param type       The type of the relation.
+     * @param related    The class of the related model.
+     * @param foreignKey The foreign key of the relation.
+     * @param localKey   The key the foreign key points to.
+     */
+    Relation(RelationType type, Class<? extends Eloquent> related, String foreignKey, String localKey)
+    {
+        this.type = type;
+        this.related = related;
+        this.foreignKey = foreignKey;
+        this.localKey = localKey;
+    }
+
+    /**
+     * Gets the type of the relation.
+     *
+     * @return the relation type
+     */
+    public RelationType getType()
+    {
+        return type;
+    }
+
+    /**
+     * Gets the class of the related model.
+     *
+     * @return the related model class
+     */
+    public Class<? extends Eloquent> getRelated()
+    {
+        return related;
+    }
+
+    /**
+     * Gets the foreign key of the relation.
+     *
+     * @return the foreign key
+     */
+    public String getForeignKey()
+    {
+        return foreignKey;
+    }
+
+    /**
+     * Gets the key the foreign key points to.
+     *
+     * @return either (1) the key the foreign key points to
+     *         or (2) <code>NULL</code> if a belongs to relation uses the primary key of the related model
+     */
+    public String getLocalKey()
+    {
+        return localKey;
+    }
+
+    /**
+     * Loads the related models for all of the given parent rows, and stores them on the rows
+     * using the name of the relation, the related models are loaded using a single
+     * <code>WHERE IN</code> query for every {@link com.sendev.databasemanager.DatabaseOptions#getEagerLoadChunkSize()
+     * eager load chunk size} amount of distinct parent keys, parents with no related
+     * models are given an empty collection.
+     *
+     * @param dbm     The DBM instance used to load the related models.
+     * @param name    The name of the relation.
+     * @param parents The rows to load the related models for.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    void load(DatabaseManager dbm, String name, Collection parents) throws SQLException
+    {
+        Eloquent model = createModel();
+
+        String parentKey = type == RelationType.BELONGS_TO ? foreignKey : localKey;
+        String relatedKey = type == RelationType.BELONGS_TO
+                            ? (localKey == null ? model.primaryKey() : localKey)
+                            : foreignKey;
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (DataRow parent : parents) {
+            Object key = parent.get(parentKey);
+
+            if (key != null) {
+                keys.putIfAbsent(String.valueOf(key), key);
+            }
+        }
+
+        List<Object> values = new ArrayList<>(keys.values());
+        Map<String, Collection> grouped = new HashMap<>();
+        int chunkSize = dbm.options().getEagerLoadChunkSize();
+
+        for (int i = 0; i < values.size(); i += chunkSize) {
+            Eloquent query = i == 0 ? model : createModel();
+
+            query.setDatabaseManager(dbm);
+            query.builder.whereIn(relatedKey, values.subList(i, Math.min(values.size(), i + chunkSize)));
+
+            for (DataRow row : query.builder.get()) {
+                grouped.computeIfAbsent(String.valueOf(row.get(relatedKey)), key -> new Collection()).push(row);
+            }
+        }
+
+        for (DataRow parent : parents) {
+            Object key = parent.get(parentKey);
+            Collection rows = key == null ? null : grouped.get(String.valueOf(key));
+
+            if (rows == null) {
+                parent.setRelation(name, new Collection());
+            } else if (type == RelationType.HAS_MANY) {
+                parent.setRelation(name, new Collection(rows));
+            } else {
+                parent.setRelation(name, new Collection().push(rows.first()));
+            }
+        }
+    }
+
+    private Eloquent createModel()
+    {
+        try {
+            return related.getDeclaredConstructor().newInstance();
+        } catch (InstantiationException | IllegalAccessException | NoSuchMethodException | InvocationTargetException ex) {
+            throw new DatabaseException("Failed to create an instance of the related model " + related.getName()
+                                        + ", the model must have a public constructor with no arguments.", ex);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.sendev.databasemanager.eloquent;
+
+public enum RelationType
+{
+    /**
+     * The model owns a single related model, the related
+     * model stores the key of the model in its foreign key.
+     */
+    HAS_ONE,
+    /**
+     * The model owns any amount of related models, the related
+     * models stores the key of the model in their foreign key.
+     */
+    HAS_MANY,
+    /**
+     * The model is owned by a single related model, the model
+     * stores the key of the related model in its foreign key.
+     */
+    BELONGS_TO;
+}
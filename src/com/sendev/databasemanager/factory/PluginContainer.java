@@ -76,4 +76,17 @@ public class PluginContainer
     {
         return origins.stream().anyMatch(( path ) -> (binds.stream().anyMatch(( sub ) -> (path.equals(sub)))));
     }
+
+    /**
+     * Checks to see if the provided class path match any of the class path bindings.
+     *
+     * @param origin the class path to match with the bindings
+     *
+     * @return either (1) true if there is a match with the data bindings
+     *         or (2) false if no match was found
+     */
+    public boolean hasBinding(String origin)
+    {
+        return binds.contains(origin);
+    }
 }
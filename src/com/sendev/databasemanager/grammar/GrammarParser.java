@@ -1,6 +1,8 @@
 package com.sendev.databasemanager.grammar;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import com.sendev.databasemanager.DatabaseManager;
@@ -15,6 +17,7 @@ import com.sendev.databasemanager.schema.Blueprint;
 public abstract class GrammarParser
 {
     protected Map<String, Boolean> options = new HashMap<>();
+    protected List<Object> bindings = new ArrayList<>();
 
     public String parse(DatabaseManager manager, Database connection, QueryBuilder query)
     {
@@ -31,6 +34,17 @@ public abstract class GrammarParser
         this.options.put(option, value);
     }
 
+    /**
+     * Gets the values bound to the <code>?</code> placeholders by the last parsed query, values are
+     * only bound if the parser has the <code>parameterize</code> option enabled.
+     *
+     * @return the ordered list of bindings
+     */
+    public List<Object> getBindings()
+    {
+        return bindings;
+    }
+
     protected ConnectionType getType(Database connection)
     {
         if (connection instanceof MySQL) {
@@ -49,7 +63,10 @@ public abstract class GrammarParser
         grammar.setDBM(manager);
         grammar.setOptions(options);
 
-        return grammar.format(builder);
+        String sql = grammar.format(builder);
+        bindings = grammar.getBindings();
+
+        return sql;
     }
 
     protected String setupAndRun(AlterGrammar grammar, Blueprint blueprint, DatabaseManager manager, Map<String, Boolean> options)
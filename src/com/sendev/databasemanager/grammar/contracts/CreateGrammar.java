@@ -6,6 +6,6 @@ public abstract class CreateGrammar extends AlterGrammar
 {
     public CreateGrammar()
     {
-        query = "CREATE TABLE ";
+        query.append("CREATE TABLE ");
     }
 }
@@ -6,6 +6,6 @@ public abstract class DeleteGrammar extends TableGrammar
 {
     public DeleteGrammar()
     {
-        query = "DELETE FROM ";
+        query.append("DELETE FROM ");
     }
 }
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import com.sendev.databasemanager.contracts.TableGrammar;
+import com.sendev.databasemanager.query.QueryBuilder;
 
 public abstract class InsertGrammar extends TableGrammar
 {
@@ -11,6 +12,27 @@ public abstract class InsertGrammar extends TableGrammar
 
     public InsertGrammar()
     {
-        query = "INSERT INTO ";
+        query.append("INSERT INTO ");
+    }
+
+    /**
+     * Gets the columns that should be updated when an upserted row conflicts with an existing row, if
+     * the query builder doesn't specify any columns, every inserted column that isn't one of the
+     * unique columns is updated, the keyset must be built before this is called.
+     *
+     * @param builder The query builder running the upsert.
+     *
+     * @return the columns that should be updated for conflicting rows
+     */
+    protected List<String> getUpdateColumns(QueryBuilder builder)
+    {
+        if (!builder.getUpdateColumns().isEmpty()) {
+            return builder.getUpdateColumns();
+        }
+
+        List<String> columns = new ArrayList<>(keyset);
+        columns.removeAll(builder.getUniqueBy());
+
+        return columns;
     }
 }
@@ -1,11 +1,115 @@
 package com.sendev.databasemanager.grammar.contracts;
 
 import com.sendev.databasemanager.contracts.TableGrammar;
+import com.sendev.databasemanager.query.AggregateType;
+import com.sendev.databasemanager.query.QueryBuilder;
 
 public abstract class SelectGrammar extends TableGrammar
 {
     public SelectGrammar()
     {
-        query = "SELECT ";
+        query.append("SELECT ");
+    }
+
+    /**
+     * Builds the aggregate function in place of the selected columns, if the query builder is running
+     * an aggregate query, exists queries wraps the whole query in an <code>EXISTS</code> check,
+     * selecting a constant value, so the database can stop at the first matching row.
+     * <p>
+     * Aggregates of grouped query builders are calculated from a sub query of the grouped rows,
+     * the sub query is opened here, and the selected columns should be built as normal.
+     *
+     * @param builder The query builder to build the aggregate from.
+     *
+     * @return true if the aggregate was built in place of the columns, otherwise it will return false.
+     */
+    protected boolean buildAggregate(QueryBuilder builder)
+    {
+        AggregateType aggregate = builder.getAggregate();
+
+        if (aggregate == null) {
+            return false;
+        }
+
+        if (aggregate == AggregateType.EXISTS) {
+            query.append("EXISTS(SELECT 1");
+        } else {
+            query.append(aggregate.getFunction()).append('(');
+
+            if (builder.getAggregateColumn() == null) {
+                query.append('*');
+            } else {
+                appendField(builder.getAggregateColumn());
+            }
+
+            query.append(')');
+        }
+
+        if (isGroupedAggregate(builder)) {
+            query.append(" FROM (SELECT ");
+
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Builds the <code>GROUP BY</code> clause for the provided query builder.
+     *
+     * @param builder The query builder to build the groups from.
+     */
+    protected void buildGroupBy(QueryBuilder builder)
+    {
+        if (builder.getGroups().isEmpty()) {
+            return;
+        }
+
+        addPart(" GROUP BY ");
+
+        for (String group : builder.getGroups()) {
+            appendField(group);
+            query.append(", ");
+        }
+
+        removeLast(2);
+        query.append(' ');
+    }
+
+    /**
+     * Finalizes the aggregate query, aggregates ignores the order and limits of the query
+     * builder, since the aggregate only ever returns a single row, the sub query of grouped
+     * aggregates is closed, and exists queries are limited to a single row before
+     * the <code>EXISTS</code> check is closed again.
+     *
+     * @param builder The query builder to finalize.
+     *
+     * @return either (1) the finalized aggregate query
+     *         or (2) <code>NULL</code> if the query builder isn't running an aggregate query
+     */
+    protected String finalizeAggregate(QueryBuilder builder)
+    {
+        AggregateType aggregate = builder.getAggregate();
+
+        if (aggregate == null) {
+            return null;
+        }
+
+        if (isGroupedAggregate(builder)) {
+            addPart(") AS `dbm_aggregate`");
+        }
+
+        if (aggregate == AggregateType.EXISTS) {
+            addPart(" LIMIT 1)");
+        }
+
+        trimTrailingWhitespace().addRawPart(";");
+
+        return query.toString();
+    }
+
+    private boolean isGroupedAggregate(QueryBuilder builder)
+    {
+        return !builder.getGroups().isEmpty() || !builder.getHavingClauses().isEmpty();
     }
 }
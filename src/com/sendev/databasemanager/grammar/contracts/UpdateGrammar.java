@@ -11,6 +11,6 @@ public abstract class UpdateGrammar extends TableGrammar
 
     public UpdateGrammar()
     {
-        query = "UPDATE ";
+        query.append("UPDATE ");
     }
 }
@@ -26,7 +26,7 @@ public class Create extends CreateGrammar
             addPart(") ENGINE = %s;", blueprint.getEngine());
         }
 
-        return query;
+        return query.toString();
     }
 
     private void buildTable(Blueprint blueprint)
@@ -22,25 +22,32 @@ public class Select extends SelectGrammar
 
         buildWhereClause(builder);
 
+        buildGroupBy(builder);
+
+        buildHavingClause(builder);
+
         return finalize(builder);
     }
 
     private void buildColumns(QueryBuilder builder)
     {
-        if (builder.getColumns().size() == 1) {
-            String column = builder.getColumns().get(0);
+        if (!buildAggregate(builder)) {
+            if (builder.getColumns().size() == 1) {
+                String column = builder.getColumns().get(0);
+
+                if (column.equals("*")) {
+                    query.append('*');
+                } else if (column.startsWith("RAW:")) {
+                    query.append(column, 4, column.length());
+                }
+            } else {
+                for (String column : builder.getColumns()) {
+                    appendField(column);
+                    query.append(", ");
+                }
 
-            if (column.equals("*")) {
-                query += "*";
-            } else if (column.startsWith("RAW:")) {
-                query += column.substring(4);
+                removeLast(2);
             }
-        } else {
-            builder.getColumns().stream().forEach(( column ) -> {
-                query += formatField(column) + ", ";
-            });
-
-            removeLast(2);
         }
 
         String table = builder.getTable();
@@ -48,7 +55,9 @@ public class Select extends SelectGrammar
             table = buildTable(table);
         }
 
-        query += String.format(" FROM %s ", formatField(table));
+        query.append(" FROM ");
+        appendField(table);
+        query.append(' ');
     }
 
     private void buildJoins(QueryBuilder builder)
@@ -88,6 +97,11 @@ public class Select extends SelectGrammar
     @Override
     protected String finalize(QueryBuilder builder)
     {
+        String aggregate = finalizeAggregate(builder);
+        if (aggregate != null) {
+            return aggregate;
+        }
+
         if (!builder.getOrder().isEmpty()) {
             addPart(" ORDER BY ");
 
@@ -111,22 +125,26 @@ public class Select extends SelectGrammar
         }
 
         if (builder.getTake() <= 0) {
-            return query.trim() + ";";
+            trimTrailingWhitespace().addRawPart(";");
+
+            return query.toString();
         }
 
         if (builder.getTake() > 0) {
-            addPart(String.format(" LIMIT %d", builder.getTake()));
+            addPart(" LIMIT ");
+            query.append(isParameterized() ? bind(builder.getTake()) : builder.getTake());
 
             // The skip clause is placed inside the limit statement because LIMIT is 
             // required for the OFFSET to be regonized by the SQL server, placing
             // it outside will throw a Syntex Exception due to the missing limit.
             if (builder.getSkip() > 0) {
-                addPart(String.format(" OFFSET %d", builder.getSkip()));
+                addPart(" OFFSET ");
+                query.append(isParameterized() ? bind(builder.getSkip()) : builder.getSkip());
             }
         }
 
         addPart(";");
 
-        return query;
+        return query.toString();
     }
 }
@@ -22,7 +22,7 @@ public class Create extends CreateGrammar
     {
         addPart(");");
 
-        return query;
+        return query.toString();
     }
 
     private void buildTable(Blueprint blueprint)
@@ -13,7 +13,8 @@ public class Delete extends DeleteGrammar
             table = buildTable(table);
         }
 
-        addPart(String.format(" %s", formatField(table)));
+        addPart(" ");
+        appendField(table);
 
         buildWhereClause(builder);
 
@@ -25,6 +26,6 @@ public class Delete extends DeleteGrammar
     {
         addPart(";");
 
-        return query;
+        return query.toString();
     }
 }
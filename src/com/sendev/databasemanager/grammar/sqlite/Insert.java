@@ -1,7 +1,9 @@
 package com.sendev.databasemanager.grammar.sqlite;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import com.sendev.databasemanager.grammar.contracts.InsertGrammar;
 import com.sendev.databasemanager.query.QueryBuilder;
@@ -18,12 +20,15 @@ public class Insert extends InsertGrammar
             table = buildTable(table);
         }
 
-        addPart(String.format(" %s", formatField(table)));
+        addPart(" ");
+        appendField(table);
 
         buildKeyset(builder);
 
         buildValues(builder);
 
+        buildUpsert(builder);
+
         return finalize(builder);
     }
 
@@ -31,58 +36,88 @@ public class Insert extends InsertGrammar
     {
         List<Map<String, Object>> items = builder.getItems();
 
-        items.stream().forEach(( map ) -> {
-            map.keySet().stream().filter(( key ) -> (!keyset.contains(key))).forEach(( key ) -> {
-                keyset.add(key);
-            });
-        });
+        Set<String> seen = new HashSet<>();
+
+        for (Map<String, Object> map : items) {
+            for (String key : map.keySet()) {
+                if (seen.add(key)) {
+                    keyset.add(key);
+                }
+            }
+        }
 
         addPart(" (");
 
-        keyset.stream().forEach(( key ) -> {
-            addPart(String.format("`%s`, ", key));
-        });
+        for (String key : keyset) {
+            query.append('`').append(key).append("`,");
+        }
 
-        removeLast(2).addPart(")");
+        removeLast(1).addRawPart(")");
     }
 
     private void buildValues(QueryBuilder builder)
     {
-        addPart(" VALUES ");
-
         List<Map<String, Object>> items = builder.getItems();
 
+        // Makes room for the values up front, so the builder doesn't have to
+        // be copied over and over again when inserting a lot of rows.
+        query.ensureCapacity(query.length() + (items.size() * (keyset.size() + 1) * 8));
+
+        addPart(" VALUES");
+
         for (Map<String, Object> row : items) {
-            addPart(" (");
+            query.append(" (");
 
             for (String key : keyset) {
                 if (!row.containsKey(key)) {
-                    addPart("NULL, ");
+                    query.append("NULL,");
 
                     continue;
                 }
 
-                String value = row.get(key).toString();
+                appendValue(row.get(key));
+                query.append(',');
+            }
 
-                if (value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false")) {
-                    addPart(String.format("%s, ", value.equalsIgnoreCase("true") ? 1 : 0));
+            removeLast(1).addRawPart("),");
+        }
 
-                    continue;
-                }
+        removeLast(1);
+    }
 
-                if (isNumeric(value)) {
-                    addPart(String.format("%s, ", value));
+    private void buildUpsert(QueryBuilder builder)
+    {
+        if (builder.getUniqueBy().isEmpty()) {
+            return;
+        }
 
-                    continue;
-                }
+        addPart(" ON CONFLICT (");
 
-                addPart(String.format("'%s', ", value));
-            }
+        for (String column : builder.getUniqueBy()) {
+            appendField(column);
+            query.append(", ");
+        }
 
-            removeLast(2).addPart("),");
+        removeLast(2).addRawPart(")");
+
+        List<String> columns = getUpdateColumns(builder);
+
+        if (columns.isEmpty()) {
+            addPart(" DO NOTHING");
+
+            return;
         }
 
-        removeLast(1);
+        addPart(" DO UPDATE SET ");
+
+        for (String column : columns) {
+            appendField(column);
+            query.append(" = excluded.");
+            appendField(column);
+            query.append(", ");
+        }
+
+        removeLast(2);
     }
 
     @Override
@@ -90,6 +125,6 @@ public class Insert extends InsertGrammar
     {
         addPart(";");
 
-        return query;
+        return query.toString();
     }
 }
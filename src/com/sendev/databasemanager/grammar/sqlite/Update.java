@@ -1,7 +1,9 @@
 package com.sendev.databasemanager.grammar.sqlite;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import com.sendev.databasemanager.grammar.contracts.UpdateGrammar;
 import com.sendev.databasemanager.query.QueryBuilder;
@@ -18,7 +20,9 @@ public class Update extends UpdateGrammar
             table = buildTable(table);
         }
 
-        addPart(String.format(" %s SET", formatField(table)));
+        addPart(" ");
+        appendField(table);
+        query.append(" SET");
 
         buildKeyset(builder);
 
@@ -33,11 +37,15 @@ public class Update extends UpdateGrammar
     {
         List<Map<String, Object>> items = builder.getItems();
 
-        items.stream().forEach(( map ) -> {
-            map.keySet().stream().filter(( key ) -> (!keyset.contains(key))).forEach(( key ) -> {
-                keyset.add(key);
-            });
-        });
+        Set<String> seen = new HashSet<>();
+
+        for (Map<String, Object> map : items) {
+            for (String key : map.keySet()) {
+                if (seen.add(key)) {
+                    keyset.add(key);
+                }
+            }
+        }
 
     }
 
@@ -48,31 +56,21 @@ public class Update extends UpdateGrammar
         for (Map<String, Object> row : items) {
 
             for (String key : keyset) {
-                if (!row.containsKey(key)) {
-                    addPart("NULL, ");
-
-                    continue;
-                }
-
-                String value = row.get(key).toString();
-                String formatKey = formatField(key);
+                addPart(" ");
+                appendField(key);
+                query.append(" = ");
 
-                if (value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false")) {
-                    addPart(String.format(" %s = %s, ", formatKey, value.equalsIgnoreCase("true") ? 1 : 0));
-
-                    continue;
-                }
-
-                if (isNumeric(value)) {
-                    addPart(String.format("%s = %s, ", formatKey, value.toUpperCase()));
+                if (!row.containsKey(key)) {
+                    query.append("NULL,");
 
                     continue;
                 }
 
-                addPart(String.format("%s = %s, ", formatKey, value.toUpperCase()));
+                appendValue(row.get(key));
+                query.append(',');
             }
 
-            removeLast(2).addPart(" ");
+            removeLast(1).addRawPart(" ");
         }
 
         removeLast(1);
@@ -83,6 +81,6 @@ public class Update extends UpdateGrammar
     {
         addPart(";");
 
-        return query;
+        return query.toString();
     }
 }
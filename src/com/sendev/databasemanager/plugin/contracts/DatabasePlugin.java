@@ -1,5 +1,6 @@
 package com.sendev.databasemanager.plugin.contracts;
 
+import java.util.concurrent.Executor;
 import java.util.logging.Logger;
 
 import com.sendev.databasemanager.exceptions.InvalidPluginException;
@@ -14,4 +15,13 @@ public interface DatabasePlugin
     public String getMain();
 
     public Logger getLogger();
+
+    /**
+     * Gets the executor used to run tasks on the server thread, this is used to
+     * complete asynchronous queries on the server thread when it's enabled.
+     *
+     * @return either (1) the server thread executor
+     *         or (2) <code>NULL</code> if the platform doesn't have a server thread
+     */
+    public Executor getServerExecutor();
 }
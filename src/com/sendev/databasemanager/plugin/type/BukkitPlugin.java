@@ -1,7 +1,9 @@
 package com.sendev.databasemanager.plugin.type;
 
+import java.util.concurrent.Executor;
 import java.util.logging.Logger;
 
+import org.bukkit.Bukkit;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.java.JavaPlugin;
 
@@ -39,4 +41,20 @@ public class BukkitPlugin implements DatabasePlugin
     {
         return plugin.getLogger();
     }
+
+    @Override
+    public Executor getServerExecutor()
+    {
+        return runnable -> {
+            // Tasks can't be scheduled for disabled plugins, so if the plugin is being
+            // disabled, or we're already on the server thread, the task is run directly.
+            if (Bukkit.isPrimaryThread() || !plugin.isEnabled()) {
+                runnable.run();
+
+                return;
+            }
+
+            Bukkit.getScheduler().runTask(plugin, runnable);
+        };
+    }
 }
@@ -1,5 +1,6 @@
 package com.sendev.databasemanager.plugin.type;
 
+import java.util.concurrent.Executor;
 import java.util.logging.Logger;
 
 import com.sendev.databasemanager.exceptions.InvalidPluginException;
@@ -37,4 +38,11 @@ public class BungeePlugin implements DatabasePlugin
     {
         return plugin.getLogger();
     }
+
+    @Override
+    public Executor getServerExecutor()
+    {
+        // BungeeCord doesn't have a main server thread.
+        return null;
+    }
 }
@@ -0,0 +1,418 @@
+package com.sendev.databasemanager.pool;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sendev.databasemanager.DatabaseManager;
+import com.sendev.databasemanager.DatabaseOptions;
+import com.sendev.databasemanager.pool.contracts.ConnectionFactory;
+
+public final class ConnectionPool
+{
+
+    /**
+     * The amount of time in milliseconds between each housekeeping run if
+     * neither the idle timeout or leak detection requires it to run sooner.
+     */
+    private static final long HOUSEKEEPING_INTERVAL = 30000;
+
+    private static final AtomicInteger POOL_COUNTER = new AtomicInteger();
+
+    private final DatabaseManager dbm;
+    private final ConnectionFactory factory;
+
+    private final int minimumSize;
+    private final int maximumSize;
+    private final long idleTimeout;
+    private final long validationInterval;
+    private final long leakDetectionThreshold;
+    private final long borrowTimeout;
+
+    /**
+     * Represents the amount of connections that can still be borrowed from the pool, the
+     * semaphore is fair so threads waiting for a connection are served in order.
+     */
+    private final Semaphore permits;
+
+    /**
+     * The idle connections, the most recently used connection is always at the head of
+     * the deque, so the connections that are used the least will drift towards the
+     * tail and will be the first to be evicted once they reach the idle timeout.
+     */
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Map<Connection, PooledConnection> borrowed = new ConcurrentHashMap<>();
+    private final AtomicInteger total = new AtomicInteger();
+    private final ScheduledExecutorService housekeeper;
+
+    private volatile boolean closed = false;
+
+    /**
+     * Creates a new connection pool using the pool settings from the
+     * {@link DatabaseOptions database options} of the provided DBM instance.
+     *
+     * @param dbm     The DBM instance the pool belongs to.
+     * @param factory The factory used to create new physical connections.
+     */
+    public ConnectionPool(DatabaseManager dbm, ConnectionFactory factory)
+    {
+        this(dbm, factory, dbm.options());
+    }
+
+    /**
+     * Creates a new connection pool using the pool settings from the provided database options.
+     *
+     * @param dbm     The DBM instance the pool belongs to.
+     * @param factory The factory used to create new physical connections.
+     * @param options The options to load the pool settings from.
+     */
+    public ConnectionPool(DatabaseManager dbm, ConnectionFactory factory, DatabaseOptions options)
+    {
+        this(dbm, factory, options, options.getPoolMinimumSize(), options.getPoolMaximumSize());
+    }
+
+    /**
+     * Creates a new connection pool with the given size, all other pool
+     * settings are loaded from the provided database options.
+     *
+     * @param dbm         The DBM instance the pool belongs to.
+     * @param factory     The factory used to create new physical connections.
+     * @param options     The options to load the pool settings from.
+     * @param minimumSize The minimum amount of connections the pool should keep open.
+     * @param maximumSize The maximum amount of connections the pool can open.
+     */
+    public ConnectionPool(DatabaseManager dbm, ConnectionFactory factory, DatabaseOptions options, int minimumSize, int maximumSize)
+    {
+        this.dbm = dbm;
+        this.factory = factory;
+
+        this.minimumSize = Math.max(0, Math.min(minimumSize, maximumSize));
+        this.maximumSize = maximumSize;
+        this.idleTimeout = options.getPoolIdleTimeout();
+        this.validationInterval = options.getPoolValidationInterval();
+        this.leakDetectionThreshold = options.getPoolLeakDetectionThreshold();
+        this.borrowTimeout = options.getPoolBorrowTimeout();
+
+        this.permits = new Semaphore(maximumSize, true);
+
+        String name = "DBM-ConnectionPool-" + POOL_COUNTER.incrementAndGet();
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+
+            return thread;
+        });
+
+        long interval = getHousekeepingInterval();
+        housekeeper.scheduleWithFixedDelay(this::housekeeping, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrows a connection from the pool, if there are no idle connections in the pool and the pool
+     * hasn't reached its maximum size a new connection will be created, otherwise the calling
+     * thread will wait up to the borrow timeout for another thread to release its connection.
+     * <p>
+     * Connections that have been idle for longer than the validation interval are validated
+     * before they're handed out, connections that have been used recently are trusted as is.
+     * <p>
+     * Every connection that is borrowed from the pool <strong>must</strong> be released
+     * again using the {@link #release(Connection) release} method.
+     *
+     * @return a connection from the pool
+     *
+     * @throws SQLTimeoutException if no connection became available within the borrow timeout
+     * @throws SQLException        if the pool is closed, or a new connection couldn't be created
+     */
+    public Connection borrow() throws SQLException
+    {
+        if (closed) {
+            throw new SQLException("Failed to borrow a connection, the connection pool has been closed.");
+        }
+
+        try {
+            if (!permits.tryAcquire(borrowTimeout, TimeUnit.MILLISECONDS)) {
+                throw new SQLTimeoutException(String.format(
+                    "Failed to borrow a connection within %s ms, all %s pooled connections are in use.", borrowTimeout, maximumSize
+                ));
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+
+            throw new SQLException("Interrupted while waiting to borrow a connection from the pool.", ex);
+        }
+
+        try {
+            PooledConnection pooled = pollUsableConnection();
+
+            if (pooled == null) {
+                pooled = createConnection();
+            }
+
+            pooled.lease(leakDetectionThreshold > 0);
+            borrowed.put(pooled.getConnection(), pooled);
+
+            return pooled.getConnection();
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+
+            throw ex;
+        }
+    }
+
+    /**
+     * Releases a borrowed connection back into the pool, if the connection was left with
+     * auto commit disabled any pending changes will be rolled back before it is
+     * made available to the next thread, broken connections are discarded.
+     *
+     * @param connection The connection to release.
+     */
+    public void release(Connection connection)
+    {
+        PooledConnection pooled = borrowed.remove(connection);
+
+        if (pooled == null) {
+            return;
+        }
+
+        try {
+            if (closed || connection.isClosed()) {
+                discard(pooled);
+                return;
+            }
+
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+
+            pooled.touch();
+            idle.offerFirst(pooled);
+        } catch (SQLException ex) {
+            discard(pooled);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Closes the connection pool and all the idle connections in it, connections
+     * that are currently borrowed will be closed when they're released.
+     */
+    public void close()
+    {
+        closed = true;
+        housekeeper.shutdownNow();
+
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            discard(pooled);
+        }
+    }
+
+    /**
+     * Checks to see if the connection pool has been closed.
+     *
+     * @return true if the pool has been closed, otherwise it will return false.
+     */
+    public boolean isClosed()
+    {
+        return closed;
+    }
+
+    /**
+     * Gets the maximum amount of connections the pool can open.
+     *
+     * @return the maximum pool size
+     */
+    public int getMaximumSize()
+    {
+        return maximumSize;
+    }
+
+    /**
+     * Gets the total amount of physical connections currently owned by the pool.
+     *
+     * @return the total amount of connections
+     */
+    public int getTotalConnections()
+    {
+        return total.get();
+    }
+
+    /**
+     * Gets the amount of connections that are currently idle in the pool.
+     *
+     * @return the amount of idle connections
+     */
+    public int getIdleConnections()
+    {
+        return idle.size();
+    }
+
+    /**
+     * Gets the amount of connections that are currently borrowed from the pool.
+     *
+     * @return the amount of borrowed connections
+     */
+    public int getActiveConnections()
+    {
+        return borrowed.size();
+    }
+
+    /**
+     * Gets an estimate of the amount of threads waiting to borrow a connection from the pool.
+     *
+     * @return the amount of waiting threads
+     */
+    public int getWaitingThreads()
+    {
+        return permits.getQueueLength();
+    }
+
+    private PooledConnection pollUsableConnection()
+    {
+        PooledConnection pooled;
+
+        while ((pooled = idle.pollFirst()) != null) {
+            if (isUsable(pooled)) {
+                return pooled;
+            }
+
+            discard(pooled);
+        }
+
+        return null;
+    }
+
+    private boolean isUsable(PooledConnection pooled)
+    {
+        try {
+            if (pooled.getConnection().isClosed()) {
+                return false;
+            }
+
+            if (System.currentTimeMillis() - pooled.getLastUsed() <= validationInterval) {
+                return true;
+            }
+
+            return pooled.getConnection().isValid(1);
+        } catch (SQLException ex) {
+            return false;
+        }
+    }
+
+    private PooledConnection createConnection() throws SQLException
+    {
+        Connection connection = factory.create();
+
+        total.incrementAndGet();
+
+        return new PooledConnection(connection);
+    }
+
+    private void discard(PooledConnection pooled)
+    {
+        total.decrementAndGet();
+
+        try {
+            pooled.getConnection().close();
+        } catch (SQLException ex) {
+            dbm.output().debug("Failed to close a discarded pooled connection: %s", ex.getMessage());
+        }
+    }
+
+    private long getHousekeepingInterval()
+    {
+        long interval = HOUSEKEEPING_INTERVAL;
+
+        if (idleTimeout > 0) {
+            interval = Math.min(interval, Math.max(1000, idleTimeout / 2));
+        }
+
+        if (leakDetectionThreshold > 0) {
+            interval = Math.min(interval, Math.max(1000, leakDetectionThreshold / 2));
+        }
+
+        return interval;
+    }
+
+    private void housekeeping()
+    {
+        if (closed) {
+            return;
+        }
+
+        try {
+            evictIdleConnections();
+            fillMinimumConnections();
+            detectLeakedConnections();
+        } catch (RuntimeException ex) {
+            dbm.output().exception("The connection pool housekeeping task failed: %s", ex, ex.getMessage());
+        }
+    }
+
+    private void evictIdleConnections()
+    {
+        if (idleTimeout <= 0) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+
+        for (PooledConnection pooled : idle) {
+            if (total.get() <= minimumSize) {
+                return;
+            }
+
+            if (now - pooled.getLastUsed() > idleTimeout && idle.remove(pooled)) {
+                discard(pooled);
+            }
+        }
+    }
+
+    private void fillMinimumConnections()
+    {
+        while (!closed && total.get() < minimumSize) {
+            try {
+                idle.offerLast(createConnection());
+            } catch (SQLException ex) {
+                dbm.output().exception("Failed to fill the connection pool to its minimum size: %s", ex, ex.getMessage());
+                return;
+            }
+        }
+    }
+
+    private void detectLeakedConnections()
+    {
+        if (leakDetectionThreshold <= 0) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+
+        for (PooledConnection pooled : borrowed.values()) {
+            if (pooled.isLeakReported() || now - pooled.getBorrowedAt() <= leakDetectionThreshold) {
+                continue;
+            }
+
+            pooled.setLeakReported();
+
+            StringBuilder trace = new StringBuilder();
+            for (StackTraceElement element : pooled.getBorrowTrace()) {
+                trace.append("\n    at ").append(element);
+            }
+
+            dbm.output().warning("A pooled connection has been borrowed for more than %s ms without being released, it was borrowed at:%s",
+                now - pooled.getBorrowedAt(), trace
+            );
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.sendev.databasemanager.pool;
+
+import java.sql.Connection;
+
+class PooledConnection
+{
+
+    private static final StackTraceElement[] EMPTY_TRACE = new StackTraceElement[0];
+
+    private final Connection connection;
+
+    private volatile long lastUsed;
+    private volatile long borrowedAt;
+    private volatile StackTraceElement[] borrowTrace = EMPTY_TRACE;
+    private volatile boolean leakReported;
+
+    PooledConnection(Connection connection)
+    {
+        this.connection = connection;
+        this.lastUsed = System.currentTimeMillis();
+    }
+
+    Connection getConnection()
+    {
+        return connection;
+    }
+
+    long getLastUsed()
+    {
+        return lastUsed;
+    }
+
+    long getBorrowedAt()
+    {
+        return borrowedAt;
+    }
+
+    StackTraceElement[] getBorrowTrace()
+    {
+        return borrowTrace;
+    }
+
+    boolean isLeakReported()
+    {
+        return leakReported;
+    }
+
+    void setLeakReported()
+    {
+        leakReported = true;
+    }
+
+    /**
+     * Marks the connection as borrowed, if leak detection is enabled the current
+     * call stack is stored so the borrower can be reported if it leaks.
+     *
+     * @param trackBorrower Whether the borrowing call stack should be stored.
+     */
+    void lease(boolean trackBorrower)
+    {
+        borrowedAt = System.currentTimeMillis();
+        borrowTrace = trackBorrower ? new Throwable().getStackTrace() : EMPTY_TRACE;
+        leakReported = false;
+    }
+
+    /**
+     * Marks the connection as used, this is called when the connection is released back into the pool.
+     */
+    void touch()
+    {
+        lastUsed = System.currentTimeMillis();
+        borrowTrace = EMPTY_TRACE;
+    }
+}
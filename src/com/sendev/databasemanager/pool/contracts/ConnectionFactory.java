@@ -0,0 +1,17 @@
+package com.sendev.databasemanager.pool.contracts;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+public interface ConnectionFactory
+{
+    /**
+     * Creates a brand new physical database connection, the connection is
+     * owned by the connection pool that requested it from the factory.
+     *
+     * @return a new database connection
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    public Connection create() throws SQLException;
+}
@@ -0,0 +1,46 @@
+package com.sendev.databasemanager.query;
+
+public enum AggregateType
+{
+    /**
+     * Counts the amount of rows matched by the query.
+     */
+    COUNT("COUNT"),
+    /**
+     * Sums the values of the column for the rows matched by the query.
+     */
+    SUM("SUM"),
+    /**
+     * Finds the lowest value of the column for the rows matched by the query.
+     */
+    MIN("MIN"),
+    /**
+     * Finds the highest value of the column for the rows matched by the query.
+     */
+    MAX("MAX"),
+    /**
+     * Finds the average value of the column for the rows matched by the query.
+     */
+    AVG("AVG"),
+    /**
+     * Checks if the query matches any rows, stopping at the first row that is found.
+     */
+    EXISTS("EXISTS");
+
+    private final String function;
+
+    private AggregateType(String function)
+    {
+        this.function = function;
+    }
+
+    /**
+     * Gets the SQL function used for the aggregate.
+     *
+     * @return the SQL function used for the aggregate
+     */
+    public String getFunction()
+    {
+        return function;
+    }
+}
@@ -0,0 +1,130 @@
+package com.sendev.databasemanager.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class BatchResult
+{
+    /**
+     * The amount of rows that was sent to the database in each chunk.
+     */
+    private final List<Integer> rows;
+
+    /**
+     * The amount of rows affected by each chunk, as reported by the database driver.
+     */
+    private final List<Integer> affected;
+
+    /**
+     * The keys generated by each chunk, in the order they were returned by the database driver.
+     */
+    private final List<List<Integer>> generatedKeys;
+
+    /**
+     * Creates a new batch result, all the lists must contain one entry per chunk.
+     *
+     * @param rows          The amount of rows sent to the database in each chunk
+     * @param affected      The amount of rows affected by each chunk
+     * @param generatedKeys The keys generated by each chunk
+     */
+    public BatchResult(List<Integer> rows, List<Integer> affected, List<List<Integer>> generatedKeys)
+    {
+        this.rows = Collections.unmodifiableList(rows);
+        this.affected = Collections.unmodifiableList(affected);
+        this.generatedKeys = Collections.unmodifiableList(generatedKeys);
+    }
+
+    /**
+     * Gets the amount of chunks the rows was split into.
+     *
+     * @return the amount of chunks
+     */
+    public int getChunkCount()
+    {
+        return rows.size();
+    }
+
+    /**
+     * Gets the total amount of rows that was sent to the database.
+     *
+     * @return the total amount of rows
+     */
+    public int getRowCount()
+    {
+        return sum(rows);
+    }
+
+    /**
+     * Gets the amount of rows that was sent to the database in the given chunk.
+     *
+     * @param chunk The index of the chunk.
+     *
+     * @return the amount of rows in the chunk
+     */
+    public int getRowCount(int chunk)
+    {
+        return rows.get(chunk);
+    }
+
+    /**
+     * Gets the total amount of rows affected by the batch.
+     *
+     * @return the total amount of affected rows
+     */
+    public int getAffectedRows()
+    {
+        return sum(affected);
+    }
+
+    /**
+     * Gets the amount of rows affected by the given chunk.
+     *
+     * @param chunk The index of the chunk.
+     *
+     * @return the amount of affected rows in the chunk
+     */
+    public int getAffectedRows(int chunk)
+    {
+        return affected.get(chunk);
+    }
+
+    /**
+     * Gets all the keys generated by the batch, in chunk order.
+     *
+     * @return the generated keys
+     */
+    public List<Integer> getGeneratedKeys()
+    {
+        List<Integer> keys = new ArrayList<>();
+
+        for (List<Integer> chunk : generatedKeys) {
+            keys.addAll(chunk);
+        }
+
+        return keys;
+    }
+
+    /**
+     * Gets the keys generated by the given chunk.
+     *
+     * @param chunk The index of the chunk.
+     *
+     * @return the keys generated by the chunk
+     */
+    public List<Integer> getGeneratedKeys(int chunk)
+    {
+        return generatedKeys.get(chunk);
+    }
+
+    private int sum(List<Integer> values)
+    {
+        int total = 0;
+
+        for (int value : values) {
+            total += value;
+        }
+
+        return total;
+    }
+}
@@ -0,0 +1,195 @@
+package com.sendev.databasemanager.query;
+
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.sendev.databasemanager.DatabaseManager;
+import com.sendev.databasemanager.contracts.Database;
+import com.sendev.databasemanager.exceptions.DatabaseException;
+
+public final class BatchWriter
+{
+    private final QueryBuilder builder;
+    private final DatabaseManager dbm;
+
+    private int chunkSize;
+    private boolean transactional = true;
+
+    /**
+     * Creates a new batch writer for the given query builder, the table, database prefix
+     * setting and where clauses of the query builder are used for every row written.
+     *
+     * @param builder The query builder the batch writer was created from.
+     * @param dbm     The DBM instance the batch should be run through.
+     */
+    BatchWriter(QueryBuilder builder, DatabaseManager dbm)
+    {
+        this.builder = builder;
+        this.dbm = dbm;
+        this.chunkSize = dbm.options().getBatchSize();
+    }
+
+    /**
+     * Sets the amount of rows that should be sent to the database at a time, by default
+     * the {@link com.sendev.databasemanager.DatabaseOptions#getBatchSize() batch size}
+     * from the database options is used.
+     *
+     * @param chunkSize The amount of rows per chunk.
+     *
+     * @return the batch writer instance.
+     */
+    public BatchWriter chunkSize(int chunkSize)
+    {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("The batch chunk size must be at least 1.");
+        }
+
+        this.chunkSize = chunkSize;
+
+        return this;
+    }
+
+    /**
+     * Sets if each chunk should be wrapped in its own transaction, this is enabled by default.
+     *
+     * @param transactional Determines if chunks should be run in a transaction.
+     *
+     * @return the batch writer instance.
+     */
+    public BatchWriter transactional(boolean transactional)
+    {
+        this.transactional = transactional;
+
+        return this;
+    }
+
+    /**
+     * Inserts the given rows using JDBC batches on the default connection.
+     *
+     * @param rows The rows to insert, the rows are read lazily one chunk at a time.
+     *
+     * @return the result of the batch, including the keys generated by each chunk
+     *
+     * @throws SQLException if a database access error occurs or one of the chunks fails
+     */
+    public BatchResult insert(Iterable<Map<String, Object>> rows) throws SQLException
+    {
+        return insert(null, rows);
+    }
+
+    /**
+     * Inserts the given rows using JDBC batches.
+     * <p>
+     * <strong>Note:</strong> The generated keys are the keys reported by the database driver,
+     * MySQL reports the key of every inserted row, while SQLite only reports the key
+     * of the last row inserted by each chunk.
+     *
+     * @param connection The database connection to run the batch against
+     * @param rows       The rows to insert, the rows are read lazily one chunk at a time.
+     *
+     * @return the result of the batch, including the keys generated by each chunk
+     *
+     * @throws SQLException if a database access error occurs or one of the chunks fails
+     */
+    public BatchResult insert(String connection, Iterable<Map<String, Object>> rows) throws SQLException
+    {
+        return run(connection, rows, true, row -> builder.createBatchRow(QueryType.INSERT, row));
+    }
+
+    /**
+     * Updates the given rows using JDBC batches on the default connection, each row is matched
+     * using the values of the given key columns, all the other values in the row are updated.
+     *
+     * @param rows The rows to update, the rows are read lazily one chunk at a time.
+     * @param keys The columns used to find the row that should be updated.
+     *
+     * @return the result of the batch
+     *
+     * @throws SQLException if a database access error occurs or one of the chunks fails
+     */
+    public BatchResult update(Iterable<Map<String, Object>> rows, String... keys) throws SQLException
+    {
+        return update(null, rows, keys);
+    }
+
+    /**
+     * Updates the given rows using JDBC batches, each row is matched using the values
+     * of the given key columns, all the other values in the row are updated.
+     *
+     * @param connection The database connection to run the batch against
+     * @param rows       The rows to update, the rows are read lazily one chunk at a time.
+     * @param keys       The columns used to find the row that should be updated.
+     *
+     * @return the result of the batch
+     *
+     * @throws SQLException      if a database access error occurs or one of the chunks fails
+     * @throws DatabaseException if no key columns are given, or a row is missing one of the key columns
+     */
+    public BatchResult update(String connection, Iterable<Map<String, Object>> rows, String... keys) throws SQLException
+    {
+        if (keys.length == 0) {
+            throw new DatabaseException("At least one key column must be given to run a batch update.");
+        }
+
+        return run(connection, rows, false, row -> {
+            Map<String, Object> values = new LinkedHashMap<>(row);
+
+            for (String key : keys) {
+                if (!row.containsKey(key)) {
+                    throw new DatabaseException("Failed to run batch update, a row is missing the \"" + key + "\" key column.");
+                }
+
+                values.remove(key);
+            }
+
+            if (values.isEmpty()) {
+                throw new DatabaseException("Failed to run batch update, a row has no values to update besides its key columns.");
+            }
+
+            QueryBuilder query = builder.createBatchRow(QueryType.UPDATE, values);
+
+            for (String key : keys) {
+                query.where(key, row.get(key));
+            }
+
+            return query;
+        });
+    }
+
+    private BatchResult run(String connection, Iterable<Map<String, Object>> rows, boolean generatedKeys, Function<Map<String, Object>, QueryBuilder> factory) throws SQLException
+    {
+        Database database = connection == null
+                            ? dbm.getConnections().getDefaultConnection()
+                            : dbm.getConnections().getConnection(connection);
+
+        if (database == null) {
+            throw new DatabaseException("Invalid connection, there are no connection with the name \"" + connection + "\"");
+        }
+
+        dbm.output().debug("BatchWriter::run was called for the \"%s\" table with a chunk size of %s", builder.getTable(), chunkSize);
+
+        Iterator<Map<String, Object>> iterator = rows.iterator();
+
+        try {
+            return database.queryBatch(new Iterator<CompiledQuery>()
+            {
+                @Override
+                public boolean hasNext()
+                {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public CompiledQuery next()
+                {
+                    return factory.apply(iterator.next()).compile(dbm, connection);
+                }
+            }, chunkSize, transactional, generatedKeys);
+        } finally {
+            dbm.queryResults().invalidate(database, builder);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.sendev.databasemanager.query;
+
+import java.util.Collections;
+import java.util.List;
+
+public class CompiledQuery
+{
+    /**
+     * The SQL query with <code>?</code> placeholders in place of the values.
+     */
+    private final String sql;
+
+    /**
+     * The values that should be bound to the placeholders, in the
+     * same order as the placeholders appear in the SQL query.
+     */
+    private final List<Object> bindings;
+
+    /**
+     * Creates a new compiled query.
+     *
+     * @param sql      The SQL query with <code>?</code> placeholders
+     * @param bindings The ordered list of values for the placeholders
+     */
+    public CompiledQuery(String sql, List<Object> bindings)
+    {
+        this.sql = sql;
+        this.bindings = Collections.unmodifiableList(bindings);
+    }
+
+    /**
+     * Gets the SQL query with <code>?</code> placeholders in place of the values.
+     *
+     * @return the SQL query
+     */
+    public String getSQL()
+    {
+        return sql;
+    }
+
+    /**
+     * Gets the ordered list of values that should be bound to the placeholders.
+     *
+     * @return the ordered list of bindings
+     */
+    public List<Object> getBindings()
+    {
+        return bindings;
+    }
+
+    /**
+     * Normalizes a value before it's bound to a placeholder, booleans are bound as <code>1</code>
+     * or <code>0</code>, numbers and strings are bound as they are, and anything else
+     * is bound as its string value, the same way the value would be written out
+     * to the query if it wasn't bound.
+     *
+     * @param value The value to normalize.
+     *
+     * @return the normalized value
+     */
+    public static Object normalizeBinding(Object value)
+    {
+        if (value instanceof Boolean) {
+            return ((Boolean) value) ? 1 : 0;
+        }
+
+        if (value != null && !(value instanceof Number) && !(value instanceof String)) {
+            return value.toString();
+        }
+
+        return value;
+    }
+
+    @Override
+    public String toString()
+    {
+        return sql;
+    }
+}
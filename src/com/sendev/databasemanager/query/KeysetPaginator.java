@@ -0,0 +1,125 @@
+package com.sendev.databasemanager.query;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import com.sendev.databasemanager.exceptions.DatabaseException;
+import com.sendev.databasemanager.utils.Collection;
+import com.sendev.databasemanager.utils.DataRow;
+
+public class KeysetPaginator implements Iterable<Collection>, Iterator<Collection>
+{
+    private final QueryBuilder builder;
+    private final List<String> columns;
+    private final int size;
+
+    /**
+     * The page that has been loaded by {@link #hasNext()}, but
+     * hasn't been returned by {@link #next()} yet.
+     */
+    private Collection page = null;
+
+    /**
+     * The column values of the last row of the previous page, or
+     * <code>NULL</code> if the first page hasn't been loaded yet.
+     */
+    private List<Object> position = null;
+
+    private boolean finished = false;
+
+    /**
+     * Creates a new keyset paginator, the paginator is created through
+     * the {@link QueryBuilder#pages(int, String...) query builder}.
+     *
+     * @param builder The query builder used to load the pages.
+     * @param columns The columns the rows are sorted by.
+     * @param size    The amount of rows per page.
+     */
+    KeysetPaginator(QueryBuilder builder, List<String> columns, int size)
+    {
+        if (columns.isEmpty()) {
+            throw new DatabaseException("Failed to create keyset paginator, at least one column must be given.");
+        }
+
+        if (size < 1) {
+            throw new DatabaseException("Failed to create keyset paginator, the page size must be at least 1.");
+        }
+
+        this.builder = builder;
+        this.columns = columns;
+        this.size = size;
+
+        builder.orderBySeekColumns(columns, false);
+        builder.take(size).removeSkip();
+    }
+
+    @Override
+    public Iterator<Collection> iterator()
+    {
+        return this;
+    }
+
+    /**
+     * Checks to see if there are any more pages, loading the next page if it hasn't been loaded yet.
+     *
+     * @return true if there are more pages, otherwise it will return false.
+     *
+     * @throws DatabaseException if a database access error occurs while loading the next page
+     */
+    @Override
+    public boolean hasNext()
+    {
+        if (page != null) {
+            return true;
+        }
+
+        if (finished) {
+            return false;
+        }
+
+        if (position != null) {
+            builder.seekAfter(columns, position);
+        }
+
+        try {
+            page = builder.get();
+        } catch (SQLException ex) {
+            throw new DatabaseException("Failed to load the next page: " + ex.getMessage(), ex);
+        }
+
+        if (page.size() < size) {
+            finished = true;
+        }
+
+        if (page.isEmpty()) {
+            page = null;
+
+            return false;
+        }
+
+        DataRow last = page.last();
+
+        position = new ArrayList<>(columns.size());
+        for (String column : columns) {
+            position.add(last.get(column.substring(column.lastIndexOf('.') + 1)));
+        }
+
+        return true;
+    }
+
+    @Override
+    public Collection next()
+    {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        Collection next = page;
+        page = null;
+
+        return next;
+    }
+}
@@ -1,5 +1,7 @@
 package com.sendev.databasemanager.query;
 
+import java.math.BigDecimal;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -7,17 +9,19 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.logging.Level;
-import java.util.logging.Logger;
+import java.util.concurrent.CompletableFuture;
 
 import com.sendev.databasemanager.DatabaseFactory;
 import com.sendev.databasemanager.DatabaseManager;
+import com.sendev.databasemanager.contracts.Database;
 import com.sendev.databasemanager.contracts.DatabaseOriginLookup;
 import com.sendev.databasemanager.contracts.QueryClause;
+import com.sendev.databasemanager.contracts.ResultSetHandler;
 import com.sendev.databasemanager.exceptions.DatabaseException;
 import com.sendev.databasemanager.exceptions.OriginException;
 import com.sendev.databasemanager.grammar.GrammarParser;
 import com.sendev.databasemanager.utils.Collection;
+import com.sendev.databasemanager.utils.Cursor;
 
 public final class QueryBuilder implements DatabaseOriginLookup
 {
@@ -54,6 +58,17 @@ public final class QueryBuilder implements DatabaseOriginLookup
      */
     private final List<QueryClause> wheres = new ArrayList<>();
 
+    /**
+     * The list of columns the rows should be grouped by.
+     */
+    private final List<String> groups = new ArrayList<>();
+
+    /**
+     * The list of having clauses that should be used by the generator,
+     * the having clauses are used to filter the grouped rows.
+     */
+    private final List<QueryClause> havings = new ArrayList<>();
+
     /**
      * The list of {@link String} clauses that should be used by the generator.
      */
@@ -70,11 +85,39 @@ public final class QueryBuilder implements DatabaseOriginLookup
      */
     private final List<Map<String, Object>> items = new ArrayList<>();
 
+    /**
+     * The unique columns used to detect conflicting rows when upserting rows, if the list
+     * is empty the items are inserted using a plain <code>INSERT</code> statement.
+     */
+    private final List<String> uniqueBy = new ArrayList<>();
+
+    /**
+     * The columns that should be updated when an upserted row conflicts with an existing row.
+     */
+    private final List<String> updateColumns = new ArrayList<>();
+
+    /**
+     * The aggregate function that should be selected in place of the columns, this is only
+     * set while an aggregate query is running, and is <code>NULL</code> otherwise.
+     */
+    private AggregateType aggregate = null;
+
+    /**
+     * The column the aggregate function should be run on, or <code>NULL</code> to use all the columns.
+     */
+    private String aggregateColumn = null;
+
     /**
      * Determines if the query grammar generator should ignore the database prefix.
      */
     private final boolean ignoreDatabasePrefix;
 
+    /**
+     * The DBM instance the query builder is bound to, if no instance is bound the
+     * DBM instance will be resolved using the {@link DatabaseOriginLookup} contract.
+     */
+    private DatabaseManager dbm = null;
+
     /**
      * Creates a new Query Builder instance with no table preset, that
      * doesn't ignores database prefixes.
@@ -137,6 +180,33 @@ public final class QueryBuilder implements DatabaseOriginLookup
         return ignoreDatabasePrefix;
     }
 
+    /**
+     * Binds the query builder to the provided DBM instance, bound query builders will
+     * use the given DBM instance directly instead of looking up the DBM instance
+     * from the plugin the query builder was called from.
+     *
+     * @param dbm The DBM instance the query builder should be bound to
+     *
+     * @return the query builder instance.
+     */
+    public QueryBuilder setDatabaseManager(DatabaseManager dbm)
+    {
+        this.dbm = dbm;
+
+        return this;
+    }
+
+    /**
+     * Gets the DBM instance the query builder is bound to.
+     *
+     * @return either (1) the DBM instance the query builder is bound to
+     *         or (2) <code>NULL</code> if the query builder isn't bound to any DBM instance.
+     */
+    public DatabaseManager getDatabaseManager()
+    {
+        return dbm;
+    }
+
     /**
      * Sets the table that the query builder should be using, and sets the select state to ALL.
      * This is the same as calling {@link #selectAll() } and {@link #from(java.lang.String) } in one go.
@@ -308,6 +378,104 @@ public final class QueryBuilder implements DatabaseOriginLookup
         return this;
     }
 
+    /**
+     * Limits the query to the rows sorted after the given column value, and sorts the rows by the
+     * column in ascending order, combined with {@link #take(int) take} this can be used to load
+     * the next page of rows, starting from the last row of the previous page, unlike skipping
+     * rows using the SQL <code>OFFSET</code>, the database can use an index on the
+     * column to jump straight to the page, no matter how far into the table it is.
+     * <p>
+     * Calling the method again replaces the previous value, so the same query builder can be used to
+     * load every page, the column should be unique, otherwise rows with the same value can be skipped.
+     *
+     * @param column The column the rows are sorted by
+     * @param value  The value of the column for the last row of the previous page
+     *
+     * @return the query builder instance.
+     *
+     * @throws DatabaseException if the query builder is already ordered by anything other than the column in ascending order
+     */
+    public QueryBuilder seekAfter(String column, Object value)
+    {
+        return seekAfter(Arrays.asList(column), Arrays.asList(value));
+    }
+
+    /**
+     * Limits the query to the rows sorted after the given column values, and sorts the rows by the
+     * columns in ascending order, the columns are compared in order, so rows are only compared
+     * by the second column when the first columns are equal, and so on, together the
+     * columns should be unique, otherwise rows with the same values can be skipped.
+     *
+     * @param columns The columns the rows are sorted by
+     * @param values  The values of the columns for the last row of the previous page
+     *
+     * @return the query builder instance.
+     *
+     * @throws DatabaseException if the amount of columns and values doesn't match, any of the values are <code>NULL</code>,
+     *                           or the query builder is already ordered by anything other than the columns in ascending order
+     */
+    public QueryBuilder seekAfter(List<String> columns, List<?> values)
+    {
+        return seek(columns, values, false);
+    }
+
+    /**
+     * Limits the query to the rows sorted before the given column value, and sorts the rows by
+     * the column in descending order, this works the same as {@link #seekAfter(String, Object)},
+     * but walks through the rows from the highest value to the lowest value.
+     *
+     * @param column The column the rows are sorted by
+     * @param value  The value of the column for the last row of the previous page
+     *
+     * @return the query builder instance.
+     *
+     * @throws DatabaseException if the query builder is already ordered by anything other than the column in descending order
+     */
+    public QueryBuilder seekBefore(String column, Object value)
+    {
+        return seekBefore(Arrays.asList(column), Arrays.asList(value));
+    }
+
+    /**
+     * Limits the query to the rows sorted before the given column values, and sorts the rows by the
+     * columns in descending order, this works the same as {@link #seekAfter(List, List)},
+     * but walks through the rows from the highest values to the lowest values.
+     *
+     * @param columns The columns the rows are sorted by
+     * @param values  The values of the columns for the last row of the previous page
+     *
+     * @return the query builder instance.
+     *
+     * @throws DatabaseException if the amount of columns and values doesn't match, any of the values are <code>NULL</code>,
+     *                           or the query builder is already ordered by anything other than the columns in descending order
+     */
+    public QueryBuilder seekBefore(List<String> columns, List<?> values)
+    {
+        return seek(columns, values, true);
+    }
+
+    /**
+     * Creates a paginator that walks through every row matched by the query builder, one page at
+     * a time, sorted by the given columns in ascending order, each page is loaded using
+     * {@link #seekAfter(List, List) keyset pagination}, starting after the last row
+     * of the previous page, so loading a page is just as fast at the end of the
+     * table as at the start, the columns would usually be the primary key.
+     * <p>
+     * The paginator uses the query builder to load the pages, so the query builder
+     * shouldn't be changed or used for anything else while it's being walked.
+     *
+     * @param size    The amount of rows per page
+     * @param columns The columns the rows are sorted by, together the columns must be unique
+     *
+     * @return the keyset paginator.
+     *
+     * @throws DatabaseException if the query builder is already ordered by anything other than the columns in ascending order
+     */
+    public KeysetPaginator pages(int size, String... columns)
+    {
+        return new KeysetPaginator(this, Arrays.asList(columns), size);
+    }
+
     /**
      * Removes the take(SQL <code>LIMIT</code>) from the query builder.
      *
@@ -370,6 +538,43 @@ public final class QueryBuilder implements DatabaseOriginLookup
         return this;
     }
 
+    /**
+     * Creates a SQL WHERE IN clause, matching rows where the column is equal to any
+     * of the given values, an empty list of values will never match any rows.
+     * <p>
+     * Large lists are split into chunks that are queried in parallel when the query is run using
+     * {@link #get(String) get}, otherwise, and for very large lists, the values are loaded into a
+     * temporary table, cursors can only bind lists below the temporary table threshold, the
+     * limits are set through the {@link com.sendev.databasemanager.DatabaseOptions DBM options}.
+     *
+     * @param column The column to use in the clause
+     * @param values The values to compare the column to
+     *
+     * @return the query builder instance.
+     */
+    public QueryBuilder whereIn(String column, List<?> values)
+    {
+        wheres.add(new Clause(column, "IN", new ArrayList<>(values)));
+
+        return this;
+    }
+
+    /**
+     * Creates a SQL WHERE NOT IN clause, matching rows where the column isn't equal to
+     * any of the given values, an empty list of values will match every row.
+     *
+     * @param column The column to use in the clause
+     * @param values The values to compare the column to
+     *
+     * @return the query builder instance.
+     */
+    public QueryBuilder whereNotIn(String column, List<?> values)
+    {
+        wheres.add(new Clause(column, "NOT IN", new ArrayList<>(values)));
+
+        return this;
+    }
+
     /**
      * Creates a SQL AND WHERE clause with an equal operator.
      *
@@ -509,6 +714,174 @@ public final class QueryBuilder implements DatabaseOriginLookup
         return order;
     }
 
+    /**
+     * Creates a SQL GROUP BY clause, grouping the rows by the provided columns.
+     *
+     * @param columns The columns the rows should be grouped by
+     *
+     * @return the query builder instance.
+     */
+    public QueryBuilder groupBy(String... columns)
+    {
+        groups.addAll(Arrays.asList(columns));
+
+        return this;
+    }
+
+    /**
+     * Gets the list of columns the rows should be grouped by.
+     *
+     * @return the list of columns the rows should be grouped by.
+     */
+    public List<String> getGroups()
+    {
+        return groups;
+    }
+
+    /**
+     * Creates a SQL HAVING clause with an equal operator.
+     *
+     * @param column The column to use in the clause
+     * @param value  The value to compare the column to
+     *
+     * @return the query builder instance.
+     */
+    public QueryBuilder having(String column, Object value)
+    {
+        return having(column, "=", value);
+    }
+
+    /**
+     * Creates a SQL HAVING clause with the provided operator, aggregated
+     * values can be compared by selecting them under an alias,
+     * and using the alias as the column for the clause.
+     *
+     * @param column   The column to use in the clause
+     * @param operator The operator to compare with
+     * @param value    The value to compare the column to
+     *
+     * @return the query builder instance.
+     */
+    public QueryBuilder having(String column, String operator, Object value)
+    {
+        havings.add(new Clause(column, operator, value, OperatorType.AND));
+
+        return this;
+    }
+
+    /**
+     * Creates a nested SQL HAVING clause, the clauses created by the consumer
+     * are wrapped in parentheses, and joined using an AND operator.
+     *
+     * @param consumer The consumer used to build the nested clauses
+     *
+     * @return the query builder instance.
+     */
+    public QueryBuilder having(ClauseConsumer consumer)
+    {
+        NestedClause clause = new NestedClause(OperatorType.AND);
+
+        consumer.build(clause);
+
+        havings.add(clause);
+
+        return this;
+    }
+
+    /**
+     * Creates a SQL OR HAVING clause with an equal operator.
+     *
+     * @param column The column to use in the clause
+     * @param value  The value to compare the column to
+     *
+     * @return the query builder instance.
+     */
+    public QueryBuilder orHaving(String column, Object value)
+    {
+        return orHaving(column, "=", value);
+    }
+
+    /**
+     * Creates a SQL OR HAVING clause with the provided operator.
+     *
+     * @param column   The column to use in the clause
+     * @param operator The operator to compare with
+     * @param value    The value to compare the column to
+     *
+     * @return the query builder instance.
+     */
+    public QueryBuilder orHaving(String column, String operator, Object value)
+    {
+        havings.add(new Clause(column, operator, value, OperatorType.OR));
+
+        return this;
+    }
+
+    /**
+     * Creates a nested SQL OR HAVING clause, the clauses created by the consumer
+     * are wrapped in parentheses, and joined using an OR operator.
+     *
+     * @param consumer The consumer used to build the nested clauses
+     *
+     * @return the query builder instance.
+     */
+    public QueryBuilder orHaving(ClauseConsumer consumer)
+    {
+        NestedClause clause = new NestedClause(OperatorType.OR);
+
+        consumer.build(clause);
+
+        havings.add(clause);
+
+        return this;
+    }
+
+    /**
+     * Creates a raw SQL HAVING clause, the SQL is added to the query as it is, so it can use
+     * aggregate functions directly, like <code>SUM(`amount`) &gt; ?</code>, any <code>?</code>
+     * placeholders in the SQL are replaced by the given values in order.
+     * <p>
+     * <strong>Note:</strong> The SQL isn't escaped, so it should never contain user input,
+     * values from users should always be passed in as bindings instead.
+     *
+     * @param sql      The raw SQL of the clause
+     * @param bindings The values to bind to the placeholders in the SQL
+     *
+     * @return the query builder instance.
+     */
+    public QueryBuilder havingRaw(String sql, Object... bindings)
+    {
+        havings.add(new RawClause(sql, Arrays.asList(bindings), OperatorType.AND));
+
+        return this;
+    }
+
+    /**
+     * Creates a raw SQL OR HAVING clause, this works the same as {@link #havingRaw(String, Object...)},
+     * but joins the clause to the previous having clauses using an OR operator.
+     *
+     * @param sql      The raw SQL of the clause
+     * @param bindings The values to bind to the placeholders in the SQL
+     *
+     * @return the query builder instance.
+     */
+    public QueryBuilder orHavingRaw(String sql, Object... bindings)
+    {
+        havings.add(new RawClause(sql, Arrays.asList(bindings), OperatorType.OR));
+
+        return this;
+    }
+
+    /**
+     * Gets the list of having clauses that should be generated.
+     *
+     * @return the list of having clauses that should be generated.
+     */
+    public List<QueryClause> getHavingClauses()
+    {
+        return havings;
+    }
+
     /**
      * Creates a JOIN clause on the provided table of the given type, once the join clause
      * has been created, a {@link JoinClause} object will be returned to help specify
@@ -802,27 +1175,66 @@ public final class QueryBuilder implements DatabaseOriginLookup
      */
     public String toSQL()
     {
-        DatabaseManager dbm = DatabaseFactory.getDynamicOrigin(getClass());
+        return toSQL(resolveDatabaseManager());
+    }
 
-        if (dbm == null) {
-            throw new DatabaseException("Failed to find any data binding connected to the instantiated class.");
-        }
+    public String toSQL(DatabaseManager dbm)
+    {
+        GrammarParser grammar = type.createGrammar();
 
-        return toSQL(dbm);
+        return grammar.parse(dbm, dbm.getConnections().getDefaultConnection(), this);
     }
 
-    public String toSQL(DatabaseManager dbm)
+    /**
+     * Compiles the query into an SQL query with <code>?</code> placeholders in place of the values,
+     * and an ordered list of the values that should be bound to the placeholders, this is
+     * what's used when the query is executed.
+     * <p>
+     * The SQL template is cached by the DBM {@link com.sendev.databasemanager.cache.CompiledQueryCache compiled query cache},
+     * keyed by the shape of the query builder, so query builders with the same table, columns,
+     * clauses, joins and ordering will skip the grammar completely and reuse the template,
+     * inserts with more than one row are always compiled by the grammar.
+     *
+     * @param dbm        The DBM instance to compile the query for.
+     * @param connection The name of the connection the query is going to be run against,
+     *                   or <code>NULL</code> to use the default connection.
+     *
+     * @return the compiled query
+     *
+     * @throws DatabaseException if there are no connection with the given name
+     */
+    public CompiledQuery compile(DatabaseManager dbm, String connection)
     {
-        try {
-            GrammarParser grammar = (GrammarParser) type.getGrammar().newInstance();
+        Database database = connection == null
+                            ? dbm.getConnections().getDefaultConnection()
+                            : dbm.getConnections().getConnection(connection);
+
+        if (database == null) {
+            throw new DatabaseException("Invalid connection, there are no connection with the name \"" + connection + "\"");
+        }
+
+        // Multi-row inserts are compiled without the cache, their shape includes the columns
+        // of every row, so they would fill the cache with templates that are rarely reused.
+        QueryShape shape = null;
+
+        if (type != QueryType.INSERT || items.size() < 2) {
+            shape = new QueryShape(this, database, dbm.options().getPrefix());
 
-            String sql = grammar.parse(dbm, dbm.getConnections().getDefaultConnection(), this);
+            String sql = dbm.compiledQueries().get(shape.getKey());
+            if (sql != null) {
+                return new CompiledQuery(sql, shape.getBindings());
+            }
+        }
 
-            return sql;
-        } catch (InstantiationException | IllegalAccessException ex) {
-            Logger.getLogger(QueryBuilder.class.getName()).log(Level.SEVERE, null, ex);
+        GrammarParser grammar = type.createGrammar();
+        grammar.setOption("parameterize", true);
+
+        String sql = grammar.parse(dbm, database, this);
+        if (shape != null) {
+            dbm.compiledQueries().put(shape.getKey(), sql);
         }
-        return null;
+
+        return new CompiledQuery(sql, grammar.getBindings());
     }
 
     /**
@@ -842,13 +1254,7 @@ public final class QueryBuilder implements DatabaseOriginLookup
      */
     public Collection get(String connection) throws SQLException
     {
-        DatabaseManager dbm = DatabaseFactory.getDynamicOrigin(getClass());
-
-        if (dbm == null) {
-            throw new DatabaseException("Failed to find any data binding connected to the instantiated class.");
-        }
-
-        return dbm.query(connection, this);
+        return WhereInQuery.get(resolveDatabaseManager(), connection, this);
     }
 
     /**
@@ -870,15 +1276,274 @@ public final class QueryBuilder implements DatabaseOriginLookup
     }
 
     /**
-     * Runs the {@link com.sendev.databasemanager.DatabaseManager#queryUpdate(com.sendev.databasemanager.query.QueryBuilder) }
-     * method with the current instance of the query builder.
+     * Runs the {@link com.sendev.databasemanager.DatabaseManager#cursor(java.lang.String, com.sendev.databasemanager.query.QueryBuilder) }
+     * method with the current instance of the query builder, the cursor reads the rows one at
+     * a time, and must either be read to the end, or be closed once it's no longer used.
+     * <p>
+     * Since the rows are read after the method has returned, <code>WHERE IN</code> clauses can't be loaded
+     * into a temporary table, so the lists must be smaller than the temporary table threshold.
      *
-     * @param arrays The list of items that should be updated
+     * @param connection The database connection to run the query against
      *
-     * @return either (1) the row count for SQL Data Manipulation Language (DML) statements
-     *         or (2) 0 for SQL statements that return nothing
+     * @return a <code>Cursor</code> object over the data produced by the query; never <code>null</code>
      *
-     * @throws SQLException if a database access error occurs;
+     * @throws SQLException      if a database access error occurs, or no connection could be leased
+     * @throws DatabaseException if a where in list has too many values to be bound directly in the query
+     */
+    public Cursor cursor(String connection) throws SQLException
+    {
+        DatabaseManager manager = resolveDatabaseManager();
+
+        WhereInQuery.checkInlineSize(manager, this);
+
+        return manager.cursor(connection, this);
+    }
+
+    /**
+     * Runs the {@link com.sendev.databasemanager.DatabaseManager#cursor(com.sendev.databasemanager.query.QueryBuilder) }
+     * method with the current instance of the query builder, the cursor reads the rows one at
+     * a time, and must either be read to the end, or be closed once it's no longer used.
+     *
+     * @return a <code>Cursor</code> object over the data produced by the query; never <code>null</code>
+     *
+     * @throws SQLException if a database access error occurs, or no connection could be leased
+     */
+    public Cursor cursor() throws SQLException
+    {
+        return cursor(null);
+    }
+
+    /**
+     * Counts the amount of rows matched by the query, the rows are counted by the
+     * database using <code>COUNT(*)</code>, so only the count is sent back, if the
+     * query is grouped the groups that are left after the having clauses are counted.
+     *
+     * @return the amount of rows matched by the query
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    public long count() throws SQLException
+    {
+        return count(null);
+    }
+
+    /**
+     * Counts the amount of rows matched by the query, the rows are counted by the
+     * database using <code>COUNT(*)</code>, so only the count is sent back.
+     *
+     * @param connection The database connection to run the query against
+     *
+     * @return the amount of rows matched by the query
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    public long count(String connection) throws SQLException
+    {
+        return aggregate(connection, AggregateType.COUNT, null, result -> result.next() ? result.getLong(1) : 0L);
+    }
+
+    /**
+     * Sums the values of the given column for the rows matched by the query.
+     *
+     * @see #sum(java.lang.String, java.lang.String)
+     *
+     * @param column The column to sum
+     *
+     * @return either (1) the sum of the column
+     *         or (2) <code>NULL</code> if the query didn't match any rows
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    public Number sum(String column) throws SQLException
+    {
+        return sum(null, column);
+    }
+
+    /**
+     * Sums the values of the given column for the rows matched by the query, sums of integer
+     * columns are returned as a <code>Long</code>, so large sums doesn't lose their precision,
+     * while sums of decimal columns are returned as a <code>Double</code>.
+     *
+     * @param connection The database connection to run the query against
+     * @param column     The column to sum
+     *
+     * @return either (1) the sum of the column
+     *         or (2) <code>NULL</code> if the query didn't match any rows
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    public Number sum(String connection, String column) throws SQLException
+    {
+        return aggregate(connection, AggregateType.SUM, column, QueryBuilder::readAggregate);
+    }
+
+    /**
+     * Finds the lowest value of the given column for the rows matched by the query.
+     *
+     * @see #min(java.lang.String, java.lang.String)
+     *
+     * @param column The column to find the lowest value of
+     *
+     * @return either (1) the lowest value of the column
+     *         or (2) <code>NULL</code> if the query didn't match any rows
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    public Number min(String column) throws SQLException
+    {
+        return min(null, column);
+    }
+
+    /**
+     * Finds the lowest value of the given column for the rows matched by the query, values of integer
+     * columns are returned as a <code>Long</code>, and decimal columns as a <code>Double</code>.
+     *
+     * @param connection The database connection to run the query against
+     * @param column     The column to find the lowest value of
+     *
+     * @return either (1) the lowest value of the column
+     *         or (2) <code>NULL</code> if the query didn't match any rows
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    public Number min(String connection, String column) throws SQLException
+    {
+        return aggregate(connection, AggregateType.MIN, column, QueryBuilder::readAggregate);
+    }
+
+    /**
+     * Finds the highest value of the given column for the rows matched by the query.
+     *
+     * @see #max(java.lang.String, java.lang.String)
+     *
+     * @param column The column to find the highest value of
+     *
+     * @return either (1) the highest value of the column
+     *         or (2) <code>NULL</code> if the query didn't match any rows
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    public Number max(String column) throws SQLException
+    {
+        return max(null, column);
+    }
+
+    /**
+     * Finds the highest value of the given column for the rows matched by the query, values of integer
+     * columns are returned as a <code>Long</code>, and decimal columns as a <code>Double</code>.
+     *
+     * @param connection The database connection to run the query against
+     * @param column     The column to find the highest value of
+     *
+     * @return either (1) the highest value of the column
+     *         or (2) <code>NULL</code> if the query didn't match any rows
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    public Number max(String connection, String column) throws SQLException
+    {
+        return aggregate(connection, AggregateType.MAX, column, QueryBuilder::readAggregate);
+    }
+
+    /**
+     * Finds the average value of the given column for the rows matched by the query.
+     *
+     * @see #avg(java.lang.String, java.lang.String)
+     *
+     * @param column The column to find the average value of
+     *
+     * @return either (1) the average value of the column
+     *         or (2) <code>NULL</code> if the query didn't match any rows
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    public Double avg(String column) throws SQLException
+    {
+        return avg(null, column);
+    }
+
+    /**
+     * Finds the average value of the given column for the rows matched by the query.
+     *
+     * @param connection The database connection to run the query against
+     * @param column     The column to find the average value of
+     *
+     * @return either (1) the average value of the column
+     *         or (2) <code>NULL</code> if the query didn't match any rows
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    public Double avg(String connection, String column) throws SQLException
+    {
+        return aggregate(connection, AggregateType.AVG, column, result -> {
+            Number average = readAggregate(result);
+
+            return average == null ? null : average.doubleValue();
+        });
+    }
+
+    /**
+     * Checks to see if the query matches any rows, the query is wrapped in a
+     * <code>SELECT EXISTS(... LIMIT 1)</code> check, so the database can
+     * stop looking as soon as it finds the first matching row.
+     *
+     * @return true if the query matches any rows, otherwise it will return false.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    public boolean exists() throws SQLException
+    {
+        return exists(null);
+    }
+
+    /**
+     * Checks to see if the query matches any rows, the query is wrapped in a
+     * <code>SELECT EXISTS(... LIMIT 1)</code> check, so the database can
+     * stop looking as soon as it finds the first matching row.
+     *
+     * @param connection The database connection to run the query against
+     *
+     * @return true if the query matches any rows, otherwise it will return false.
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    public boolean exists(String connection) throws SQLException
+    {
+        return aggregate(connection, AggregateType.EXISTS, null, result -> result.next() && result.getBoolean(1));
+    }
+
+    /**
+     * Gets the aggregate function that should be selected in place of the columns.
+     *
+     * @return either (1) the aggregate function of the running aggregate query
+     *         or (2) <code>NULL</code> if no aggregate query is running
+     */
+    public AggregateType getAggregate()
+    {
+        return aggregate;
+    }
+
+    /**
+     * Gets the column the aggregate function should be run on.
+     *
+     * @return either (1) the column the aggregate function should be run on
+     *         or (2) <code>NULL</code> if the aggregate should use all the columns
+     */
+    public String getAggregateColumn()
+    {
+        return aggregateColumn;
+    }
+
+    /**
+     * Runs the {@link com.sendev.databasemanager.DatabaseManager#queryUpdate(com.sendev.databasemanager.query.QueryBuilder) }
+     * method with the current instance of the query builder.
+     *
+     * @param arrays The list of items that should be updated
+     *
+     * @return either (1) the row count for SQL Data Manipulation Language (DML) statements
+     *         or (2) 0 for SQL statements that return nothing
+     *
+     * @throws SQLException if a database access error occurs;
      *                      this method is called on a closed  <code>PreparedStatement</code>
      *                      or the SQL statement returns a <code>ResultSet</code> object
      */
@@ -944,13 +1609,7 @@ public final class QueryBuilder implements DatabaseOriginLookup
 
         this.items.addAll(Arrays.asList(items));
 
-        DatabaseManager dbm = DatabaseFactory.getDynamicOrigin(getClass());
-
-        if (dbm == null) {
-            throw new DatabaseException("Failed to find any data binding connected to the instantiated class.");
-        }
-
-        return dbm.queryUpdate(connection, this);
+        return runUpdate(connection);
     }
 
     /**
@@ -1024,22 +1683,89 @@ public final class QueryBuilder implements DatabaseOriginLookup
 
         this.items.addAll(Arrays.asList(items));
 
-        DatabaseManager dbm = DatabaseFactory.getDynamicOrigin(getClass());
+        return buildInsertCollection(resolveDatabaseManager().queryInsert(connection, this));
+    }
 
-        if (dbm == null) {
-            throw new DatabaseException("Failed to find any data binding connected to the instantiated class.");
+    /**
+     * Inserts the given rows, or updates the existing rows if the rows conflicts with an existing row
+     * on the unique columns, using a single <code>INSERT ... ON DUPLICATE KEY UPDATE</code> statement
+     * for MySQL, and <code>INSERT ... ON CONFLICT DO UPDATE</code> for SQLite, the unique columns
+     * must be covered by a primary key or unique index on the table for the conflicts to be detected.
+     *
+     * @see #upsert(java.lang.String, java.util.List, java.util.List, java.util.List)
+     *
+     * @param rows          The rows that should be inserted or updated
+     * @param uniqueBy      The columns that uniquely identifies a row
+     * @param updateColumns The columns that should be updated for conflicting rows, or an empty list to
+     *                      update every inserted column that isn't one of the unique columns
+     *
+     * @return the affected row count reported by the database
+     *
+     * @throws SQLException      if a database access error occurs
+     * @throws DatabaseException if no unique columns are given, or a row is missing one of the unique columns
+     */
+    public int upsert(List<Map<String, Object>> rows, List<String> uniqueBy, List<String> updateColumns) throws SQLException
+    {
+        return upsert(null, rows, uniqueBy, updateColumns);
+    }
+
+    /**
+     * Inserts the given rows, or updates the existing rows if the rows conflicts with an existing row
+     * on the unique columns, using a single <code>INSERT ... ON DUPLICATE KEY UPDATE</code> statement
+     * for MySQL, and <code>INSERT ... ON CONFLICT DO UPDATE</code> for SQLite, the unique columns
+     * must be covered by a primary key or unique index on the table for the conflicts to be detected.
+     * <p>
+     * The affected row count is returned as it's reported by the database, the databases counts the rows
+     * differently, so the count can't be split into inserted and updated rows reliably, MySQL counts
+     * inserted rows as 1 and updated rows as 2, while rows that were set to their current values
+     * are counted as 0, or as 1 if the driver uses found rows, which is the default for
+     * Connector/J, SQLite counts both inserted and updated rows as 1.
+     *
+     * @param connection    The database connection to run the query against
+     * @param rows          The rows that should be inserted or updated
+     * @param uniqueBy      The columns that uniquely identifies a row
+     * @param updateColumns The columns that should be updated for conflicting rows, or an empty list to
+     *                      update every inserted column that isn't one of the unique columns
+     *
+     * @return the affected row count reported by the database
+     *
+     * @throws SQLException      if a database access error occurs
+     * @throws DatabaseException if no unique columns are given, or a row is missing one of the unique columns
+     */
+    public int upsert(String connection, List<Map<String, Object>> rows, List<String> uniqueBy, List<String> updateColumns) throws SQLException
+    {
+        if (uniqueBy.isEmpty()) {
+            throw new DatabaseException("Failed to upsert the rows, at least one unique column must be given.");
         }
 
-        Set<Integer> keys = dbm.queryInsert(connection, this);
-        List<Map<String, Object>> collectionItems = new ArrayList<>();
+        for (Map<String, Object> row : rows) {
+            if (!row.keySet().containsAll(uniqueBy)) {
+                throw new DatabaseException(String.format("Failed to upsert the rows, every row must have a value for the unique columns %s", uniqueBy));
+            }
+        }
 
-        for (int id : keys) {
-            Map<String, Object> row = new HashMap<>();
-            row.put("id", id);
-            collectionItems.add(row);
+        if (rows.isEmpty()) {
+            return 0;
         }
 
-        return new Collection(collectionItems);
+        QueryType previous = type;
+        int size = items.size();
+
+        type = QueryType.INSERT;
+
+        this.items.addAll(rows);
+        this.uniqueBy.addAll(uniqueBy);
+        this.updateColumns.addAll(updateColumns);
+
+        try {
+            return resolveDatabaseManager().queryUpdate(connection, this);
+        } finally {
+            type = previous;
+
+            this.items.subList(size, this.items.size()).clear();
+            this.uniqueBy.clear();
+            this.updateColumns.clear();
+        }
     }
 
     /**
@@ -1075,13 +1801,335 @@ public final class QueryBuilder implements DatabaseOriginLookup
     {
         type = QueryType.DELETE;
 
-        DatabaseManager dbm = DatabaseFactory.getDynamicOrigin(getClass());
+        return runUpdate(connection);
+    }
+
+    /**
+     * Runs the {@link com.sendev.databasemanager.DatabaseManager#queryAsync(com.sendev.databasemanager.query.QueryBuilder) }
+     * method with the current instance of the query builder.
+     *
+     * @return a future that is completed with the <code>Collection</code> produced by the query
+     */
+    public CompletableFuture<Collection> getAsync()
+    {
+        return getAsync(null);
+    }
+
+    /**
+     * Runs the {@link com.sendev.databasemanager.DatabaseManager#queryAsync(java.lang.String, com.sendev.databasemanager.query.QueryBuilder) }
+     * method with the current instance of the query builder.
+     *
+     * @param connection The database connection to run the query against
+     *
+     * @return a future that is completed with the <code>Collection</code> produced by the query
+     */
+    public CompletableFuture<Collection> getAsync(String connection)
+    {
+        return resolveDatabaseManager().async().submit(connection, () -> get(connection));
+    }
+
+    /**
+     * Runs the {@link com.sendev.databasemanager.DatabaseManager#queryUpdateAsync(com.sendev.databasemanager.query.QueryBuilder) }
+     * method with the current instance of the query builder.
+     *
+     * @param items The list of maps of items that should be updated
+     *
+     * @return a future that is completed with either (1) the row count for SQL Data Manipulation
+     *         Language (DML) statements or (2) 0 for SQL statements that return nothing
+     */
+    public CompletableFuture<Integer> updateAsync(List<Map<String, Object>> items)
+    {
+        return updateAsync(null, items);
+    }
+
+    /**
+     * Runs the {@link com.sendev.databasemanager.DatabaseManager#queryUpdateAsync(java.lang.String, com.sendev.databasemanager.query.QueryBuilder) }
+     * method with the current instance of the query builder.
+     *
+     * @param connection The database connection to run the query against
+     * @param items      The list of maps of items that should be updated
+     *
+     * @return a future that is completed with either (1) the row count for SQL Data Manipulation
+     *         Language (DML) statements or (2) 0 for SQL statements that return nothing
+     */
+    public CompletableFuture<Integer> updateAsync(String connection, List<Map<String, Object>> items)
+    {
+        type = QueryType.UPDATE;
+
+        this.items.addAll(items);
+
+        return resolveDatabaseManager().async().submit(connection, () -> runUpdate(connection));
+    }
+
+    /**
+     * Runs the {@link com.sendev.databasemanager.DatabaseManager#queryInsertAsync(com.sendev.databasemanager.query.QueryBuilder) }
+     * method with the current instance of the query builder.
+     *
+     * @param items The list of maps of items that should be inserted
+     *
+     * @return a future that is completed with a Collection of the generated IDs.
+     */
+    public CompletableFuture<Collection> insertAsync(List<Map<String, Object>> items)
+    {
+        return insertAsync(null, items);
+    }
+
+    /**
+     * Runs the {@link com.sendev.databasemanager.DatabaseManager#queryInsertAsync(java.lang.String, com.sendev.databasemanager.query.QueryBuilder) }
+     * method with the current instance of the query builder.
+     *
+     * @param connection The database connection to run the query against
+     * @param items      The list of maps of items that should be inserted
+     *
+     * @return a future that is completed with a Collection of the generated IDs.
+     */
+    public CompletableFuture<Collection> insertAsync(String connection, List<Map<String, Object>> items)
+    {
+        type = QueryType.INSERT;
+
+        this.items.addAll(items);
+
+        return resolveDatabaseManager().queryInsertAsync(connection, this).thenApply(this::buildInsertCollection);
+    }
+
+    /**
+     * Runs the {@link com.sendev.databasemanager.DatabaseManager#queryUpdateAsync(com.sendev.databasemanager.query.QueryBuilder) }
+     * method with the current instance of the query builder.
+     *
+     * @return a future that is completed with either (1) the row count for SQL Data Manipulation
+     *         Language (DML) statements or (2) 0 for SQL statements that return nothing
+     */
+    public CompletableFuture<Integer> deleteAsync()
+    {
+        return deleteAsync(null);
+    }
+
+    /**
+     * Runs the {@link com.sendev.databasemanager.DatabaseManager#queryUpdateAsync(java.lang.String, com.sendev.databasemanager.query.QueryBuilder) }
+     * method with the current instance of the query builder.
+     *
+     * @param connection The database connection to run the query against
+     *
+     * @return a future that is completed with either (1) the row count for SQL Data Manipulation
+     *         Language (DML) statements or (2) 0 for SQL statements that return nothing
+     */
+    public CompletableFuture<Integer> deleteAsync(String connection)
+    {
+        type = QueryType.DELETE;
+
+        return resolveDatabaseManager().async().submit(connection, () -> runUpdate(connection));
+    }
 
+    /**
+     * Creates a batch writer for the query builder, allowing a large amount of rows to be
+     * inserted or updated using JDBC batches, split into chunks that are sent to the
+     * database one at a time, instead of building one giant query for all the rows.
+     *
+     * @see com.sendev.databasemanager.DatabaseOptions#setBatchSize(int)
+     *
+     * @return a new batch writer for the query builder.
+     *
+     * @throws DatabaseException if no DBM instance could be found for the query builder
+     */
+    public BatchWriter batch()
+    {
+        return new BatchWriter(this, resolveDatabaseManager());
+    }
+
+    /**
+     * Creates a copy of the query builder for a single row in a batch write, the copy
+     * uses the same table, database prefix setting, DBM instance and where clauses
+     * as the query builder, with the given row as its only item.
+     *
+     * @param type The query type of the copy.
+     * @param row  The row the copy should write.
+     *
+     * @return the copy of the query builder.
+     */
+    QueryBuilder createBatchRow(QueryType type, Map<String, Object> row)
+    {
+        QueryBuilder copy = new QueryBuilder(table, ignoreDatabasePrefix).setDatabaseManager(dbm);
+
+        copy.type = type;
+        copy.wheres.addAll(wheres);
+        copy.items.add(row);
+
+        return copy;
+    }
+
+    /**
+     * Runs the query as an aggregate query, selecting the aggregate function in place of the
+     * columns, the aggregate is reset again once the query has finished running.
+     *
+     * @param <T>        The type of the aggregate result.
+     * @param connection The database connection to run the query against, or <code>NULL</code> to use the default connection.
+     * @param function   The aggregate function to select.
+     * @param column     The column the function should be run on, or <code>NULL</code> to use all the columns.
+     * @param handler    The handler used to read the aggregate from the result set.
+     *
+     * @return the aggregate result
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    private <T> T aggregate(String connection, AggregateType function, String column, ResultSetHandler<T> handler) throws SQLException
+    {
+        if (type != QueryType.SELECT) {
+            throw new DatabaseException("Failed to run aggregate query, aggregates can only be run on SELECT queries.");
+        }
+
+        aggregate = function;
+        aggregateColumn = column;
+
+        try {
+            DatabaseManager manager = resolveDatabaseManager();
+
+            return WhereInQuery.run(manager, connection, this, () -> manager.query(connection, this, handler));
+        } finally {
+            aggregate = null;
+            aggregateColumn = null;
+        }
+    }
+
+    /**
+     * Reads the numeric aggregate value from the first column of the result set, integers are read as
+     * longs, including MySQL sums of integer columns, which are returned as decimals with no scale,
+     * while every other number is read as a double.
+     *
+     * @param result The result set of the aggregate query.
+     *
+     * @return either (1) the aggregate value
+     *         or (2) <code>NULL</code> if the query didn't match any rows
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    private static Number readAggregate(ResultSet result) throws SQLException
+    {
+        if (!result.next()) {
+            return null;
+        }
+
+        Object value = result.getObject(1);
+        if (value == null) {
+            return null;
+        }
+
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        }
+
+        if (value instanceof BigDecimal && ((BigDecimal) value).scale() <= 0) {
+            try {
+                return ((BigDecimal) value).longValueExact();
+            } catch (ArithmeticException ex) {
+                return (BigDecimal) value;
+            }
+        }
+
+        return value instanceof Number ? ((Number) value).doubleValue() : result.getDouble(1);
+    }
+
+    private int runUpdate(String connection) throws SQLException
+    {
+        DatabaseManager manager = resolveDatabaseManager();
+
+        return WhereInQuery.run(manager, connection, this, () -> manager.queryUpdate(connection, this));
+    }
+
+    private QueryBuilder seek(List<String> columns, List<?> values, boolean descending)
+    {
+        if (columns.isEmpty() || columns.size() != values.size()) {
+            throw new DatabaseException("Failed to create seek clause, every column must be given exactly one value.");
+        }
+
+        if (values.contains(null)) {
+            throw new DatabaseException("Failed to create seek clause, the values can't be NULL.");
+        }
+
+        orderBySeekColumns(columns, descending);
+
+        wheres.removeIf(clause -> clause instanceof SeekClause);
+        wheres.add(new SeekClause(new ArrayList<>(columns), new ArrayList<>(values), descending));
+
+        return this;
+    }
+
+    /**
+     * Orders the query builder by the given seek columns, if the query builder is already ordered,
+     * the order must be exactly the seek columns in the seek direction, since any other
+     * order would make the seek clause skip or repeat rows between the pages.
+     *
+     * @param columns    The columns the rows are sorted by
+     * @param descending <code>True</code> if the rows are sorted in descending order
+     *
+     * @throws DatabaseException if the query builder is already ordered by anything else
+     */
+    void orderBySeekColumns(List<String> columns, boolean descending)
+    {
+        String direction = descending ? "DESC" : "ASC";
+
+        if (order.isEmpty()) {
+            for (String column : columns) {
+                orderBy(column, direction);
+            }
+
+            return;
+        }
+
+        boolean matches = order.size() == columns.size();
+
+        for (int i = 0; matches && i < columns.size(); i++) {
+            QueryOrder item = order.get(i);
+
+            matches = !item.isRawSQL() && columns.get(i).equals(item.getField()) && direction.equalsIgnoreCase(item.getType());
+        }
+
+        if (!matches) {
+            throw new DatabaseException(String.format(
+                "Failed to seek by %s, the query builder is already ordered by something other than the seek columns in %s order.", columns, direction
+            ));
+        }
+    }
+
+    /**
+     * Gets the DBM instance the query builder is bound to, if the query builder
+     * isn't bound to any DBM instance, the DBM instance will be resolved from
+     * the plugin the query builder was called from and bound to the builder.
+     *
+     * @return the DBM instance for the query builder.
+     *
+     * @throws DatabaseException if no DBM instance could be found for the query builder
+     */
+    private DatabaseManager resolveDatabaseManager()
+    {
         if (dbm == null) {
-            throw new DatabaseException("Failed to find any data binding connected to the instantiated class.");
+            dbm = DatabaseFactory.getDynamicOrigin(getClass());
+
+            if (dbm == null) {
+                throw new DatabaseException("Failed to find any data binding connected to the instantiated class.");
+            }
+        }
+
+        return dbm;
+    }
+
+    /**
+     * Builds a collection of the generated IDs from an insert query.
+     *
+     * @param keys The IDs generated by the insert query.
+     *
+     * @return a Collection of the generated IDs.
+     */
+    private Collection buildInsertCollection(Set<Integer> keys)
+    {
+        List<Map<String, Object>> collectionItems = new ArrayList<>();
+
+        for (int id : keys) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("id", id);
+            collectionItems.add(row);
         }
 
-        return dbm.queryUpdate(this);
+        return new Collection(collectionItems);
     }
 
     /**
@@ -1106,6 +2154,16 @@ public final class QueryBuilder implements DatabaseOriginLookup
         return map;
     }
 
+    /**
+     * Gets the query type that's being preformed.
+     *
+     * @return the query type that's being preformed.
+     */
+    public QueryType getType()
+    {
+        return type;
+    }
+
     /**
      * Gets the list of item maps for the query builder.
      *
@@ -1116,6 +2174,26 @@ public final class QueryBuilder implements DatabaseOriginLookup
         return items;
     }
 
+    /**
+     * Gets the unique columns used to detect conflicting rows when upserting rows.
+     *
+     * @return the unique columns used by upserts.
+     */
+    public List<String> getUniqueBy()
+    {
+        return uniqueBy;
+    }
+
+    /**
+     * Gets the columns that should be updated when an upserted row conflicts with an existing row.
+     *
+     * @return the columns updated by upserts.
+     */
+    public List<String> getUpdateColumns()
+    {
+        return updateColumns;
+    }
+
     @Override
     public String toString()
     {
@@ -0,0 +1,296 @@
+package com.sendev.databasemanager.query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.sendev.databasemanager.contracts.Database;
+import com.sendev.databasemanager.contracts.QueryClause;
+
+/**
+ * Represents the structural shape of a query builder, everything that affects the SQL the grammar
+ * generates, but none of the values, alongside the values in the same order the grammar
+ * binds them, so a cached SQL template can be reused without building the query again.
+ */
+final class QueryShape
+{
+    private static final char SEPARATOR = '\u001F';
+
+    private final StringBuilder key = new StringBuilder(128);
+    private final List<Object> bindings = new ArrayList<>();
+
+    QueryShape(QueryBuilder builder, Database database, String prefix)
+    {
+        key.append(builder.getType()).append(SEPARATOR)
+            .append(database.getClass().getName()).append(SEPARATOR)
+            .append(builder.isIgnoringDatabasePrefix() ? "" : prefix).append(SEPARATOR)
+            .append(builder.getTable()).append(SEPARATOR);
+
+        switch (builder.getType()) {
+            case SELECT:
+                buildAggregate(builder);
+                buildColumns(builder);
+                buildJoins(builder);
+                buildWheres(builder.getWhereClauses());
+                buildGroups(builder);
+
+                // Aggregate queries are generated without the order and limit clauses.
+                if (builder.getAggregate() == null) {
+                    buildOrderAndLimit(builder);
+                }
+                break;
+
+            case INSERT:
+                buildItems(builder);
+                buildUpsert(builder);
+                break;
+
+            case UPDATE:
+                buildItems(builder);
+                buildWheres(builder.getWhereClauses());
+                break;
+
+            case DELETE:
+                buildWheres(builder.getWhereClauses());
+                break;
+        }
+    }
+
+    /**
+     * Gets the shape key, two query builders with the same shape key will always generate the same SQL template.
+     *
+     * @return the shape key
+     */
+    String getKey()
+    {
+        return key.toString();
+    }
+
+    /**
+     * Gets the values of the query builder, in the same order the grammar binds them.
+     *
+     * @return the ordered list of bindings
+     */
+    List<Object> getBindings()
+    {
+        return bindings;
+    }
+
+    private void buildAggregate(QueryBuilder builder)
+    {
+        if (builder.getAggregate() != null) {
+            key.append("A").append(builder.getAggregate()).append(SEPARATOR)
+                .append(builder.getAggregateColumn()).append(SEPARATOR);
+        }
+    }
+
+    private void buildColumns(QueryBuilder builder)
+    {
+        for (String column : builder.getColumns()) {
+            key.append(column).append(SEPARATOR);
+        }
+    }
+
+    private void buildJoins(QueryBuilder builder)
+    {
+        for (JoinClause join : builder.getJoins()) {
+            key.append("J").append(join.type).append(SEPARATOR).append(join.table).append(SEPARATOR);
+
+            for (Clause clause : join.clauses) {
+                appendClause(clause).append(clause.getTwo()).append(SEPARATOR);
+            }
+        }
+    }
+
+    private void buildWheres(List<QueryClause> clauses)
+    {
+        SeekClause seek = null;
+
+        for (QueryClause obj : clauses) {
+            if (obj instanceof Clause) {
+                Clause clause = (Clause) obj;
+
+                appendClause(clause);
+                addBinding(clause.getTwo());
+
+                continue;
+            }
+
+            // The grammar always writes the seek clause after the other clauses.
+            if (obj instanceof SeekClause) {
+                seek = (SeekClause) obj;
+
+                continue;
+            }
+
+            if (obj instanceof RawClause) {
+                RawClause raw = (RawClause) obj;
+
+                key.append("R").append(raw.getOrder()).append(SEPARATOR).append(raw.getSQL()).append(SEPARATOR);
+                for (Object binding : raw.getBindings()) {
+                    bindings.add(CompiledQuery.normalizeBinding(binding));
+                }
+
+                continue;
+            }
+
+            if (obj instanceof NestedClause) {
+                NestedClause nested = (NestedClause) obj;
+
+                if (nested.getWhereClauses().isEmpty()) {
+                    continue;
+                }
+
+                key.append("N").append(nested.getOperator()).append('(');
+
+                for (QueryClause temp : nested.getWhereClauses()) {
+                    if (!(temp instanceof Clause)) {
+                        continue;
+                    }
+
+                    Clause clause = (Clause) temp;
+
+                    appendClause(clause);
+                    addBinding(clause.getTwo());
+                }
+
+                key.append(')');
+            }
+        }
+
+        if (seek != null) {
+            buildSeek(seek);
+        }
+    }
+
+    private void buildSeek(SeekClause seek)
+    {
+        List<Object> values = seek.getValues();
+
+        key.append("K").append(seek.isDescending()).append(SEPARATOR);
+        for (String column : seek.getColumns()) {
+            key.append(column).append(SEPARATOR);
+        }
+
+        // The values are bound in the same order the grammar writes them, the
+        // first column is bound once more for the range comparison of
+        // composite keys, and every column but the last is bound twice.
+        if (values.size() > 1) {
+            bindings.add(CompiledQuery.normalizeBinding(values.get(0)));
+        }
+
+        for (int i = 0; i < values.size() - 1; i++) {
+            bindings.add(CompiledQuery.normalizeBinding(values.get(i)));
+            bindings.add(CompiledQuery.normalizeBinding(values.get(i)));
+        }
+
+        bindings.add(CompiledQuery.normalizeBinding(values.get(values.size() - 1)));
+    }
+
+    private void buildGroups(QueryBuilder builder)
+    {
+        for (String group : builder.getGroups()) {
+            key.append("G").append(group).append(SEPARATOR);
+        }
+
+        if (!builder.getHavingClauses().isEmpty()) {
+            key.append("H");
+            buildWheres(builder.getHavingClauses());
+        }
+    }
+
+    private StringBuilder appendClause(Clause clause)
+    {
+        OperatorType order = clause.getOrder() == null ? OperatorType.AND : clause.getOrder();
+
+        return key.append("C").append(order).append(SEPARATOR)
+            .append(clause.getOne()).append(SEPARATOR)
+            .append(clause.getIdentifier()).append(SEPARATOR);
+    }
+
+    private void addBinding(Object value)
+    {
+        if (value instanceof TemporaryTable) {
+            TemporaryTable table = (TemporaryTable) value;
+
+            key.append("T").append(table.getName()).append(SEPARATOR).append(table.getColumn()).append(SEPARATOR);
+
+            return;
+        }
+
+        if (!(value instanceof List)) {
+            bindings.add(CompiledQuery.normalizeBinding(value));
+
+            return;
+        }
+
+        List<?> values = (List<?>) value;
+
+        key.append(values.size()).append(SEPARATOR);
+
+        for (Object item : values) {
+            bindings.add(CompiledQuery.normalizeBinding(item));
+        }
+    }
+
+    private void buildOrderAndLimit(QueryBuilder builder)
+    {
+        for (QueryOrder order : builder.getOrder()) {
+            key.append("O").append(order.isRawSQL()).append(SEPARATOR)
+                .append(order.getField()).append(SEPARATOR)
+                .append(order.getType()).append(SEPARATOR);
+        }
+
+        if (builder.getTake() > 0) {
+            key.append("L");
+            bindings.add(builder.getTake());
+
+            if (builder.getSkip() > 0) {
+                key.append("S");
+                bindings.add(builder.getSkip());
+            }
+        }
+    }
+
+    private void buildUpsert(QueryBuilder builder)
+    {
+        if (builder.getUniqueBy().isEmpty()) {
+            return;
+        }
+
+        key.append("U");
+        for (String column : builder.getUniqueBy()) {
+            key.append(column).append(SEPARATOR);
+        }
+
+        key.append("S");
+        for (String column : builder.getUpdateColumns()) {
+            key.append(column).append(SEPARATOR);
+        }
+    }
+
+    private void buildItems(QueryBuilder builder)
+    {
+        List<String> keyset = new ArrayList<>();
+
+        for (Map<String, Object> row : builder.getItems()) {
+            key.append("R");
+
+            for (String column : row.keySet()) {
+                key.append(column).append(SEPARATOR);
+
+                if (!keyset.contains(column)) {
+                    keyset.add(column);
+                }
+            }
+        }
+
+        for (Map<String, Object> row : builder.getItems()) {
+            for (String column : keyset) {
+                if (row.containsKey(column)) {
+                    bindings.add(CompiledQuery.normalizeBinding(row.get(column)));
+                }
+            }
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.sendev.databasemanager.query;
 
+import java.util.function.Supplier;
+
 import com.sendev.databasemanager.grammar.CreateParser;
 import com.sendev.databasemanager.grammar.DeleteParser;
+import com.sendev.databasemanager.grammar.GrammarParser;
 import com.sendev.databasemanager.grammar.InsertParser;
 import com.sendev.databasemanager.grammar.SelectParser;
 import com.sendev.databasemanager.grammar.UpdateParser;
@@ -9,17 +12,29 @@ import com.sendev.databasemanager.grammar.UpdateParser;
 public enum QueryType
 {
 
-    SELECT(SelectParser.class),
-    INSERT(InsertParser.class),
-    UPDATE(UpdateParser.class),
-    DELETE(DeleteParser.class),
-    CREATE(CreateParser.class);
+    SELECT(SelectParser.class, SelectParser::new),
+    INSERT(InsertParser.class, InsertParser::new),
+    UPDATE(UpdateParser.class, UpdateParser::new),
+    DELETE(DeleteParser.class, DeleteParser::new),
+    CREATE(CreateParser.class, CreateParser::new);
 
     private final Class grammar;
+    private final Supplier<GrammarParser> factory;
 
-    private QueryType(Class grammar)
+    private QueryType(Class grammar, Supplier<GrammarParser> factory)
     {
         this.grammar = grammar;
+        this.factory = factory;
+    }
+
+    /**
+     * Creates a new grammar parser instance for the query type, without going through reflection.
+     *
+     * @return a new grammar parser instance
+     */
+    public GrammarParser createGrammar()
+    {
+        return factory.get();
     }
 
     public <T> Class<T> getGrammar()
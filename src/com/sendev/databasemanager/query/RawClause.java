@@ -0,0 +1,85 @@
+package com.sendev.databasemanager.query;
+
+import java.util.Collections;
+import java.util.List;
+
+import com.sendev.databasemanager.contracts.QueryClause;
+import com.sendev.databasemanager.exceptions.DatabaseException;
+
+public class RawClause implements QueryClause
+{
+    /**
+     * The raw SQL of the clause, any <code>?</code> placeholders in
+     * the SQL are replaced by the {@link #bindings} in order.
+     */
+    private final String sql;
+
+    /**
+     * The values that should be bound to the placeholders in the raw SQL.
+     */
+    private final List<Object> bindings;
+
+    /**
+     * The order operator that should be used in front of the clause.
+     */
+    private final OperatorType order;
+
+    /**
+     * Creates a new raw clause with the provided order.
+     *
+     * @param sql      The raw SQL of the clause
+     * @param bindings The values to bind to the placeholders in the raw SQL
+     * @param order    The order operator to use in front of the clause
+     *
+     * @throws DatabaseException if the amount of placeholders and values doesn't match
+     */
+    public RawClause(String sql, List<Object> bindings, OperatorType order)
+    {
+        int placeholders = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            if (sql.charAt(i) == '?') {
+                placeholders++;
+            }
+        }
+
+        if (placeholders != bindings.size()) {
+            throw new DatabaseException(String.format("Failed to create raw clause, the SQL has %s placeholders but %s values were given.",
+                placeholders, bindings.size()
+            ));
+        }
+
+        this.sql = sql;
+        this.bindings = Collections.unmodifiableList(bindings);
+        this.order = order;
+    }
+
+    /**
+     * Gets the raw SQL of the clause.
+     *
+     * @return the raw SQL of the clause.
+     */
+    public String getSQL()
+    {
+        return sql;
+    }
+
+    /**
+     * Gets the values that should be bound to the placeholders in the raw SQL.
+     *
+     * @return the values that should be bound to the placeholders.
+     */
+    public List<Object> getBindings()
+    {
+        return bindings;
+    }
+
+    /**
+     * Gets the order operator that should be used in front of the clause.
+     *
+     * @return the order operator that should be used.
+     */
+    public OperatorType getOrder()
+    {
+        return order;
+    }
+}
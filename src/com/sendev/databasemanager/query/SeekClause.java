@@ -0,0 +1,69 @@
+package com.sendev.databasemanager.query;
+
+import java.util.Collections;
+import java.util.List;
+
+import com.sendev.databasemanager.contracts.QueryClause;
+
+public class SeekClause implements QueryClause
+{
+    /**
+     * The columns the rows are sorted by, in the order they're sorted.
+     */
+    private final List<String> columns;
+
+    /**
+     * The values of the columns for the last row that was seen, only
+     * rows sorted after the values will match the clause.
+     */
+    private final List<Object> values;
+
+    /**
+     * Determines if the rows are sorted in descending order.
+     */
+    private final boolean descending;
+
+    /**
+     * Creates a new seek clause, matching the rows sorted after the given column values.
+     *
+     * @param columns    The columns the rows are sorted by.
+     * @param values     The values of the columns for the last row that was seen.
+     * @param descending <code>True</code> if the rows are sorted in descending order.
+     */
+    public SeekClause(List<String> columns, List<Object> values, boolean descending)
+    {
+        this.columns = Collections.unmodifiableList(columns);
+        this.values = Collections.unmodifiableList(values);
+        this.descending = descending;
+    }
+
+    /**
+     * Gets the columns the rows are sorted by.
+     *
+     * @return the columns the rows are sorted by.
+     */
+    public List<String> getColumns()
+    {
+        return columns;
+    }
+
+    /**
+     * Gets the values of the columns for the last row that was seen.
+     *
+     * @return the values of the columns for the last row that was seen.
+     */
+    public List<Object> getValues()
+    {
+        return values;
+    }
+
+    /**
+     * Checks to see if the rows are sorted in descending order.
+     *
+     * @return true if the rows are sorted in descending order, otherwise it will return false.
+     */
+    public boolean isDescending()
+    {
+        return descending;
+    }
+}
@@ -0,0 +1,48 @@
+package com.sendev.databasemanager.query;
+
+public class TemporaryTable
+{
+    /**
+     * The name of the temporary table, the name isn't prefixed by the table prefix.
+     */
+    private final String name;
+
+    /**
+     * The column of the temporary table holding the values.
+     */
+    private final String column;
+
+    /**
+     * Creates a new reference to a temporary table, used in place of a list of values for
+     * large <code>WHERE IN</code> clauses, the clause is matched against the values of
+     * the column in the temporary table, using a sub query on the table.
+     *
+     * @param name   The name of the temporary table
+     * @param column The column of the temporary table holding the values
+     */
+    public TemporaryTable(String name, String column)
+    {
+        this.name = name;
+        this.column = column;
+    }
+
+    /**
+     * Gets the name of the temporary table.
+     *
+     * @return the name of the temporary table.
+     */
+    public String getName()
+    {
+        return name;
+    }
+
+    /**
+     * Gets the column of the temporary table holding the values.
+     *
+     * @return the column holding the values.
+     */
+    public String getColumn()
+    {
+        return column;
+    }
+}
@@ -0,0 +1,381 @@
+package com.sendev.databasemanager.query;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import com.sendev.databasemanager.DatabaseManager;
+import com.sendev.databasemanager.DatabaseOptions;
+import com.sendev.databasemanager.async.contracts.QueryTask;
+import com.sendev.databasemanager.connections.MySQL;
+import com.sendev.databasemanager.contracts.Database;
+import com.sendev.databasemanager.contracts.QueryClause;
+import com.sendev.databasemanager.exceptions.DatabaseException;
+import com.sendev.databasemanager.utils.Collection;
+
+/**
+ * Runs queries with large <code>WHERE IN</code> and <code>WHERE NOT IN</code> clauses, picking a
+ * strategy based on the amount of values in the largest clause, small lists are bound directly in
+ * the query, large lists in select queries are split into chunks that are queried in parallel,
+ * with the results merged into a single collection, and lists that can't be split into
+ * chunks, or are very large, are loaded into a temporary table.
+ */
+final class WhereInQuery
+{
+    /**
+     * The name of the temporary tables the values are loaded into, temporary tables only exists on
+     * the connection that created them, so the names only have to be unique within the query.
+     */
+    private static final String TEMPORARY_TABLE = "dbm_where_in_";
+
+    private static final String TEMPORARY_COLUMN = "value";
+
+    /**
+     * The longest text value that can be used as the primary key of the temporary table, 191 characters
+     * is the longest key MySQL can index using the <code>utf8mb4</code> character set and the
+     * <code>COMPACT</code> row format, longer text values are stored without a key.
+     */
+    private static final int MAXIMUM_KEY_LENGTH = 191;
+
+    private final DatabaseManager dbm;
+    private final String connection;
+    private final QueryBuilder builder;
+
+    private WhereInQuery(DatabaseManager dbm, String connection, QueryBuilder builder)
+    {
+        this.dbm = dbm;
+        this.connection = connection;
+        this.builder = builder;
+    }
+
+    /**
+     * Runs the given select query, using the strategy that fits the largest
+     * <code>WHERE IN</code> or <code>WHERE NOT IN</code> clause of the query.
+     *
+     * @param dbm        The DBM instance used to run the query.
+     * @param connection The connection to run the query against, or <code>NULL</code> to use the default connection.
+     * @param builder    The query builder to run.
+     *
+     * @return the result of the query
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    static Collection get(DatabaseManager dbm, String connection, QueryBuilder builder) throws SQLException
+    {
+        return new WhereInQuery(dbm, connection, builder).select();
+    }
+
+    /**
+     * Runs the given task, if the largest <code>WHERE IN</code> or <code>WHERE NOT IN</code> clause of the
+     * query builder has more values than the inline limit, the values are loaded into a temporary
+     * table while the task is running, the task must run the query builder on the same connection,
+     * this is used for queries where the results of the chunks can't be merged, like aggregates,
+     * updates and deletes.
+     *
+     * @param <T>        The type of the task result.
+     * @param dbm        The DBM instance used to run the query.
+     * @param connection The connection to run the query against, or <code>NULL</code> to use the default connection.
+     * @param builder    The query builder the task runs.
+     * @param task       The task that runs the query builder.
+     *
+     * @return the result of the task
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    static <T> T run(DatabaseManager dbm, String connection, QueryBuilder builder, QueryTask<T> task) throws SQLException
+    {
+        return new WhereInQuery(dbm, connection, builder).run(task);
+    }
+
+    /**
+     * Checks that the query builder can be run without loading any of its values into a temporary table, used
+     * by cursors, since the rows are read after the query has returned, at which point the temporary
+     * table would already have been dropped, lists below the temporary table threshold
+     * are bound directly in the query instead.
+     *
+     * @param dbm     The DBM instance used to run the query.
+     * @param builder The query builder to check.
+     *
+     * @throws DatabaseException if the query builder has a list of values at or above the temporary table threshold
+     */
+    static void checkInlineSize(DatabaseManager dbm, QueryBuilder builder)
+    {
+        int index = new WhereInQuery(dbm, null, builder).findLargestList();
+        if (index < 0) {
+            return;
+        }
+
+        Clause clause = (Clause) builder.getWhereClauses().get(index);
+        int size = ((List<?>) clause.getTwo()).size();
+
+        if (size >= dbm.options().getWhereInTemporaryTableThreshold()) {
+            throw new DatabaseException(String.format(
+                "Failed to run the query, the %s clause on the \"%s\" column has %s values, cursors can only bind less than %s values, use get() to run the query instead.",
+                clause.getIdentifier(), clause.getOne(), size, dbm.options().getWhereInTemporaryTableThreshold()
+            ));
+        }
+    }
+
+    private Collection select() throws SQLException
+    {
+        DatabaseOptions options = dbm.options();
+        int index = findLargestList();
+
+        if (index >= 0 && builder.getType() == QueryType.SELECT && canChunk(index)) {
+            Clause clause = (Clause) builder.getWhereClauses().get(index);
+            List<?> values = (List<?>) clause.getTwo();
+
+            if (values.size() > options.getWhereInInlineLimit() && !values.contains(null)) {
+                List<Object> distinct = new ArrayList<>(new LinkedHashSet<>(values));
+
+                if (distinct.size() > options.getWhereInInlineLimit() && distinct.size() < options.getWhereInTemporaryTableThreshold()) {
+                    return runChunked(index, clause, distinct);
+                }
+            }
+        }
+
+        return run(() -> dbm.query(connection, builder));
+    }
+
+    private <T> T run(QueryTask<T> task) throws SQLException
+    {
+        DatabaseOptions options = dbm.options();
+        int index = findLargestList();
+
+        if (index < 0) {
+            return task.run();
+        }
+
+        Clause clause = (Clause) builder.getWhereClauses().get(index);
+        List<?> values = (List<?>) clause.getTwo();
+
+        if (values.size() <= options.getWhereInInlineLimit() || values.contains(null)) {
+            return task.run();
+        }
+
+        List<Object> distinct = new ArrayList<>(new LinkedHashSet<>(values));
+
+        if (distinct.size() <= options.getWhereInInlineLimit()) {
+            return runWith(index, new Clause(clause.getOne(), clause.getIdentifier(), distinct, clause.getOrder()), task);
+        }
+
+        return runWithTemporaryTable(index, clause, distinct, task);
+    }
+
+    /**
+     * Finds the top level where clause with the largest list of values.
+     *
+     * @return either (1) the index of the where clause with the largest list of values
+     *         or (2) <code>-1</code> if the query doesn't have any where in clauses
+     */
+    private int findLargestList()
+    {
+        List<QueryClause> wheres = builder.getWhereClauses();
+        int index = -1;
+        int size = 0;
+
+        for (int i = 0; i < wheres.size(); i++) {
+            if (!(wheres.get(i) instanceof Clause)) {
+                continue;
+            }
+
+            Object value = ((Clause) wheres.get(i)).getTwo();
+
+            if (value instanceof List && ((List<?>) value).size() > size) {
+                index = i;
+                size = ((List<?>) value).size();
+            }
+        }
+
+        return index;
+    }
+
+    /**
+     * Checks to see if the where in clause at the given index can be split into chunks, the results of
+     * the chunks are only the same as the result of the whole query if the clause is a <code>WHERE IN</code>
+     * clause that every other where clause is joined to using AND operators, and the query doesn't
+     * order, limit or group the rows, since the rows are merged in the order the chunks are run.
+     *
+     * @param index The index of the where in clause.
+     *
+     * @return true if the clause can be split into chunks, otherwise it will return false.
+     */
+    private boolean canChunk(int index)
+    {
+        Clause clause = (Clause) builder.getWhereClauses().get(index);
+
+        if (!clause.getIdentifier().equalsIgnoreCase("IN")) {
+            return false;
+        }
+
+        if (builder.getTake() > 0 || builder.getSkip() > 0 || !builder.getOrder().isEmpty()
+            || !builder.getGroups().isEmpty() || !builder.getHavingClauses().isEmpty()) {
+            return false;
+        }
+
+        List<QueryClause> wheres = builder.getWhereClauses();
+        for (int i = 1; i < wheres.size(); i++) {
+            QueryClause where = wheres.get(i);
+
+            if (where instanceof Clause && ((Clause) where).getOrder() == OperatorType.OR) {
+                return false;
+            }
+
+            if (where instanceof NestedClause && ((NestedClause) where).getOperator().equals(OperatorType.OR.getOperator())) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private Collection runChunked(int index, Clause clause, List<Object> values) throws SQLException
+    {
+        int chunkSize = dbm.options().getWhereInChunkSize();
+        List<CompiledQuery> queries = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < values.size(); i += chunkSize) {
+                List<Object> chunk = values.subList(i, Math.min(values.size(), i + chunkSize));
+
+                builder.getWhereClauses().set(index, new Clause(clause.getOne(), clause.getIdentifier(), chunk, clause.getOrder()));
+                queries.add(builder.compile(dbm, connection));
+            }
+        } finally {
+            builder.getWhereClauses().set(index, clause);
+        }
+
+        List<QueryTask<Collection>> tasks = new ArrayList<>(queries.size());
+        for (CompiledQuery query : queries) {
+            tasks.add(() -> dbm.query(connection, query.getSQL(), query.getBindings()));
+        }
+
+        // Queries run inside of a transaction must be run on the thread running the
+        // transaction, otherwise they won't be able to see the transaction writes.
+        List<Collection> results;
+        if (getDatabase().getTransaction() != null) {
+            results = new ArrayList<>(tasks.size());
+
+            for (QueryTask<Collection> task : tasks) {
+                results.add(task.run());
+            }
+        } else {
+            results = dbm.async().invokeAll(connection, tasks);
+        }
+
+        Collection collection = new Collection();
+        for (Collection result : results) {
+            collection.merge(result);
+        }
+
+        return collection;
+    }
+
+    private <T> T runWithTemporaryTable(int index, Clause clause, List<Object> values, QueryTask<T> task) throws SQLException
+    {
+        String table = TEMPORARY_TABLE + index;
+        boolean mysql = getDatabase() instanceof MySQL;
+
+        return dbm.transaction(connection, transaction -> {
+            dbm.queryUpdate(connection, String.format("CREATE TEMPORARY TABLE `%s` (`%s` %s);",
+                table, TEMPORARY_COLUMN, getColumnDefinition(values)
+            ));
+
+            try {
+                insertValues(table, values);
+
+                return runWith(index, new Clause(clause.getOne(), clause.getIdentifier(), new TemporaryTable(table, TEMPORARY_COLUMN), clause.getOrder()), task);
+            } finally {
+                dbm.queryUpdate(connection, mysql
+                                            ? String.format("DROP TEMPORARY TABLE IF EXISTS `%s`;", table)
+                                            : String.format("DROP TABLE IF EXISTS temp.`%s`;", table)
+                );
+            }
+        });
+    }
+
+    private void insertValues(String table, List<Object> values) throws SQLException
+    {
+        int chunkSize = dbm.options().getWhereInChunkSize();
+
+        for (int i = 0; i < values.size(); i += chunkSize) {
+            List<Object> chunk = values.subList(i, Math.min(values.size(), i + chunkSize));
+            StringBuilder query = new StringBuilder(32 + chunk.size() * 5);
+
+            query.append("INSERT INTO `").append(table).append("` (`").append(TEMPORARY_COLUMN).append("`) VALUES ");
+            for (int j = 0; j < chunk.size(); j++) {
+                query.append(j == 0 ? "(?)" : ", (?)");
+            }
+
+            dbm.queryUpdate(connection, query.append(';').toString(), new ArrayList<>(chunk));
+        }
+    }
+
+    private <T> T runWith(int index, Clause replacement, QueryTask<T> task) throws SQLException
+    {
+        List<QueryClause> wheres = builder.getWhereClauses();
+        QueryClause original = wheres.set(index, replacement);
+
+        try {
+            return task.run();
+        } finally {
+            wheres.set(index, original);
+        }
+    }
+
+    private Database getDatabase()
+    {
+        Database database = connection == null
+                            ? dbm.getConnections().getDefaultConnection()
+                            : dbm.getConnections().getConnection(connection);
+
+        if (database == null) {
+            throw new DatabaseException("Invalid connection, there are no connection with the name \"" + connection + "\"");
+        }
+
+        return database;
+    }
+
+    /**
+     * Gets the column definition used for the temporary table, integers are stored as big integers, and
+     * floating point numbers as doubles, while mixed numbers are stored as decimals, so large integers
+     * doesn't lose their precision, everything else is stored as text, using the length of the
+     * longest value, so the database can compare the values without converting them first.
+     * <p>
+     * The column is only made the primary key if the key fits within the index key length limit of
+     * MySQL, the values are already distinct, so the key is only used to speed up the lookups.
+     *
+     * @param values The values that should be stored in the temporary table.
+     *
+     * @return the column definition used for the temporary table
+     */
+    private static String getColumnDefinition(List<Object> values)
+    {
+        boolean integers = true;
+        boolean decimals = true;
+        boolean numbers = true;
+        int length = 1;
+
+        for (Object value : values) {
+            integers &= value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte;
+            decimals &= value instanceof Double || value instanceof Float;
+            numbers &= value instanceof Number;
+            length = Math.max(length, value.toString().length());
+        }
+
+        if (integers) {
+            return "BIGINT PRIMARY KEY";
+        }
+
+        if (decimals) {
+            return "DOUBLE PRIMARY KEY";
+        }
+
+        if (numbers) {
+            return "DECIMAL(65, 30) PRIMARY KEY";
+        }
+
+        return length <= MAXIMUM_KEY_LENGTH ? "VARCHAR(" + length + ") PRIMARY KEY" : "TEXT";
+    }
+}
@@ -0,0 +1,15 @@
+package com.sendev.databasemanager.replication;
+
+public enum ReplicaBalancing
+{
+    /**
+     * Reads are spread evenly across the replicas, each read
+     * is sent to the replica after the previous one.
+     */
+    ROUND_ROBIN,
+    /**
+     * Reads are sent to the replica that is currently running the fewest queries,
+     * replicas with the same load are picked in a round-robin order.
+     */
+    LEAST_LOADED;
+}
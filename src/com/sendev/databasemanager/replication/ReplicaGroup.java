@@ -0,0 +1,275 @@
+package com.sendev.databasemanager.replication;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sendev.databasemanager.DatabaseManager;
+import com.sendev.databasemanager.DatabaseOptions;
+import com.sendev.databasemanager.contracts.Database;
+import com.sendev.databasemanager.replication.contracts.ReplicaCallback;
+
+public final class ReplicaGroup
+{
+    private final DatabaseManager dbm;
+    private final Database primary;
+    private final List<Replica> replicas = new CopyOnWriteArrayList<>();
+    private final AtomicInteger counter = new AtomicInteger();
+
+    /**
+     * Creates a new replica group for the given primary database, the balancing strategy
+     * and health check interval are loaded from the {@link DatabaseOptions database options}
+     * of the provided DBM instance every time a replica is selected.
+     *
+     * @param dbm     The DBM instance the group belongs to.
+     * @param primary The primary database, all writes are run against the primary.
+     */
+    public ReplicaGroup(DatabaseManager dbm, Database primary)
+    {
+        this.dbm = dbm;
+        this.primary = primary;
+    }
+
+    /**
+     * Adds a read replica to the group, the replica is set up to use the DBM instance of the group.
+     *
+     * @param name     The name of the replica.
+     * @param database The replica database instance.
+     *
+     * @return <code>True</code> if the replica was added successfully, or
+     *         <code>False</code> if a replica with the name already exists.
+     */
+    public boolean addReplica(String name, Database database)
+    {
+        name = name.toLowerCase();
+
+        for (Replica replica : replicas) {
+            if (replica.name.equals(name)) {
+                return false;
+            }
+        }
+
+        database.setDatabaseManager(dbm);
+        replicas.add(new Replica(name, database));
+
+        return true;
+    }
+
+    /**
+     * Gets the primary database of the group.
+     *
+     * @return the primary database
+     */
+    public Database getPrimary()
+    {
+        return primary;
+    }
+
+    /**
+     * Gets the replica database with the given name.
+     *
+     * @param name The name of the replica.
+     *
+     * @return either (1) the replica database with the given name
+     *         or (2) <code>NULL</code> if no replica exists with the given name
+     */
+    public Database getReplica(String name)
+    {
+        Replica replica = find(name);
+
+        return replica == null ? null : replica.database;
+    }
+
+    /**
+     * Gets all the replica databases in the group, in the order they were added.
+     *
+     * @return the replica databases
+     */
+    public List<Database> getReplicas()
+    {
+        List<Database> databases = new ArrayList<>(replicas.size());
+        for (Replica replica : replicas) {
+            databases.add(replica.database);
+        }
+
+        return Collections.unmodifiableList(databases);
+    }
+
+    /**
+     * Checks to see if the replica with the given name is currently marked as healthy, replicas
+     * are marked as unhealthy when they fail a health check, and are checked again once
+     * the {@link DatabaseOptions#getReplicaHealthCheckInterval() health check interval} has passed.
+     *
+     * @param name The name of the replica.
+     *
+     * @return true if the replica exists and is healthy, otherwise it will return false.
+     */
+    public boolean isHealthy(String name)
+    {
+        Replica replica = find(name);
+
+        return replica != null && replica.downSince == 0;
+    }
+
+    /**
+     * Runs the callback against one of the healthy replicas, using the
+     * {@link DatabaseOptions#getReplicaBalancing() balancing strategy} to select the replica.
+     * <p>
+     * If there are no healthy replicas, the callback is run against the primary database
+     * instead, if the callback fails on a replica, the replica is health checked, and if
+     * it fails the health check, it's marked as unhealthy and the callback is run
+     * again on the primary database, otherwise the exception is rethrown.
+     *
+     * @param <T>      The type of the callback result.
+     * @param callback The callback to run, the callback should only read from the database.
+     *
+     * @return the result of the callback
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    public <T> T read(ReplicaCallback<T> callback) throws SQLException
+    {
+        Replica replica = select();
+
+        if (replica == null) {
+            return callback.run(primary);
+        }
+
+        replica.load.incrementAndGet();
+
+        try {
+            return callback.run(replica.database);
+        } catch (SQLException ex) {
+            if (replica.check()) {
+                throw ex;
+            }
+
+            dbm.output().warning("The \"%s\" replica failed a health check and was marked as unhealthy, falling back to the primary database: %s",
+                replica.name, ex.getMessage()
+            );
+
+            return callback.run(primary);
+        } finally {
+            replica.load.decrementAndGet();
+        }
+    }
+
+    private Replica select()
+    {
+        int size = replicas.size();
+        if (size == 0) {
+            return null;
+        }
+
+        int offset = Math.floorMod(counter.getAndIncrement(), size);
+        boolean leastLoaded = dbm.options().getReplicaBalancing() == ReplicaBalancing.LEAST_LOADED;
+
+        Replica selected = null;
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((offset + i) % size);
+
+            if (!replica.isAvailable()) {
+                continue;
+            }
+
+            if (!leastLoaded) {
+                return replica;
+            }
+
+            if (selected == null || replica.load.get() < selected.load.get()) {
+                selected = replica;
+            }
+        }
+
+        return selected;
+    }
+
+    private Replica find(String name)
+    {
+        name = name.toLowerCase();
+
+        for (Replica replica : replicas) {
+            if (replica.name.equals(name)) {
+                return replica;
+            }
+        }
+
+        return null;
+    }
+
+    private final class Replica
+    {
+        private final String name;
+        private final Database database;
+
+        /**
+         * The amount of queries currently running against the replica.
+         */
+        private final AtomicInteger load = new AtomicInteger();
+
+        /**
+         * The time in milliseconds the replica was marked as unhealthy,
+         * or <code>0</code> if the replica is healthy.
+         */
+        private volatile long downSince = 0;
+
+        Replica(String name, Database database)
+        {
+            this.name = name;
+            this.database = database;
+        }
+
+        /**
+         * Checks to see if the replica can be used to run queries, unhealthy replicas are
+         * health checked again once the health check interval has passed since the
+         * last check, only a single thread will run the health check.
+         *
+         * @return true if the replica is available, otherwise it will return false.
+         */
+        boolean isAvailable()
+        {
+            long since = downSince;
+            if (since == 0) {
+                return true;
+            }
+
+            if (System.currentTimeMillis() - since < dbm.options().getReplicaHealthCheckInterval()) {
+                return false;
+            }
+
+            synchronized (this) {
+                if (downSince != since) {
+                    return downSince == 0;
+                }
+
+                return check();
+            }
+        }
+
+        /**
+         * Runs a health check against the replica, marking the replica
+         * as healthy or unhealthy depending on the result.
+         *
+         * @return true if the replica is healthy, otherwise it will return false.
+         */
+        boolean check()
+        {
+            boolean healthy;
+
+            try {
+                int timeout = (int) Math.max(1, dbm.options().getReplicaHealthCheckTimeout() / 1000);
+
+                healthy = database.withConnection(connection -> connection.isValid(timeout));
+            } catch (SQLException | RuntimeException ex) {
+                healthy = false;
+            }
+
+            downSince = healthy ? 0 : System.currentTimeMillis();
+
+            return healthy;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.sendev.databasemanager.replication.contracts;
+
+import java.sql.SQLException;
+
+import com.sendev.databasemanager.contracts.Database;
+
+public interface ReplicaCallback<T>
+{
+    /**
+     * Runs the callback against the database selected by the replica group, the database
+     * is either one of the replicas, or the primary database if none of the
+     * replicas are available, or the replica failed to run the query.
+     *
+     * @param database The database the query should be run against.
+     *
+     * @return the result of the callback
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    public T run(Database database) throws SQLException;
+}
@@ -3,6 +3,7 @@ package com.sendev.databasemanager.schema;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
+import com.sendev.databasemanager.DatabaseManager;
 import com.sendev.databasemanager.contracts.DatabaseOriginLookup;
 import com.sendev.databasemanager.exceptions.OriginException;
 
@@ -11,6 +12,7 @@ public class Blueprint implements DatabaseOriginLookup
     private final String table;
     private final LinkedHashMap<String, Field> fields = new LinkedHashMap<>();
     private String engine = DatabaseEngine.InnoDB.toString();
+    private DatabaseManager dbm = null;
 
     /**
      * The empty constructor is used by the {@link com.sendev.databasemanager.DatabaseFactory#getDynamicOrigin(java.lang.Class) }
@@ -33,6 +35,29 @@ public class Blueprint implements DatabaseOriginLookup
         this.table = table;
     }
 
+    /**
+     * Binds the blueprint to the provided DBM instance, bound blueprints will use
+     * the given DBM instance directly instead of looking up the DBM instance
+     * from the plugin the blueprint was created from.
+     *
+     * @param dbm The DBM instance the blueprint should be bound to
+     */
+    public void setDatabaseManager(DatabaseManager dbm)
+    {
+        this.dbm = dbm;
+    }
+
+    /**
+     * Gets the DBM instance the blueprint is bound to.
+     *
+     * @return either (1) the DBM instance the blueprint is bound to
+     *         or (2) <code>NULL</code> if the blueprint isn't bound to any DBM instance.
+     */
+    public DatabaseManager getDatabaseManager()
+    {
+        return dbm;
+    }
+
     /**
      * Sets the database engine that should be used with the blueprint.
      *
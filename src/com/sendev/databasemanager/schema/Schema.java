@@ -6,7 +6,6 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 
-import com.sendev.databasemanager.DatabaseFactory;
 import com.sendev.databasemanager.DatabaseManager;
 import com.sendev.databasemanager.contracts.Database;
 import com.sendev.databasemanager.exceptions.DatabaseException;
@@ -150,11 +149,9 @@ public class Schema
 
         Blueprint blueprint = createAndRunBlueprint(table, closure);
 
-        DatabaseManager dynamicDBM = DatabaseFactory.getDynamicOrigin(blueprint.getClass());
-
         CreateParser grammar = createGrammar(true);
 
-        String query = grammar.parse(dynamicDBM, dynamicDBM.getConnections().getDefaultConnection(), blueprint);
+        String query = grammar.parse(dbm, getDefaultConnection(), blueprint);
 
         dbm.output().debug("create query was generated, executing query: %s", query);
 
@@ -188,11 +185,9 @@ public class Schema
 
         Blueprint blueprint = createAndRunBlueprint(table, closure);
 
-        DatabaseManager dynamicDBM = DatabaseFactory.getDynamicOrigin(blueprint.getClass());
-
         CreateParser grammar = createGrammar(true, ignoreDatabasePrefix);
 
-        String query = grammar.parse(dynamicDBM, dynamicDBM.getConnections().getDefaultConnection(), blueprint);
+        String query = grammar.parse(dbm, getDefaultConnection(), blueprint);
 
         dbm.output().debug("create query was generated, executing query: %s", query);
 
@@ -230,11 +225,9 @@ public class Schema
 
         Blueprint blueprint = createAndRunBlueprint(table, closure);
 
-        DatabaseManager dynamicDBM = DatabaseFactory.getDynamicOrigin(blueprint.getClass());
-
         CreateParser grammar = createGrammar(false);
 
-        String query = grammar.parse(dynamicDBM, dynamicDBM.getConnections().getDefaultConnection(), blueprint);
+        String query = grammar.parse(dbm, getDefaultConnection(), blueprint);
 
         dbm.output().debug("Schema::createIfNotExists query was generated, executing query: %s", query);
 
@@ -277,11 +270,9 @@ public class Schema
 
         Blueprint blueprint = createAndRunBlueprint(table, closure);
 
-        DatabaseManager dynamicDBM = DatabaseFactory.getDynamicOrigin(blueprint.getClass());
-
         CreateParser grammar = createGrammar(false, ignoreDatabasePrefix);
 
-        String query = grammar.parse(dynamicDBM, dynamicDBM.getConnections().getDefaultConnection(), blueprint);
+        String query = grammar.parse(dbm, getDefaultConnection(), blueprint);
 
         dbm.output().debug("Schema::createIfNotExists query was generated, executing query: %s", query);
 
@@ -306,6 +297,8 @@ public class Schema
     {
         Blueprint blueprint = new Blueprint(table);
 
+        blueprint.setDatabaseManager(dbm);
+
         closure.run(blueprint);
 
         return blueprint;
@@ -333,20 +326,12 @@ public class Schema
      */
     private CreateParser createGrammar(boolean shouldIgnoreExistingTable, boolean shouldIgnoreDatabasePrefix)
     {
-        try {
-            CreateParser grammar = (CreateParser) QueryType.CREATE.getGrammar().newInstance();
-
-            grammar.setOption("ignoreExistingTable", shouldIgnoreExistingTable);
-            grammar.setOption("ignoreDatabasePrefix", shouldIgnoreDatabasePrefix);
+        CreateParser grammar = (CreateParser) QueryType.CREATE.createGrammar();
 
-            return grammar;
-        } catch (InstantiationException ex) {
-            dbm.output().exception("Invalid grammar object parsed, failed to create a new instance!", ex);
-        } catch (IllegalAccessException ex) {
-            dbm.output().exception("An attempt was made to create a grammar instance on an object that is not accessible!", ex);
-        }
+        grammar.setOption("ignoreExistingTable", shouldIgnoreExistingTable);
+        grammar.setOption("ignoreDatabasePrefix", shouldIgnoreDatabasePrefix);
 
-        return null;
+        return grammar;
     }
 
     /**
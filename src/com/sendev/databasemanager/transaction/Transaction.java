@@ -0,0 +1,153 @@
+package com.sendev.databasemanager.transaction;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.sendev.databasemanager.contracts.Database;
+import com.sendev.databasemanager.exceptions.DatabaseException;
+import com.sendev.databasemanager.transaction.contracts.TransactionCallback;
+
+public class Transaction
+{
+    private final Database database;
+    private final Connection connection;
+    private final List<Runnable> completionTasks = new ArrayList<>();
+
+    private int savepoints = 0;
+    private boolean rollbackOnly = false;
+    private boolean active = true;
+
+    /**
+     * Creates a new transaction for the given database and connection, transactions are
+     * created by the database when a transaction is started, the connection must
+     * already have auto-commit disabled.
+     *
+     * @param database   The database the transaction belongs to.
+     * @param connection The connection the transaction is running on.
+     */
+    public Transaction(Database database, Connection connection)
+    {
+        this.database = database;
+        this.connection = connection;
+    }
+
+    /**
+     * Gets the database the transaction belongs to.
+     *
+     * @return the database the transaction belongs to
+     */
+    public Database getDatabase()
+    {
+        return database;
+    }
+
+    /**
+     * Gets the connection the transaction is running on, the connection must not be
+     * closed, committed or stored, it's only valid while the transaction is active.
+     *
+     * @return the transaction connection
+     */
+    public Connection getConnection()
+    {
+        return connection;
+    }
+
+    /**
+     * Runs the callback inside of a savepoint, if the callback throws an exception, everything done
+     * by the callback is rolled back and the exception is rethrown, while everything done
+     * by the transaction before the savepoint is kept, savepoints can be nested.
+     *
+     * @param <T>      The type of the callback result.
+     * @param callback The callback to run inside the savepoint.
+     *
+     * @return the result of the callback
+     *
+     * @throws SQLException      if a database access error occurs
+     * @throws DatabaseException if the transaction is no longer active
+     */
+    public <T> T savepoint(TransactionCallback<T> callback) throws SQLException
+    {
+        if (!active) {
+            throw new DatabaseException("Failed to create savepoint, the transaction is no longer active.");
+        }
+
+        Savepoint savepoint = connection.setSavepoint("dbm_savepoint_" + (++savepoints));
+
+        try {
+            T result = callback.run(this);
+            connection.releaseSavepoint(savepoint);
+
+            return result;
+        } catch (SQLException | RuntimeException | Error ex) {
+            try {
+                connection.rollback(savepoint);
+            } catch (SQLException rollback) {
+                ex.addSuppressed(rollback);
+            }
+
+            throw ex;
+        } finally {
+            savepoints--;
+        }
+    }
+
+    /**
+     * Marks the transaction as rollback only, once the transaction callback returns
+     * the transaction will be rolled back instead of being committed.
+     */
+    public void setRollbackOnly()
+    {
+        rollbackOnly = true;
+    }
+
+    /**
+     * Checks to see if the transaction has been marked as rollback only.
+     *
+     * @return true if the transaction will be rolled back, otherwise it will return false.
+     */
+    public boolean isRollbackOnly()
+    {
+        return rollbackOnly;
+    }
+
+    /**
+     * Checks to see if the transaction is still active, a transaction is no
+     * longer active once it has been committed or rolled back.
+     *
+     * @return true if the transaction is active, otherwise it will return false.
+     */
+    public boolean isActive()
+    {
+        return active;
+    }
+
+    /**
+     * Registers a task that should be run once the transaction has been committed or rolled back,
+     * the task is run on the thread that ran the transaction, after the connection has been
+     * released from the transaction, in the order the tasks were registered.
+     *
+     * @param task The task to run once the transaction has completed.
+     */
+    public void afterCompletion(Runnable task)
+    {
+        completionTasks.add(task);
+    }
+
+    /**
+     * Marks the transaction as no longer active and runs the completion tasks, this is
+     * called by the database once the transaction has been committed or rolled back.
+     */
+    public void finish()
+    {
+        active = false;
+
+        for (Runnable task : completionTasks) {
+            task.run();
+        }
+
+        completionTasks.clear();
+    }
+}
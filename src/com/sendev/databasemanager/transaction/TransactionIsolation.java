@@ -0,0 +1,40 @@
+package com.sendev.databasemanager.transaction;
+
+import java.sql.Connection;
+
+public enum TransactionIsolation
+{
+    /**
+     * Dirty reads, non-repeatable reads and phantom reads can occur.
+     */
+    READ_UNCOMMITTED(Connection.TRANSACTION_READ_UNCOMMITTED),
+    /**
+     * Dirty reads are prevented, non-repeatable reads and phantom reads can occur.
+     */
+    READ_COMMITTED(Connection.TRANSACTION_READ_COMMITTED),
+    /**
+     * Dirty reads and non-repeatable reads are prevented, phantom reads can occur.
+     */
+    REPEATABLE_READ(Connection.TRANSACTION_REPEATABLE_READ),
+    /**
+     * Dirty reads, non-repeatable reads and phantom reads are prevented.
+     */
+    SERIALIZABLE(Connection.TRANSACTION_SERIALIZABLE);
+
+    private final int level;
+
+    private TransactionIsolation(int level)
+    {
+        this.level = level;
+    }
+
+    /**
+     * Gets the JDBC transaction isolation level.
+     *
+     * @return the JDBC transaction isolation level
+     */
+    public int getLevel()
+    {
+        return level;
+    }
+}
@@ -0,0 +1,21 @@
+package com.sendev.databasemanager.transaction.contracts;
+
+import java.sql.SQLException;
+
+import com.sendev.databasemanager.transaction.Transaction;
+
+public interface TransactionCallback<T>
+{
+    /**
+     * Runs the callback inside of the transaction, any queries run by the current thread
+     * against the database the transaction belongs to will be run on the transaction
+     * connection, if the callback throws an exception the transaction is rolled back.
+     *
+     * @param transaction The transaction the callback is run in.
+     *
+     * @return the result of the callback
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    public T run(Transaction transaction) throws SQLException;
+}
@@ -402,11 +402,11 @@ public final class Carbon
     }
 
     /**
-     * Creates an new carbon instance from an internal method call from a date.
+     * Creates an new carbon instance from the given date.
      *
      * @param date The date to use to create the carbon instance
      */
-    private Carbon(Date date)
+    public Carbon(Date date)
     {
         this.time = Calendar.getInstance();
 
@@ -1,5 +1,7 @@
 package com.sendev.databasemanager.utils;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.math.BigDecimal;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
@@ -9,22 +11,37 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Random;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
 
-import com.google.gson.Gson;
 
 public class Collection implements Cloneable, Iterable<DataRow>
 {
 
     private static final Random random = new Random();
 
+    /**
+     * The amount of items a collection must have before stats are calculated in
+     * parallel, if the threshold is <code>0</code> stats are never calculated in parallel.
+     */
+    private static volatile int parallelThreshold = 0;
+
     private final HashMap<String, String> keys;
     private final List<DataRow> items;
 
+    /**
+     * The hash indexes created for the collection through the {@link #indexBy(String) indexBy}
+     * method, keyed by the field they index, the indexes are marked as stale whenever
+     * the order of the items changes, and are rebuilt the next time they're used.
+     */
+    private final Map<String, CollectionIndex> indexes = new HashMap<>();
+
     /**
      * Creates an empty collection.
      */
@@ -42,8 +59,8 @@ public class Collection implements Cloneable, Iterable<DataRow>
      */
     public Collection(Collection instance)
     {
-        this.keys = new HashMap<>();
-        this.items = new ArrayList<>();
+        this.keys = new HashMap<>(instance.keys);
+        this.items = new ArrayList<>(instance.size());
 
         for (DataRow row : instance.all()) {
             items.add(new DataRow(row));
@@ -60,18 +77,26 @@ public class Collection implements Cloneable, Iterable<DataRow>
         this.keys = new HashMap<>();
         this.items = new ArrayList<>();
 
+        RowSchema schema = null;
         for (Map<String, Object> row : items) {
             row.keySet().stream().filter(( key ) -> (!keys.containsKey(key))).forEach(( key ) -> {
                 keys.put(key, row.get(key).getClass().getTypeName());
             });
 
-            this.items.add(new DataRow(row));
+            if (schema == null || !schema.matches(row.keySet())) {
+                schema = DataRow.createSchema(row);
+            }
+
+            this.items.add(new DataRow(schema, row));
         }
     }
 
     /**
      * Creates a new Collection instance, allowing you to the loop
      * and fetch data from a ResultSet object a lot easier.
+     * <p>
+     * The values are read using the column types reported by the result set, so numbers,
+     * booleans and timestamps are stored as their native Java types instead of strings.
      *
      * @param result The ResultSet to generate the collection from.
      *
@@ -83,6 +108,7 @@ public class Collection implements Cloneable, Iterable<DataRow>
     public Collection(ResultSet result) throws SQLException
     {
         ResultSetMetaData meta = result.getMetaData();
+        RowReader reader = new RowReader(meta);
 
         this.keys = new HashMap<>();
         this.items = new ArrayList<>();
@@ -92,13 +118,7 @@ public class Collection implements Cloneable, Iterable<DataRow>
         }
 
         while (result.next()) {
-            Map<String, Object> array = new HashMap<>();
-
-            for (String key : keys.keySet()) {
-                array.put(key, result.getString(key));
-            }
-
-            items.add(new DataRow(array));
+            items.add(reader.read(result));
         }
     }
 
@@ -206,9 +226,21 @@ public class Collection implements Cloneable, Iterable<DataRow>
      */
     public boolean contains(Object item)
     {
+        if (indexes.isEmpty()) {
+            return items.stream().anyMatch(( row )
+            -> (row.keySet().stream().anyMatch(( key )
+            -> (row.get(key).equals(item)))));
+        }
+
+        for (CollectionIndex index : indexes.values()) {
+            if (index.contains(items, item)) {
+                return true;
+            }
+        }
+
         return items.stream().anyMatch(( row )
         -> (row.keySet().stream().anyMatch(( key )
-        -> (row.get(key).equals(item)))));
+        -> (!indexes.containsKey(key) && row.get(key).equals(item)))));
     }
 
     /**
@@ -294,6 +326,75 @@ public class Collection implements Cloneable, Iterable<DataRow>
         return keys.containsKey(field);
     }
 
+    /**
+     * Creates a hash index for the given field, allowing the {@link #where(String, Object) where},
+     * {@link #whereLoose(String, Object) whereLoose}, {@link #search(String, Object) search}
+     * and {@link #contains(Object) contains} methods to find rows by the field in constant
+     * time, instead of looping through every row in the collection.
+     * <p>
+     * The index is kept up to date when items are removed or reordered through the collection,
+     * however changes made directly to the list returned by the {@link #all() all} method
+     * are not tracked, the index must be recreated after changing the list directly.
+     *
+     * @param field The field that should be indexed.
+     *
+     * @return the collection instance.
+     */
+    public Collection indexBy(String field)
+    {
+        return indexBy(field, false);
+    }
+
+    /**
+     * Creates a hash index for the given field, if the index is unique every row in the
+     * collection must have a different value for the field, otherwise multiple rows
+     * can share the same value for the field.
+     *
+     * @see #indexBy(String)
+     *
+     * @param field  The field that should be indexed.
+     * @param unique Determines if every row must have a unique value for the field.
+     *
+     * @return the collection instance.
+     *
+     * @throws IllegalStateException if the index is unique, and two rows has the same value for the field
+     */
+    public Collection indexBy(String field, boolean unique)
+    {
+        CollectionIndex index = new CollectionIndex(field, unique);
+
+        index.build(items);
+        indexes.put(field, index);
+
+        return this;
+    }
+
+    /**
+     * Checks to see if the collection has a hash index for the given field.
+     *
+     * @param field The field to check if is indexed.
+     *
+     * @return true if the field is indexed, otherwise it will return false.
+     */
+    public boolean isIndexed(String field)
+    {
+        return indexes.containsKey(field);
+    }
+
+    /**
+     * Removes the hash index for the given field, if the field isn't indexed nothing will happen.
+     *
+     * @param field The field the index should be removed for.
+     *
+     * @return the collection instance.
+     */
+    public Collection dropIndex(String field)
+    {
+        indexes.remove(field);
+
+        return this;
+    }
+
     /**
      * Returns <code>true</code> if this collection contains no elements.
      *
@@ -422,6 +523,29 @@ public class Collection implements Cloneable, Iterable<DataRow>
         return max;
     }
 
+    /**
+     * Adds a copy of all the data rows from the given collection to the end of this collection,
+     * along with the keys of the given collection that doesn't exist in this collection yet.
+     *
+     * @param collection The collection to merge into this collection.
+     *
+     * @return the collection instance.
+     */
+    public Collection merge(Collection collection)
+    {
+        for (Map.Entry<String, String> key : collection.keys.entrySet()) {
+            keys.putIfAbsent(key.getKey(), key.getValue());
+        }
+
+        for (DataRow row : collection.items) {
+            items.add(new DataRow(row));
+        }
+
+        invalidateIndexes();
+
+        return this;
+    }
+
     /**
      * Gets the min/lowest integer value from the provided field.
      *
@@ -537,9 +661,25 @@ public class Collection implements Cloneable, Iterable<DataRow>
             return null;
         }
 
+        invalidateIndexes();
+
         return items.remove(items.size() - 1);
     }
 
+    /**
+     * Adds a copy of the given data row to the end of the collection.
+     *
+     * @param row The data row to add.
+     *
+     * @return the collection instance.
+     */
+    public Collection push(DataRow row)
+    {
+        add(row);
+
+        return this;
+    }
+
     /**
      * Gets a random item from the collection
      *
@@ -562,6 +702,7 @@ public class Collection implements Cloneable, Iterable<DataRow>
     public Collection reverse()
     {
         Collections.reverse(items);
+        invalidateIndexes();
 
         return this;
     }
@@ -583,6 +724,10 @@ public class Collection implements Cloneable, Iterable<DataRow>
 
         String rValue = value.toString();
 
+        if (indexes.containsKey(field)) {
+            return indexes.get(field).search(items, rValue);
+        }
+
         for (int index = 0; index < items.size(); index++) {
             DataRow row = get(index);
 
@@ -602,7 +747,10 @@ public class Collection implements Cloneable, Iterable<DataRow>
     public DataRow shift()
     {
         try {
-            return items.remove(0);
+            DataRow row = items.remove(0);
+            invalidateIndexes();
+
+            return row;
         } catch (IndexOutOfBoundsException ex) {
             return null;
         }
@@ -616,6 +764,7 @@ public class Collection implements Cloneable, Iterable<DataRow>
     public Collection shuffle()
     {
         Collections.shuffle(items, random);
+        invalidateIndexes();
 
         return this;
     }
@@ -632,6 +781,7 @@ public class Collection implements Cloneable, Iterable<DataRow>
     public Collection sort(Comparator<DataRow> comparator)
     {
         Collections.sort(items, comparator);
+        invalidateIndexes();
 
         return this;
     }
@@ -680,6 +830,90 @@ public class Collection implements Cloneable, Iterable<DataRow>
         return items.size();
     }
 
+    /**
+     * Calculates the count, sum, min, max and average for the given field in a single pass over
+     * the collection, rows where the field is missing, <code>NULL</code>, or not a number are skipped.
+     * <p>
+     * If the collection has more items than the {@link #setParallelThreshold(int) parallel threshold},
+     * the stats will be calculated in parallel using the common fork-join pool.
+     *
+     * @param field The field to calculate the stats for.
+     *
+     * @return the stats for the field
+     */
+    public CollectionStats stats(String field)
+    {
+        return stats(new String[]{field}).get(field);
+    }
+
+    /**
+     * Calculates the count, sum, min, max and average for each of the given fields
+     * in a single pass over the collection.
+     *
+     * @see #stats(String)
+     *
+     * @param fields The fields to calculate the stats for.
+     *
+     * @return a map of the stats, keyed by the field, in the order the fields was given, fields
+     *         that are given more than once are only calculated once
+     */
+    public Map<String, CollectionStats> stats(String... fields)
+    {
+        StatsAccumulator result = useParallel()
+                                  ? IntStream.range(0, items.size()).parallel().collect(() -> new StatsAccumulator(fields),
+                                      ( accumulator, index ) -> accumulator.accept(items.get(index)), StatsAccumulator::combine)
+                                  : accumulate(new StatsAccumulator(fields));
+
+        return result.stats;
+    }
+
+    /**
+     * Calculates the count, sum, min, max and average for the given field for each group of rows
+     * that has the same value for the group field, in a single pass over the collection.
+     *
+     * @see #stats(String)
+     *
+     * @param group The field the rows should be grouped by.
+     * @param field The field to calculate the stats for.
+     *
+     * @return a map of the stats, keyed by the value of the group field, in the order the groups was found
+     */
+    public Map<String, CollectionStats> statsBy(String group, String field)
+    {
+        GroupAccumulator result = useParallel()
+                                  ? IntStream.range(0, items.size()).parallel().collect(() -> new GroupAccumulator(group, field),
+                                      ( accumulator, index ) -> accumulator.accept(items.get(index)), GroupAccumulator::combine)
+                                  : accumulate(new GroupAccumulator(group, field));
+
+        return result.groups;
+    }
+
+    /**
+     * Sets the amount of items a collection must have before stats are calculated in parallel using
+     * the common fork-join pool, parallel stats are disabled by default, and can be disabled
+     * again by setting the threshold to <code>0</code>.
+     *
+     * @param threshold The minimum amount of items, or <code>0</code> to disable parallel stats.
+     */
+    public static void setParallelThreshold(int threshold)
+    {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("The parallel threshold can't be negative.");
+        }
+
+        parallelThreshold = threshold;
+    }
+
+    /**
+     * Gets the amount of items a collection must have before stats are calculated in parallel.
+     *
+     * @return the parallel threshold, or <code>0</code> if parallel stats are disabled
+     */
+    public static int getParallelThreshold()
+    {
+        return parallelThreshold;
+    }
+
     /**
      * Calculates the sum of a list of integers.
      *
@@ -726,6 +960,10 @@ public class Collection implements Cloneable, Iterable<DataRow>
             iterator.remove();
         }
 
+        if (!collection.isEmpty()) {
+            invalidateIndexes();
+        }
+
         return collection;
     }
 
@@ -746,6 +984,11 @@ public class Collection implements Cloneable, Iterable<DataRow>
         }
 
         String rValue = value.toString();
+
+        if (indexes.containsKey(field)) {
+            return indexes.get(field).where(items, rValue);
+        }
+
         List<DataRow> rows = new ArrayList<>();
 
         items.stream().filter(( row ) -> (row.getString(field).equals(rValue))).forEach(( row ) -> {
@@ -772,6 +1015,11 @@ public class Collection implements Cloneable, Iterable<DataRow>
         }
 
         String rValue = value.toString();
+
+        if (indexes.containsKey(field)) {
+            return indexes.get(field).whereLoose(items, rValue);
+        }
+
         List<DataRow> rows = new ArrayList<>();
 
         items.stream().filter(( row ) -> (row.getString(field).equalsIgnoreCase(rValue))).forEach(( row ) -> {
@@ -788,15 +1036,28 @@ public class Collection implements Cloneable, Iterable<DataRow>
     }
 
     /**
-     * Converts the collection to a JSON string using {@link Gson}.
+     * Converts the collection to a JSON string using the {@link JsonRowWriter}.
      *
      * @return the JSON collection string
      */
     public String toJson()
     {
-        Gson gson = new Gson();
+        return JsonRowWriter.toString(items);
+    }
 
-        return gson.toJson(items);
+    /**
+     * Writes the collection as JSON to the given writer, one row at a time, without
+     * building the JSON string for the entire collection in memory first.
+     *
+     * @see JsonRowWriter#write(Iterable, Writer)
+     *
+     * @param writer The writer the JSON should be written to.
+     *
+     * @throws IOException if an I/O error occurs while writing the collection
+     */
+    public void toJson(Writer writer) throws IOException
+    {
+        JsonRowWriter.write(items, writer);
     }
 
     @Override
@@ -808,6 +1069,28 @@ public class Collection implements Cloneable, Iterable<DataRow>
     private void add(DataRow row)
     {
         this.items.add(new DataRow(row));
+        invalidateIndexes();
+    }
+
+    private boolean useParallel()
+    {
+        return parallelThreshold > 0 && items.size() >= parallelThreshold;
+    }
+
+    private <T extends Consumer<DataRow>> T accumulate(T accumulator)
+    {
+        for (DataRow row : items) {
+            accumulator.accept(row);
+        }
+
+        return accumulator;
+    }
+
+    private void invalidateIndexes()
+    {
+        for (CollectionIndex index : indexes.values()) {
+            index.invalidate();
+        }
     }
 
     public interface CollectionEach
@@ -823,6 +1106,123 @@ public class Collection implements Cloneable, Iterable<DataRow>
         public void forEach(int key, DataRow value);
     }
 
+    /**
+     * Reads the numeric value of a field from rows, the slot of the field is only looked
+     * up again when a row uses a different schema than the previous row.
+     */
+    private static final class FieldReader
+    {
+        private final String field;
+        private RowSchema schema = null;
+        private int slot = -1;
+
+        FieldReader(String field)
+        {
+            this.field = field;
+        }
+
+        Object read(DataRow row)
+        {
+            if (row.getSchema() != schema) {
+                schema = row.getSchema();
+                slot = schema.indexOf(field);
+            }
+
+            return slot < 0 ? null : row.getSlot(slot);
+        }
+
+        double readNumber(DataRow row)
+        {
+            Object value = read(row);
+
+            if (value instanceof Number) {
+                return ((Number) value).doubleValue();
+            }
+
+            if (value instanceof String) {
+                try {
+                    return Double.parseDouble((String) value);
+                } catch (NumberFormatException ex) {
+                    return Double.NaN;
+                }
+            }
+
+            return Double.NaN;
+        }
+    }
+
+    private static final class StatsAccumulator implements Consumer<DataRow>
+    {
+        private final FieldReader[] readers;
+        private final CollectionStats[] values;
+        private final Map<String, CollectionStats> stats = new LinkedHashMap<>();
+
+        StatsAccumulator(String[] fields)
+        {
+            for (String field : fields) {
+                stats.putIfAbsent(field, new CollectionStats());
+            }
+
+            this.readers = new FieldReader[stats.size()];
+            this.values = new CollectionStats[stats.size()];
+
+            int index = 0;
+            for (Map.Entry<String, CollectionStats> entry : stats.entrySet()) {
+                readers[index] = new FieldReader(entry.getKey());
+                values[index++] = entry.getValue();
+            }
+        }
+
+        @Override
+        public void accept(DataRow row)
+        {
+            for (int i = 0; i < readers.length; i++) {
+                double value = readers[i].readNumber(row);
+
+                if (!Double.isNaN(value)) {
+                    values[i].accept(value);
+                }
+            }
+        }
+
+        void combine(StatsAccumulator other)
+        {
+            for (Map.Entry<String, CollectionStats> entry : other.stats.entrySet()) {
+                stats.get(entry.getKey()).combine(entry.getValue());
+            }
+        }
+    }
+
+    private static final class GroupAccumulator implements Consumer<DataRow>
+    {
+        private final FieldReader group;
+        private final FieldReader field;
+        private final Map<String, CollectionStats> groups = new LinkedHashMap<>();
+
+        GroupAccumulator(String group, String field)
+        {
+            this.group = new FieldReader(group);
+            this.field = new FieldReader(field);
+        }
+
+        @Override
+        public void accept(DataRow row)
+        {
+            double value = field.readNumber(row);
+
+            if (!Double.isNaN(value)) {
+                groups.computeIfAbsent(String.valueOf(group.read(row)), key -> new CollectionStats()).accept(value);
+            }
+        }
+
+        void combine(GroupAccumulator other)
+        {
+            for (Map.Entry<String, CollectionStats> entry : other.groups.entrySet()) {
+                groups.computeIfAbsent(entry.getKey(), key -> new CollectionStats()).combine(entry.getValue());
+            }
+        }
+    }
+
     private class CollectionIterator implements Iterator<DataRow>
     {
 
@@ -0,0 +1,234 @@
+package com.sendev.databasemanager.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+final class CollectionIndex
+{
+    private final String field;
+    private final boolean unique;
+
+    /**
+     * The positions of the rows, keyed by the string value of the indexed field, this
+     * matches the strict string comparison used by the collection where method.
+     */
+    private final Map<String, Positions> strict = new HashMap<>();
+
+    /**
+     * The positions of the rows, keyed by the raw value of the indexed field, this
+     * matches the object equality comparison used by the collection contains method.
+     */
+    private final Map<Object, Positions> values = new HashMap<>();
+
+    /**
+     * The positions of the rows, keyed by the case folded string value of the indexed field,
+     * the loose index is only built the first time it's used, since most indexes
+     * are only ever used for strict comparisons.
+     */
+    private Map<String, Positions> loose = null;
+
+    private boolean stale = true;
+
+    /**
+     * Creates a new collection index for the given field.
+     *
+     * @param field  The field that should be indexed.
+     * @param unique Determines if every row must have a unique value for the field.
+     */
+    CollectionIndex(String field, boolean unique)
+    {
+        this.field = field;
+        this.unique = unique;
+    }
+
+    /**
+     * Marks the index as stale, causing it to be rebuilt the next time it's used.
+     */
+    void invalidate()
+    {
+        stale = true;
+    }
+
+    /**
+     * Gets all the rows where the indexed field equals the given value, using a strict comparison.
+     *
+     * @param items The items of the collection the index belongs to.
+     * @param value The value that should match the field.
+     *
+     * @return the matching rows, in collection order
+     */
+    List<DataRow> where(List<DataRow> items, String value)
+    {
+        return collect(items, build(items).strict.get(value));
+    }
+
+    /**
+     * Gets all the rows where the indexed field equals the given value, using a loose comparison.
+     *
+     * @param items The items of the collection the index belongs to.
+     * @param value The value that should match the field.
+     *
+     * @return the matching rows, in collection order
+     */
+    List<DataRow> whereLoose(List<DataRow> items, String value)
+    {
+        build(items);
+
+        if (loose == null) {
+            loose = new HashMap<>();
+
+            for (Map.Entry<String, Positions> entry : strict.entrySet()) {
+                loose.computeIfAbsent(fold(entry.getKey()), key -> new Positions()).addAll(entry.getValue());
+            }
+
+            for (Positions positions : loose.values()) {
+                positions.sort();
+            }
+        }
+
+        return collect(items, loose.get(fold(value)));
+    }
+
+    /**
+     * Gets the position of the first row where the indexed field equals the given value.
+     *
+     * @param items The items of the collection the index belongs to.
+     * @param value The value that should match the field.
+     *
+     * @return either (1) the position of the first matching row
+     *         or (2) <code>-1</code> if no rows matches the value
+     */
+    int search(List<DataRow> items, String value)
+    {
+        Positions positions = build(items).strict.get(value);
+
+        return positions == null ? -1 : positions.get(0);
+    }
+
+    /**
+     * Checks to see if any of the rows has the given value for the indexed field.
+     *
+     * @param items The items of the collection the index belongs to.
+     * @param value The value to look for.
+     *
+     * @return true if a row has the value, otherwise it will return false.
+     */
+    boolean contains(List<DataRow> items, Object value)
+    {
+        return build(items).values.containsKey(value);
+    }
+
+    /**
+     * Builds the index for the given items, if the index isn't stale nothing will happen.
+     *
+     * @param items The items of the collection the index belongs to.
+     *
+     * @return the collection index instance.
+     *
+     * @throws IllegalStateException if the index is unique, and two rows has the same value for the field
+     */
+    CollectionIndex build(List<DataRow> items)
+    {
+        if (!stale) {
+            return this;
+        }
+
+        strict.clear();
+        values.clear();
+        loose = null;
+
+        for (int position = 0; position < items.size(); position++) {
+            DataRow row = items.get(position);
+            Positions positions = strict.computeIfAbsent(row.getString(field), key -> new Positions());
+
+            if (unique && positions.size > 0) {
+                strict.clear();
+                values.clear();
+
+                throw new IllegalStateException(String.format(
+                    "Failed to build unique index, the \"%s\" field has the value \"%s\" more than once.", field, row.getString(field)
+                ));
+            }
+
+            positions.add(position);
+
+            Object value = row.get(field);
+            if (value != null) {
+                values.computeIfAbsent(value, key -> new Positions()).add(position);
+            }
+        }
+
+        stale = false;
+
+        return this;
+    }
+
+    private List<DataRow> collect(List<DataRow> items, Positions positions)
+    {
+        if (positions == null) {
+            return new ArrayList<>();
+        }
+
+        List<DataRow> rows = new ArrayList<>(positions.size);
+
+        for (int i = 0; i < positions.size; i++) {
+            rows.add(items.get(positions.get(i)));
+        }
+
+        return rows;
+    }
+
+    /**
+     * Folds the case of the given string the same way the <code>String.equalsIgnoreCase</code> method
+     * compares characters, so two strings have the same folded value if they're equal ignoring case.
+     *
+     * @param value The value to fold.
+     *
+     * @return the case folded value
+     */
+    private static String fold(String value)
+    {
+        char[] chars = value.toCharArray();
+
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+        }
+
+        return new String(chars);
+    }
+
+    private static final class Positions
+    {
+        private int[] positions = new int[1];
+        private int size = 0;
+
+        void add(int position)
+        {
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+
+            positions[size++] = position;
+        }
+
+        void addAll(Positions other)
+        {
+            for (int i = 0; i < other.size; i++) {
+                add(other.positions[i]);
+            }
+        }
+
+        int get(int index)
+        {
+            return positions[index];
+        }
+
+        void sort()
+        {
+            Arrays.sort(positions, 0, size);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.sendev.databasemanager.utils;
+
+public class CollectionStats
+{
+    private long count = 0;
+    private double sum = 0;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Gets the amount of numeric values the stats was calculated from, rows where the
+     * field is missing, <code>NULL</code>, or not a number are not counted.
+     *
+     * @return the amount of values
+     */
+    public long getCount()
+    {
+        return count;
+    }
+
+    /**
+     * Gets the sum of all the values.
+     *
+     * @return the sum of the values
+     */
+    public double getSum()
+    {
+        return sum;
+    }
+
+    /**
+     * Gets the lowest value.
+     *
+     * @return either (1) the lowest value
+     *         or (2) <code>0</code> if there are no values
+     */
+    public double getMin()
+    {
+        return count == 0 ? 0 : min;
+    }
+
+    /**
+     * Gets the highest value.
+     *
+     * @return either (1) the highest value
+     *         or (2) <code>0</code> if there are no values
+     */
+    public double getMax()
+    {
+        return count == 0 ? 0 : max;
+    }
+
+    /**
+     * Gets the average of all the values.
+     *
+     * @return either (1) the average of the values
+     *         or (2) <code>0</code> if there are no values
+     */
+    public double getAverage()
+    {
+        return count == 0 ? 0 : sum / count;
+    }
+
+    /**
+     * Adds the given value to the stats.
+     *
+     * @param value The value to add.
+     */
+    void accept(double value)
+    {
+        count++;
+        sum += value;
+
+        if (value < min) {
+            min = value;
+        }
+
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    /**
+     * Adds the values of the given stats to the stats, used to combine
+     * the stats calculated for different parts of a collection.
+     *
+     * @param other The stats to combine with.
+     */
+    void combine(CollectionStats other)
+    {
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("CollectionStats{count=%s, sum=%s, min=%s, max=%s, average=%s}",
+            getCount(), getSum(), getMin(), getMax(), getAverage()
+        );
+    }
+}
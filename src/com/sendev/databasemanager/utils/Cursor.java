@@ -0,0 +1,200 @@
+package com.sendev.databasemanager.utils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.sendev.databasemanager.exceptions.DatabaseException;
+
+public class Cursor implements AutoCloseable, Iterable<DataRow>
+{
+    private final Statement statement;
+    private final ResultSet result;
+    private final Runnable release;
+    private final RowReader reader;
+
+    private boolean iterated = false;
+    private boolean closed = false;
+
+    /**
+     * Creates a new cursor over the provided result set, the cursor owns the statement and
+     * result set, and will close both of them once the cursor is closed, the release
+     * task is run after they have been closed, giving the leased connection back.
+     *
+     * @param statement The statement the result set was produced by.
+     * @param result    The result set to iterate over.
+     * @param release   The task releasing the connection the cursor is using, or <code>NULL</code>.
+     *
+     * @exception SQLException if a database access error occurs while reading the result set meta data
+     */
+    public Cursor(Statement statement, ResultSet result, Runnable release) throws SQLException
+    {
+        this.statement = statement;
+        this.result = result;
+        this.release = release;
+        this.reader = new RowReader(result.getMetaData());
+    }
+
+    /**
+     * Gets an iterator that lazily reads the rows from the result set, the cursor will
+     * close itself once the last row has been read, a cursor can only be iterated once.
+     *
+     * @return the data row iterator
+     *
+     * @throws IllegalStateException if the cursor has already been iterated, or has been closed
+     */
+    @Override
+    public Iterator<DataRow> iterator()
+    {
+        if (iterated || closed) {
+            throw new IllegalStateException("The cursor has already been iterated or closed, cursors can only be iterated once.");
+        }
+
+        iterated = true;
+
+        return new Iterator<DataRow>()
+        {
+            private boolean fetched = false;
+            private boolean available = false;
+
+            @Override
+            public boolean hasNext()
+            {
+                if (!fetched) {
+                    available = advance();
+                    fetched = true;
+                }
+
+                return available;
+            }
+
+            @Override
+            public DataRow next()
+            {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                fetched = false;
+
+                return readRow();
+            }
+        };
+    }
+
+    /**
+     * Gets a sequential stream of the rows from the cursor, closing the stream will
+     * also close the cursor, so the stream should be used in a try-with-resources
+     * statement, unless it's consumed completely.
+     *
+     * @return the data row stream
+     *
+     * @throws IllegalStateException if the cursor has already been iterated, or has been closed
+     */
+    public Stream<DataRow> stream()
+    {
+        Spliterator<DataRow> spliterator = Spliterators.spliteratorUnknownSize(
+            iterator(), Spliterator.ORDERED | Spliterator.NONNULL
+        );
+
+        return StreamSupport.stream(spliterator, false).onClose(this::close);
+    }
+
+    /**
+     * Writes the rows from the cursor as JSON to the given writer, one row at a time, so
+     * the rows are streamed from the database to the writer without ever holding the
+     * entire result in memory, the cursor is closed once all the rows has been written.
+     *
+     * @see JsonRowWriter#write(Iterable, Writer)
+     *
+     * @param writer The writer the JSON should be written to.
+     *
+     * @throws IOException           if an I/O error occurs while writing the rows
+     * @throws IllegalStateException if the cursor has already been iterated, or has been closed
+     */
+    public void toJson(Writer writer) throws IOException
+    {
+        try {
+            JsonRowWriter.write(this, writer);
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * Checks to see if the cursor has been closed.
+     *
+     * @return true if the cursor has been closed, otherwise it will return false.
+     */
+    public boolean isClosed()
+    {
+        return closed;
+    }
+
+    /**
+     * Closes the cursor, closing the result set and statement the cursor is using,
+     * and releasing the connection, closing a closed cursor does nothing.
+     *
+     * @throws DatabaseException if a database access error occurs while closing the cursor
+     */
+    @Override
+    public void close()
+    {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+
+        try {
+            result.close();
+            statement.close();
+        } catch (SQLException ex) {
+            throw new DatabaseException("Failed to close the cursor: " + ex.getMessage(), ex);
+        } finally {
+            if (release != null) {
+                release.run();
+            }
+        }
+    }
+
+    private boolean advance()
+    {
+        if (closed) {
+            return false;
+        }
+
+        try {
+            if (result.next()) {
+                return true;
+            }
+        } catch (SQLException ex) {
+            close();
+
+            throw new DatabaseException("Failed to read the next row from the cursor: " + ex.getMessage(), ex);
+        }
+
+        close();
+
+        return false;
+    }
+
+    private DataRow readRow()
+    {
+        try {
+            return reader.read(result);
+        } catch (SQLException ex) {
+            close();
+
+            throw new DatabaseException("Failed to read the current row from the cursor: " + ex.getMessage(), ex);
+        }
+    }
+}
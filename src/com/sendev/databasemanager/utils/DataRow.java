@@ -1,17 +1,32 @@
 package com.sendev.databasemanager.utils;
 
+import java.sql.Timestamp;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 
-import com.google.gson.Gson;
-
 import com.sendev.databasemanager.exceptions.InvalidFormatException;
 
 public class DataRow
 {
 
-    private final Map<String, Object> items;
+    /**
+     * The schema of the row, holding the column names and their slot index,
+     * rows created from the same result all share the same schema.
+     */
+    private final RowSchema schema;
+
+    /**
+     * The values of the row, stored in the slot of their column.
+     */
+    private final Object[] values;
+
+    /**
+     * The relations that has been eager loaded onto the row, keyed by the name of the
+     * relation, the map is only created once the first relation is loaded.
+     */
+    private Map<String, Collection> relations;
 
     /**
      * Creates a new data row object from the provided data row.
@@ -20,10 +35,15 @@ public class DataRow
      */
     public DataRow(DataRow row)
     {
-        this.items = new HashMap<>();
+        this.schema = row.schema;
+        this.values = row.values.clone();
 
-        for (Map.Entry<String, Object> item : row.items.entrySet()) {
-            this.items.put(item.getKey(), item.getValue());
+        if (row.relations != null) {
+            this.relations = new HashMap<>();
+
+            for (Map.Entry<String, Collection> relation : row.relations.entrySet()) {
+                relations.put(relation.getKey(), new Collection(relation.getValue()));
+            }
         }
     }
 
@@ -34,7 +54,36 @@ public class DataRow
      */
     public DataRow(Map<String, Object> items)
     {
-        this.items = items;
+        this(createSchema(items), items);
+    }
+
+    /**
+     * Creates a new data row object from a map of data, using the given schema, the
+     * schema must have the same columns as the keys in the map of data.
+     *
+     * @param schema The schema the row should use.
+     * @param items  The map to generate the data row from.
+     */
+    DataRow(RowSchema schema, Map<String, Object> items)
+    {
+        this.schema = schema;
+        this.values = new Object[schema.size()];
+
+        for (Map.Entry<String, Object> item : items.entrySet()) {
+            values[schema.indexOf(item.getKey())] = item.getValue();
+        }
+    }
+
+    /**
+     * Creates a new data row object from the given slot values.
+     *
+     * @param schema The schema the row should use.
+     * @param values The values of the row, in schema slot order.
+     */
+    DataRow(RowSchema schema, Object[] values)
+    {
+        this.schema = schema;
+        this.values = values;
     }
 
     /**
@@ -61,11 +110,9 @@ public class DataRow
      */
     public Object get(String name, Object def)
     {
-        if (has(name)) {
-            return items.get(name);
-        }
+        int slot = schema.indexOf(name);
 
-        return def;
+        return slot < 0 ? def : values[slot];
     }
 
     /**
@@ -94,13 +141,15 @@ public class DataRow
     {
         Object value = get(name, def);
 
-        if (isString(value)) {
-            String str = String.valueOf(value);
+        if (value instanceof Boolean) {
+            return (boolean) value;
+        }
 
-            return isEqual(str, "1", "true");
+        if (value instanceof Number) {
+            return ((Number) value).intValue() != 0;
         }
 
-        return (boolean) value;
+        return value != null && isEqual(String.valueOf(value), "1", "true");
     }
 
     /**
@@ -129,33 +178,17 @@ public class DataRow
     {
         Object value = get(name, def);
 
-        if (isString(value)) {
-            String str = String.valueOf(value);
-
-            try {
-                return Double.parseDouble(str);
-            } catch (NumberFormatException ex) {
-                return def;
-            }
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
         }
 
-        switch (getType(value)) {
-            case "Integer":
-                value = ((Integer) value).doubleValue();
-                break;
-
-            case "Long":
-                value = ((Long) value).doubleValue();
-                break;
-
-            case "Float":
-                value = ((Float) value).doubleValue();
-                break;
+        if (value instanceof Boolean) {
+            return (boolean) value ? 1 : 0;
         }
 
         try {
-            return (double) value;
-        } catch (ClassCastException ex) {
+            return Double.parseDouble(String.valueOf(value));
+        } catch (NumberFormatException ex) {
             return def;
         }
     }
@@ -186,33 +219,17 @@ public class DataRow
     {
         Object value = get(name, def);
 
-        if (isString(value)) {
-            String str = String.valueOf(value);
-
-            try {
-                return Integer.parseInt(str);
-            } catch (NumberFormatException ex) {
-                return def;
-            }
+        if (value instanceof Number) {
+            return ((Number) value).intValue();
         }
 
-        switch (getType(value)) {
-            case "Double":
-                value = ((Double) value).intValue();
-                break;
-
-            case "Long":
-                value = ((Long) value).intValue();
-                break;
-
-            case "Float":
-                value = ((Float) value).intValue();
-                break;
+        if (value instanceof Boolean) {
+            return (boolean) value ? 1 : 0;
         }
 
         try {
-            return (int) value;
-        } catch (ClassCastException ex) {
+            return Integer.parseInt(String.valueOf(value));
+        } catch (NumberFormatException ex) {
             return def;
         }
     }
@@ -243,33 +260,17 @@ public class DataRow
     {
         Object value = get(name, def);
 
-        if (isString(value)) {
-            String str = String.valueOf(value);
-
-            try {
-                return Long.parseLong(str);
-            } catch (NumberFormatException ex) {
-                return def;
-            }
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
         }
 
-        switch (getType(value)) {
-            case "Double":
-                value = ((Double) value).longValue();
-                break;
-
-            case "Integer":
-                value = ((Integer) value).longValue();
-                break;
-
-            case "Float":
-                value = ((Float) value).longValue();
-                break;
+        if (value instanceof Boolean) {
+            return (boolean) value ? 1 : 0;
         }
 
         try {
-            return (long) value;
-        } catch (ClassCastException ex) {
+            return Long.parseLong(String.valueOf(value));
+        } catch (NumberFormatException ex) {
             return def;
         }
     }
@@ -300,33 +301,17 @@ public class DataRow
     {
         Object value = get(name, def);
 
-        if (isString(value)) {
-            String str = String.valueOf(value);
-
-            try {
-                return Float.parseFloat(str);
-            } catch (NumberFormatException ex) {
-                return def;
-            }
+        if (value instanceof Number) {
+            return ((Number) value).floatValue();
         }
 
-        switch (getType(value)) {
-            case "Double":
-                value = ((Double) value).floatValue();
-                break;
-
-            case "Integer":
-                value = ((Integer) value).floatValue();
-                break;
-
-            case "Long":
-                value = ((Long) value).floatValue();
-                break;
+        if (value instanceof Boolean) {
+            return (boolean) value ? 1 : 0;
         }
 
         try {
-            return (float) value;
-        } catch (ClassCastException ex) {
+            return Float.parseFloat(String.valueOf(value));
+        } catch (NumberFormatException ex) {
             return def;
         }
     }
@@ -357,6 +342,14 @@ public class DataRow
     {
         Object value = get(name, def);
 
+        // Timestamps are formatted the same way the database drivers formats them,
+        // leaving out the fraction of a second if the timestamp doesn't have one.
+        if (value instanceof Timestamp && ((Timestamp) value).getNanos() == 0) {
+            String timestamp = value.toString();
+
+            return timestamp.substring(0, timestamp.length() - 2);
+        }
+
         return String.valueOf(value);
     }
 
@@ -384,10 +377,14 @@ public class DataRow
      */
     public Carbon getTimestamp(String name, Carbon def)
     {
-        try {
-            String time = getString(name);
+        Object value = get(name);
+
+        if (value instanceof Date) {
+            return new Carbon((Date) value);
+        }
 
-            return new Carbon(time);
+        try {
+            return new Carbon(String.valueOf(value));
         } catch (InvalidFormatException ex) {
             return def;
         }
@@ -402,7 +399,48 @@ public class DataRow
      */
     public boolean has(String name)
     {
-        return items.containsKey(name);
+        return schema.indexOf(name) >= 0;
+    }
+
+    /**
+     * Sets the rows loaded for the given relation, single row relations
+     * are stored as a collection holding at most one row.
+     *
+     * @param name The name of the relation.
+     * @param rows The related rows.
+     */
+    public void setRelation(String name, Collection rows)
+    {
+        if (relations == null) {
+            relations = new HashMap<>();
+        }
+
+        relations.put(name, rows);
+    }
+
+    /**
+     * Gets the rows loaded for the given relation.
+     *
+     * @param name The name of the relation.
+     *
+     * @return either (1) The related rows, the collection is empty if no rows are related,
+     *         or (2) <code>NULL</code> if the relation hasn't been loaded.
+     */
+    public Collection getRelation(String name)
+    {
+        return relations == null ? null : relations.get(name);
+    }
+
+    /**
+     * Checks to see if the given relation has been loaded onto the data row.
+     *
+     * @param name The name of the relation.
+     *
+     * @return true if the relation has been loaded, otherwise it will return false.
+     */
+    public boolean hasRelation(String name)
+    {
+        return relations != null && relations.containsKey(name);
     }
 
     /**
@@ -412,7 +450,7 @@ public class DataRow
      */
     public Set<String> keySet()
     {
-        return items.keySet();
+        return schema.keySet();
     }
 
     @Override
@@ -422,25 +460,40 @@ public class DataRow
     }
 
     /**
-     * Converts the collection to a JSON string using {@link Gson}.
+     * Converts the data row to a JSON string using the {@link JsonRowWriter}.
      *
-     * @return the JSON collection string
+     * @return the JSON data row string
      */
     public String toJson()
     {
-        Gson gson = new Gson();
+        return JsonRowWriter.toString(this);
+    }
 
-        return gson.toJson(items);
+    /**
+     * Gets the value stored in the given slot of the row.
+     *
+     * @param slot The slot index, as given by the row schema.
+     *
+     * @return the value of the slot
+     */
+    Object getSlot(int slot)
+    {
+        return values[slot];
     }
 
-    private boolean isString(Object name)
+    /**
+     * Gets the schema used by the row.
+     *
+     * @return the row schema
+     */
+    RowSchema getSchema()
     {
-        return getType(name).equalsIgnoreCase("string");
+        return schema;
     }
 
-    private String getType(Object name)
+    static RowSchema createSchema(Map<String, Object> items)
     {
-        return name.getClass().getSimpleName();
+        return new RowSchema(items.keySet().toArray(new String[items.size()]));
     }
 
     private boolean isEqual(String name, String... items)
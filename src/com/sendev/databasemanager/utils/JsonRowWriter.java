@@ -0,0 +1,181 @@
+package com.sendev.databasemanager.utils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+
+public final class JsonRowWriter
+{
+
+    /**
+     * The shared Gson instance used to write values that aren't strings, numbers, booleans
+     * or dates, Gson instances are thread-safe, so a single instance can be shared.
+     */
+    private static final Gson GSON = new Gson();
+
+    /**
+     * The format used to write dates and timestamps.
+     */
+    private static final String DATE_FORMAT = "yyyy-MM-dd HH:mm:ss";
+
+    private JsonRowWriter()
+    {
+        // This class should not be instantiated.
+    }
+
+    /**
+     * Writes the given rows as a JSON array to the writer, one row at a time, so the JSON for the entire
+     * collection is never held in memory, rows are written in the same format as the
+     * {@link Collection#toJson() Collection.toJson} method, with numbers
+     * and booleans written as native JSON values.
+     * <p>
+     * The rows can be a {@link Collection}, or a {@link Cursor} to stream the rows straight from the
+     * database, the writer is flushed once all the rows has been written, but it's not closed.
+     *
+     * @param rows   The rows to write.
+     * @param writer The writer the JSON should be written to.
+     *
+     * @throws IOException if an I/O error occurs while writing the rows
+     */
+    public static void write(Iterable<DataRow> rows, Writer writer) throws IOException
+    {
+        JsonWriter json = createWriter(writer);
+        SimpleDateFormat format = new SimpleDateFormat(DATE_FORMAT);
+
+        json.beginArray();
+        for (DataRow row : rows) {
+            json.beginObject();
+            json.name("items");
+            writeRow(json, row, format);
+            json.endObject();
+        }
+        json.endArray();
+
+        json.flush();
+    }
+
+    /**
+     * Writes the given rows as a UTF-8 encoded JSON array to the output stream, the stream is
+     * flushed once all the rows has been written, but it's not closed.
+     *
+     * @see #write(Iterable, Writer)
+     *
+     * @param rows   The rows to write.
+     * @param stream The output stream the JSON should be written to.
+     *
+     * @throws IOException if an I/O error occurs while writing the rows
+     */
+    public static void write(Iterable<DataRow> rows, OutputStream stream) throws IOException
+    {
+        write(rows, new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Writes the given row as a JSON object to the writer, the writer is flushed
+     * once the row has been written, but it's not closed.
+     *
+     * @param row    The row to write.
+     * @param writer The writer the JSON should be written to.
+     *
+     * @throws IOException if an I/O error occurs while writing the row
+     */
+    public static void write(DataRow row, Writer writer) throws IOException
+    {
+        JsonWriter json = createWriter(writer);
+
+        writeRow(json, row, new SimpleDateFormat(DATE_FORMAT));
+
+        json.flush();
+    }
+
+    /**
+     * Converts the given rows to a JSON string.
+     *
+     * @param rows The rows to convert.
+     *
+     * @return the JSON string
+     */
+    static String toString(Iterable<DataRow> rows)
+    {
+        StringWriter writer = new StringWriter();
+
+        try {
+            write(rows, writer);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        return writer.toString();
+    }
+
+    /**
+     * Converts the given row to a JSON string.
+     *
+     * @param row The row to convert.
+     *
+     * @return the JSON string
+     */
+    static String toString(DataRow row)
+    {
+        StringWriter writer = new StringWriter();
+
+        try {
+            write(row, writer);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        return writer.toString();
+    }
+
+    private static JsonWriter createWriter(Writer writer)
+    {
+        JsonWriter json = new JsonWriter(writer);
+
+        // Matches the default Gson settings, so the output is
+        // the same as the output of the Gson toJson methods.
+        json.setHtmlSafe(true);
+        json.setSerializeNulls(false);
+
+        return json;
+    }
+
+    private static void writeRow(JsonWriter json, DataRow row, SimpleDateFormat format) throws IOException
+    {
+        RowSchema schema = row.getSchema();
+
+        json.beginObject();
+        for (String key : schema.keySet()) {
+            json.name(key);
+            writeValue(json, row.getSlot(schema.indexOf(key)), format);
+        }
+        json.endObject();
+    }
+
+    private static void writeValue(JsonWriter json, Object value, SimpleDateFormat format) throws IOException
+    {
+        if (value == null) {
+            json.nullValue();
+        } else if (value instanceof String) {
+            json.value((String) value);
+        } else if (value instanceof Boolean) {
+            json.value((boolean) value);
+        } else if (value instanceof Number) {
+            json.value((Number) value);
+        } else if (value instanceof Date) {
+            json.value(format.format((Date) value));
+        } else {
+            GSON.toJson(value, value.getClass(), json);
+        }
+    }
+}
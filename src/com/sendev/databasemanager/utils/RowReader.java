@@ -0,0 +1,183 @@
+package com.sendev.databasemanager.utils;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Date;
+
+final class RowReader
+{
+
+    /**
+     * The kinds of values the columns can be read as, each kind is read from the result
+     * set using the native JDBC getter for the kind, so numbers, booleans and
+     * timestamps never have to be converted to and from strings.
+     */
+    private enum Kind
+    {
+        STRING, INTEGER, LONG, DOUBLE, DECIMAL, BOOLEAN, DATE, TIMESTAMP, DYNAMIC;
+    }
+
+    private final RowSchema schema;
+    private final Kind[] kinds;
+
+    /**
+     * Creates a new row reader for the columns in the given result set meta data, the
+     * column types are resolved once, and reused for every row read by the reader.
+     *
+     * @param meta The result set meta data to create the reader for.
+     *
+     * @throws SQLException if a database access error occurs while reading the meta data
+     */
+    RowReader(ResultSetMetaData meta) throws SQLException
+    {
+        String[] columns = new String[meta.getColumnCount()];
+        this.kinds = new Kind[columns.length];
+
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = meta.getColumnLabel(i + 1);
+            kinds[i] = resolveKind(meta, i + 1);
+        }
+
+        this.schema = new RowSchema(columns);
+    }
+
+    /**
+     * Reads the current row of the result set into a data row, every row read
+     * by the reader shares the same schema of column names.
+     *
+     * @param result The result set to read the current row from.
+     *
+     * @return the data row for the current row
+     *
+     * @throws SQLException if a database access error occurs
+     */
+    DataRow read(ResultSet result) throws SQLException
+    {
+        Object[] values = new Object[kinds.length];
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = read(result, i);
+        }
+
+        return new DataRow(schema, values);
+    }
+
+    private Object read(ResultSet result, int index) throws SQLException
+    {
+        if (kinds[index] == Kind.STRING) {
+            return result.getString(index + 1);
+        }
+
+        try {
+            return readTyped(result, index);
+        } catch (SQLException ex) {
+            // Some drivers can't convert every value of a column to its reported
+            // type, like zero dates in MySQL, so we fall back to reading
+            // the column as a string for the rest of the result.
+            kinds[index] = Kind.STRING;
+
+            return result.getString(index + 1);
+        }
+    }
+
+    private Object readTyped(ResultSet result, int index) throws SQLException
+    {
+        int column = index + 1;
+
+        switch (kinds[index]) {
+            case INTEGER:
+                long integer = result.getLong(column);
+                if (result.wasNull()) {
+                    return null;
+                }
+
+                if (integer >= Integer.MIN_VALUE && integer <= Integer.MAX_VALUE) {
+                    return (int) integer;
+                }
+
+                return integer;
+
+            case LONG:
+                long value = result.getLong(column);
+
+                return result.wasNull() ? null : value;
+
+            case DOUBLE:
+                double decimal = result.getDouble(column);
+
+                return result.wasNull() ? null : decimal;
+
+            case DECIMAL:
+                return result.getBigDecimal(column);
+
+            case BOOLEAN:
+                // Booleans are read as 1 or 0, the same way MySQL stores them, so the
+                // numeric getters and the string value of the column stays the same.
+                int bool = result.getBoolean(column) ? 1 : 0;
+
+                return result.wasNull() ? null : bool;
+
+            case DATE:
+                return result.getDate(column);
+
+            case TIMESTAMP:
+                return result.getTimestamp(column);
+
+            case DYNAMIC:
+                Object object = result.getObject(column);
+                if (object == null || object instanceof Number || object instanceof Boolean || object instanceof Date) {
+                    return object;
+                }
+
+                return result.getString(column);
+
+            default:
+                return result.getString(column);
+        }
+    }
+
+    private Kind resolveKind(ResultSetMetaData meta, int column) throws SQLException
+    {
+        // Drivers for dynamically typed databases, like SQLite, can't tell what type the values of
+        // a column will have ahead of time, so the value is read using the type it's stored as.
+        if (Object.class.getName().equals(meta.getColumnClassName(column))) {
+            return Kind.DYNAMIC;
+        }
+
+        switch (meta.getColumnType(column)) {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+                return Kind.INTEGER;
+
+            case Types.BIGINT:
+                return meta.isSigned(column) ? Kind.LONG : Kind.DECIMAL;
+
+            case Types.REAL:
+            case Types.FLOAT:
+            case Types.DOUBLE:
+                return Kind.DOUBLE;
+
+            case Types.DECIMAL:
+            case Types.NUMERIC:
+                return Kind.DECIMAL;
+
+            case Types.BOOLEAN:
+                return Kind.BOOLEAN;
+
+            case Types.BIT:
+                return meta.getPrecision(column) > 1 ? Kind.STRING : Kind.BOOLEAN;
+
+            case Types.DATE:
+                return Kind.DATE;
+
+            case Types.TIMESTAMP:
+                return Kind.TIMESTAMP;
+
+            default:
+                return Kind.STRING;
+        }
+    }
+}
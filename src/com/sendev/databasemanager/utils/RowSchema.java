@@ -0,0 +1,84 @@
+package com.sendev.databasemanager.utils;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+final class RowSchema
+{
+    private final String[] columns;
+    private final Map<String, Integer> index;
+    private final Set<String> keys;
+
+    /**
+     * Creates a new row schema for the given columns, the schema is shared by every
+     * row created from the same result, so the column names and the lookup table
+     * is only stored once, if the same column name is used more than once,
+     * the name will refer to the first column with the name.
+     *
+     * @param columns The column names, in column order.
+     */
+    RowSchema(String[] columns)
+    {
+        this.columns = columns;
+        this.index = new HashMap<>((int) (columns.length / 0.75F) + 1);
+
+        Set<String> names = new LinkedHashSet<>();
+        for (int i = 0; i < columns.length; i++) {
+            index.putIfAbsent(columns[i], i);
+            names.add(columns[i]);
+        }
+
+        this.keys = Collections.unmodifiableSet(names);
+    }
+
+    /**
+     * Gets the slot index of the given column.
+     *
+     * @param name The name of the column.
+     *
+     * @return either (1) the slot index of the column
+     *         or (2) <code>-1</code> if the column doesn't exists
+     */
+    int indexOf(String name)
+    {
+        Integer slot = index.get(name);
+
+        return slot == null ? -1 : slot;
+    }
+
+    /**
+     * Gets the amount of slots rows using the schema has.
+     *
+     * @return the amount of slots
+     */
+    int size()
+    {
+        return columns.length;
+    }
+
+    /**
+     * Gets the unique column names of the schema, in column order.
+     *
+     * @return the column names
+     */
+    Set<String> keySet()
+    {
+        return keys;
+    }
+
+    /**
+     * Checks to see if the schema has the exact same columns as the given set of
+     * names, allowing rows with the same columns to share a single schema.
+     *
+     * @param names The column names to compare with.
+     *
+     * @return true if the schema has the same columns, otherwise it will return false.
+     */
+    boolean matches(Set<String> names)
+    {
+        return columns.length == names.size() && keys.size() == names.size() && keys.containsAll(names);
+    }
+}
@@ -0,0 +1,118 @@
+package com.sendev.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.sendev.databasemanager.utils.Collection;
+import com.sendev.databasemanager.utils.DataRow;
+
+/**
+ * Measures the heap used by the row structure of 100k rows, comparing the previous layout,
+ * where every row owned its own <code>HashMap</code> of column names and values, with
+ * the shared schema layout, where rows only store their values in an array of slots.
+ * <p>
+ * Both layouts reference the exact same value objects, so the numbers only include the
+ * memory used to hold the rows together, and not the values themselves.
+ * <p>
+ * Run with: <code>java -cp &lt;classpath&gt; com.sendev.benchmark.DataRowMemoryBenchmark</code>
+ */
+public class DataRowMemoryBenchmark
+{
+    private static final int ROWS = 100_000;
+
+    public static void main(String[] args) throws SQLException
+    {
+        Collection collection = load();
+
+        long base = usedHeap();
+        List<Map<String, Object>> maps = new ArrayList<>(ROWS);
+        for (DataRow row : collection) {
+            Map<String, Object> map = new HashMap<>();
+
+            for (String key : row.keySet()) {
+                map.put(key, row.get(key));
+            }
+
+            maps.add(map);
+        }
+        long legacy = usedHeap() - base;
+
+        report("HashMap per row", legacy, maps.size());
+        maps = null;
+
+        base = usedHeap();
+        List<DataRow> rows = new ArrayList<>(ROWS);
+        for (DataRow row : collection) {
+            rows.add(new DataRow(row));
+        }
+        long compact = usedHeap() - base;
+
+        report("shared schema slots", compact, rows.size());
+
+        System.out.println(String.format("%-22s %10.1f%%", "reduction", 100D - (compact * 100D / legacy)));
+    }
+
+    private static Collection load() throws SQLException
+    {
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite::memory:")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE `users` (`id` INTEGER PRIMARY KEY, `uuid` TEXT, `name` TEXT, `level` INTEGER, "
+                    + "`balance` DOUBLE, `kills` BIGINT, `online` BOOLEAN, `created_at` DATETIME);");
+            }
+
+            connection.setAutoCommit(false);
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO `users` VALUES (?, ?, ?, ?, ?, ?, ?, ?);")) {
+                for (int i = 1; i <= ROWS; i++) {
+                    insert.setInt(1, i);
+                    insert.setString(2, "00000000-0000-0000-0000-" + String.format("%012d", i));
+                    insert.setString(3, "User " + i);
+                    insert.setInt(4, i % 100);
+                    insert.setDouble(5, i * 1.5D);
+                    insert.setLong(6, i * 10_000_000L);
+                    insert.setBoolean(7, i % 2 == 0);
+                    insert.setString(8, "2016-05-18 12:30:00");
+                    insert.addBatch();
+                }
+
+                insert.executeBatch();
+            }
+            connection.commit();
+
+            try (Statement statement = connection.createStatement(); ResultSet result = statement.executeQuery("SELECT * FROM `users`;")) {
+                return new Collection(result);
+            }
+        }
+    }
+
+    private static void report(String name, long bytes, int rows)
+    {
+        System.out.println(String.format("%-22s %10.2f MB per 100k rows %8.1f bytes/row",
+            name, bytes / 1024D / 1024D * (100_000D / rows), (double) bytes / rows
+        ));
+    }
+
+    private static long usedHeap()
+    {
+        Runtime runtime = Runtime.getRuntime();
+
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,164 @@
+package com.sendev.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+import com.sendev.databasemanager.ConnectionLevel;
+import com.sendev.databasemanager.DatabaseManager;
+import com.sendev.databasemanager.connections.SQLite;
+import com.sendev.databasemanager.exceptions.InvalidPluginException;
+import com.sendev.databasemanager.plugin.contracts.DatabasePlugin;
+import com.sendev.databasemanager.query.QueryBuilder;
+import com.sendev.databasemanager.query.QueryType;
+
+/**
+ * Measures how long it takes the grammars to build SELECT, INSERT and UPDATE
+ * queries with 1, 100 and 10,000 rows, along with the amount of memory
+ * that is allocated per query that is built.
+ * <p>
+ * Run with: <code>java -cp &lt;classpath&gt; com.sendev.benchmark.GrammarBenchmark</code>
+ */
+public class GrammarBenchmark
+{
+    private static final int[] ROWS = new int[]{1, 100, 10_000};
+    private static final long TARGET_OPERATIONS = 1_000_000;
+
+    public static void main(String[] args)
+    {
+        DatabaseManager dbm = createDatabaseManager();
+
+        for (int rows : ROWS) {
+            run("SELECT where x " + rows, rows, () -> createSelect(dbm, rows));
+            run("INSERT rows x " + rows, rows, () -> createWithItems(dbm, QueryType.INSERT, rows));
+            run("UPDATE columns x " + rows, rows, () -> createWithItems(dbm, QueryType.UPDATE, rows));
+        }
+    }
+
+    private static void run(String name, int rows, Supplier<QueryBuilder> supplier)
+    {
+        QueryBuilder builder = supplier.get();
+        int iterations = (int) Math.max(10, TARGET_OPERATIONS / rows);
+
+        for (int i = 0; i < iterations; i++) {
+            builder.toSQL();
+        }
+
+        long allocated = getAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            builder.toSQL();
+        }
+        long elapsed = System.nanoTime() - start;
+        allocated = getAllocatedBytes() - allocated;
+
+        System.out.println(String.format("%-24s %14.1f ns/op %14d bytes/op",
+            name, (double) elapsed / iterations, allocated < 0 ? -1 : allocated / iterations
+        ));
+    }
+
+    private static QueryBuilder createSelect(DatabaseManager dbm, int rows)
+    {
+        QueryBuilder builder = new QueryBuilder("users").setDatabaseManager(dbm)
+            .select("id", "username", "users.email");
+
+        for (int i = 0; i < rows; i++) {
+            builder.orWhere("id", i);
+        }
+
+        return builder.orderBy("id").take(10);
+    }
+
+    private static QueryBuilder createWithItems(DatabaseManager dbm, QueryType type, int rows)
+    {
+        QueryBuilder builder = new QueryBuilder("users").setDatabaseManager(dbm);
+
+        if (type == QueryType.UPDATE) {
+            Map<String, Object> row = new HashMap<>();
+            for (int i = 0; i < rows; i++) {
+                row.put("column_" + i, i % 2 == 0 ? i : "value " + i);
+            }
+            builder.getItems().add(row);
+
+            builder.where("id", 1);
+        } else {
+            for (int i = 0; i < rows; i++) {
+                Map<String, Object> row = new HashMap<>();
+
+                row.put("id", i);
+                row.put("username", "user_" + i);
+                row.put("active", i % 2 == 0);
+                row.put("balance", i * 1.25D);
+
+                builder.getItems().add(row);
+            }
+        }
+
+        try {
+            Field field = QueryBuilder.class.getDeclaredField("type");
+
+            field.setAccessible(true);
+            field.set(builder, type);
+        } catch (NoSuchFieldException | IllegalAccessException ex) {
+            throw new RuntimeException(ex);
+        }
+
+        return builder;
+    }
+
+    private static long getAllocatedBytes()
+    {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+
+        return -1;
+    }
+
+    private static DatabaseManager createDatabaseManager()
+    {
+        DatabasePlugin plugin = new DatabasePlugin()
+        {
+            @Override
+            public void parse(Object plugin) throws InvalidPluginException
+            {
+            }
+
+            @Override
+            public String getName()
+            {
+                return "DatabaseManagerBenchmark";
+            }
+
+            @Override
+            public String getMain()
+            {
+                return GrammarBenchmark.class.getName();
+            }
+
+            @Override
+            public Logger getLogger()
+            {
+                return Logger.getLogger(getName());
+            }
+
+            @Override
+            public Executor getServerExecutor()
+            {
+                return null;
+            }
+        };
+
+        DatabaseManager dbm = new DatabaseManager(plugin);
+        dbm.addConnection("benchmark", ConnectionLevel.DEFAULT, new SQLite());
+
+        return dbm;
+    }
+}
@@ -0,0 +1,150 @@
+package com.sendev.benchmark;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonSerializer;
+
+import com.sendev.databasemanager.utils.Collection;
+import com.sendev.databasemanager.utils.DataRow;
+import com.sendev.databasemanager.utils.JsonRowWriter;
+
+/**
+ * Measures how long it takes to convert a collection of 100k rows to JSON, comparing the
+ * previous toJson implementation, which created a new Gson instance and built the JSON
+ * for the entire collection as a single string, with streaming the rows through the
+ * JsonRowWriter, along with the amount of memory allocated by each approach.
+ * <p>
+ * Run with: <code>java -cp &lt;classpath&gt; com.sendev.benchmark.JsonBenchmark</code>
+ */
+public class JsonBenchmark
+{
+    private static final int ROWS = 100_000;
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 10;
+
+    public static void main(String[] args) throws IOException
+    {
+        Collection collection = createCollection();
+
+        run("Gson toJson string", () -> legacyToJson(collection).length());
+        run("toJson string", () -> collection.toJson().length());
+        run("streaming writer", () -> {
+            CountingWriter writer = new CountingWriter();
+            JsonRowWriter.write(collection, writer);
+
+            return writer.count;
+        });
+    }
+
+    private static void run(String name, Task task) throws IOException
+    {
+        long length = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            length = task.run();
+        }
+
+        long allocated = getAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            task.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        allocated = getAllocatedBytes() - allocated;
+
+        System.out.println(String.format("%-20s %10.2f ms/op %14d bytes/op %12d chars",
+            name, elapsed / 1_000_000D / ITERATIONS, allocated < 0 ? -1 : allocated / ITERATIONS, length
+        ));
+    }
+
+    private static String legacyToJson(Collection collection)
+    {
+        Gson gson = new GsonBuilder()
+            .registerTypeAdapter(DataRow.class, (JsonSerializer<DataRow>) ( row, type, context ) -> {
+                Map<String, Object> items = new LinkedHashMap<>();
+                for (String key : row.keySet()) {
+                    items.put(key, row.get(key));
+                }
+
+                JsonObject json = new JsonObject();
+                json.add("items", context.serialize(items));
+
+                return json;
+            })
+            .create();
+
+        return gson.toJson(collection.all());
+    }
+
+    private static Collection createCollection()
+    {
+        List<Map<String, Object>> rows = new ArrayList<>(ROWS);
+
+        for (int i = 0; i < ROWS; i++) {
+            Map<String, Object> row = new LinkedHashMap<>();
+
+            row.put("id", i);
+            row.put("uuid", "00000000-0000-0000-0000-" + String.format("%012d", i));
+            row.put("name", "User " + i);
+            row.put("level", i % 100);
+            row.put("balance", i * 1.5D);
+            row.put("online", i % 2 == 0);
+
+            rows.add(row);
+        }
+
+        return new Collection(rows);
+    }
+
+    private static long getAllocatedBytes()
+    {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+
+        return -1;
+    }
+
+    private interface Task
+    {
+        long run() throws IOException;
+    }
+
+    private static class CountingWriter extends Writer
+    {
+        private long count = 0;
+
+        @Override
+        public void write(char[] buffer, int offset, int length)
+        {
+            count += length;
+        }
+
+        @Override
+        public void write(String string, int offset, int length)
+        {
+            count += length;
+        }
+
+        @Override
+        public void flush()
+        {
+        }
+
+        @Override
+        public void close()
+        {
+        }
+    }
+}
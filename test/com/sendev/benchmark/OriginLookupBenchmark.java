@@ -0,0 +1,138 @@
+package com.sendev.benchmark;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.logging.Logger;
+
+import com.sendev.databasemanager.ConnectionLevel;
+import com.sendev.databasemanager.DatabaseFactory;
+import com.sendev.databasemanager.DatabaseManager;
+import com.sendev.databasemanager.connections.SQLite;
+import com.sendev.databasemanager.exceptions.InvalidPluginException;
+import com.sendev.databasemanager.exceptions.OriginException;
+import com.sendev.databasemanager.factory.PluginContainer;
+import com.sendev.databasemanager.plugin.contracts.DatabasePlugin;
+import com.sendev.databasemanager.query.QueryBuilder;
+
+/**
+ * Measures the per-query overhead of finding the DBM instance a query builder belongs to,
+ * comparing the old exception based origin lookup with the cached call stack lookup,
+ * and with query builders that are bound to a DBM instance directly.
+ * <p>
+ * Run with: <code>java -cp &lt;classpath&gt; com.sendev.benchmark.OriginLookupBenchmark</code>
+ */
+public class OriginLookupBenchmark
+{
+    private static final int WARMUP = 100_000;
+    private static final int ITERATIONS = 200_000;
+
+    public static void main(String[] args)
+    {
+        DatabaseManager dbm = registerPlugin();
+
+        run("exception origin lookup", () -> legacyOriginLookup(QueryBuilder.class));
+        run("cached origin lookup", () -> DatabaseFactory.getDynamicOrigin(QueryBuilder.class));
+        run("cached origin lookup + SQL", () -> new QueryBuilder("users").where("id", 5).toSQL());
+        run("bound builder + SQL", () -> new QueryBuilder("users").setDatabaseManager(dbm).where("id", 5).toSQL());
+    }
+
+    private static void run(String name, Runnable task)
+    {
+        for (int i = 0; i < WARMUP; i++) {
+            task.run();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            task.run();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.println(String.format("%-30s %10.1f ns/op", name, (double) elapsed / ITERATIONS));
+    }
+
+    private static DatabaseManager registerPlugin()
+    {
+        DatabasePlugin plugin = new DatabasePlugin()
+        {
+            @Override
+            public void parse(Object plugin) throws InvalidPluginException
+            {
+            }
+
+            @Override
+            public String getName()
+            {
+                return "DatabaseManagerBenchmark";
+            }
+
+            @Override
+            public String getMain()
+            {
+                return OriginLookupBenchmark.class.getName();
+            }
+
+            @Override
+            public Logger getLogger()
+            {
+                return Logger.getLogger(getName());
+            }
+
+            @Override
+            public Executor getServerExecutor()
+            {
+                return null;
+            }
+        };
+
+        DatabaseManager dbm = new DatabaseManager(plugin);
+        dbm.addConnection("benchmark", ConnectionLevel.DEFAULT, new SQLite());
+
+        new DatabaseFactory().getContainers().put(plugin.getName(), new PluginContainer(plugin, dbm));
+
+        return dbm;
+    }
+
+    /**
+     * The origin lookup as it used to be done, creating a new instance of the class, throwing
+     * an origin exception from it and matching the stack trace against the plugin bindings.
+     */
+    private static DatabaseManager legacyOriginLookup(Class<?> object)
+    {
+        List<String> origins = new ArrayList<>();
+
+        try {
+            Method method = object.getMethod("throwsOriginException");
+
+            method.setAccessible(true);
+            method.invoke(object.newInstance());
+        } catch (NoSuchMethodException | SecurityException | IllegalAccessException | IllegalArgumentException | InstantiationException ex) {
+            return null;
+        } catch (InvocationTargetException ex) {
+            if (!(ex.getCause() instanceof OriginException)) {
+                return null;
+            }
+
+            for (StackTraceElement element : ex.getStackTrace()) {
+                String name = element.getClassName();
+
+                if (name.startsWith("sun.reflect") || name.startsWith("java.") || name.startsWith("com.sendev.databasemanager.")) {
+                    continue;
+                }
+
+                origins.add(name);
+            }
+        }
+
+        for (PluginContainer plugin : new DatabaseFactory().getContainers().values()) {
+            if (plugin.hasBinding(origins)) {
+                return plugin.getInstance();
+            }
+        }
+
+        return null;
+    }
+}
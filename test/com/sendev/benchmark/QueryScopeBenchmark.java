@@ -0,0 +1,108 @@
+package com.sendev.benchmark;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+
+import com.sendev.databasemanager.eloquent.Eloquent;
+import com.sendev.databasemanager.eloquent.QueryScope;
+import com.sendev.databasemanager.query.QueryBuilder;
+
+/**
+ * Measures the throughput of applying the <code>active</code> and <code>recent</code> query
+ * scopes to a model, comparing the old lookup, where every call to <code>with</code> scanned
+ * all the public methods of the model and called the scopes using reflection, with the
+ * cached model metadata, where the scopes are called through method handles.
+ * <p>
+ * Run with: <code>java -cp &lt;classpath&gt; com.sendev.benchmark.QueryScopeBenchmark</code>
+ */
+public class QueryScopeBenchmark
+{
+    private static final int WARMUP = 200_000;
+    private static final int ITERATIONS = 1_000_000;
+
+    public static void main(String[] args)
+    {
+        run("reflective scope lookup", () -> legacyWith(new User(), "active", "recent"));
+        run("cached scope handles", () -> new User().with("active", "recent"));
+    }
+
+    private static void run(String name, Runnable task)
+    {
+        for (int i = 0; i < WARMUP; i++) {
+            task.run();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            task.run();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.println(String.format("%-26s %10.1f ns/op %12.0f ops/s",
+            name, (double) elapsed / ITERATIONS, ITERATIONS / (elapsed / 1_000_000_000D)
+        ));
+    }
+
+    /**
+     * The scope lookup as it used to be done by <code>Eloquent.with</code>, scanning every public
+     * method of the model for the query scope annotation and calling it using reflection.
+     */
+    private static Eloquent legacyWith(User model, String... fields)
+    {
+        List<String> methods = Arrays.asList(fields);
+
+        for (Method method : model.getClass().getMethods()) {
+            if (!methods.contains(method.getName()) || method.getAnnotations().length == 0) {
+                continue;
+            }
+
+            boolean isQueryHandler = false;
+            for (Annotation an : method.getAnnotations()) {
+                if (an.annotationType().getName().equals(QueryScope.class.getName())) {
+                    isQueryHandler = true;
+                    break;
+                }
+            }
+
+            if (isQueryHandler) {
+                try {
+                    method.setAccessible(true);
+                    method.invoke(model, model.query());
+                } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException ex) {
+                    throw new RuntimeException(ex);
+                }
+            }
+        }
+
+        return model;
+    }
+
+    public static class User extends Eloquent
+    {
+        @Override
+        protected String table()
+        {
+            return "users";
+        }
+
+        @QueryScope
+        public void active(QueryBuilder query)
+        {
+            query.where("active", true);
+        }
+
+        @QueryScope
+        public void recent(QueryBuilder query)
+        {
+            query.orderBy("created_at", "desc").take(10);
+        }
+
+        QueryBuilder query()
+        {
+            return builder;
+        }
+    }
+}
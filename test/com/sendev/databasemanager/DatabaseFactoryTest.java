@@ -0,0 +1,54 @@
+package com.sendev.databasemanager;
+
+import java.util.logging.Logger;
+
+import org.junit.Test;
+
+import com.sendev.databasemanager.factory.PluginContainer;
+import com.sendev.databasemanager.plugin.type.BukkitPlugin;
+import com.sendev.test.OriginPlugins.FirstPlugin;
+import com.sendev.test.OriginPlugins.SecondPlugin;
+import com.sendev.test.TestCase;
+
+import static org.junit.Assert.assertSame;
+import static org.powermock.api.mockito.PowerMockito.*;
+
+public class DatabaseFactoryTest extends TestCase
+{
+    @Test
+    public void testSharedClassesAreNotCachedAsTheFirstPluginThatCalledThem()
+    {
+        DatabaseFactory factory = new DatabaseFactory();
+
+        DatabaseManager first = register(factory, "FirstOriginPlugin", FirstPlugin.class);
+        DatabaseManager second = register(factory, "SecondOriginPlugin", SecondPlugin.class);
+
+        try {
+            assertSame(FirstPlugin.lookup(), first);
+            assertSame(SecondPlugin.lookup(), second);
+
+            assertSame(FirstPlugin.lookupDirectly(), first);
+            assertSame(FirstPlugin.lookupDirectly(), first);
+            assertSame(SecondPlugin.lookup(), second);
+        } finally {
+            factory.getContainers().remove("FirstOriginPlugin");
+            factory.getContainers().remove("SecondOriginPlugin");
+
+            DatabaseFactory.clearOriginCache();
+        }
+    }
+
+    private DatabaseManager register(DatabaseFactory factory, String name, Class<?> main)
+    {
+        BukkitPlugin plugin = mock(BukkitPlugin.class);
+
+        when(plugin.getMain()).thenReturn(main.getName());
+        when(plugin.getName()).thenReturn(name);
+        when(plugin.getLogger()).thenReturn(Logger.getLogger(name));
+
+        DatabaseManager instance = new DatabaseManager(plugin);
+        factory.getContainers().put(name, new PluginContainer(plugin, instance));
+
+        return instance;
+    }
+}
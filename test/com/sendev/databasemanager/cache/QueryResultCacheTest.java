@@ -0,0 +1,58 @@
+package com.sendev.databasemanager.cache;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.sendev.databasemanager.DatabaseManager;
+import com.sendev.databasemanager.query.QueryBuilder;
+import com.sendev.databasemanager.utils.Collection;
+import com.sendev.test.TestCase;
+
+import static org.junit.Assert.assertEquals;
+
+public class QueryResultCacheTest extends TestCase
+{
+    @Test
+    public void testCachedResultsAreInvalidatedByWritesToTheirTable() throws SQLException
+    {
+        DatabaseManager cached = createDatabaseManager("cache",
+            "CREATE TABLE `dbm_settings` (`key` TEXT, `value` TEXT);",
+            "INSERT INTO `dbm_settings` VALUES ('motd', 'Hello'), ('slots', '20');"
+        );
+
+        cached.options().setPrefix("dbm_");
+        cached.options().setQueryResultCacheSize(10);
+
+        Collection settings = new QueryBuilder("settings").setDatabaseManager(cached).get();
+        settings.pop();
+
+        assertEquals(new QueryBuilder("settings").setDatabaseManager(cached).get().size(), 2);
+        assertEquals(cached.queryResults().getHits(), 1);
+        assertEquals(cached.queryResults().size(), 1);
+
+        cached.queryUpdate("INSERT INTO `dbm_settings` VALUES ('whitelist', 'false');");
+        assertEquals(new QueryBuilder("settings").setDatabaseManager(cached).get().size(), 2);
+
+        new QueryBuilder("settings").setDatabaseManager(cached).where("key", "motd").update(row("value", "Welcome"));
+
+        assertEquals(cached.queryResults().size(), 0);
+        assertEquals(cached.queryResults().getInvalidations(), 1);
+        assertEquals(new QueryBuilder("settings").setDatabaseManager(cached).get().size(), 3);
+        assertEquals(new QueryBuilder("settings").setDatabaseManager(cached).where("key", "motd").get().first().getString("value"), "Welcome");
+        assertEquals(cached.queryResults().getHitRate(), 0.4, 0.001);
+    }
+
+    private Map<String, Object> row(Object... items)
+    {
+        Map<String, Object> row = new HashMap<>();
+
+        for (int i = 0; i < items.length; i += 2) {
+            row.put((String) items[i], items[i + 1]);
+        }
+
+        return row;
+    }
+}
@@ -0,0 +1,227 @@
+package com.sendev.databasemanager.connections;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.Iterator;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sendev.databasemanager.ConnectionLevel;
+import com.sendev.databasemanager.DatabaseManager;
+import com.sendev.databasemanager.utils.Cursor;
+import com.sendev.databasemanager.utils.DataRow;
+import com.sendev.test.TestCase;
+
+import static org.junit.Assert.*;
+
+public class SQLiteTest extends TestCase
+{
+    private DatabaseManager manager;
+    private File directory;
+    private SQLite database;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        manager = new DatabaseManager(dbm.plugin());
+        directory = Files.createTempDirectory("dbm-sqlite").toFile();
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        if (database != null) {
+            database.close();
+        }
+
+        manager.async().shutdown();
+
+        deleteRecursively(directory);
+    }
+
+    @Test
+    public void testFileDatabasesKeepTheirConnectionOpen() throws SQLException
+    {
+        open();
+
+        Connection connection = database.getConnection();
+        database.queryUpdate("CREATE TABLE `players` (`name` TEXT);");
+
+        assertSame(connection, database.getConnection());
+        assertFalse(connection.isClosed());
+
+        database.close();
+
+        Connection reopened = database.getConnection();
+
+        assertTrue(connection.isClosed());
+        assertNotSame(connection, reopened);
+        assertTrue(database.hasTable("players"));
+    }
+
+    @Test
+    public void testPragmaOptionsAreAppliedToNewConnections() throws SQLException
+    {
+        manager.options().setSQLiteSynchronous("FULL");
+        manager.options().setSQLiteCacheSize(1234);
+        manager.options().setSQLiteBusyTimeout(2500);
+
+        open();
+
+        assertEquals("2", pragma(database.getConnection(), "synchronous"));
+        assertEquals("1234", pragma(database.getConnection(), "cache_size"));
+        assertEquals("2500", pragma(database.getConnection(), "busy_timeout"));
+    }
+
+    @Test
+    public void testFileDatabasesDefaultToTheWalJournalMode() throws SQLException
+    {
+        open();
+
+        assertEquals("wal", pragma(database.getConnection(), "journal_mode"));
+        assertNull(database.getReadPool());
+    }
+
+    @Test
+    public void testTheJournalModeCanBeChanged() throws SQLException
+    {
+        manager.options().setSQLiteJournalMode("DELETE");
+        manager.options().setSQLiteReadPoolSize(2);
+
+        open();
+
+        assertEquals("delete", pragma(database.getConnection(), "journal_mode"));
+        assertNull(database.getReadPool());
+    }
+
+    @Test
+    public void testSelectsUseTheReadPoolOutsideOfTransactions() throws SQLException
+    {
+        manager.options().setSQLiteReadPoolSize(2);
+
+        open();
+
+        assertNotNull(database.getReadPool());
+        assertEquals(2, database.getReadPool().getMaximumSize());
+
+        database.queryUpdate("CREATE TABLE `players` (`name` TEXT);");
+        database.queryUpdate("INSERT INTO `players` VALUES ('Senither');");
+
+        assertEquals(0, database.getReadPool().getActiveConnections());
+
+        int borrowed = database.query("SELECT * FROM `players`;", result -> {
+            return database.getReadPool().getActiveConnections();
+        });
+        assertEquals(1, borrowed);
+        assertEquals(0, database.getReadPool().getActiveConnections());
+
+        int pinned = database.transaction(null, transaction -> {
+            database.queryUpdate("INSERT INTO `players` VALUES ('Alexis');");
+
+            return database.query("SELECT COUNT(*) FROM `players`;", result -> {
+                assertEquals(0, database.getReadPool().getActiveConnections());
+
+                result.next();
+                return result.getInt(1);
+            });
+        });
+        assertEquals(2, pinned);
+    }
+
+    @Test
+    public void testReadPoolConnectionsAreReadOnly() throws SQLException
+    {
+        manager.options().setSQLiteReadPoolSize(1);
+
+        open();
+
+        database.queryUpdate("CREATE TABLE `players` (`name` TEXT);");
+
+        Connection connection = database.getReadPool().borrow();
+
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("INSERT INTO `players` VALUES ('Senither');");
+            fail("Read pool connections should not be able to write to the database.");
+        } catch (SQLException ex) {
+            assertTrue(ex.getMessage().toLowerCase().contains("readonly"));
+        } finally {
+            database.getReadPool().release(connection);
+        }
+    }
+
+    @Test
+    public void testCursorsOnWalDatabasesUseADedicatedConnection() throws SQLException
+    {
+        open();
+
+        database.queryUpdate("CREATE TABLE `players` (`name` TEXT);");
+        database.queryUpdate("INSERT INTO `players` VALUES ('Senither'), ('Alexis');");
+
+        try (Cursor cursor = database.cursor("SELECT * FROM `players`;", Collections.emptyList())) {
+
+            Iterator<DataRow> rows = cursor.iterator();
+
+            assertEquals("Senither", rows.next().getString("name"));
+
+            assertEquals(1, database.withConnection(connection -> {
+                try (Statement statement = connection.createStatement()) {
+                    return statement.executeUpdate("INSERT INTO `players` VALUES ('Sam');");
+                }
+            }).intValue());
+
+            assertEquals("Alexis", rows.next().getString("name"));
+            assertFalse(rows.hasNext());
+        }
+    }
+
+    @Test
+    public void testInMemoryDatabasesNeverUseTheReadPool() throws SQLException
+    {
+        manager.options().setSQLiteReadPoolSize(2);
+
+        database = new SQLite();
+        manager.addConnection("memory", ConnectionLevel.DEFAULT, database);
+        database.open();
+
+        assertEquals("memory", pragma(database.getConnection(), "journal_mode"));
+        assertNull(database.getReadPool());
+    }
+
+    private void open() throws SQLException
+    {
+        database = new SQLite(directory.getAbsolutePath(), "database.db");
+
+        manager.addConnection("file", ConnectionLevel.DEFAULT, database);
+        database.open();
+    }
+
+    private String pragma(Connection connection, String name) throws SQLException
+    {
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("PRAGMA " + name)) {
+            assertTrue(result.next());
+
+            return result.getString(1);
+        }
+    }
+
+    private void deleteRecursively(File file)
+    {
+        File[] children = file.listFiles();
+
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+
+        file.delete();
+    }
+}
@@ -0,0 +1,162 @@
+package com.sendev.databasemanager.eloquent;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.sendev.databasemanager.DatabaseManager;
+import com.sendev.databasemanager.query.QueryBuilder;
+import com.sendev.databasemanager.utils.Collection;
+import com.sendev.test.TestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class EloquentTest extends TestCase
+{
+    @Test
+    public void testRelationsAreEagerLoadedOntoTheirParentRows() throws SQLException
+    {
+        DatabaseManager relations = createDatabaseManager("relations",
+            "CREATE TABLE `players` (`id` INTEGER PRIMARY KEY, `name` TEXT, `guild_id` INTEGER);",
+            "CREATE TABLE `guilds` (`id` INTEGER PRIMARY KEY, `name` TEXT);",
+            "INSERT INTO `guilds` VALUES (1, 'Builders'), (2, 'Miners'), (3, 'Farmers');",
+            "INSERT INTO `players` VALUES (1, 'Alexis', 1), (2, 'Sen', 2), (3, 'Sam', 1), (4, 'Kim', 3), (5, 'Jo', NULL);"
+        );
+
+        relations.options().setEagerLoadChunkSize(2);
+
+        assertEquals(new QueryBuilder("users").whereIn("id", Arrays.asList(1, 2, 3)).toSQL(), "SELECT * FROM `test_users` WHERE `id` IN (1, 2, 3);");
+
+        Collection players = new Player().setDatabaseManager(relations).with("guild").all();
+
+        assertEquals(players.get(0).getRelation("guild").first().getString("name"), "Builders");
+        assertEquals(players.get(3).getRelation("guild").first().getString("name"), "Farmers");
+        assertTrue(players.get(4).getRelation("guild").isEmpty());
+
+        Collection guilds = new Guild().setDatabaseManager(relations).with("members").all();
+
+        assertEquals(guilds.get(0).getRelation("members").size(), 2);
+        assertEquals(guilds.get(1).getRelation("members").first().getString("name"), "Sen");
+        assertFalse(new Guild().setDatabaseManager(relations).all().first().hasRelation("members"));
+    }
+
+    @Test
+    public void testQueryScopesAreAppliedThroughWith() throws SQLException
+    {
+        assertEquals(new Player().setDatabaseManager(dbm).with("veterans").toString(), "SELECT * FROM `test_players` WHERE `id` < 3;");
+        assertEquals(new Player().setDatabaseManager(dbm).with("ordered", "veterans", "ordered").toString(),
+            "SELECT * FROM `test_players` WHERE `id` < 3 ORDER BY `name` ASC;"
+        );
+        assertEquals(new Player().setDatabaseManager(dbm).with("unknown", "guild").toString(), "SELECT * FROM `test_players`;");
+    }
+
+    @Test
+    public void testEloquentModelsAreCachedUntilTheirTableIsWritten() throws SQLException
+    {
+        DatabaseManager models = createDatabaseManager("models",
+            "CREATE TABLE `players` (`id` INTEGER PRIMARY KEY, `name` TEXT);",
+            "CREATE TABLE `guilds` (`id` INTEGER PRIMARY KEY, `name` TEXT);",
+            "INSERT INTO `players` VALUES (1, 'Alexis'), (2, 'Sen');",
+            "INSERT INTO `guilds` VALUES (1, 'Builders');"
+        );
+
+        assertEquals(new Player().setDatabaseManager(models).find(1).first().getString("name"), "Alexis");
+        assertEquals(new Player().setDatabaseManager(models).find(1).first().getString("name"), "Alexis");
+        assertEquals(models.models().getHits(), 1);
+
+        new QueryBuilder("players").setDatabaseManager(models).where("id", 1).update(row("name", "Alex"));
+
+        assertEquals(models.models().size(), 0);
+        assertEquals(new Player().setDatabaseManager(models).find(1).first().getString("name"), "Alex");
+
+        models.transaction(transaction -> {
+            new QueryBuilder("players").setDatabaseManager(models).where("id", 2).update(row("name", "Uncommitted"));
+
+            assertEquals(new Player().setDatabaseManager(models).find(2).first().getString("name"), "Uncommitted");
+            assertEquals(models.models().size(), 0);
+
+            transaction.setRollbackOnly();
+
+            return null;
+        });
+
+        assertEquals(new Player().setDatabaseManager(models).find(2).first().getString("name"), "Sen");
+
+        try (IdentityMap identities = IdentityMap.open()) {
+            assertSame(IdentityMap.current(), identities);
+
+            Collection guild = new Guild().setDatabaseManager(models).find(1);
+
+            assertSame(new Guild().setDatabaseManager(models).find(1), guild);
+
+            new QueryBuilder("guilds").setDatabaseManager(models).where("id", 1).update(row("name", "Miners"));
+
+            assertEquals(new Guild().setDatabaseManager(models).find(1).first().getString("name"), "Miners");
+        }
+
+        assertEquals(IdentityMap.current(), null);
+    }
+
+    private Map<String, Object> row(Object... items)
+    {
+        Map<String, Object> row = new HashMap<>();
+
+        for (int i = 0; i < items.length; i += 2) {
+            row.put((String) items[i], items[i + 1]);
+        }
+
+        return row;
+    }
+
+    public static class Player extends Eloquent
+    {
+        @Override
+        protected String table()
+        {
+            return "players";
+        }
+
+        @Override
+        protected int cacheSize()
+        {
+            return 10;
+        }
+
+        public Relation guild()
+        {
+            return belongsTo(Guild.class, "guild_id");
+        }
+
+        @QueryScope
+        public void veterans(QueryBuilder query)
+        {
+            query.where("id", "<", 3);
+        }
+
+        @QueryScope
+        public static void ordered(QueryBuilder query)
+        {
+            query.orderBy("name");
+        }
+    }
+
+    public static class Guild extends Eloquent
+    {
+        @Override
+        protected String table()
+        {
+            return "guilds";
+        }
+
+        public Relation members()
+        {
+            return hasMany(Player.class, "guild_id");
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.sendev.databasemanager.pool;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import org.junit.Test;
+
+import com.sendev.databasemanager.DatabaseManager;
+import com.sendev.databasemanager.DatabaseOptions;
+import com.sendev.databasemanager.output.OutputMode;
+import com.sendev.databasemanager.plugin.type.BukkitPlugin;
+import com.sendev.databasemanager.pool.contracts.ConnectionFactory;
+import com.sendev.test.TestCase;
+
+import static org.junit.Assert.*;
+import static org.powermock.api.mockito.PowerMockito.*;
+
+public class ConnectionPoolTest extends TestCase
+{
+    private final AtomicInteger created = new AtomicInteger();
+
+    private final ConnectionFactory factory = () -> {
+        created.incrementAndGet();
+
+        return DriverManager.getConnection("jdbc:sqlite::memory:");
+    };
+
+    @Test
+    public void testReleasedConnectionsAreReused() throws SQLException
+    {
+        ConnectionPool pool = new ConnectionPool(dbm, factory, new DatabaseOptions(), 0, 2);
+
+        try {
+            Connection connection = pool.borrow();
+            assertEquals(1, pool.getActiveConnections());
+
+            pool.release(connection);
+            assertEquals(0, pool.getActiveConnections());
+            assertEquals(1, pool.getIdleConnections());
+
+            assertSame(connection, pool.borrow());
+            assertEquals(1, created.get());
+            assertEquals(1, pool.getTotalConnections());
+        } finally {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void testBorrowTimesOutWhenThePoolIsExhausted() throws SQLException
+    {
+        DatabaseOptions options = new DatabaseOptions();
+        options.setPoolBorrowTimeout(50);
+
+        ConnectionPool pool = new ConnectionPool(dbm, factory, options, 0, 2);
+
+        try {
+            Connection first = pool.borrow();
+            pool.borrow();
+
+            assertEquals(2, pool.getTotalConnections());
+
+            try {
+                pool.borrow();
+                fail("Borrowing a connection from an exhausted pool should time out.");
+            } catch (SQLTimeoutException ex) {
+                assertEquals(2, created.get());
+            }
+
+            pool.release(first);
+            assertSame(first, pool.borrow());
+            assertEquals(2, pool.getMaximumSize());
+            assertEquals(2, pool.getTotalConnections());
+        } finally {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void testPendingChangesAreRolledBackOnRelease() throws SQLException
+    {
+        ConnectionPool pool = new ConnectionPool(dbm, factory, new DatabaseOptions(), 0, 1);
+
+        try {
+            Connection connection = pool.borrow();
+
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("CREATE TABLE `pooled` (`id` INTEGER)");
+            }
+
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("INSERT INTO `pooled` VALUES (1)");
+            }
+            pool.release(connection);
+
+            Connection borrowed = pool.borrow();
+
+            assertSame(connection, borrowed);
+            assertTrue(borrowed.getAutoCommit());
+
+            try (Statement statement = borrowed.createStatement();
+                 ResultSet result = statement.executeQuery("SELECT COUNT(*) FROM `pooled`")) {
+                assertTrue(result.next());
+                assertEquals(0, result.getInt(1));
+            }
+        } finally {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void testBrokenConnectionsAreDiscarded() throws SQLException
+    {
+        ConnectionPool pool = new ConnectionPool(dbm, factory, new DatabaseOptions(), 0, 1);
+
+        try {
+            Connection connection = pool.borrow();
+            connection.close();
+            pool.release(connection);
+
+            assertEquals(0, pool.getTotalConnections());
+            assertEquals(0, pool.getIdleConnections());
+
+            Connection idle = pool.borrow();
+            pool.release(idle);
+            idle.close();
+
+            Connection borrowed = pool.borrow();
+
+            assertNotSame(idle, borrowed);
+            assertFalse(borrowed.isClosed());
+            assertEquals(3, created.get());
+            assertEquals(1, pool.getTotalConnections());
+        } finally {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void testIdleConnectionsAreEvicted() throws SQLException, InterruptedException
+    {
+        DatabaseOptions options = new DatabaseOptions();
+        options.setPoolIdleTimeout(1000);
+
+        ConnectionPool pool = new ConnectionPool(dbm, factory, options, 1, 3);
+
+        try {
+            Connection first = pool.borrow();
+            Connection second = pool.borrow();
+            Connection third = pool.borrow();
+
+            pool.release(first);
+            pool.release(second);
+            pool.release(third);
+
+            assertEquals(3, pool.getTotalConnections());
+
+            awaitCondition(() -> pool.getTotalConnections() == 1);
+
+            assertEquals(1, pool.getTotalConnections());
+            assertEquals(1, pool.getIdleConnections());
+        } finally {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void testLeakedConnectionsAreReported() throws SQLException, InterruptedException
+    {
+        List<LogRecord> records = new CopyOnWriteArrayList<>();
+        DatabaseManager manager = createDatabaseManager(records);
+        manager.options().setPoolLeakDetectionThreshold(100);
+
+        ConnectionPool pool = new ConnectionPool(manager, factory, manager.options(), 0, 1);
+
+        try {
+            Connection connection = pool.borrow();
+
+            awaitCondition(() -> !records.isEmpty());
+
+            assertEquals(1, records.size());
+            assertTrue(String.valueOf(records.get(0).getParameters()[0]).contains(getClass().getName()));
+
+            pool.release(connection);
+        } finally {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void testClosedPoolsRefuseToLendConnections() throws SQLException
+    {
+        ConnectionPool pool = new ConnectionPool(dbm, factory, new DatabaseOptions(), 0, 1);
+
+        Connection connection = pool.borrow();
+        pool.close();
+
+        assertTrue(pool.isClosed());
+
+        try {
+            pool.borrow();
+            fail("Borrowing a connection from a closed pool should fail.");
+        } catch (SQLException ex) {
+            assertFalse(ex instanceof SQLTimeoutException);
+        }
+
+        pool.release(connection);
+
+        assertTrue(connection.isClosed());
+        assertEquals(0, pool.getTotalConnections());
+    }
+
+    private DatabaseManager createDatabaseManager(List<LogRecord> records)
+    {
+        Logger logger = Logger.getLogger("ConnectionPoolTestSuit");
+        logger.setUseParentHandlers(false);
+        logger.addHandler(new Handler()
+        {
+            @Override
+            public void publish(LogRecord record)
+            {
+                records.add(record);
+            }
+
+            @Override
+            public void flush()
+            {
+            }
+
+            @Override
+            public void close()
+            {
+            }
+        });
+
+        BukkitPlugin plugin = mock(BukkitPlugin.class);
+
+        when(plugin.getMain()).thenReturn(getClass().getName());
+        when(plugin.getName()).thenReturn("ConnectionPoolTestSuit");
+        when(plugin.getLogger()).thenReturn(logger);
+
+        DatabaseManager manager = new DatabaseManager(plugin);
+        manager.setOutputMode(OutputMode.WARNING);
+
+        return manager;
+    }
+
+    private void awaitCondition(Condition condition) throws InterruptedException
+    {
+        long deadline = System.currentTimeMillis() + 5000;
+
+        while (!condition.isMet() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+    }
+
+    private interface Condition
+    {
+        boolean isMet();
+    }
+}
@@ -1,10 +1,32 @@
 package com.sendev.databasemanager.query;
 
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 import org.junit.Test;
 
+import com.sendev.databasemanager.ConnectionLevel;
+import com.sendev.databasemanager.DatabaseManager;
+import com.sendev.databasemanager.connections.SQLite;
+import com.sendev.databasemanager.exceptions.DatabaseException;
+import com.sendev.databasemanager.utils.Collection;
 import com.sendev.test.TestCase;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class QueryBuilderTest extends TestCase
 {
@@ -134,6 +156,377 @@ public class QueryBuilderTest extends TestCase
         assertEquals(builder.toSQL(), "SELECT * FROM `test_users` POTATO JOIN `test_groups` ON `test_users`.`id` = `test_groups`.`user_id`;");
     }
 
+    @Test
+    public void testBoundQueryBuilderUsesTheBoundDatabaseManager()
+    {
+        DatabaseManager bound = new DatabaseManager(dbm.plugin());
+
+        bound.options().setPrefix("bound_");
+        bound.addConnection("bound", ConnectionLevel.DEFAULT, new SQLite());
+
+        assertEquals(create().setDatabaseManager(bound).toSQL(), "SELECT * FROM `bound_users`;");
+        assertEquals(create().toSQL(), "SELECT * FROM `test_users`;");
+    }
+
+    @Test
+    public void testCompiledQueriesUsePlaceholdersAndOrderedBindings()
+    {
+        CompiledQuery select = create().where("id", 5).orWhere("name", "JohnDoe").compile(dbm, null);
+
+        assertEquals(select.getSQL(), "SELECT * FROM `test_users` WHERE `id` = ? OR `name` = ?;");
+        assertEquals(select.getBindings(), Arrays.asList(5, "JohnDoe"));
+
+        CompiledQuery nested = create().where("id", 5).andWhere(( NestedClause builder ) -> {
+            builder.where("name", "JohnDoe").orWhere("age", 23);
+        }).compile(dbm, null);
+
+        assertEquals(nested.getSQL(), "SELECT * FROM `test_users` WHERE `id` = ? AND (`name` = ? OR `age` = ?);");
+        assertEquals(nested.getBindings(), Arrays.asList(5, "JohnDoe", 23));
+    }
+
+    @Test
+    public void testCompiledQueriesAreCachedByShape() throws SQLException
+    {
+        DatabaseManager cached = createDatabaseManager("cached", "CREATE TABLE `users` (`id` INTEGER PRIMARY KEY, `name` TEXT, `age` INTEGER);");
+
+        new QueryBuilder("users").setDatabaseManager(cached).insert(row("name", "Alice", "age", 20), row("name", "Bob"));
+        new QueryBuilder("users").setDatabaseManager(cached).insert(row("name", "Carl", "age", 30), row("name", "Dan"));
+
+        CompiledQuery first = new QueryBuilder("users").setDatabaseManager(cached).where("age", ">", 10).take(5).skip(1).compile(cached, null);
+        CompiledQuery second = new QueryBuilder("users").setDatabaseManager(cached).where("age", ">", 25).take(3).skip(2).compile(cached, null);
+
+        assertSame(first.getSQL(), second.getSQL());
+        assertEquals(second.getSQL(), "SELECT * FROM `users` WHERE `age` > ? LIMIT ? OFFSET ?;");
+        assertEquals(second.getBindings(), Arrays.asList(25, 3, 2));
+
+        assertEquals(cached.compiledQueries().getHits(), 1);
+        assertEquals(cached.compiledQueries().getMisses(), 1);
+        assertEquals(new QueryBuilder("users").setDatabaseManager(cached).where("age", ">", 10).get().size(), 2);
+    }
+
+    private Map<String, Object> row(Object... items)
+    {
+        Map<String, Object> row = new HashMap<>();
+
+        for (int i = 0; i < items.length; i += 2) {
+            row.put((String) items[i], items[i + 1]);
+        }
+
+        return row;
+    }
+
+    @Test
+    public void testAsyncQueriesRunOnTheConnectionExecutor() throws Exception
+    {
+        DatabaseManager async = createDatabaseManager("async", "CREATE TABLE `users` (`id` INTEGER PRIMARY KEY, `name` TEXT, `age` INTEGER);");
+
+        Collection ids = new QueryBuilder("users").setDatabaseManager(async).insertAsync(Collections.singletonList(row("name", "Alice", "age", 20))).get(5, TimeUnit.SECONDS);
+        Collection users = new QueryBuilder("users").setDatabaseManager(async).where("age", 20).getAsync().get(5, TimeUnit.SECONDS);
+
+        assertEquals(ids.size(), 1);
+        assertEquals(users.size(), 1);
+        assertTrue(async.async().submit(null, () -> Thread.currentThread().getName()).get(5, TimeUnit.SECONDS).startsWith("DBM-Async-"));
+
+        async.options().setAsyncQueueLimit(1);
+        CountDownLatch latch = new CountDownLatch(1);
+
+        CompletableFuture<Boolean> blocking = async.async().submit(null, () -> awaitLatch(latch));
+        CompletableFuture<Integer> rejected = async.queryUpdateAsync("DELETE FROM `users`;");
+
+        assertTrue(rejected.isCompletedExceptionally());
+        assertEquals(async.async().getRejectedQueries(), 1);
+
+        latch.countDown();
+
+        assertTrue(blocking.get(5, TimeUnit.SECONDS));
+        assertEquals(async.queryUpdateAsync("DELETE FROM `users`;").get(5, TimeUnit.SECONDS).intValue(), 1);
+    }
+
+    private boolean awaitLatch(CountDownLatch latch)
+    {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            return false;
+        }
+    }
+
+    @Test
+    public void testBatchWritesAreSplitIntoChunks() throws SQLException
+    {
+        DatabaseManager batch = createDatabaseManager("batch", "CREATE TABLE `users` (`id` INTEGER PRIMARY KEY, `name` TEXT, `age` INTEGER);");
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int i = 1; i <= 25; i++) {
+            rows.add(row("name", "User " + i, "age", i));
+        }
+
+        BatchResult inserted = new QueryBuilder("users").setDatabaseManager(batch).batch().chunkSize(10).insert(rows);
+
+        assertEquals(inserted.getChunkCount(), 3);
+        assertEquals(inserted.getRowCount(2), 5);
+        assertEquals(inserted.getAffectedRows(), 25);
+
+        BatchResult updated = new QueryBuilder("users").setDatabaseManager(batch).batch()
+            .update(Arrays.asList(row("id", 1, "age", 100), row("id", 2, "name", "Bob", "age", 100)), "id");
+
+        assertEquals(updated.getChunkCount(), 1);
+        assertEquals(updated.getAffectedRows(), 2);
+        assertEquals(new QueryBuilder("users").setDatabaseManager(batch).where("age", 100).get().size(), 2);
+    }
+
+    @Test
+    public void testKeysetPaginationSeeksPastThePreviousPage() throws SQLException
+    {
+        assertEquals(create().seekAfter("id", 500).take(100).toSQL(), "SELECT * FROM `test_users` WHERE (`id` > 500) ORDER BY `id` ASC LIMIT 100;");
+        assertEquals(create().where("active", 1).seekBefore(Arrays.asList("created_at", "id"), Arrays.asList("2017-05-01", 20)).toSQL(),
+            "SELECT * FROM `test_users` WHERE (`active` = 1) AND (`created_at` <= '2017-05-01' AND (`created_at` < '2017-05-01' OR "
+            + "(`created_at` = '2017-05-01' AND `id` < 20))) ORDER BY `created_at` DESC, `id` DESC;"
+        );
+        assertEquals(create().where("active", 1).orWhere("admin", 1).seekAfter("id", 500).where("age", ">", 18).toSQL(),
+            "SELECT * FROM `test_users` WHERE (`active` = 1 OR `admin` = 1 AND `age` > 18) AND (`id` > 500) ORDER BY `id` ASC;"
+        );
+        assertEquals(create().orderBy("id").seekAfter("id", 500).toSQL(), "SELECT * FROM `test_users` WHERE (`id` > 500) ORDER BY `id` ASC;");
+
+        for (QueryBuilder ordered : Arrays.asList(create().orderBy("name"), create().orderBy("id", "DESC"), create().orderBy("id").orderBy("name"))) {
+            try {
+                ordered.seekAfter("id", 500);
+                fail("Seeking a query builder that is ordered by anything other than the seek columns should fail.");
+            } catch (DatabaseException ex) {
+                assertTrue(ordered.getWhereClauses().isEmpty());
+            }
+        }
+
+        DatabaseManager log = createDatabaseManager("log", "CREATE TABLE `transactions` (`day` INTEGER, `id` INTEGER, `amount` INTEGER, PRIMARY KEY (`day`, `id`));");
+
+        for (int i = 1; i <= 25; i++) {
+            log.queryUpdate(String.format("INSERT INTO `transactions` VALUES (%d, %d, %d);", i % 3, i, i * 10));
+        }
+
+        int pages = 0;
+        long total = 0;
+        for (Collection page : new QueryBuilder("transactions").setDatabaseManager(log).where("amount", ">", 10).pages(7, "day", "id")) {
+            pages++;
+            total += page.sumInt("amount");
+        }
+
+        assertEquals(pages, 4);
+        assertEquals(total, 3240);
+
+        pages = 0;
+        total = 0;
+        for (Collection page : new QueryBuilder("transactions").setDatabaseManager(log).where("day", 0).orWhere("day", 1).pages(5, "id")) {
+            pages++;
+            total += page.sumInt("amount");
+        }
+
+        assertEquals(pages, 4);
+        assertEquals(total, 2250);
+
+        Collection next = new QueryBuilder("transactions").setDatabaseManager(log).seekAfter(Arrays.asList("day", "id"), Arrays.asList(1, 22)).take(2).get();
+
+        assertEquals(next.first().getInt("id"), 25);
+        assertEquals(next.last().getInt("id"), 2);
+    }
+
+    @Test
+    public void testAggregatesAreCalculatedByTheDatabase() throws SQLException
+    {
+        DatabaseManager stats = createDatabaseManager("stats",
+            "CREATE TABLE `dbm_players` (`id` INTEGER PRIMARY KEY, `name` TEXT, `level` INTEGER, `balance` DOUBLE);",
+            "INSERT INTO `dbm_players` VALUES (1, 'Alexis', 10, 12.5), (2, 'Sen', 30, 100), (3, 'Sam', 20, 7.5);"
+        );
+
+        stats.options().setPrefix("dbm_");
+
+        QueryBuilder players = new QueryBuilder("players").setDatabaseManager(stats).where("level", ">", 5).orderBy("id").take(1);
+
+        assertEquals(players.count(), 3);
+        assertEquals(players.count("stats"), 3);
+        assertEquals(players.sum("balance").doubleValue(), 120, 0.001);
+        assertEquals(players.sum("stats", "level"), 60L);
+        assertEquals(players.min("level"), 10L);
+        assertEquals(players.max("level"), 30L);
+        assertEquals(players.avg("level"), 20, 0.001);
+        assertTrue(players.exists());
+        assertTrue(players.exists("stats"));
+        assertEquals(players.get().first().getString("name"), "Alexis");
+
+        assertEquals(new QueryBuilder("players").setDatabaseManager(stats).where("level", ">", 50).count(), 0);
+        assertNull(new QueryBuilder("players").setDatabaseManager(stats).where("level", ">", 50).sum("balance"));
+        assertNull(new QueryBuilder("players").setDatabaseManager(stats).where("level", ">", 50).avg("level"));
+        assertFalse(new QueryBuilder("players").setDatabaseManager(stats).where("level", ">", 50).exists());
+        assertTrue(new QueryBuilder("players").setDatabaseManager(stats).where("name", "Sen").exists());
+
+        stats.queryUpdate("INSERT INTO `dbm_players` VALUES (4, 'Whale', 9007199254740993, 0);");
+
+        assertEquals(new QueryBuilder("players").setDatabaseManager(stats).where("id", ">", 1).sum("level"), 9007199254741043L);
+    }
+
+    @Test
+    public void testGroupedRowsAreFilteredByHavingClauses() throws SQLException
+    {
+        assertEquals(create().select("RAW:`player`, SUM(`amount`) AS `total`").groupBy("player").having("total", ">", 10).orHavingRaw("COUNT(*) >= ?", 3).toSQL(),
+            "SELECT `player`, SUM(`amount`) AS `total` FROM `test_users` GROUP BY `player` HAVING `total` > 10 OR COUNT(*) >= 3;"
+        );
+        assertEquals(create().groupBy("day", "player").having(clause -> clause.where("day", 1).orWhere("day", 2)).orderBy("day").toSQL(),
+            "SELECT * FROM `test_users` GROUP BY `day`, `player` HAVING (`day` = 1 OR `day` = 2) ORDER BY `day` ASC;"
+        );
+
+        DatabaseManager rollups = createDatabaseManager("rollups",
+            "CREATE TABLE `kills` (`player` TEXT, `day` INTEGER, `amount` INTEGER);",
+            "INSERT INTO `kills` VALUES ('Alexis', 1, 5), ('Alexis', 2, 8), ('Sen', 1, 2), ('Sen', 2, 1), ('Sam', 1, 20);"
+        );
+
+        Collection totals = new QueryBuilder("kills").setDatabaseManager(rollups)
+            .select("RAW:`player`, SUM(`amount`) AS `total`, COUNT(*) AS `days`")
+            .where("amount", ">", 1)
+            .groupBy("player")
+            .having("total", ">", 3)
+            .havingRaw("COUNT(*) < ?", 3)
+            .orderBy("total", "desc")
+            .get();
+
+        assertEquals(totals.size(), 2);
+        assertEquals(totals.first().getString("player"), "Sam");
+        assertEquals(totals.last().getInt("total"), 13);
+        assertEquals(totals.last().getInt("days"), 2);
+
+        QueryBuilder grouped = new QueryBuilder("kills").setDatabaseManager(rollups)
+            .select("RAW:`player`, SUM(`amount`) AS `total`")
+            .groupBy("player")
+            .having("total", ">", 3)
+            .orderBy("total", "desc");
+
+        assertEquals(grouped.count(), 2);
+        assertEquals(grouped.sum("total"), 33L);
+        assertEquals(grouped.max("total"), 20L);
+        assertEquals(grouped.avg("total"), 16.5, 0.001);
+        assertTrue(grouped.exists());
+        assertFalse(new QueryBuilder("kills").setDatabaseManager(rollups).select("RAW:`player`, SUM(`amount`) AS `total`").groupBy("player").having("total", ">", 50).exists());
+        assertEquals(new QueryBuilder("kills").setDatabaseManager(rollups).groupBy("player").count(), 3);
+    }
+
+    @Test
+    public void testLargeWhereInListsAreChunkedOrLoadedIntoATemporaryTable() throws SQLException
+    {
+        assertEquals(create().whereNotIn("id", Arrays.asList(1, 2)).toSQL(),
+            "SELECT * FROM `test_users` WHERE `id` NOT IN (1, 2);"
+        );
+        assertEquals(create().whereIn("id", Collections.emptyList()).orWhere("id", 1).toSQL(),
+            "SELECT * FROM `test_users` WHERE 1 = 0 OR `id` = 1;"
+        );
+
+        DatabaseManager lookups = createDatabaseManager("lookups", "CREATE TABLE `items` (`id` INTEGER PRIMARY KEY, `name` TEXT);");
+
+        lookups.options().setWhereInInlineLimit(5);
+        lookups.options().setWhereInChunkSize(3);
+        lookups.options().setWhereInTemporaryTableThreshold(10);
+
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            lookups.queryUpdate("INSERT INTO `items` VALUES (?, ?);", Arrays.asList(i, "item-" + i));
+            ids.add(i);
+        }
+
+        Collection chunked = new QueryBuilder("items").setDatabaseManager(lookups)
+            .whereIn("id", ids.subList(0, 8)).where("id", "!=", 4).get();
+
+        assertEquals(chunked.size(), 7);
+        assertEquals(chunked.first().getInt("id"), 1);
+
+        Collection loaded = new QueryBuilder("items").setDatabaseManager(lookups)
+            .whereIn("id", ids.subList(0, 15)).orderBy("id", "desc").get();
+
+        assertEquals(loaded.size(), 15);
+        assertEquals(loaded.first().getInt("id"), 15);
+
+        Collection excluded = new QueryBuilder("items").setDatabaseManager(lookups)
+            .whereNotIn("id", ids.subList(2, 20)).get();
+
+        assertEquals(excluded.size(), 2);
+        assertEquals(new QueryBuilder("items").setDatabaseManager(lookups).whereIn("name", Arrays.asList(
+            "item-1", "item-2", "item-3", "item-4", "item-5", "item-6", "item-7", "item-8", "item-9", "item-10", "item-11"
+        )).orderBy("id").get().last().getInt("id"), 11);
+
+        assertEquals(new QueryBuilder("items").setDatabaseManager(lookups).whereIn("id", ids.subList(0, 8)).count(), 8);
+        assertEquals(new QueryBuilder("items").setDatabaseManager(lookups).whereNotIn("id", ids.subList(0, 15)).sum("id"), 90L);
+
+        DatabaseException exception = null;
+        try {
+            new QueryBuilder("items").setDatabaseManager(lookups).whereIn("id", ids).cursor();
+        } catch (DatabaseException ex) {
+            exception = ex;
+        }
+
+        assertNotNull(exception);
+        assertEquals(new QueryBuilder("items").setDatabaseManager(lookups).whereIn("id", ids.subList(5, 20)).delete(), 15);
+        assertEquals(new QueryBuilder("items").setDatabaseManager(lookups).count(), 5);
+    }
+
+    @Test
+    public void testTemporaryTablesKeepThePrecisionOfLargeValues() throws SQLException
+    {
+        DatabaseManager lookups = createDatabaseManager("lookups", "CREATE TABLE `accounts` (`id` INTEGER PRIMARY KEY, `token` TEXT);");
+
+        lookups.options().setWhereInInlineLimit(2);
+        lookups.queryUpdate("INSERT INTO `accounts` VALUES (9007199254740992, 'a'), (9007199254740993, ?);", Arrays.asList(String.join("", Collections.nCopies(300, "b"))));
+
+        Collection accounts = new QueryBuilder("accounts").setDatabaseManager(lookups)
+            .whereIn("id", Arrays.asList(9007199254740993L, 0.5D, 7L)).orderBy("id").get();
+
+        assertEquals(accounts.size(), 1);
+        assertEquals(accounts.first().getLong("id"), 9007199254740993L);
+
+        assertEquals(new QueryBuilder("accounts").setDatabaseManager(lookups).whereIn("token", Arrays.asList(
+            accounts.first().getString("token"), "c", "d"
+        )).count(), 1);
+    }
+
+    @Test
+    public void testUpsertInsertsNewRowsAndUpdatesConflictingRows() throws SQLException
+    {
+        DatabaseManager stats = createDatabaseManager("stats",
+            "CREATE TABLE `stats` (`uuid` TEXT, `server` TEXT, `kills` INTEGER, `name` TEXT, PRIMARY KEY (`uuid`, `server`));",
+            "INSERT INTO `stats` VALUES ('a', 'lobby', 1, 'Alexis'), ('b', 'lobby', 2, 'Sen');"
+        );
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        rows.add(createStats("a", "lobby", 10, "Alexis2"));
+        rows.add(createStats("b", "skyblock", 20, "Sen"));
+        rows.add(createStats("c", "lobby", 30, "Sam"));
+
+        QueryBuilder builder = new QueryBuilder("stats").setDatabaseManager(stats);
+
+        assertEquals(builder.upsert(rows, Arrays.asList("uuid", "server"), Arrays.asList("kills")), 3);
+        assertEquals(builder.getType(), QueryType.SELECT);
+        assertEquals(builder.getItems().size(), 0);
+        assertEquals(builder.getUniqueBy().size(), 0);
+
+        Collection players = builder.orderBy("uuid").orderBy("server").get();
+
+        assertEquals(players.size(), 4);
+        assertEquals(players.first().getInt("kills"), 10);
+        assertEquals(players.first().getString("name"), "Alexis");
+
+        new QueryBuilder("stats").setDatabaseManager(stats)
+            .upsert(Arrays.asList(createStats("c", "lobby", 31, "Sammy")), Arrays.asList("uuid", "server"), Collections.emptyList());
+
+        assertEquals(new QueryBuilder("stats").setDatabaseManager(stats).where("uuid", "c").get().first().getString("name"), "Sammy");
+    }
+
+    private Map<String, Object> createStats(String uuid, String server, int kills, String name)
+    {
+        Map<String, Object> row = new HashMap<>();
+
+        row.put("uuid", uuid);
+        row.put("server", server);
+        row.put("kills", kills);
+        row.put("name", name);
+
+        return row;
+    }
+
     private QueryBuilder create(String... items)
     {
         if (items.length == 0) {
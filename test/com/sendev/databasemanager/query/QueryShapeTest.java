@@ -0,0 +1,178 @@
+package com.sendev.databasemanager.query;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sendev.databasemanager.ConnectionLevel;
+import com.sendev.databasemanager.DatabaseManager;
+import com.sendev.databasemanager.cache.CompiledQueryCache;
+import com.sendev.databasemanager.connections.SQLite;
+import com.sendev.test.TestCase;
+
+import static org.junit.Assert.*;
+
+public class QueryShapeTest extends TestCase
+{
+    private DatabaseManager cached;
+
+    @Before
+    public void setUp() throws SQLException
+    {
+        cached = new DatabaseManager(dbm.plugin());
+
+        cached.options().setPrefix("shape_");
+        cached.addConnection("shapes", ConnectionLevel.DEFAULT, new SQLite());
+        cached.queryUpdate("CREATE TABLE `shape_stats` (`uuid` TEXT, `server` TEXT, `kills` INTEGER, PRIMARY KEY (`uuid`, `server`));");
+    }
+
+    @After
+    public void tearDown() throws SQLException
+    {
+        cached.getConnections().getDefaultConnection().close();
+        cached.async().shutdown();
+    }
+
+    @Test
+    public void testWhereClausesAreBoundInTheGrammarOrder()
+    {
+        assertShapeMatchesGrammar(create().where("id", 5).orWhere("name", "JohnDoe").where("age", ">=", 18));
+        assertShapeMatchesGrammar(create().whereIn("id", Arrays.asList(1, 2, 3)).whereNotIn("name", Arrays.asList("a", "b")).where("age", 20));
+        assertShapeMatchesGrammar(create().where("id", 5).andWhere(( NestedClause builder ) -> {
+            builder.where("name", "JohnDoe").orWhere("age", 23);
+        }).orWhere(( NestedClause builder ) -> {
+            builder.where("age", "<", 10);
+        }).where("server", "lobby"));
+    }
+
+    @Test
+    public void testSeekClausesAreBoundInTheGrammarOrder()
+    {
+        assertShapeMatchesGrammar(create().where("server", "lobby").seekAfter("id", 500).take(100));
+        assertShapeMatchesGrammar(create().seekAfter(Arrays.asList("day", "id"), Arrays.asList(1, 22)).where("server", "lobby").take(2));
+        assertShapeMatchesGrammar(create().seekBefore(Arrays.asList("day", "hour", "id"), Arrays.asList(3, 12, 40)).take(5).skip(10));
+    }
+
+    @Test
+    public void testJoinsGroupsAndOrderingAreBoundInTheGrammarOrder()
+    {
+        assertShapeMatchesGrammar(create().select("users.name", "stats.kills")
+            .leftJoin("stats", "users.id", "stats.user_id")
+            .innerJoin("servers", "stats.server", "=", "servers.name")
+            .where("users.age", ">", 18)
+        );
+
+        assertShapeMatchesGrammar(create().selectRaw("`server`, SUM(`kills`) AS `total`")
+            .where("kills", ">", 0)
+            .groupBy("server")
+            .having("total", ">", 10)
+            .orHaving("total", "<", 2)
+            .havingRaw("COUNT(*) BETWEEN ? AND ?", 2, 8)
+            .orderBy("total", "DESC")
+            .take(10)
+            .skip(20)
+        );
+    }
+
+    @Test
+    public void testWritesAreBoundInTheGrammarOrder()
+    {
+        QueryBuilder builder = create().where("id", 5).orWhere("name", "JohnDoe");
+
+        assertShapeMatchesGrammar(builder.createBatchRow(QueryType.INSERT, row("name", "Alexis", "age", 23)));
+        assertShapeMatchesGrammar(builder.createBatchRow(QueryType.UPDATE, row("name", "Alexis", "age", 23)));
+        assertShapeMatchesGrammar(builder.createBatchRow(QueryType.DELETE, row()));
+    }
+
+    @Test
+    public void testCachedAggregatesAndUpsertsReturnTheSameResults() throws SQLException
+    {
+        for (int i = 0; i < 2; i++) {
+            int affected = new QueryBuilder("stats").setDatabaseManager(cached).upsert(
+                Arrays.asList(row("uuid", "a", "server", "lobby", "kills", 10 + i)), Arrays.asList("uuid", "server"), Arrays.asList("kills")
+            );
+
+            assertEquals(1, affected);
+        }
+
+        new QueryBuilder("stats").setDatabaseManager(cached).upsert(
+            Arrays.asList(row("uuid", "b", "server", "lobby", "kills", 5)), Arrays.asList("uuid", "server"), Collections.emptyList()
+        );
+
+        for (int i = 0; i < 2; i++) {
+            QueryBuilder builder = new QueryBuilder("stats").setDatabaseManager(cached).where("server", "lobby").where("kills", ">", 1).take(1);
+
+            assertEquals(2, builder.count());
+            assertEquals(16L, builder.sum("kills"));
+            assertEquals(11L, builder.max("kills"));
+        }
+
+        assertTrue(cached.compiledQueries().getHits() >= 3);
+    }
+
+    @Test
+    public void testMultiRowInsertsAreNotCached() throws SQLException
+    {
+        QueryBuilder builder = new QueryBuilder("stats").setDatabaseManager(cached);
+
+        builder.insert(row("uuid", "a", "server", "lobby", "kills", 1), row("uuid", "b", "server", "lobby"));
+
+        assertEquals(0, cached.compiledQueries().size());
+        assertEquals(0, cached.compiledQueries().getMisses());
+        assertEquals(2, new QueryBuilder("stats").setDatabaseManager(cached).get().size());
+    }
+
+    @Test
+    public void testOversizedTemplatesAreNotCached()
+    {
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < CompiledQueryCache.MAXIMUM_TEMPLATE_LENGTH; i++) {
+            values.add(i);
+        }
+
+        CompiledQuery first = create().whereIn("id", values).compile(cached, null);
+        CompiledQuery second = create().whereIn("id", values).compile(cached, null);
+
+        assertEquals(first.getSQL(), second.getSQL());
+        assertEquals(first.getBindings(), second.getBindings());
+        assertEquals(0, cached.compiledQueries().size());
+        assertEquals(0, cached.compiledQueries().getHits());
+    }
+
+    private void assertShapeMatchesGrammar(QueryBuilder builder)
+    {
+        cached.compiledQueries().clear();
+        long hits = cached.compiledQueries().getHits();
+
+        CompiledQuery grammar = builder.compile(cached, null);
+        CompiledQuery shape = builder.compile(cached, null);
+
+        assertEquals(hits + 1, cached.compiledQueries().getHits());
+        assertEquals(grammar.getSQL(), shape.getSQL());
+        assertEquals(grammar.getBindings(), shape.getBindings());
+    }
+
+    private QueryBuilder create()
+    {
+        return new QueryBuilder("users").setDatabaseManager(cached);
+    }
+
+    private Map<String, Object> row(Object... items)
+    {
+        Map<String, Object> row = new HashMap<>();
+
+        for (int i = 0; i < items.length; i += 2) {
+            row.put((String) items[i], items[i + 1]);
+        }
+
+        return row;
+    }
+}
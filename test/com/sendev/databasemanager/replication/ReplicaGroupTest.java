@@ -0,0 +1,111 @@
+package com.sendev.databasemanager.replication;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.sendev.databasemanager.DatabaseManager;
+import com.sendev.databasemanager.connections.SQLite;
+import com.sendev.databasemanager.contracts.Database;
+import com.sendev.databasemanager.query.QueryBuilder;
+import com.sendev.test.TestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ReplicaGroupTest extends TestCase
+{
+    @Test
+    public void testSelectsAreRoutedToHealthyReplicas() throws Exception
+    {
+        DatabaseManager replicated = createDatabaseManager("primary",
+            "CREATE TABLE `servers` (`name` TEXT);",
+            "INSERT INTO `servers` VALUES ('primary');"
+        );
+        File directory = Files.createTempDirectory("dbm-replicas").toFile();
+        File unreachable = File.createTempFile("dbm-unreachable", ".db");
+
+        try {
+            for (String name : Arrays.asList("first", "second")) {
+                SQLite replica = new SQLite(directory.getAbsolutePath(), name + ".db");
+
+                assertTrue(replicated.addReplica("primary", name, replica));
+
+                replica.queryUpdate("CREATE TABLE `servers` (`name` TEXT);");
+                replica.queryUpdate("INSERT INTO `servers` VALUES ('" + name + "');");
+            }
+
+            assertEquals(new QueryBuilder("servers").setDatabaseManager(replicated).get().first().getString("name"), "first");
+            assertEquals(new QueryBuilder("servers").setDatabaseManager(replicated).get().first().getString("name"), "second");
+
+            new QueryBuilder("servers").setDatabaseManager(replicated).insert(row("name", "written"));
+
+            String pinned = replicated.transaction(transaction -> {
+                return new QueryBuilder("servers").setDatabaseManager(replicated).where("name", "written").get().first().getString("name");
+            });
+            assertEquals(pinned, "written");
+
+            ReplicaGroup replicas = replicated.getConnections().getConnection("primary").getReplicaGroup();
+            replicas.addReplica("broken", new SQLite(unreachable.getAbsolutePath(), "broken.db"));
+
+            List<String> servers = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                servers.add(new QueryBuilder("servers").setDatabaseManager(replicated).get().first().getString("name"));
+            }
+
+            assertEquals(servers, Arrays.asList("primary", "first", "second"));
+            assertFalse(replicas.isHealthy("broken"));
+            assertTrue(replicas.isHealthy("first"));
+        } finally {
+            Database primary = replicated.getConnections().getConnection("primary");
+
+            if (primary != null && primary.getReplicaGroup() != null) {
+                for (String name : Arrays.asList("first", "second")) {
+                    if (primary.getReplicaGroup().getReplica(name) != null) {
+                        primary.getReplicaGroup().getReplica(name).close();
+                    }
+                }
+            }
+
+            if (primary != null) {
+                primary.close();
+            }
+
+            replicated.async().shutdown();
+
+            deleteRecursively(directory);
+            deleteRecursively(unreachable);
+        }
+    }
+
+    private void deleteRecursively(File file)
+    {
+        File[] children = file.listFiles();
+
+        if (children != null) {
+            for (File child : children) {
+                deleteRecursively(child);
+            }
+        }
+
+        file.delete();
+    }
+
+    private Map<String, Object> row(Object... items)
+    {
+        Map<String, Object> row = new HashMap<>();
+
+        for (int i = 0; i < items.length; i += 2) {
+            row.put((String) items[i], items[i + 1]);
+        }
+
+        return row;
+    }
+}
@@ -0,0 +1,74 @@
+package com.sendev.databasemanager.transaction;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.sendev.databasemanager.DatabaseManager;
+import com.sendev.databasemanager.query.QueryBuilder;
+import com.sendev.databasemanager.utils.Collection;
+import com.sendev.test.TestCase;
+
+import static org.junit.Assert.assertEquals;
+
+public class TransactionTest extends TestCase
+{
+    @Test
+    public void testTransactionsCommitOrRollbackTheQueriesRunInsideThem() throws SQLException
+    {
+        DatabaseManager transactional = createDatabaseManager("transaction", "CREATE TABLE `users` (`id` INTEGER PRIMARY KEY, `name` TEXT);");
+
+        int inserted = transactional.transaction(transaction -> {
+            new QueryBuilder("users").setDatabaseManager(transactional).insert(row("name", "Alexis"));
+
+            try {
+                transaction.savepoint(savepoint -> {
+                    new QueryBuilder("users").setDatabaseManager(transactional).insert(row("name", "Discarded"));
+
+                    throw new IllegalStateException("Rolls back the savepoint");
+                });
+            } catch (IllegalStateException ignored) {
+                // The savepoint was rolled back, the rest of the transaction is kept.
+            }
+
+            return new QueryBuilder("users").setDatabaseManager(transactional).get().size();
+        });
+
+        assertEquals(inserted, 1);
+
+        try {
+            transactional.transaction(transaction -> {
+                new QueryBuilder("users").setDatabaseManager(transactional).insert(row("name", "Ghost"));
+
+                throw new IllegalStateException("Rolls back the transaction");
+            });
+        } catch (IllegalStateException ignored) {
+            // The transaction was rolled back.
+        }
+
+        transactional.transaction(transaction -> {
+            new QueryBuilder("users").setDatabaseManager(transactional).insert(row("name", "Rollback only"));
+            transaction.setRollbackOnly();
+
+            return null;
+        });
+
+        Collection users = new QueryBuilder("users").setDatabaseManager(transactional).get();
+
+        assertEquals(users.size(), 1);
+        assertEquals(users.first().getString("name"), "Alexis");
+    }
+
+    private Map<String, Object> row(Object... items)
+    {
+        Map<String, Object> row = new HashMap<>();
+
+        for (int i = 0; i < items.length; i += 2) {
+            row.put((String) items[i], items[i + 1]);
+        }
+
+        return row;
+    }
+}
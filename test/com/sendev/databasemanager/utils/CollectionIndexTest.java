@@ -0,0 +1,64 @@
+package com.sendev.databasemanager.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.sendev.test.TestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CollectionIndexTest extends TestCase
+{
+    @Test
+    public void testCollectionIndexesFollowTheCollectionOrder()
+    {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            rows.add(row("id", i, "uuid", "uuid-" + i, "team", i % 2 == 0 ? "Red" : "Blue"));
+        }
+
+        Collection players = new Collection(rows).indexBy("uuid", true).indexBy("team");
+
+        assertTrue(players.isIndexed("uuid"));
+        assertEquals(players.where("uuid", "uuid-4").get(0).getInt("id"), 4);
+        assertEquals(players.where("team", "Red").size(), 5);
+        assertEquals(players.whereLoose("team", "bLuE").size(), 5);
+        assertTrue(players.contains("uuid-7"));
+
+        players.reverse();
+        assertEquals(players.search("uuid", "uuid-10"), 0);
+        assertEquals(players.where("team", "Red").get(0).getInt("id"), 10);
+
+        players.shift();
+        players.pop();
+        assertEquals(players.search("uuid", "uuid-10"), -1);
+        assertEquals(players.search("uuid", "uuid-9"), 0);
+        assertEquals(players.where("team", "Blue").size(), 4);
+
+        boolean failed = false;
+        try {
+            players.indexBy("team", true);
+        } catch (IllegalStateException ex) {
+            failed = true;
+        }
+
+        assertTrue(failed);
+        assertEquals(players.where("team", "Red").size(), 4);
+    }
+
+    private Map<String, Object> row(Object... items)
+    {
+        Map<String, Object> row = new HashMap<>();
+
+        for (int i = 0; i < items.length; i += 2) {
+            row.put((String) items[i], items[i + 1]);
+        }
+
+        return row;
+    }
+}
@@ -0,0 +1,61 @@
+package com.sendev.databasemanager.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.sendev.test.TestCase;
+
+import static org.junit.Assert.assertEquals;
+
+public class CollectionStatsTest extends TestCase
+{
+    @Test
+    public void testCollectionStatsAreCalculatedInASinglePass()
+    {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int i = 1; i <= 1000; i++) {
+            rows.add(row("team", i % 2 == 0 ? "Red" : "Blue", "kills", i, "ratio", String.valueOf(i / 10D)));
+        }
+
+        Collection players = new Collection(rows);
+        CollectionStats kills = players.stats("kills");
+
+        assertEquals(kills.getCount(), 1000);
+        assertEquals(kills.getSum(), 500500D, 0D);
+        assertEquals(kills.getMin(), 1D, 0D);
+        assertEquals(kills.getMax(), 1000D, 0D);
+        assertEquals(kills.getAverage(), 500.5D, 0D);
+        assertEquals(players.stats("kills", "ratio").get("ratio").getMax(), 100D, 0D);
+        assertEquals(players.stats("missing").getCount(), 0);
+        assertEquals(players.stats("kills", "kills").get("kills").getSum(), 500500D, 0D);
+
+        Map<String, CollectionStats> teams = players.statsBy("team", "kills");
+
+        assertEquals(teams.get("Red").getSum(), 250500D, 0D);
+        assertEquals(teams.get("Blue").getMax(), 999D, 0D);
+
+        Collection.setParallelThreshold(100);
+        try {
+            assertEquals(players.stats("kills").getSum(), 500500D, 0D);
+            assertEquals(players.stats("kills", "ratio", "kills").get("kills").getCount(), 1000);
+            assertEquals(players.statsBy("team", "kills").get("Blue").getCount(), 500);
+        } finally {
+            Collection.setParallelThreshold(0);
+        }
+    }
+
+    private Map<String, Object> row(Object... items)
+    {
+        Map<String, Object> row = new HashMap<>();
+
+        for (int i = 0; i < items.length; i += 2) {
+            row.put((String) items[i], items[i + 1]);
+        }
+
+        return row;
+    }
+}
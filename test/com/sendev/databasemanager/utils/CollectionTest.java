@@ -0,0 +1,90 @@
+package com.sendev.databasemanager.utils;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+
+import org.junit.Test;
+
+import com.sendev.databasemanager.ConnectionLevel;
+import com.sendev.databasemanager.DatabaseManager;
+import com.sendev.databasemanager.connections.SQLite;
+import com.sendev.databasemanager.query.QueryBuilder;
+import com.sendev.test.TestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.powermock.api.mockito.PowerMockito.*;
+
+public class CollectionTest extends TestCase
+{
+    @Test
+    public void testQueryResultsKeepNativeColumnTypes() throws SQLException
+    {
+        DatabaseManager typed = new DatabaseManager(dbm.plugin());
+
+        typed.addConnection("typed", ConnectionLevel.DEFAULT, new SQLite());
+        typed.queryUpdate("CREATE TABLE `stats` (`id` INTEGER PRIMARY KEY, `name` TEXT, `points` BIGINT, `ratio` DOUBLE, `created_at` DATETIME);");
+        typed.queryUpdate("INSERT INTO `stats` VALUES (1, 'Alexis', 9999999999, 0.5, '2016-05-18 12:30:00'), (2, NULL, NULL, NULL, NULL);");
+
+        Collection stats = new QueryBuilder("stats").setDatabaseManager(typed).orderBy("id").get();
+        DataRow row = stats.first();
+
+        assertTrue(row.get("id") instanceof Integer);
+        assertTrue(row.get("points") instanceof Long);
+        assertTrue(row.get("ratio") instanceof Double);
+        assertEquals(row.getLong("points"), 9999999999L);
+        assertEquals(row.getDouble("ratio"), 0.5D, 0D);
+        assertEquals(row.getString("name"), "Alexis");
+        assertEquals(row.getTimestamp("created_at").getYear(), 2016);
+
+        assertEquals(stats.get(1).get("points"), null);
+        assertEquals(stats.get(1).getInt("points", -1), -1);
+    }
+
+    @Test
+    public void testBooleanAndDateColumnsKeepTheirStringValues() throws SQLException
+    {
+        ResultSetMetaData meta = mock(ResultSetMetaData.class);
+
+        when(meta.getColumnCount()).thenReturn(4);
+        when(meta.getColumnLabel(1)).thenReturn("admin");
+        when(meta.getColumnLabel(2)).thenReturn("banned");
+        when(meta.getColumnLabel(3)).thenReturn("born");
+        when(meta.getColumnLabel(4)).thenReturn("joined");
+        when(meta.getColumnClassName(anyInt())).thenReturn("java.lang.String");
+        when(meta.getColumnType(1)).thenReturn(Types.BIT);
+        when(meta.getColumnType(2)).thenReturn(Types.BOOLEAN);
+        when(meta.getColumnType(3)).thenReturn(Types.DATE);
+        when(meta.getColumnType(4)).thenReturn(Types.TIMESTAMP);
+        when(meta.getPrecision(1)).thenReturn(1);
+
+        ResultSet result = mock(ResultSet.class);
+
+        when(result.getMetaData()).thenReturn(meta);
+        when(result.next()).thenReturn(true, false);
+        when(result.getBoolean(1)).thenReturn(true);
+        when(result.getBoolean(2)).thenReturn(false);
+        when(result.getDate(3)).thenReturn(Date.valueOf("2017-05-01"));
+        when(result.getTimestamp(4)).thenReturn(Timestamp.valueOf("2017-05-01 12:30:00"));
+
+        DataRow row = new Collection(result).first();
+
+        assertEquals(row.getInt("admin"), 1);
+        assertEquals(row.getLong("admin"), 1L);
+        assertEquals(row.getString("admin"), "1");
+        assertTrue(row.getBoolean("admin"));
+        assertEquals(row.getString("banned"), "0");
+        assertFalse(row.getBoolean("banned"));
+
+        assertEquals(row.getString("born"), "2017-05-01");
+        assertEquals(row.getString("joined"), "2017-05-01 12:30:00");
+        assertEquals(row.getTimestamp("born").getYear(), 2017);
+        assertEquals(row.getTimestamp("joined").getHour(), 12);
+    }
+}
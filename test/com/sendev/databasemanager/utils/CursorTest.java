@@ -0,0 +1,113 @@
+package com.sendev.databasemanager.utils;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.Test;
+
+import com.sendev.databasemanager.ConnectionLevel;
+import com.sendev.databasemanager.DatabaseManager;
+import com.sendev.databasemanager.connections.SQLite;
+import com.sendev.databasemanager.query.QueryBuilder;
+import com.sendev.test.TestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CursorTest extends TestCase
+{
+    @Test
+    public void testCursorStreamsRowsAndClosesWhenExhausted() throws SQLException
+    {
+        DatabaseManager streaming = new DatabaseManager(dbm.plugin());
+
+        streaming.addConnection("cursor", ConnectionLevel.DEFAULT, new SQLite());
+        streaming.queryUpdate("CREATE TABLE `users` (`id` INTEGER PRIMARY KEY, `name` TEXT, `age` INTEGER);");
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int i = 1; i <= 50; i++) {
+            rows.add(row("name", "User " + i, "age", i));
+        }
+
+        new QueryBuilder("users").setDatabaseManager(streaming).batch().insert(rows);
+
+        Cursor cursor = new QueryBuilder("users").setDatabaseManager(streaming).where("age", ">", 10).cursor();
+
+        int count = 0;
+        for (DataRow row : cursor) {
+            assertEquals(row.getString("name"), "User " + row.getInt("age"));
+            count++;
+        }
+
+        assertEquals(count, 40);
+        assertTrue(cursor.isClosed());
+
+        try (Cursor stream = new QueryBuilder("users").setDatabaseManager(streaming).cursor()) {
+            assertEquals(stream.stream().limit(5).count(), 5L);
+        }
+
+        assertEquals(new QueryBuilder("users").setDatabaseManager(streaming).get().size(), 50);
+    }
+
+    @Test
+    public void testOtherThreadsWaitForCursorsOnTheSingleConnection() throws Exception
+    {
+        DatabaseManager streaming = new DatabaseManager(dbm.plugin());
+
+        streaming.addConnection("cursor", ConnectionLevel.DEFAULT, new SQLite());
+        streaming.queryUpdate("CREATE TABLE `users` (`id` INTEGER PRIMARY KEY, `name` TEXT);");
+        streaming.queryUpdate("INSERT INTO `users` (`name`) VALUES ('Alexis'), ('Sen'), ('Sam');");
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            Future<Integer> update;
+
+            try (Cursor cursor = new QueryBuilder("users").setDatabaseManager(streaming).cursor()) {
+
+                Iterator<DataRow> rows = cursor.iterator();
+
+                assertTrue(rows.hasNext());
+                assertEquals(rows.next().getString("name"), "Alexis");
+
+                update = executor.submit(() -> streaming.queryUpdate("UPDATE `users` SET `name` = 'Renamed';"));
+
+                try {
+                    update.get(200, TimeUnit.MILLISECONDS);
+                    fail("Other threads should wait for the cursor to be closed.");
+                } catch (TimeoutException ex) {
+                    assertFalse(update.isDone());
+                }
+
+                assertEquals(new QueryBuilder("users").setDatabaseManager(streaming).count(), 3);
+                assertEquals(rows.next().getString("name"), "Sen");
+            }
+
+            assertEquals((int) update.get(5, TimeUnit.SECONDS), 3);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Map<String, Object> row(Object... items)
+    {
+        Map<String, Object> row = new HashMap<>();
+
+        for (int i = 0; i < items.length; i += 2) {
+            row.put((String) items[i], items[i + 1]);
+        }
+
+        return row;
+    }
+}
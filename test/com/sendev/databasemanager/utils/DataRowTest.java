@@ -0,0 +1,57 @@
+package com.sendev.databasemanager.utils;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.sendev.databasemanager.ConnectionLevel;
+import com.sendev.databasemanager.DatabaseManager;
+import com.sendev.databasemanager.connections.SQLite;
+import com.sendev.databasemanager.query.QueryBuilder;
+import com.sendev.test.TestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class DataRowTest extends TestCase
+{
+    @Test
+    public void testRowsFromTheSameResultShareTheirColumns() throws SQLException
+    {
+        DatabaseManager shared = new DatabaseManager(dbm.plugin());
+
+        shared.addConnection("shared", ConnectionLevel.DEFAULT, new SQLite());
+        shared.queryUpdate("CREATE TABLE `users` (`id` INTEGER PRIMARY KEY, `name` TEXT);");
+        shared.queryUpdate("INSERT INTO `users` (`name`) VALUES ('Alexis'), ('Bob');");
+
+        Collection users = new QueryBuilder("users").setDatabaseManager(shared).orderBy("id").get();
+
+        assertSame(users.get(0).keySet(), users.get(1).keySet());
+        assertSame(users.copy().get(1).keySet(), users.get(1).keySet());
+        assertEquals(users.get(1).getString("name"), "Bob");
+        assertEquals(users.toJson(), "[{\"items\":{\"id\":1,\"name\":\"Alexis\"}},{\"items\":{\"id\":2,\"name\":\"Bob\"}}]");
+    }
+
+    @Test
+    public void testNumericGettersReadBooleansAsNumbers()
+    {
+        Map<String, Object> values = new HashMap<>();
+
+        values.put("enabled", true);
+        values.put("disabled", false);
+        values.put("updated_at", Timestamp.valueOf("2017-05-01 12:30:00.25"));
+
+        DataRow row = new Collection(Arrays.asList(values)).first();
+
+        assertEquals(row.getInt("enabled"), 1);
+        assertEquals(row.getLong("enabled"), 1L);
+        assertEquals(row.getDouble("enabled"), 1D, 0D);
+        assertEquals(row.getFloat("disabled"), 0F, 0F);
+        assertEquals(row.getInt("disabled", 5), 0);
+        assertEquals(row.getString("updated_at"), "2017-05-01 12:30:00.25");
+    }
+}
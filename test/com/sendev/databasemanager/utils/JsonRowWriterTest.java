@@ -0,0 +1,47 @@
+package com.sendev.databasemanager.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import com.sendev.databasemanager.ConnectionLevel;
+import com.sendev.databasemanager.DatabaseManager;
+import com.sendev.databasemanager.connections.SQLite;
+import com.sendev.databasemanager.query.QueryBuilder;
+import com.sendev.test.TestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class JsonRowWriterTest extends TestCase
+{
+    @Test
+    public void testRowsAreStreamedAsJson() throws Exception
+    {
+        DatabaseManager json = new DatabaseManager(dbm.plugin());
+
+        json.addConnection("json", ConnectionLevel.DEFAULT, new SQLite());
+        json.queryUpdate("CREATE TABLE `users` (`id` INTEGER PRIMARY KEY, `name` TEXT, `balance` DOUBLE, `banned` BOOLEAN);");
+        json.queryUpdate("INSERT INTO `users` VALUES (1, 'Alexis <3', 12.5, 0), (2, NULL, 0.25, 1);");
+
+        String expected = "[{\"items\":{\"id\":1,\"name\":\"Alexis \\u003c3\",\"balance\":12.5,\"banned\":0}},"
+            + "{\"items\":{\"id\":2,\"balance\":0.25,\"banned\":1}}]";
+
+        Cursor cursor = new QueryBuilder("users").setDatabaseManager(json).orderBy("id").cursor();
+        StringWriter writer = new StringWriter();
+        cursor.toJson(writer);
+
+        assertEquals(writer.toString(), expected);
+        assertTrue(cursor.isClosed());
+
+        Collection users = new QueryBuilder("users").setDatabaseManager(json).orderBy("id").get();
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        JsonRowWriter.write(users, stream);
+
+        assertEquals(users.toJson(), expected);
+        assertEquals(new String(stream.toByteArray(), StandardCharsets.UTF_8), expected);
+        assertEquals(users.first().toJson(), "{\"id\":1,\"name\":\"Alexis \\u003c3\",\"balance\":12.5,\"banned\":0}");
+    }
+}
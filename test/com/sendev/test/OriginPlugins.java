@@ -0,0 +1,45 @@
+package com.sendev.test;
+
+import com.sendev.databasemanager.DatabaseFactory;
+import com.sendev.databasemanager.DatabaseManager;
+import com.sendev.databasemanager.query.QueryBuilder;
+
+/**
+ * Fake plugin classes used to test the origin lookups, the classes has to live outside of the
+ * DBM packages, since the origin lookup skips every class in the DBM packages.
+ */
+public final class OriginPlugins
+{
+    private OriginPlugins()
+    {
+    }
+
+    public static class SharedLibrary
+    {
+        static DatabaseManager lookup()
+        {
+            return DatabaseFactory.getDynamicOrigin(QueryBuilder.class);
+        }
+    }
+
+    public static class FirstPlugin
+    {
+        public static DatabaseManager lookup()
+        {
+            return SharedLibrary.lookup();
+        }
+
+        public static DatabaseManager lookupDirectly()
+        {
+            return DatabaseFactory.getDynamicOrigin(QueryBuilder.class);
+        }
+    }
+
+    public static class SecondPlugin
+    {
+        public static DatabaseManager lookup()
+        {
+            return SharedLibrary.lookup();
+        }
+    }
+}
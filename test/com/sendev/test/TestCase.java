@@ -1,5 +1,6 @@
 package com.sendev.test;
 
+import java.sql.SQLException;
 import java.util.logging.Logger;
 
 import com.sendev.databasemanager.ConnectionLevel;
@@ -46,4 +47,28 @@ public abstract class TestCase
         // Returns our DBM instance.
         dbm = factory.getContainers().get(pluginName).getInstance();
     }
+
+    /**
+     * Creates a new DBM instance for the test plugin with a single in-memory
+     * SQLite connection, and runs the given statements against it.
+     *
+     * @param connection The name of the SQLite connection.
+     * @param statements The statements used to create and fill the tables needed by the test.
+     *
+     * @return the new DBM instance.
+     *
+     * @throws SQLException if one of the statements fails.
+     */
+    protected DatabaseManager createDatabaseManager(String connection, String... statements) throws SQLException
+    {
+        DatabaseManager instance = new DatabaseManager(dbm.plugin());
+
+        instance.addConnection(connection, ConnectionLevel.DEFAULT, new SQLite());
+
+        for (String statement : statements) {
+            instance.queryUpdate(statement);
+        }
+
+        return instance;
+    }
 }